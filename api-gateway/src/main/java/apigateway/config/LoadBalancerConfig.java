@@ -0,0 +1,13 @@
+package apigateway.config;
+
+import loadbalancer.PeakEwmaLoadBalancerConfiguration;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * lb:// 라우트가 라운드로빈 대신 지연시간/처리 중 요청 수 기반으로 인스턴스를 고르도록 한다
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
@@ -13,7 +13,9 @@ public enum EventType {
     STOCK_CONFIRM(StockConfirmPayload.class, Topic.STOCK_CONFIRM),
     COUPON_CONFIRM(CouponConfirmPayload.class, Topic.COUPON_CONFIRM),
     POINT_CONFIRM(PointConfirmPayload.class, Topic.POINT_CONFIRM),
-    ORDER_COMPLETE(OrderCompletedPayload.class, Topic.ORDER_COMPLETED);
+    ORDER_COMPLETE(OrderCompletedPayload.class, Topic.ORDER_COMPLETED),
+    ORDER_RESERVE(OrderReservePayload.class, Topic.ORDER_RESERVE),
+    PRODUCT_CHANGED(ProductChangedPayload.class, Topic.PRODUCT_CHANGED);
 
 
     private final Class<? extends EventPayload> payloadClass;
@@ -34,5 +36,7 @@ public enum EventType {
         public static final String COUPON_CONFIRM = "coupon-confirm";
         public static final String POINT_CONFIRM = "point-confirm";
         public static final String ORDER_COMPLETED = "order-completed";
+        public static final String ORDER_RESERVE = "order-reserve";
+        public static final String PRODUCT_CHANGED = "product-changed";
     }
 }
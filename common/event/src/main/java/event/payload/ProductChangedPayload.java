@@ -0,0 +1,47 @@
+package event.payload;
+
+import event.EventPayload;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 상품 검색 색인 갱신용 변경 이벤트
+ * - 상품 생성/수정/삭제는 productIds, 재고 변경은 productOptionIds 를 채운다
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangedPayload implements EventPayload {
+
+    private ChangeType changeType;
+    private List<Long> productIds;
+    private List<Long> productOptionIds;
+    private Long occurredAt;
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED, STOCK_CHANGED
+    }
+
+    public static ProductChangedPayload ofProduct(ChangeType changeType, Long productId) {
+        return ProductChangedPayload.builder()
+                .changeType(changeType)
+                .productIds(List.of(productId))
+                .productOptionIds(List.of())
+                .occurredAt(System.currentTimeMillis())
+                .build();
+    }
+
+    public static ProductChangedPayload ofStock(List<Long> productOptionIds) {
+        return ProductChangedPayload.builder()
+                .changeType(ChangeType.STOCK_CHANGED)
+                .productIds(List.of())
+                .productOptionIds(productOptionIds)
+                .occurredAt(System.currentTimeMillis())
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Idempotency-Key 가 있는 POST 요청의 응답 본문을 IdempotencyInterceptor 가 저장할 수 있도록 버퍼링한다
+ * - 요청 본문도 미리 읽어 (메서드, 경로, 본문) 해시를 요청 속성에 남긴다 → 같은 키로 다른 요청이 오면 인터셉터가 거절한다
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    static final String FINGERPRINT_ATTRIBUTE = IdempotencyFilter.class.getName() + ".FINGERPRINT";
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(IdempotencyInterceptor.IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        // 폼 요청은 본문을 먼저 읽으면 파라미터를 잃으므로 지문 없이 처리한다 (키만으로 구분)
+        HttpServletRequest chainRequest = request;
+        if (!isForm(request)) {
+            CachedBodyRequestWrapper requestWrapper = new CachedBodyRequestWrapper(request);
+            requestWrapper.setAttribute(FINGERPRINT_ATTRIBUTE, fingerprint(requestWrapper));
+            chainRequest = requestWrapper;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(chainRequest, responseWrapper);
+        } finally {
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private static boolean isForm(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && (contentType.startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+                || contentType.startsWith(MediaType.MULTIPART_FORM_DATA_VALUE));
+    }
+
+    static String fingerprint(CachedBodyRequestWrapper request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String target = request.getRequestURI() + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+            digest.update((request.getMethod() + " " + target + "\n").getBytes(StandardCharsets.UTF_8));
+            digest.update(request.getBody());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package idempotency;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Idempotency-Key 헤더 처리
+ * - 처음 보는 키: 이 요청의 IN_PROGRESS 마커를 걸고 그대로 처리, 5xx 가 아니면 응답을 저장한다 (마커가 그대로일 때만)
+ * - 처리 중인 키: 409 Conflict
+ * - 완료된 키: 비즈니스 로직을 타지 않고 저장된 응답을 그대로 돌려준다
+ * - 같은 키로 본문이 다른 요청: 재생하지 않고 422 Unprocessable Entity (IdempotencyFilter 가 남긴 요청 지문으로 비교)
+ * - 키는 메서드 + 경로 + X-USER-ID 범위로 구분한다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyInterceptor implements HandlerInterceptor {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String USER_ID_HEADER = "X-USER-ID";
+    private static final String ACQUIRED_KEY_ATTRIBUTE = IdempotencyInterceptor.class.getName() + ".ACQUIRED_KEY";
+    private static final String ACQUIRED_MARKER_ATTRIBUTE = IdempotencyInterceptor.class.getName() + ".ACQUIRED_MARKER";
+    private static final String ACQUIRED_FINGERPRINT_ATTRIBUTE = IdempotencyInterceptor.class.getName() + ".ACQUIRED_FINGERPRINT";
+
+    private final IdempotencyStore idempotencyStore;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (!"POST".equals(request.getMethod()) || idempotencyKey == null || idempotencyKey.isBlank()) {
+            return true;
+        }
+
+        String key = scopedKey(request, idempotencyKey);
+        String fingerprint = (String) request.getAttribute(IdempotencyFilter.FINGERPRINT_ATTRIBUTE);
+        IdempotencyStore.State state = idempotencyStore.find(key);
+
+        if (state.mismatches(fingerprint)) {
+            log.warn("Idempotency 키 재사용 - 다른 요청 본문, key: {}", key);
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, "같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다.");
+            return false;
+        }
+
+        if (state.status() == IdempotencyStore.Status.COMPLETED) {
+            log.info("Idempotency 응답 재사용 - key: {}", key);
+            replay(response, state.response());
+            return false;
+        }
+
+        Optional<String> marker = state.status() == IdempotencyStore.Status.IN_PROGRESS
+                ? Optional.empty()
+                : idempotencyStore.tryBegin(key, fingerprint);
+        if (marker.isEmpty()) {
+            log.info("Idempotency 처리 중인 요청 - key: {}", key);
+            writeError(response, HttpStatus.CONFLICT, "같은 Idempotency-Key 요청이 처리 중입니다.");
+            return false;
+        }
+
+        request.setAttribute(ACQUIRED_KEY_ATTRIBUTE, key);
+        request.setAttribute(ACQUIRED_MARKER_ATTRIBUTE, marker.get());
+        request.setAttribute(ACQUIRED_FINGERPRINT_ATTRIBUTE, fingerprint);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
+        String key = (String) request.getAttribute(ACQUIRED_KEY_ATTRIBUTE);
+        if (key == null) {
+            return;
+        }
+        String marker = (String) request.getAttribute(ACQUIRED_MARKER_ATTRIBUTE);
+
+        ContentCachingResponseWrapper responseWrapper =
+                WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+
+        // 서버 오류는 저장하지 않고 마커만 지워서 재시도가 다시 처리되도록 한다
+        if (ex != null || response.getStatus() >= 500 || responseWrapper == null) {
+            idempotencyStore.release(key, marker);
+            return;
+        }
+
+        String body = new String(responseWrapper.getContentAsByteArray(), StandardCharsets.UTF_8);
+        idempotencyStore.complete(key, marker, new IdempotencyStore.CachedResponse(
+                response.getStatus(), response.getContentType(), body,
+                (String) request.getAttribute(ACQUIRED_FINGERPRINT_ATTRIBUTE)));
+    }
+
+    private String scopedKey(HttpServletRequest request, String idempotencyKey) {
+        String userId = request.getHeader(USER_ID_HEADER);
+        return request.getMethod() + ":" + request.getRequestURI() + "::" + (userId == null ? "-" : userId) + "::" + idempotencyKey;
+    }
+
+    private void replay(HttpServletResponse response, IdempotencyStore.CachedResponse cachedResponse) throws Exception {
+        response.setStatus(cachedResponse.status());
+        if (cachedResponse.contentType() != null) {
+            response.setContentType(cachedResponse.contentType());
+        }
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(cachedResponse.body());
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws Exception {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"code\":" + status.value()
+                + ",\"httpStatus\":\"" + status.name()
+                + "\",\"message\":\"" + message + "\"}");
+    }
+}
@@ -0,0 +1,208 @@
+package idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Idempotency-Key 상태 저장소 (Redis)
+ * - 처리 중: 요청마다 다른 IN_PROGRESS 마커 (짧은 TTL 을 처리하는 동안 주기적으로 연장, 서버가 죽으면 TTL 뒤 풀린다)
+ * - 처리 완료: 직렬화한 응답 (긴 TTL, 같은 키 재요청 시 그대로 재생)
+ * - 완료/해제는 자기 마커가 그대로 있을 때만 한다 (마커가 만료돼 다른 요청이 키를 잡았으면 건드리지 않는다)
+ * - 두 상태 모두 요청 지문(메서드, 경로, 본문 해시)을 함께 저장해 같은 키의 다른 요청을 구분한다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyStore {
+
+    private static final String KEY_PREFIX = "idempotency::";
+    private static final String IN_PROGRESS = "IN_PROGRESS";
+    private static final String IN_PROGRESS_PREFIX = IN_PROGRESS + ":";
+    private static final String MARKER_SEPARATOR = "|";
+    private static final Duration IN_PROGRESS_TTL = Duration.ofSeconds(30);
+    private static final Duration IN_PROGRESS_RENEW_INTERVAL = IN_PROGRESS_TTL.dividedBy(3);
+    private static final Duration RESPONSE_TTL = Duration.ofHours(24);
+
+    // KEYS[1]=key, ARGV[1]=마커, ARGV[2]=ttl(ms) → 연장했으면 1
+    private static final DefaultRedisScript<Long> EXTEND_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    // KEYS[1]=key, ARGV[1]=마커, ARGV[2]=응답, ARGV[3]=ttl(ms) → 저장했으면 1
+    private static final DefaultRedisScript<Long> COMPLETE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    // KEYS[1]=key, ARGV[1]=마커 → 지웠으면 1
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ScheduledExecutorService renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "idempotency-renewer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, ScheduledFuture<?>> renewals = new ConcurrentHashMap<>();
+
+    /**
+     * GET 한 번으로 상태를 확인한다
+     */
+    public State find(String key) {
+        String value = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+        if (value == null) {
+            return State.absent();
+        }
+        if (value.startsWith(IN_PROGRESS_PREFIX)) {
+            return State.inProgress(fingerprintOf(value));
+        }
+        if (IN_PROGRESS.equals(value)) {
+            return State.inProgress(null);
+        }
+        try {
+            return State.completed(objectMapper.readValue(value, CachedResponse.class));
+        } catch (JsonProcessingException e) {
+            log.error("Idempotency 응답 역직렬화 실패 - key: {}", key, e);
+            return State.absent();
+        }
+    }
+
+    /**
+     * 처리 중 마커를 걸고, complete/release 전까지 TTL 을 연장한다
+     *
+     * @return 이 요청의 마커 (complete/release 에 넘긴다), 이미 있는 키면 empty
+     */
+    public Optional<String> tryBegin(String key, String fingerprint) {
+        String marker = IN_PROGRESS_PREFIX + UUID.randomUUID() + MARKER_SEPARATOR + (fingerprint == null ? "" : fingerprint);
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + key, marker, IN_PROGRESS_TTL);
+        if (!Boolean.TRUE.equals(acquired)) {
+            return Optional.empty();
+        }
+
+        long intervalMillis = IN_PROGRESS_RENEW_INTERVAL.toMillis();
+        renewals.put(marker, renewer.scheduleAtFixedRate(
+                () -> renew(key, marker), intervalMillis, intervalMillis, TimeUnit.MILLISECONDS));
+        return Optional.of(marker);
+    }
+
+    public void complete(String key, String marker, CachedResponse response) {
+        stopRenewal(marker);
+        try {
+            Long stored = redisTemplate.execute(COMPLETE_SCRIPT, List.of(KEY_PREFIX + key),
+                    marker, objectMapper.writeValueAsString(response), String.valueOf(RESPONSE_TTL.toMillis()));
+            if (stored == null || stored == 0) {
+                log.warn("Idempotency 응답 저장 생략 - 처리 중 마커를 잃음, key: {}", key);
+            }
+        } catch (JsonProcessingException e) {
+            log.error("Idempotency 응답 직렬화 실패 - key: {}", key, e);
+            release(key, marker);
+        }
+    }
+
+    public void release(String key, String marker) {
+        stopRenewal(marker);
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(KEY_PREFIX + key), marker);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        renewer.shutdownNow();
+    }
+
+    private void renew(String key, String marker) {
+        try {
+            Long extended = redisTemplate.execute(EXTEND_SCRIPT, List.of(KEY_PREFIX + key),
+                    marker, String.valueOf(IN_PROGRESS_TTL.toMillis()));
+            if (extended == null || extended == 0) {
+                log.warn("Idempotency 처리 중 마커를 잃음 - key: {}", key);
+                stopRenewal(marker);
+            }
+        } catch (Exception e) {
+            // 다음 주기에 다시 시도한다 (TTL 안에 Redis 가 돌아오면 마커가 유지된다)
+            log.warn("Idempotency 처리 중 마커 연장 실패 - key: {}", key, e);
+        }
+    }
+
+    private void stopRenewal(String marker) {
+        ScheduledFuture<?> renewal = renewals.remove(marker);
+        if (renewal != null) {
+            renewal.cancel(false);
+        }
+    }
+
+    // IN_PROGRESS:<요청 토큰>|<지문> (이전 포맷: IN_PROGRESS:<지문>)
+    private static String fingerprintOf(String marker) {
+        String value = marker.substring(IN_PROGRESS_PREFIX.length());
+        int separator = value.indexOf(MARKER_SEPARATOR);
+        if (separator >= 0) {
+            value = value.substring(separator + 1);
+        }
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * @param fingerprint 응답을 만든 요청의 지문 (지문 도입 전에 저장된 응답은 null)
+     */
+    public record CachedResponse(int status, String contentType, String body, String fingerprint) {
+    }
+
+    /**
+     * @param fingerprint 처리 중이거나 처리한 요청의 지문 (모르면 null)
+     */
+    public record State(Status status, CachedResponse response, String fingerprint) {
+
+        static State absent() {
+            return new State(Status.ABSENT, null, null);
+        }
+
+        static State inProgress(String fingerprint) {
+            return new State(Status.IN_PROGRESS, null, fingerprint);
+        }
+
+        static State completed(CachedResponse response) {
+            return new State(Status.COMPLETED, response, response.fingerprint());
+        }
+
+        /**
+         * 같은 키로 다른 요청(메서드, 경로, 본문)이 왔는지 (지문을 모르면 같은 요청으로 본다)
+         */
+        public boolean mismatches(String fingerprint) {
+            return this.fingerprint != null && fingerprint != null && !this.fingerprint.equals(fingerprint);
+        }
+    }
+
+    public enum Status {
+        ABSENT,
+        IN_PROGRESS,
+        COMPLETED
+    }
+}
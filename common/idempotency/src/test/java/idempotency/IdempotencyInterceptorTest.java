@@ -0,0 +1,179 @@
+package idempotency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyInterceptorTest {
+
+    private static final String KEY = "POST:/api/v1/orders::1::key-1";
+
+    @InjectMocks
+    private IdempotencyInterceptor idempotencyInterceptor;
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
+    @Test
+    @DisplayName("완료된 키로 같은 요청이 오면 저장된 응답을 그대로 돌려준다.")
+    void replaySameRequest() throws Exception {
+        //given
+        MockHttpServletRequest request = filtered("{\"quantity\":1}");
+        String fingerprint = fingerprintOf(request);
+        when(idempotencyStore.find(KEY)).thenReturn(IdempotencyStore.State.completed(
+                new IdempotencyStore.CachedResponse(201, "application/json", "{\"orderId\":10}", fingerprint)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        boolean proceed = idempotencyInterceptor.preHandle(request, response, null);
+
+        //then
+        assertThat(proceed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getContentAsString()).isEqualTo("{\"orderId\":10}");
+    }
+
+    @Test
+    @DisplayName("완료된 키로 본문이 다른 요청이 오면 재생하지 않고 422 로 거절한다.")
+    void rejectDifferentBody() throws Exception {
+        //given
+        MockHttpServletRequest request = filtered("{\"quantity\":2}");
+        when(idempotencyStore.find(KEY)).thenReturn(IdempotencyStore.State.completed(
+                new IdempotencyStore.CachedResponse(201, "application/json", "{\"orderId\":10}", "other")));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        boolean proceed = idempotencyInterceptor.preHandle(request, response, null);
+
+        //then
+        assertThat(proceed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(422);
+        assertThat(response.getContentAsString()).doesNotContain("orderId");
+    }
+
+    @Test
+    @DisplayName("처리 중인 키로 본문이 다른 요청이 오면 422, 같은 요청이면 409 로 거절한다.")
+    void rejectWhileInProgress() throws Exception {
+        //given
+        MockHttpServletRequest same = filtered("{\"quantity\":1}");
+        MockHttpServletRequest different = filtered("{\"quantity\":2}");
+        when(idempotencyStore.find(KEY)).thenReturn(IdempotencyStore.State.inProgress(fingerprintOf(same)));
+        MockHttpServletResponse sameResponse = new MockHttpServletResponse();
+        MockHttpServletResponse differentResponse = new MockHttpServletResponse();
+
+        //when
+        idempotencyInterceptor.preHandle(same, sameResponse, null);
+        idempotencyInterceptor.preHandle(different, differentResponse, null);
+
+        //then
+        assertThat(sameResponse.getStatus()).isEqualTo(409);
+        assertThat(differentResponse.getStatus()).isEqualTo(422);
+        verify(idempotencyStore, never()).tryBegin(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("처음 보는 키는 요청 지문과 함께 처리 중으로 표시하고, 완료 응답에도 지문을 남긴다.")
+    void beginWithFingerprint() throws Exception {
+        //given
+        MockHttpServletRequest request = filtered("{\"quantity\":1}");
+        String fingerprint = fingerprintOf(request);
+        when(idempotencyStore.find(KEY)).thenReturn(IdempotencyStore.State.absent());
+        when(idempotencyStore.tryBegin(KEY, fingerprint)).thenReturn(Optional.of("IN_PROGRESS:token|" + fingerprint));
+
+        //when
+        boolean proceed = idempotencyInterceptor.preHandle(request, new MockHttpServletResponse(), null);
+
+        //then
+        assertThat(proceed).isTrue();
+        verify(idempotencyStore).tryBegin(KEY, fingerprint);
+    }
+
+    @Test
+    @DisplayName("처리가 끝나면 이 요청의 마커로 응답을 저장한다.")
+    void completeWithOwnMarker() throws Exception {
+        //given
+        MockHttpServletRequest request = filtered("{\"quantity\":1}");
+        String marker = begin(request);
+        ContentCachingResponseWrapper response = new ContentCachingResponseWrapper(new MockHttpServletResponse());
+        response.setStatus(201);
+        response.getOutputStream().write("{\"orderId\":10}".getBytes(StandardCharsets.UTF_8));
+
+        //when
+        idempotencyInterceptor.afterCompletion(request, response, null, null);
+
+        //then
+        ArgumentCaptor<IdempotencyStore.CachedResponse> cached = ArgumentCaptor.forClass(IdempotencyStore.CachedResponse.class);
+        verify(idempotencyStore).complete(eq(KEY), eq(marker), cached.capture());
+        assertThat(cached.getValue().status()).isEqualTo(201);
+        assertThat(cached.getValue().body()).isEqualTo("{\"orderId\":10}");
+    }
+
+    @Test
+    @DisplayName("서버 오류면 응답을 저장하지 않고 이 요청의 마커만 지운다.")
+    void releaseOwnMarkerOnServerError() throws Exception {
+        //given
+        MockHttpServletRequest request = filtered("{\"quantity\":1}");
+        String marker = begin(request);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(503);
+
+        //when
+        idempotencyInterceptor.afterCompletion(request, response, null, null);
+
+        //then
+        verify(idempotencyStore).release(KEY, marker);
+        verify(idempotencyStore, never()).complete(anyString(), anyString(), any());
+    }
+
+    private String begin(MockHttpServletRequest request) throws Exception {
+        String marker = "IN_PROGRESS:token|" + fingerprintOf(request);
+        when(idempotencyStore.find(KEY)).thenReturn(IdempotencyStore.State.absent());
+        when(idempotencyStore.tryBegin(KEY, fingerprintOf(request))).thenReturn(Optional.of(marker));
+        assertThat(idempotencyInterceptor.preHandle(request, new MockHttpServletResponse(), null)).isTrue();
+        return marker;
+    }
+
+    // IdempotencyFilter 를 거친 요청 (본문 지문이 요청 속성에 있다)
+    private static MockHttpServletRequest filtered(String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/orders");
+        request.addHeader(IdempotencyInterceptor.IDEMPOTENCY_KEY_HEADER, "key-1");
+        request.addHeader("X-USER-ID", "1");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+
+        MockFilterChain chain = new MockFilterChain();
+        new IdempotencyFilter().doFilter(request, new MockHttpServletResponse(), chain);
+        assertThat(readBody(chain)).isEqualTo(body);
+        return request;
+    }
+
+    // 필터 뒤의 컨트롤러도 본문을 그대로 읽을 수 있다
+    private static String readBody(MockFilterChain chain) throws IOException {
+        return new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static String fingerprintOf(MockHttpServletRequest request) {
+        return (String) request.getAttribute(IdempotencyFilter.FINGERPRINT_ATTRIBUTE);
+    }
+}
@@ -0,0 +1,108 @@
+package idempotency;
+
+import idempotency.support.RedisTestSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyStoreTest extends RedisTestSupport {
+
+    private static final String KEY = "POST:/api/v1/orders::1::key-1";
+    private static final String REDIS_KEY = "idempotency::" + KEY;
+    private static final IdempotencyStore.CachedResponse RESPONSE =
+            new IdempotencyStore.CachedResponse(201, "application/json", "{\"orderId\":10}", "fp");
+
+    private IdempotencyStore idempotencyStore;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyStore = new IdempotencyStore(redisTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        idempotencyStore.shutdown();
+    }
+
+    @Test
+    @DisplayName("처리 중인 키는 다시 잡을 수 없고, 처리 중 상태에서 요청 지문을 읽는다.")
+    void tryBeginOnce() {
+        //when
+        Optional<String> first = idempotencyStore.tryBegin(KEY, "fp");
+        Optional<String> second = idempotencyStore.tryBegin(KEY, "fp");
+
+        //then
+        assertThat(first).isPresent();
+        assertThat(second).isEmpty();
+        IdempotencyStore.State state = idempotencyStore.find(KEY);
+        assertThat(state.status()).isEqualTo(IdempotencyStore.Status.IN_PROGRESS);
+        assertThat(state.fingerprint()).isEqualTo("fp");
+        assertThat(redisTemplate.getExpire(REDIS_KEY)).isBetween(1L, 30L);
+    }
+
+    @Test
+    @DisplayName("자기 마커가 그대로면 응답을 저장하고 24시간 재생할 수 있다.")
+    void completeWithOwnMarker() {
+        //given
+        String marker = idempotencyStore.tryBegin(KEY, "fp").orElseThrow();
+
+        //when
+        idempotencyStore.complete(KEY, marker, RESPONSE);
+
+        //then
+        IdempotencyStore.State state = idempotencyStore.find(KEY);
+        assertThat(state.status()).isEqualTo(IdempotencyStore.Status.COMPLETED);
+        assertThat(state.response()).isEqualTo(RESPONSE);
+        assertThat(redisTemplate.getExpire(REDIS_KEY)).isGreaterThan(86_000L);
+    }
+
+    @Test
+    @DisplayName("마커가 만료돼 다른 요청이 키를 잡았으면 이전 요청의 완료/해제는 그 마커를 건드리지 않는다.")
+    void staleMarkerDoesNotOverwrite() {
+        //given - 첫 요청의 마커가 만료되고 재시도가 키를 잡았다
+        String staleMarker = idempotencyStore.tryBegin(KEY, "fp").orElseThrow();
+        redisTemplate.delete(REDIS_KEY);
+        String retryMarker = idempotencyStore.tryBegin(KEY, "fp").orElseThrow();
+
+        //when
+        idempotencyStore.complete(KEY, staleMarker, RESPONSE);
+        idempotencyStore.release(KEY, staleMarker);
+
+        //then
+        assertThat(redisTemplate.opsForValue().get(REDIS_KEY)).isEqualTo(retryMarker);
+        assertThat(idempotencyStore.find(KEY).status()).isEqualTo(IdempotencyStore.Status.IN_PROGRESS);
+    }
+
+    @Test
+    @DisplayName("자기 마커를 해제하면 같은 키로 다시 처리할 수 있다.")
+    void releaseOwnMarker() {
+        //given
+        String marker = idempotencyStore.tryBegin(KEY, "fp").orElseThrow();
+
+        //when
+        idempotencyStore.release(KEY, marker);
+
+        //then
+        assertThat(idempotencyStore.find(KEY).status()).isEqualTo(IdempotencyStore.Status.ABSENT);
+        assertThat(idempotencyStore.tryBegin(KEY, "fp")).isPresent();
+    }
+
+    @Test
+    @DisplayName("이전 포맷의 처리 중 마커(IN_PROGRESS:지문)도 지문을 읽는다.")
+    void findLegacyMarker() {
+        //given
+        redisTemplate.opsForValue().set(REDIS_KEY, "IN_PROGRESS:fp");
+
+        //when
+        IdempotencyStore.State state = idempotencyStore.find(KEY);
+
+        //then
+        assertThat(state.status()).isEqualTo(IdempotencyStore.Status.IN_PROGRESS);
+        assertThat(state.fingerprint()).isEqualTo("fp");
+    }
+}
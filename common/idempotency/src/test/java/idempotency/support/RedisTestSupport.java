@@ -0,0 +1,47 @@
+package idempotency.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Lua 스크립트를 실제 Redis 에서 검증하는 테스트의 공통 설정
+ * - 테스트 클래스마다 Redis 컨테이너를 띄우고, 테스트마다 비운다
+ * - Docker 가 없으면 테스트를 건너뛴다
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class RedisTestSupport {
+
+    private static final int REDIS_PORT = 6379;
+
+    @Container
+    private static final GenericContainer<?> REDIS =
+            new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(REDIS_PORT);
+
+    protected StringRedisTemplate redisTemplate;
+    private LettuceConnectionFactory connectionFactory;
+
+    @BeforeEach
+    void connectRedis() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(REDIS_PORT));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        });
+    }
+
+    @AfterEach
+    void disconnectRedis() {
+        connectionFactory.destroy();
+    }
+}
@@ -0,0 +1,91 @@
+package loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * 인스턴스별 부하 지표 (Peak EWMA 지연시간 + 처리 중 요청 수)
+ * - 지연시간이 평균보다 크게 나오면 즉시 그 값으로 올리고(peak), 작게 나오면 지수 이동 평균으로 천천히 내린다
+ * - 요청이 없는 동안에도 시간이 지나면 0으로 감쇠하므로 느렸던 인스턴스도 다시 시도된다
+ * - 실패 응답은 FAILURE_PENALTY 만큼 걸린 것으로 기록한다
+ */
+public class InstanceLoadStats {
+
+    private static final long DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long FAILURE_PENALTY_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long MIN_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+
+    public InstanceLoadStats() {
+        this(System::nanoTime);
+    }
+
+    InstanceLoadStats(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    public void onStart(ServiceInstance instance) {
+        statsOf(instance).inFlight.incrementAndGet();
+    }
+
+    public void onComplete(ServiceInstance instance, long latencyNanos, boolean failed) {
+        Stats instanceStats = statsOf(instance);
+        instanceStats.inFlight.decrementAndGet();
+        instanceStats.observe(failed ? Math.max(latencyNanos, FAILURE_PENALTY_NANOS) : latencyNanos, nanoClock.getAsLong());
+    }
+
+    public void onDiscard(ServiceInstance instance) {
+        statsOf(instance).inFlight.decrementAndGet();
+    }
+
+    /**
+     * 예상 비용 = 지연시간 EWMA * (처리 중 요청 수 + 1)
+     */
+    public double cost(ServiceInstance instance) {
+        Stats instanceStats = statsOf(instance);
+        double latency = Math.max(instanceStats.currentLatency(nanoClock.getAsLong()), MIN_LATENCY_NANOS);
+        return latency * (Math.max(instanceStats.inFlight.get(), 0) + 1);
+    }
+
+    private Stats statsOf(ServiceInstance instance) {
+        return stats.computeIfAbsent(instance.getHost() + ":" + instance.getPort(), key -> new Stats());
+    }
+
+    private static class Stats {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private double ewmaNanos;
+        private long lastUpdatedNanos;
+        private boolean initialized;
+
+        synchronized void observe(long latencyNanos, long nowNanos) {
+            if (!initialized || latencyNanos > ewmaNanos) {
+                ewmaNanos = latencyNanos;
+            } else {
+                double weight = decayWeight(nowNanos);
+                ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+            }
+            lastUpdatedNanos = nowNanos;
+            initialized = true;
+        }
+
+        synchronized double currentLatency(long nowNanos) {
+            if (!initialized) {
+                return 0;
+            }
+            return ewmaNanos * decayWeight(nowNanos);
+        }
+
+        private double decayWeight(long nowNanos) {
+            long elapsed = Math.max(nowNanos - lastUpdatedNanos, 0);
+            return Math.exp(-(double) elapsed / DECAY_NANOS);
+        }
+    }
+}
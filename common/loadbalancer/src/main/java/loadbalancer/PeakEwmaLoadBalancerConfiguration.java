@@ -0,0 +1,38 @@
+package loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * 서비스별 로드밸런서 설정
+ * - @LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class) 로 등록한다
+ * - 서비스마다 자식 컨텍스트에 생성되므로 컴포넌트 스캔 대상에 두면 안 된다 (@Configuration 미사용)
+ */
+public class PeakEwmaLoadBalancerConfiguration {
+
+    @Bean
+    public InstanceLoadStats instanceLoadStats() {
+        return new InstanceLoadStats();
+    }
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(
+            Environment environment,
+            LoadBalancerClientFactory loadBalancerClientFactory,
+            InstanceLoadStats instanceLoadStats) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new PeakEwmaLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId,
+                instanceLoadStats);
+    }
+
+    @Bean
+    public PeakEwmaLoadBalancerLifecycle peakEwmaLoadBalancerLifecycle(InstanceLoadStats instanceLoadStats) {
+        return new PeakEwmaLoadBalancerLifecycle(instanceLoadStats);
+    }
+}
@@ -0,0 +1,83 @@
+package loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 로드밸런서를 거친 요청의 시작/종료를 InstanceLoadStats 에 기록한다
+ * - Feign(FeignBlockingLoadBalancerClient) 과 Gateway(ReactiveLoadBalancerClientFilter) 모두 이 콜백을 호출한다
+ * - 5xx 응답과 예외는 실패로 기록한다
+ */
+public class PeakEwmaLoadBalancerLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private final InstanceLoadStats instanceLoadStats;
+
+    // 같은 내용의 요청이 동시에 여러 개일 수 있으므로 요청 객체의 동일성으로 구분
+    private final Map<RequestKey, Long> startedAt = new ConcurrentHashMap<>();
+
+    public PeakEwmaLoadBalancerLifecycle(InstanceLoadStats instanceLoadStats) {
+        this.instanceLoadStats = instanceLoadStats;
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        instanceLoadStats.onStart(lbResponse.getServer());
+        startedAt.put(new RequestKey(request), System.nanoTime());
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+
+        Long start = startedAt.remove(new RequestKey(completionContext.getLoadBalancerRequest()));
+        if (start == null) {
+            return;
+        }
+
+        ServiceInstance instance = lbResponse.getServer();
+        if (completionContext.status() == CompletionContext.Status.DISCARD) {
+            instanceLoadStats.onDiscard(instance);
+            return;
+        }
+        instanceLoadStats.onComplete(instance, System.nanoTime() - start, isFailure(completionContext));
+    }
+
+    private boolean isFailure(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        if (completionContext.status() == CompletionContext.Status.FAILED) {
+            return true;
+        }
+        return completionContext.getClientResponse() instanceof ResponseData responseData
+                && responseData.getHttpStatus() != null
+                && responseData.getHttpStatus().is5xxServerError();
+    }
+
+    private record RequestKey(Object request) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof RequestKey other && other.request == request;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(request);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package loadbalancer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 가상 시계 위에서 1ms 마다 요청을 보내는 시뮬레이션
+ * - 인스턴스 4대 중 1대는 200ms, 나머지는 10ms 로 응답한다
+ */
+class PeakEwmaLoadBalancerSimulationTest {
+
+    private static final int REQUEST_COUNT = 20_000;
+    private static final long ARRIVAL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FAST_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private final ServiceInstance slow = instance("slow", "10.0.0.1");
+    private final List<ServiceInstance> instances = List.of(
+            slow,
+            instance("fast-1", "10.0.0.2"),
+            instance("fast-2", "10.0.0.3"),
+            instance("fast-3", "10.0.0.4"));
+
+    @Test
+    @DisplayName("느린 인스턴스가 섞여 있어도 P2C + Peak EWMA 는 라운드로빈보다 p99 지연시간이 크게 낮다.")
+    void p99ImprovesOverRoundRobin() {
+        //given
+        AtomicLong roundRobinIndex = new AtomicLong();
+        long roundRobinP99 = simulate(new InstanceLoadStats(), stats ->
+                instances.get((int) (roundRobinIndex.getAndIncrement() % instances.size())));
+
+        //when
+        AtomicLong clock = new AtomicLong();
+        InstanceLoadStats stats = new InstanceLoadStats(clock::get);
+        Random random = new Random(42);
+        PeakEwmaLoadBalancer loadBalancer = new PeakEwmaLoadBalancer(
+                null, "product-service", stats, () -> random);
+        long peakEwmaP99 = simulate(clock, stats, ignored -> loadBalancer.choose(instances).getServer());
+
+        //then
+        assertThat(roundRobinP99).isEqualTo(SLOW_LATENCY_NANOS);
+        assertThat(peakEwmaP99).isEqualTo(FAST_LATENCY_NANOS);
+    }
+
+    @Test
+    @DisplayName("비용이 낮은 인스턴스를 고른다.")
+    void chooseLowerCost() {
+        //given
+        AtomicLong clock = new AtomicLong();
+        InstanceLoadStats stats = new InstanceLoadStats(clock::get);
+        ServiceInstance fast = instances.get(1);
+        stats.onStart(slow);
+        stats.onComplete(slow, SLOW_LATENCY_NANOS, false);
+        stats.onStart(fast);
+        stats.onComplete(fast, FAST_LATENCY_NANOS, false);
+
+        PeakEwmaLoadBalancer loadBalancer = new PeakEwmaLoadBalancer(
+                null, "product-service", stats, () -> new Random(42));
+
+        //when
+        ServiceInstance chosen = loadBalancer.choose(List.of(slow, fast)).getServer();
+
+        //then
+        assertThat(chosen).isEqualTo(fast);
+    }
+
+    private long simulate(InstanceLoadStats stats, Function<InstanceLoadStats, ServiceInstance> chooser) {
+        return simulate(new AtomicLong(), stats, chooser);
+    }
+
+    private long simulate(AtomicLong clock, InstanceLoadStats stats, Function<InstanceLoadStats, ServiceInstance> chooser) {
+        PriorityQueue<InFlight> inFlights = new PriorityQueue<>();
+        List<Long> latencies = new ArrayList<>(REQUEST_COUNT);
+
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            long now = i * ARRIVAL_INTERVAL_NANOS;
+            while (!inFlights.isEmpty() && inFlights.peek().endNanos() <= now) {
+                InFlight done = inFlights.poll();
+                clock.set(done.endNanos());
+                stats.onComplete(done.instance(), done.latencyNanos(), false);
+            }
+            clock.set(now);
+
+            ServiceInstance chosen = chooser.apply(stats);
+            long latency = chosen == slow ? SLOW_LATENCY_NANOS : FAST_LATENCY_NANOS;
+            stats.onStart(chosen);
+            inFlights.add(new InFlight(now + latency, latency, chosen));
+            latencies.add(latency);
+        }
+
+        Collections.sort(latencies);
+        return latencies.get((int) Math.ceil(latencies.size() * 0.99) - 1);
+    }
+
+    private static ServiceInstance instance(String instanceId, String host) {
+        return new DefaultServiceInstance(instanceId, "product-service", host, 8080, false);
+    }
+
+    private record InFlight(long endNanos, long latencyNanos, ServiceInstance instance) implements Comparable<InFlight> {
+
+        @Override
+        public int compareTo(InFlight other) {
+            return Long.compare(endNanos, other.endNanos);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package pricing;
+
+/**
+ * 쿠폰 할인 정책
+ * - coupon-service(쿠폰 예약) 와 order-service(장바구니 가격 계산) 가 같은 규칙으로 할인 금액을 계산하도록 공유한다
+ *
+ * @param discountType          할인 방식
+ * @param discountValue         정액이면 할인 금액, 정률이면 할인율(%)
+ * @param minimumOrderAmount    최소 주문 금액 (미만이면 할인 없음)
+ * @param maximumDiscountAmount 최대 할인 금액
+ */
+public record DiscountPolicy(
+        DiscountType discountType,
+        int discountValue,
+        int minimumOrderAmount,
+        int maximumDiscountAmount
+) {
+
+    public static DiscountPolicy of(String discountType, int discountValue, int minimumOrderAmount, int maximumDiscountAmount) {
+        return new DiscountPolicy(DiscountType.valueOf(discountType), discountValue, minimumOrderAmount, maximumDiscountAmount);
+    }
+
+    public boolean meetsMinimumOrderAmount(int price) {
+        return price >= minimumOrderAmount;
+    }
+
+    /**
+     * @param price 할인 대상 금액 (단가 * 수량)
+     * @return 할인 금액. 최소 주문 금액 미만이면 0, 최대 할인 금액을 넘지 않는다
+     */
+    public int discountFor(int price) {
+        if (!meetsMinimumOrderAmount(price)) {
+            return 0;
+        }
+        return (int) Math.min(discountType.discount(discountValue, price), maximumDiscountAmount);
+    }
+}
@@ -0,0 +1,23 @@
+package pricing;
+
+/**
+ * 할인 방식별 계산 규칙
+ */
+public enum DiscountType {
+
+    FIXED_DISCOUNT {
+        @Override
+        long discount(int discountValue, int price) {
+            return discountValue;
+        }
+    },
+    RATE_DISCOUNT {
+        @Override
+        long discount(int discountValue, int price) {
+            // 원 단위 미만 버림
+            return (long) price * discountValue / 100;
+        }
+    };
+
+    abstract long discount(int discountValue, int price);
+}
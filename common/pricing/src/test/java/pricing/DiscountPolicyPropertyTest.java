@@ -0,0 +1,112 @@
+package pricing;
+
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Assume;
+import net.jqwik.api.Combinators;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Label;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+import net.jqwik.api.constraints.IntRange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 공통 할인 규칙이 기존 두 서비스의 계산과 같은 결과를 내는지 검증
+ * - legacyOrderService: 이전 order-service CartService.calculateDiscount
+ * - legacyCouponService: 이전 coupon-service CouponService.calculateDiscount (최소 주문 금액 미달 시 예외)
+ */
+class DiscountPolicyPropertyTest {
+
+    @Property
+    @Label("장바구니 할인 금액은 이전 order-service 계산과 같다.")
+    void sameAsLegacyOrderService(@ForAll("policies") DiscountPolicy policy,
+                                  @ForAll @IntRange(min = 0, max = 10_000_000) int price) {
+        assertThat(policy.discountFor(price)).isEqualTo(legacyOrderService(policy, price));
+    }
+
+    @Property
+    @Label("최소 주문 금액 이상이면 쿠폰 예약 할인 금액은 이전 coupon-service 계산과 같다.")
+    void sameAsLegacyCouponService(@ForAll("policies") DiscountPolicy policy,
+                                   @ForAll @IntRange(min = 0, max = 10_000_000) int price) {
+        Assume.that(policy.meetsMinimumOrderAmount(price));
+
+        assertThat(policy.discountFor(price)).isEqualTo(legacyCouponService(policy, price));
+    }
+
+    @Property
+    @Label("할인 금액은 0 이상이고 최대 할인 금액을 넘지 않는다.")
+    void boundedByMaximumDiscount(@ForAll("policies") DiscountPolicy policy,
+                                  @ForAll @IntRange(min = 0, max = 10_000_000) int price) {
+        int discount = policy.discountFor(price);
+
+        assertThat(discount).isBetween(0, Math.max(policy.maximumDiscountAmount(), 0));
+    }
+
+    @Property
+    @Label("정률 할인은 금액이 커져도 줄어들지 않는다.")
+    void rateDiscountIsMonotonic(@ForAll("policies") DiscountPolicy policy,
+                                 @ForAll @IntRange(min = 0, max = 5_000_000) int price,
+                                 @ForAll @IntRange(min = 0, max = 5_000_000) int increase) {
+        Assume.that(policy.discountType() == DiscountType.RATE_DISCOUNT);
+
+        assertThat(policy.discountFor(price + increase)).isGreaterThanOrEqualTo(policy.discountFor(price));
+    }
+
+    @Provide
+    Arbitrary<DiscountPolicy> policies() {
+        Arbitrary<DiscountType> types = Arbitraries.of(DiscountType.class);
+        return Combinators.combine(
+                types,
+                Arbitraries.integers().between(0, 100),
+                Arbitraries.integers().between(0, 100_000),
+                Arbitraries.integers().between(0, 50_000),
+                Arbitraries.integers().between(0, 1_000_000)
+        ).as((type, rate, fixed, minimum, maximum) -> new DiscountPolicy(
+                type,
+                type == DiscountType.RATE_DISCOUNT ? rate : fixed,
+                minimum,
+                maximum));
+    }
+
+    private int legacyOrderService(DiscountPolicy policy, int totalPrice) {
+        int discount = 0;
+
+        if (totalPrice < policy.minimumOrderAmount()) {
+            return 0;
+        }
+
+        if (policy.discountType() == DiscountType.FIXED_DISCOUNT) {
+            discount = policy.discountValue();
+        } else if (policy.discountType() == DiscountType.RATE_DISCOUNT) {
+            discount = (int) (totalPrice * policy.discountValue() / 100.0);
+        }
+
+        if (discount > policy.maximumDiscountAmount()) {
+            discount = policy.maximumDiscountAmount();
+        }
+
+        return discount;
+    }
+
+    private Integer legacyCouponService(DiscountPolicy policy, Integer productPrice) {
+        Integer discount = 0;
+
+        if (productPrice < policy.minimumOrderAmount()) {
+            throw new IllegalStateException("MINIMUM_ORDER_AMOUNT_NOT_MET");
+        }
+
+        if (policy.discountType() == DiscountType.FIXED_DISCOUNT) {
+            discount = policy.discountValue();
+        } else if (policy.discountType() == DiscountType.RATE_DISCOUNT) {
+            discount = (int) (productPrice * policy.discountValue() / 100.0);
+        }
+
+        if (discount > policy.maximumDiscountAmount()) {
+            discount = policy.maximumDiscountAmount();
+        }
+
+        return discount;
+    }
+}
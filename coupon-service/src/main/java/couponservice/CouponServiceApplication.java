@@ -13,7 +13,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 @EnableJpaAuditing
 @EnableDiscoveryClient
 @EnableScheduling
-@ComponentScan(basePackages = {"couponservice", "outboxmessagerelay"})
+@ComponentScan(basePackages = {"couponservice", "outboxmessagerelay", "idempotency"})
 @EntityScan(basePackages = {"couponservice.entity", "outboxmessagerelay.entity"})
 @EnableJpaRepositories(basePackages = {"couponservice.repository", "outboxmessagerelay.repository"})
 @SpringBootApplication
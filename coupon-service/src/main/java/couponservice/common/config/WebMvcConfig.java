@@ -1,6 +1,7 @@
 package couponservice.common.config;
 
 import couponservice.common.interceptor.UserIdInterceptor;
+import idempotency.IdempotencyInterceptor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -11,10 +12,14 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebMvcConfig implements WebMvcConfigurer {
 
     private final UserIdInterceptor userIdInterceptor;
+    private final IdempotencyInterceptor idempotencyInterceptor;
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(userIdInterceptor)
                 .addPathPatterns("/api/**/coupons/**");
+
+        registry.addInterceptor(idempotencyInterceptor)
+                .addPathPatterns("/api/v3/coupons");
     }
 }
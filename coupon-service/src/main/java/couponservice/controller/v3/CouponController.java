@@ -5,11 +5,14 @@ import couponservice.service.dto.v1.CouponResponse;
 import couponservice.service.v3.CouponService;
 import couponservice.service.v3.dto.CouponReserveRequest;
 import couponservice.service.v3.dto.CouponReserveResponse;
+import couponservice.service.v3.dto.CouponValidationRequest;
 import couponservice.service.v3.dto.CouponValidationResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController("couponControllerV3")
 @RequiredArgsConstructor
 @RequestMapping("/api/v3/coupons")
@@ -68,4 +71,9 @@ public class CouponController {
     ) {
         return ResponseEntity.ok(couponService.validateCoupon(couponId, userId));
     }
-}
\ No newline at end of file
+
+    @PostMapping("/validate")
+    public ResponseEntity<List<CouponValidationResponse>> validateCoupons(@RequestBody CouponValidationRequest request) {
+        return ResponseEntity.ok(couponService.validateCoupons(request));
+    }
+}
@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import pricing.DiscountPolicy;
 
 import java.time.LocalDateTime;
 
@@ -47,4 +48,8 @@ public class CouponPolicy extends BaseEntity {
 
     @Column(nullable = false)
     private LocalDateTime endTime;
+
+    public DiscountPolicy toDiscountPolicy() {
+        return DiscountPolicy.of(discountType.name(), discountValue, minimumOrderAmount, maximumDiscountAmount);
+    }
 }
@@ -10,6 +10,7 @@ import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface CouponRepository extends JpaRepository<Coupon, Long> {
@@ -28,4 +29,7 @@ public interface CouponRepository extends JpaRepository<Coupon, Long> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT c FROM Coupon c JOIN FETCH c.couponPolicy WHERE c.id = :id")
     Optional<Coupon> findByIdWithPolicyForUpdate(@Param("id") Long id);
+
+    @Query("SELECT c FROM Coupon c JOIN FETCH c.couponPolicy WHERE c.id IN :ids")
+    List<Coupon> findAllWithPolicyByIdIn(@Param("ids") List<Long> ids);
 }
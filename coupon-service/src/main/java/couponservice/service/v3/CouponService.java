@@ -14,6 +14,7 @@ import couponservice.service.dto.v1.CouponResponse;
 import couponservice.service.dto.v3.CouponDto;
 import couponservice.service.v3.dto.CouponReserveRequest;
 import couponservice.service.v3.dto.CouponReserveResponse;
+import couponservice.service.v3.dto.CouponValidationRequest;
 import couponservice.service.v3.dto.CouponValidationResponse;
 import couponservice.service.v3.dto.ItemDiscountDto;
 import lombok.RequiredArgsConstructor;
@@ -23,11 +24,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import outboxmessagerelay.OutboxEventPublisher;
+import pricing.DiscountPolicy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static couponservice.entity.CouponTransactionHistory.*;
 
@@ -392,24 +397,13 @@ public class CouponService {
     }
 
     private Integer calculateDiscount(CouponPolicy policy, Integer productPrice) {
-        Integer discount = 0;
+        DiscountPolicy discountPolicy = policy.toDiscountPolicy();
 
-        if (productPrice < policy.getMinimumOrderAmount()) {
+        if (!discountPolicy.meetsMinimumOrderAmount(productPrice)) {
             throw new CustomGlobalException(ErrorType.MINIMUM_ORDER_AMOUNT_NOT_MET);
         }
 
-        if (policy.getDiscountType() == DiscountType.FIXED_DISCOUNT) {
-            discount = policy.getDiscountValue();
-        } else if (policy.getDiscountType() == DiscountType.RATE_DISCOUNT) {
-            discount = (int) (productPrice * policy.getDiscountValue() / 100.0);
-        }
-
-        // 최대 할인 금액 제한
-        if (discount > policy.getMaximumDiscountAmount()) {
-            discount = policy.getMaximumDiscountAmount();
-        }
-
-        return discount;
+        return discountPolicy.discountFor(productPrice);
     }
 
     @Transactional
@@ -447,44 +441,72 @@ public class CouponService {
                 .orElse(null);
 
         if (coupon == null) {
-            return CouponValidationResponse.builder()
-                    .valid(false)
-                    .invalidReason("쿠폰을 찾을 수 없습니다.")
-                    .build();
+            return buildInvalidResponse(couponId, "쿠폰을 찾을 수 없습니다.");
         }
 
-        CouponPolicy policy = coupon.getCouponPolicy();
+        return validate(coupon, userId, LocalDateTime.now());
+    }
+
+    /**
+     * 장바구니에 적용된 쿠폰을 한 번에 검증 (쿠폰 + 정책 한 번의 조회)
+     * - 요청 순서대로 결과를 돌려준다
+     */
+    @Transactional(readOnly = true)
+    public List<CouponValidationResponse> validateCoupons(CouponValidationRequest request) {
+        List<Long> couponIds = request.couponIds().stream().distinct().toList();
+        if (couponIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Coupon> coupons = couponRepository.findAllWithPolicyByIdIn(couponIds).stream()
+                .collect(Collectors.toMap(Coupon::getId, Function.identity()));
         LocalDateTime now = LocalDateTime.now();
 
+        return couponIds.stream()
+                .map(couponId -> {
+                    Coupon coupon = coupons.get(couponId);
+                    if (coupon == null) {
+                        return buildInvalidResponse(couponId, "쿠폰을 찾을 수 없습니다.");
+                    }
+                    return validate(coupon, request.userId(), now);
+                })
+                .toList();
+    }
+
+    private CouponValidationResponse validate(Coupon coupon, Long userId, LocalDateTime now) {
+        CouponPolicy policy = coupon.getCouponPolicy();
+
         // 사용자 검증
         if (!coupon.getUserId().equals(userId)) {
-            return buildInvalidResponse("본인의 쿠폰이 아닙니다.");
+            return buildInvalidResponse(coupon.getId(), "본인의 쿠폰이 아닙니다.");
         }
 
         // 상태 검증
         if (coupon.getStatus() != CouponStatus.AVAILABLE) {
-            return buildInvalidResponse("사용 가능한 쿠폰이 아닙니다.");
+            return buildInvalidResponse(coupon.getId(), "사용 가능한 쿠폰이 아닙니다.");
         }
 
         // 시작 시간 검증
         if (now.isBefore(policy.getStartTime())) {
-            return buildInvalidResponse("쿠폰 사용 시작 전입니다.");
+            return buildInvalidResponse(coupon.getId(), "쿠폰 사용 시작 전입니다.");
         }
 
         // 만료 시간 검증
         if (now.isAfter(policy.getEndTime())) {
-            return buildInvalidResponse("만료된 쿠폰입니다.");
+            return buildInvalidResponse(coupon.getId(), "만료된 쿠폰입니다.");
         }
 
         // 검증 성공
         return CouponValidationResponse.builder()
+                .couponId(coupon.getId())
                 .valid(true)
                 .couponPolicy(CouponValidationResponse.CouponPolicyDto.from(policy))
                 .build();
     }
 
-    private CouponValidationResponse buildInvalidResponse(String reason) {
+    private CouponValidationResponse buildInvalidResponse(Long couponId, String reason) {
         return CouponValidationResponse.builder()
+                .couponId(couponId)
                 .valid(false)
                 .invalidReason(reason)
                 .build();
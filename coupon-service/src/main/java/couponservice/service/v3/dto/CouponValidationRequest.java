@@ -0,0 +1,12 @@
+package couponservice.service.v3.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record CouponValidationRequest(
+        Long userId,
+        List<Long> couponIds
+) {
+}
@@ -12,6 +12,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class CouponValidationResponse {
+    private Long couponId;
     private boolean valid;
     private String invalidReason;
     private CouponPolicyDto couponPolicy;
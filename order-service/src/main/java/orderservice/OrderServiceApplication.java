@@ -15,7 +15,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 @EnableFeignClients
 @EnableDiscoveryClient
 @EnableScheduling
-@ComponentScan(basePackages = {"orderservice", "outboxmessagerelay"})
+@ComponentScan(basePackages = {"orderservice", "outboxmessagerelay", "idempotency"})
 @EntityScan(basePackages = {"orderservice.entity", "outboxmessagerelay.entity"})
 @EnableJpaRepositories(basePackages = {"orderservice.repository", "outboxmessagerelay.repository"})
 @SpringBootApplication
@@ -3,12 +3,15 @@ package orderservice.client;
 import orderservice.client.dto.CouponReserveRequest;
 import orderservice.client.dto.CouponReserveResponse;
 import orderservice.client.dto.CouponResponse;
+import orderservice.client.dto.CouponValidationRequest;
 import orderservice.client.dto.CouponValidationResponse;
 import orderservice.common.config.FeignConfig;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @FeignClient(
         value = "coupon-service",
         configuration = FeignConfig.class
@@ -47,4 +50,7 @@ public interface CouponClient {
             @PathVariable Long couponId,
             @RequestParam Long userId
     );
+
+    @PostMapping("/api/v3/coupons/validate")
+    List<CouponValidationResponse> validateCoupons(@RequestBody CouponValidationRequest request);
 }
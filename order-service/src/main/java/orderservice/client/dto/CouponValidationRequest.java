@@ -0,0 +1,12 @@
+package orderservice.client.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record CouponValidationRequest(
+        Long userId,
+        List<Long> couponIds
+) {
+}
@@ -4,12 +4,14 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import pricing.DiscountPolicy;
 
 @Getter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class CouponValidationResponse {
+    private Long couponId;
     private boolean valid;
     private String invalidReason;
     private CouponPolicyDto couponPolicy;
@@ -26,5 +28,8 @@ public class CouponValidationResponse {
         private Integer minimumOrderAmount;
         private Integer maximumDiscountAmount;
 
+        public DiscountPolicy toDiscountPolicy() {
+            return DiscountPolicy.of(discountType, discountValue, minimumOrderAmount, maximumDiscountAmount);
+        }
     }
 }
@@ -9,18 +9,23 @@ import orderservice.client.CouponClient;
 import orderservice.client.dto.CouponReserveRequest;
 import orderservice.client.dto.CouponReserveResponse;
 import orderservice.client.dto.CouponResponse;
+import orderservice.client.dto.CouponValidationRequest;
 import orderservice.client.dto.CouponValidationResponse;
+import orderservice.common.concurrent.RequestHedging;
 import orderservice.common.exception.CustomGlobalException;
 import orderservice.common.exception.ErrorType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CouponServiceClient {
 
     private final CouponClient couponClient;
+    private final RequestHedging requestHedging;
 
     @Retry(name = "couponService")
     @CircuitBreaker(name = "couponService", fallbackMethod = "getCouponFallback")
@@ -155,7 +160,8 @@ public class CouponServiceClient {
     @Retry(name = "couponService")
     @CircuitBreaker(name = "couponService", fallbackMethod = "validateCouponFallback")
     public CouponValidationResponse validateCoupon(Long couponId, Long userId) {
-        return couponClient.validateCoupon(couponId, userId);
+        return requestHedging.execute("coupon-service.validateCoupon",
+                () -> couponClient.validateCoupon(couponId, userId));
     }
 
     private CouponValidationResponse validateCouponFallback(Long couponId, Long userId, Exception ex) {
@@ -166,4 +172,26 @@ public class CouponServiceClient {
                 .invalidReason("쿠폰 서비스를 일시적으로 사용할 수 없습니다. {}" + ex)
                 .build();
     }
+
+    @Retry(name = "couponService")
+    @CircuitBreaker(name = "couponService", fallbackMethod = "validateCouponsFallback")
+    public List<CouponValidationResponse> validateCoupons(Long userId, List<Long> couponIds) {
+        if (couponIds.isEmpty()) {
+            return List.of();
+        }
+        return requestHedging.execute("coupon-service.validateCoupons",
+                () -> couponClient.validateCoupons(new CouponValidationRequest(userId, couponIds)));
+    }
+
+    private List<CouponValidationResponse> validateCouponsFallback(Long userId, List<Long> couponIds, Exception ex) {
+        log.warn("validateCouponsFallback. userId: {}, couponIds: {}", userId, couponIds);
+
+        return couponIds.stream()
+                .map(couponId -> CouponValidationResponse.builder()
+                        .couponId(couponId)
+                        .valid(false)
+                        .invalidReason("쿠폰 서비스를 일시적으로 사용할 수 없습니다. " + ex.getMessage())
+                        .build())
+                .toList();
+    }
 }
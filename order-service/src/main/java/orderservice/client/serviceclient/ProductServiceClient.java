@@ -3,10 +3,12 @@ package orderservice.client.serviceclient;
 import feign.FeignException;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import orderservice.client.ProductClient;
 import orderservice.client.dto.*;
+import orderservice.common.concurrent.RequestHedging;
+import orderservice.common.concurrent.SingleFlight;
 import orderservice.common.exception.CustomGlobalException;
 import orderservice.common.exception.ErrorType;
 import org.springframework.stereotype.Service;
@@ -15,14 +17,26 @@ import java.util.List;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class ProductServiceClient {
 
     private final ProductClient productClient;
+    private final RequestHedging requestHedging;
+
+    // 인기 상품 오픈 시 같은 상품/옵션 조회가 한꺼번에 몰리므로 진행 중인 호출 하나를 공유한다 (조회만 해당)
+    private final SingleFlight<Long, ProductResponse> productReads;
+    private final SingleFlight<Long, ProductOptionDto> productOptionReads;
+
+    public ProductServiceClient(ProductClient productClient, RequestHedging requestHedging, MeterRegistry meterRegistry) {
+        this.productClient = productClient;
+        this.requestHedging = requestHedging;
+        this.productReads = new SingleFlight<>("product-service.read", meterRegistry);
+        this.productOptionReads = new SingleFlight<>("product-service.getProductOption", meterRegistry);
+    }
 
     @CircuitBreaker(name = "productService", fallbackMethod = "getProductsFallback")
     public List<ProductResponse> getProducts(List<Long> productIds) {
-        return productClient.getProducts(new ProductRequest.ReadProductIds(productIds));
+        return requestHedging.execute("product-service.getProducts",
+                () -> productClient.getProducts(new ProductRequest.ReadProductIds(productIds)));
     }
 
     private List<ProductResponse> getProductsFallback(List<Long> productIds, Exception ex) {
@@ -100,7 +114,8 @@ public class ProductServiceClient {
 
     @CircuitBreaker(name = "productService", fallbackMethod = "getProductFallback")
     public ProductResponse read(Long productId) {
-        return productClient.read(productId);
+        return productReads.execute(productId,
+                () -> requestHedging.execute("product-service.read", () -> productClient.read(productId)));
     }
 
     private ProductResponse getProductFallback(Long productId, Exception ex) {
@@ -139,7 +154,9 @@ public class ProductServiceClient {
 
     @CircuitBreaker(name = "productService", fallbackMethod = "getProductOptionFallback")
     public ProductOptionDto getProductOption(Long productOptionId) {
-        return productClient.getProductOption(productOptionId);
+        return productOptionReads.execute(productOptionId,
+                () -> requestHedging.execute("product-service.getProductOption",
+                        () -> productClient.getProductOption(productOptionId)));
     }
 
     private ProductOptionDto getProductOptionFallback(Long productOptionId, Exception ex) {
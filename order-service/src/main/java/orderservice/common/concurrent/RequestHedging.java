@@ -0,0 +1,266 @@
+package orderservice.common.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 멱등 조회용 hedged request
+ * - 첫 호출이 최근 p95 안에 응답하지 않으면 같은 요청을 한 번 더 보내고 먼저 성공한 응답을 쓴다
+ * - 로드밸런서(P2C + Peak EWMA)는 응답이 밀린 인스턴스의 비용을 높게 보므로 두 번째 호출은 대개 다른 인스턴스로 나간다
+ *   (두 후보가 무작위라 같은 인스턴스로 갈 수도 있다). 진 호출은 취소(interrupt)한다
+ * - 첫 호출과 hedge 호출은 서로 다른 스레드풀에서 돈다: 첫 호출이 hedge 스레드를 다 차지해 hedge 가 거절되지 않게 한다
+ * - 두 풀 모두 대기열 없이 스레드를 바로 내주고, 가득 차면 첫 호출은 호출 스레드에서 hedge 없이, hedge 는 건너뛴다 (대기열에서 기다리면 hedge 의 의미가 없다)
+ * - 추가 부하는 hedge 예산(요청당 5%)으로 제한한다
+ * - hedging.enabled=true 일 때만 동작한다
+ */
+@Component
+public class RequestHedging {
+
+    private static final double HEDGE_BUDGET_RATIO = 0.05;
+    private static final int MIN_SAMPLES = 100;
+    private static final Duration MIN_HEDGE_DELAY = Duration.ofMillis(10);
+    // 첫 호출은 요청 스레드 수(Tomcat 기본 200)만큼 동시에 돌 수 있다
+    private static final int PRIMARY_MAX_THREADS = 200;
+    private static final int HEDGE_MAX_THREADS = 32;
+
+    // 예산은 1/100 단위로 관리: 요청마다 5 적립, hedge 1건에 100 소모, 최대 hedge 10건분까지 적립
+    private static final long BUDGET_SCALE = 100;
+    private static final long BUDGET_PER_REQUEST = Math.round(HEDGE_BUDGET_RATIO * BUDGET_SCALE);
+    private static final long BUDGET_MAX = 10 * BUDGET_SCALE;
+
+    private final boolean enabled;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, HedgeTarget> targets = new ConcurrentHashMap<>();
+    private final AtomicLong budget = new AtomicLong(BUDGET_MAX);
+    private final ThreadPoolExecutor primaryExecutor = newExecutor("hedging-primary-", PRIMARY_MAX_THREADS);
+    private final ThreadPoolExecutor hedgeExecutor = newExecutor("hedging-hedge-", HEDGE_MAX_THREADS);
+
+    public RequestHedging(@Value("${hedging.enabled:false}") boolean enabled, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T execute(String name, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        HedgeTarget target = targets.computeIfAbsent(name, HedgeTarget::new);
+        Optional<Duration> hedgeDelay = target.hedgeDelay();
+        if (hedgeDelay.isEmpty()) {
+            // 표본이 쌓이기 전에는 p95 를 믿을 수 없으므로 hedge 하지 않고 지연시간만 기록
+            return target.latency.record(call);
+        }
+
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        depositBudget();
+
+        Attempt<T> primary;
+        try {
+            primary = submit(primaryExecutor, target, call, requestAttributes, false);
+        } catch (RejectedExecutionException e) {
+            // 첫 호출 스레드풀이 가득 차면 hedge 없이 호출 스레드에서 그대로 실행
+            target.count("rejected");
+            return call.get();
+        }
+
+        try {
+            return primary.result.get(hedgeDelay.get().toNanos(), TimeUnit.NANOSECONDS).value();
+        } catch (TimeoutException e) {
+            // p95 초과 → hedge 여부 판단
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            primary.cancel();
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+
+        if (!tryWithdrawBudget()) {
+            target.count("budget_exhausted");
+            return await(primary.result).value();
+        }
+
+        Attempt<T> hedge;
+        try {
+            hedge = submit(hedgeExecutor, target, call, requestAttributes, true);
+        } catch (RejectedExecutionException e) {
+            target.count("rejected");
+            return await(primary.result).value();
+        }
+
+        Result<T> winner = await(firstSuccess(primary.result, hedge.result));
+        if (winner.hedge()) {
+            primary.cancel();
+            target.count("hedge_won");
+        } else {
+            hedge.cancel();
+            target.count("primary_won");
+        }
+        return winner.value();
+    }
+
+    private <T> Attempt<T> submit(ThreadPoolExecutor executor, HedgeTarget target, Supplier<T> call,
+                                  RequestAttributes requestAttributes, boolean hedge) {
+        CompletableFuture<Result<T>> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            // Feign RequestInterceptor 가 X-USER-ID 헤더를 읽을 수 있도록 요청 컨텍스트를 넘겨준다
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            long startNanos = System.nanoTime();
+            try {
+                T value = call.get();
+                target.latency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                result.complete(new Result<>(value, hedge));
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        });
+        return new Attempt<>(result, task);
+    }
+
+    private static <T> CompletableFuture<Result<T>> firstSuccess(CompletableFuture<Result<T>> primary,
+                                                                 CompletableFuture<Result<T>> hedge) {
+        CompletableFuture<Result<T>> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+
+        primary.whenComplete((result, ex) -> {
+            if (ex == null) {
+                winner.complete(result);
+            } else if (failures.incrementAndGet() == 2) {
+                winner.completeExceptionally(ex);
+            }
+        });
+        hedge.whenComplete((result, ex) -> {
+            if (ex == null) {
+                winner.complete(result);
+            } else if (failures.incrementAndGet() == 2) {
+                // 둘 다 실패하면 첫 호출의 예외를 돌려준다
+                primary.whenComplete((ignored, primaryEx) -> winner.completeExceptionally(primaryEx));
+            }
+        });
+        return winner;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException | CancellationException e) {
+            throw unwrap(e.getCause() != null ? e.getCause() : e);
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new CompletionException(cause);
+    }
+
+    private void depositBudget() {
+        budget.updateAndGet(current -> Math.min(BUDGET_MAX, current + BUDGET_PER_REQUEST));
+    }
+
+    private boolean tryWithdrawBudget() {
+        long current;
+        do {
+            current = budget.get();
+            if (current < BUDGET_SCALE) {
+                return false;
+            }
+        } while (!budget.compareAndSet(current, current - BUDGET_SCALE));
+        return true;
+    }
+
+    private static ThreadPoolExecutor newExecutor(String threadNamePrefix, int maxThreads) {
+        AtomicInteger threadNo = new AtomicInteger();
+        return new ThreadPoolExecutor(0, maxThreads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, threadNamePrefix + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        primaryExecutor.shutdownNow();
+        hedgeExecutor.shutdownNow();
+    }
+
+    private record Result<T>(T value, boolean hedge) {
+    }
+
+    private record Attempt<T>(CompletableFuture<Result<T>> result, Future<?> task) {
+        void cancel() {
+            task.cancel(true);
+        }
+    }
+
+    private class HedgeTarget {
+
+        private final String name;
+        private final Timer latency;
+
+        HedgeTarget(String name) {
+            this.name = name;
+            this.latency = Timer.builder("hedging.latency")
+                    .tag("name", name)
+                    .publishPercentiles(0.95)
+                    .distributionStatisticExpiry(Duration.ofMinutes(1))
+                    .register(meterRegistry);
+        }
+
+        Optional<Duration> hedgeDelay() {
+            if (latency.count() < MIN_SAMPLES) {
+                return Optional.empty();
+            }
+            for (ValueAtPercentile percentile : latency.takeSnapshot().percentileValues()) {
+                if (percentile.percentile() == 0.95) {
+                    long p95Nanos = (long) percentile.value(TimeUnit.NANOSECONDS);
+                    return Optional.of(Duration.ofNanos(Math.max(p95Nanos, MIN_HEDGE_DELAY.toNanos())));
+                }
+            }
+            return Optional.empty();
+        }
+
+        void count(String outcome) {
+            Counter.builder("hedging.requests")
+                    .tag("name", name)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package orderservice.common.config;
 
+import idempotency.IdempotencyInterceptor;
 import lombok.RequiredArgsConstructor;
 import orderservice.common.interceptor.UserIdInterceptor;
 import org.springframework.context.annotation.Configuration;
@@ -11,10 +12,14 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebMvcConfig implements WebMvcConfigurer {
 
     private final UserIdInterceptor userIdInterceptor;
+    private final IdempotencyInterceptor idempotencyInterceptor;
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(userIdInterceptor)
                 .addPathPatterns("/api/**/orders/**");
+
+        registry.addInterceptor(idempotencyInterceptor)
+                .addPathPatterns("/api/v1/orders", "/api/v1/orders/async");
     }
 }
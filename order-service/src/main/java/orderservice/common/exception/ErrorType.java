@@ -30,6 +30,7 @@ public enum ErrorType {
     ORDER_CONFIRM_FAILED(500, "주문 생성에 실패하였습니다."),
     ORDER_CANCEL_FAILED(500, "주문 취소에 실패하였습니다."),
     CART_ITEM_NOT_FOUND(400, "장바구니 아이템을 찾을 수 없습니다."),
+    CART_ITEM_CHANGED(409, "쿠폰을 적용하는 동안 장바구니 수량이 바뀌었습니다. 다시 시도해 주세요."),
     COUPON_NOT_AVAILABLE(400, "쿠폰이 사용가능하지 않습니다."),
     ORDER_EXPIRED(400, "주문이 만료되었습니다."),
 
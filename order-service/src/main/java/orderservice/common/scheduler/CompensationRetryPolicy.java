@@ -0,0 +1,43 @@
+package orderservice.common.scheduler;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 보상 재시도 정책
+ * - 지수 백오프 (base * 2^(attempts-1), 최대 maxBackoff) 에 equal jitter 적용
+ * - maxAttempts 를 채우면 DEAD_LETTER 로 보낸다
+ */
+@Getter
+@RequiredArgsConstructor
+public class CompensationRetryPolicy {
+
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+
+    public boolean isExhausted(int attemptsAfterFailure) {
+        return attemptsAfterFailure >= maxAttempts;
+    }
+
+    /**
+     * @param attemptsAfterFailure 이번 실패까지 포함한 시도 횟수 (1부터)
+     */
+    public LocalDateTime nextAttemptAt(LocalDateTime now, int attemptsAfterFailure) {
+        return now.plus(backoff(attemptsAfterFailure));
+    }
+
+    Duration backoff(int attemptsAfterFailure) {
+        // 2^20 배면 어떤 설정이든 maxBackoff 를 넘으므로 그 이상은 계산하지 않는다 (오버플로 방지)
+        int exponent = Math.max(0, Math.min(attemptsAfterFailure - 1, 20));
+        long backoffMillis = Math.min(baseBackoff.toMillis() << exponent, maxBackoff.toMillis());
+
+        long half = backoffMillis / 2;
+        long jitter = ThreadLocalRandom.current().nextLong(half + 1);
+        return Duration.ofMillis(half + jitter);
+    }
+}
@@ -1,5 +1,6 @@
 package orderservice.common.scheduler;
 
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import orderservice.client.serviceclient.CouponServiceClient;
@@ -7,58 +8,117 @@ import orderservice.client.serviceclient.PointServiceClient;
 import orderservice.client.serviceclient.ProductServiceClient;
 import orderservice.entity.CompensationRegistry;
 import orderservice.repository.CompensationRegistryJpaRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class CompensationRetryScheduler {
 
+    private static final String LEASE_NAME = "CompensationRetryScheduler_retryPendingCompensations";
+    private static final Duration LEASE_TTL = Duration.ofSeconds(50);
+    private static final int PAGE_SIZE = 100;
+    private static final int WORKER_THREADS = 8;
+    // (next_attempt_at, id) 키셋의 시작점 - 어떤 재시도 시각보다도 앞선다
+    private static final LocalDateTime KEYSET_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    // 하위 서비스별 동시 호출 상한 (한 서비스 장애가 워커 전체를 붙잡지 않도록)
+    private static final int DOWNSTREAM_MAX_CONCURRENT_CALLS = 3;
+    private static final long BULKHEAD_MAX_WAIT_MILLIS = 500;
+    private static final Duration BULKHEAD_FULL_DEFER = Duration.ofSeconds(30);
+
     private final CompensationRegistryJpaRepository compensationRegistryRepository;
     private final ProductServiceClient productClient;
     private final CouponServiceClient couponClient;
     private final PointServiceClient pointClient;
+    private final SchedulerLease schedulerLease;
+
+    private final CompensationRetryPolicy retryPolicy =
+            new CompensationRetryPolicy(10, Duration.ofSeconds(30), Duration.ofMinutes(30));
+    private final ExecutorService retryExecutor = Executors.newFixedThreadPool(WORKER_THREADS);
+    private final Map<Downstream, Semaphore> bulkheads = createBulkheads();
 
     @Scheduled(fixedDelay = 60000, initialDelay = 10000)  // 1분마다, 시작 10초 후
     public void retryPendingCompensations() {
-        log.info("===== 보상 트랜잭션 재시도 시작 =====");
-
-        List<CompensationRegistry> pendingList = compensationRegistryRepository
-                .findByStatusOrderByCreatedAtAsc(CompensationRegistry.CompensationStatus.PENDING);
-
-        if (pendingList.isEmpty()) {
-            log.info("재시도 대상 없음");
+        Optional<String> lease = schedulerLease.tryAcquire(LEASE_NAME, LEASE_TTL);
+        if (lease.isEmpty()) {
+            log.debug("보상 트랜잭션 재시도 스킵 - 다른 인스턴스가 실행 중");
             return;
         }
 
-        log.info("재시도 대상: {}건", pendingList.size());
+        String token = lease.get();
+        log.info("===== 보상 트랜잭션 재시도 시작 =====");
 
-        int successCount = 0;
-        int failCount = 0;
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lastNextAttemptAt = KEYSET_START;
+        long lastId = 0L;
+        Map<RetryResult, Integer> results = new EnumMap<>(RetryResult.class);
 
-        for (CompensationRegistry registry : pendingList) {
-            boolean success = retryCompensation(registry);
-            if (success) {
-                successCount++;
-            } else {
-                failCount++;
+        try {
+            while (true) {
+                List<CompensationRegistry> dueList = compensationRegistryRepository.findDue(
+                        CompensationRegistry.CompensationStatus.PENDING, now, lastNextAttemptAt, lastId, PageRequest.of(0, PAGE_SIZE));
+
+                if (dueList.isEmpty()) {
+                    break;
+                }
+
+                // 재시도가 nextAttemptAt 을 바꾸므로 처리 전에 키셋 위치를 기록한다
+                CompensationRegistry last = dueList.get(dueList.size() - 1);
+                lastNextAttemptAt = last.getNextAttemptAt();
+                lastId = last.getId();
+
+                List<CompletableFuture<RetryResult>> futures = dueList.stream()
+                        .map(registry -> CompletableFuture.supplyAsync(() -> retryCompensation(registry), retryExecutor))
+                        .toList();
+
+                for (CompletableFuture<RetryResult> future : futures) {
+                    results.merge(future.join(), 1, Integer::sum);
+                }
+
+                if (dueList.size() < PAGE_SIZE || !schedulerLease.extend(LEASE_NAME, token, LEASE_TTL)) {
+                    break;
+                }
             }
+        } catch (Exception e) {
+            log.error("보상 트랜잭션 재시도 배치 실패 - lastNextAttemptAt: {}, lastId: {}", lastNextAttemptAt, lastId, e);
+        } finally {
+            schedulerLease.release(LEASE_NAME, token);
         }
 
-        log.info("===== 보상 트랜잭션 재시도 완료 ===== 성공: {}건, 실패: {}건", successCount, failCount);
+        if (results.isEmpty()) {
+            log.info("재시도 대상 없음");
+            return;
+        }
+
+        log.info("===== 보상 트랜잭션 재시도 완료 ===== 성공: {}건, 재시도 예약: {}건, 연기: {}건, DEAD_LETTER: {}건",
+                results.getOrDefault(RetryResult.COMPLETED, 0),
+                results.getOrDefault(RetryResult.RETRY_SCHEDULED, 0),
+                results.getOrDefault(RetryResult.DEFERRED, 0),
+                results.getOrDefault(RetryResult.DEAD_LETTER, 0));
     }
 
-    @Transactional
-    public boolean retryCompensation(CompensationRegistry registry) {
+    private RetryResult retryCompensation(CompensationRegistry registry) {
         Long orderId = registry.getOrderId();
         CompensationRegistry.CompensationType type = registry.getType();
 
-        log.info("보상 재시도 - orderId: {}, type: {}", orderId, type);
+        log.info("보상 재시도 - orderId: {}, type: {}, attempts: {}", orderId, type, registry.getAttempts());
 
+        RetryResult result;
         try {
             switch (type) {
                 case ORDER_CREATE_ROLLBACK -> retryOrderCreateRollback(orderId);
@@ -67,27 +127,44 @@ public class CompensationRetryScheduler {
             }
 
             registry.markCompleted();
-            compensationRegistryRepository.save(registry);
-
+            result = RetryResult.COMPLETED;
             log.info("보상 재시도 성공 - orderId: {}, type: {}", orderId, type);
-            return true;
+
+        } catch (BulkheadFullException e) {
+            registry.defer(LocalDateTime.now().plus(BULKHEAD_FULL_DEFER));
+            result = RetryResult.DEFERRED;
+            log.warn("보상 재시도 연기 - orderId: {}, type: {}, downstream: {}", orderId, type, e.getMessage());
 
         } catch (Exception e) {
-            log.error("보상 재시도 실패 - orderId: {}, type: {} (다음 스케줄에 재시도)", orderId, type, e);
-            return false;
+            int attempts = registry.getAttempts() + 1;
+            if (retryPolicy.isExhausted(attempts)) {
+                registry.markDeadLetter();
+                result = RetryResult.DEAD_LETTER;
+                // Kibana가 수집할 로그
+                log.error("[DLT] compensationId={}, orderId={}, type={}, attempts={}, service={}",
+                        registry.getId(), orderId, type, attempts, "order-service", e);
+            } else {
+                registry.scheduleRetry(retryPolicy.nextAttemptAt(LocalDateTime.now(), attempts));
+                result = RetryResult.RETRY_SCHEDULED;
+                log.error("보상 재시도 실패 - orderId: {}, type: {}, attempts: {}, nextAttemptAt: {}",
+                        orderId, type, attempts, registry.getNextAttemptAt(), e);
+            }
         }
+
+        compensationRegistryRepository.save(registry);
+        return result;
     }
 
     private void retryOrderCreateRollback(Long orderId) {
         log.info("주문 생성 실패 보상 - 예약 취소 시도 - orderId: {}", orderId);
 
-        productClient.cancelReservation(orderId);
+        call(Downstream.PRODUCT, () -> productClient.cancelReservation(orderId));
         log.info("재고 예약 취소 완료 - orderId: {}", orderId);
 
-        couponClient.cancelReservation(orderId);
+        call(Downstream.COUPON, () -> couponClient.cancelReservation(orderId));
         log.info("쿠폰 예약 취소 완료 - orderId: {}", orderId);
 
-        pointClient.cancelReservation(orderId);
+        call(Downstream.POINT, () -> pointClient.cancelReservation(orderId));
         log.info("포인트 예약 취소 완료 - orderId: {}", orderId);
     }
 
@@ -97,13 +174,13 @@ public class CompensationRetryScheduler {
     private void retryOrderCancelPending(Long orderId) {
         log.info("PENDING 주문 취소 실패 보상 - 재예약 시도 - orderId: {}", orderId);
 
-        productClient.rollbackReserveStock(orderId);
+        call(Downstream.PRODUCT, () -> productClient.rollbackReserveStock(orderId));
         log.info("재고 재예약 완료 - orderId: {}", orderId);
 
-        couponClient.rollbackReserveCoupon(orderId);
+        call(Downstream.COUPON, () -> couponClient.rollbackReserveCoupon(orderId));
         log.info("쿠폰 재예약 완료 - orderId: {}", orderId);
 
-        pointClient.rollbackReservePoints(orderId);
+        call(Downstream.POINT, () -> pointClient.rollbackReservePoints(orderId));
         log.info("포인트 재예약 완료 - orderId: {}", orderId);
     }
 
@@ -113,13 +190,66 @@ public class CompensationRetryScheduler {
     private void retryOrderCancelConfirmed(Long orderId) {
         log.info("CONFIRMED 주문 취소 실패 보상 - 재확정 시도 - orderId: {}", orderId);
 
-        productClient.confirmStock(orderId);
+        call(Downstream.PRODUCT, () -> productClient.confirmStock(orderId));
         log.info("재고 재확정 완료 - orderId: {}", orderId);
 
-        couponClient.confirmCoupon(orderId);
+        call(Downstream.COUPON, () -> couponClient.confirmCoupon(orderId));
         log.info("쿠폰 재확정 완료 - orderId: {}", orderId);
 
-        pointClient.confirmPoints(orderId);
+        call(Downstream.POINT, () -> pointClient.confirmPoints(orderId));
         log.info("포인트 재확정 완료 - orderId: {}", orderId);
     }
+
+    private void call(Downstream downstream, Runnable action) {
+        Semaphore bulkhead = bulkheads.get(downstream);
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire(BULKHEAD_MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkheadFullException(downstream);
+        }
+
+        if (!acquired) {
+            throw new BulkheadFullException(downstream);
+        }
+
+        try {
+            action.run();
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        retryExecutor.shutdown();
+    }
+
+    private static Map<Downstream, Semaphore> createBulkheads() {
+        Map<Downstream, Semaphore> bulkheads = new EnumMap<>(Downstream.class);
+        for (Downstream downstream : Downstream.values()) {
+            bulkheads.put(downstream, new Semaphore(DOWNSTREAM_MAX_CONCURRENT_CALLS));
+        }
+        return bulkheads;
+    }
+
+    private enum Downstream {
+        PRODUCT,
+        COUPON,
+        POINT
+    }
+
+    private enum RetryResult {
+        COMPLETED,
+        RETRY_SCHEDULED,
+        DEFERRED,
+        DEAD_LETTER
+    }
+
+    private static class BulkheadFullException extends RuntimeException {
+        BulkheadFullException(Downstream downstream) {
+            super(downstream.name());
+        }
+    }
 }
@@ -2,53 +2,82 @@ package orderservice.common.scheduler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import orderservice.entity.Order;
-import orderservice.repository.OrderJpaRepository;
+import orderservice.service.kafka.producer.OrderEventProducer;
 import orderservice.service.v1.OrderService;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class OrderExpirationScheduler {
 
-    private final OrderJpaRepository orderRepository;
+    private static final String LEASE_NAME = "OrderExpirationScheduler_cancelExpiredOrders";
+    private static final Duration LEASE_TTL = Duration.ofSeconds(50);
+    private static final int CHUNK_SIZE = 500;
+
     private final OrderService orderService;
+    private final OrderEventProducer orderEventProducer;
+    private final SchedulerLease schedulerLease;
 
+    /**
+     * 만료 주문 취소 배치
+     * - 리스를 잡은 한 인스턴스만 실행
+     * - id 키셋 청크 단위로 잠금 + 일괄 취소 후 취소 이벤트를 배치 발행 (메모리는 청크 크기로 제한)
+     * - 청크마다 리스를 연장하고, 연장에 실패하면 다음 실행으로 넘긴다
+     */
     @Scheduled(fixedDelay = 60000) // 1분
-//    @SchedulerLock(
-//            name = "OrderExpirationScheduler_cancelExpiredOrders",
-//            lockAtMostFor = "50s",
-//            lockAtLeastFor = "10s"
-//    )
     public void cancelExpiredOrders() {
+        Optional<String> lease = schedulerLease.tryAcquire(LEASE_NAME, LEASE_TTL);
+        if (lease.isEmpty()) {
+            log.debug("만료 주문 취소 배치 스킵 - 다른 인스턴스가 실행 중");
+            return;
+        }
+
+        String token = lease.get();
         log.info("===== 만료 주문 취소 배치 시작 =====");
 
+        LocalDateTime now = LocalDateTime.now();
+        long lastOrderId = 0L;
+        int totalCount = 0;
+
         try {
-            LocalDateTime now = LocalDateTime.now();
-            List<Order> expiredOrders = orderRepository.findExpiredOrders(now);
+            while (true) {
+                List<Order> cancelledOrders = orderService.cancelExpiredOrderChunk(now, lastOrderId, CHUNK_SIZE);
+                if (cancelledOrders.isEmpty()) {
+                    break;
+                }
 
-            if (expiredOrders.isEmpty()) {
-                log.info("만료된 주문 없음");
-                return;
-            }
+                orderEventProducer.sendCancelEvents(cancelledOrders);
+
+                totalCount += cancelledOrders.size();
+                lastOrderId = cancelledOrders.get(cancelledOrders.size() - 1).getId();
 
-            log.info("만료된 주문 발견 - count: {}", expiredOrders.size());
+                if (cancelledOrders.size() < CHUNK_SIZE) {
+                    break;
+                }
 
-            for (Order order : expiredOrders) {
-                try {
-                    orderService.cancelExpiredOrder(order.getId());
-                    log.info("만료 주문 취소 성공 - orderId: {}", order.getId());
-                } catch (Exception e) {
-                    log.error("만료 주문 취소 실패 - orderId: {}", order.getId(), e);
+                if (!schedulerLease.extend(LEASE_NAME, token, LEASE_TTL)) {
+                    log.warn("만료 주문 취소 배치 리스 상실 - lastOrderId: {}", lastOrderId);
+                    return;
                 }
             }
 
+            if (totalCount == 0) {
+                log.info("만료된 주문 없음");
+            } else {
+                log.info("===== 만료 주문 취소 배치 완료 ===== count: {}, lastOrderId: {}", totalCount, lastOrderId);
+            }
+
         } catch (Exception e) {
-            log.error("만료 주문 취소 배치 실패", e);
+            log.error("만료 주문 취소 배치 실패 - lastOrderId: {}", lastOrderId, e);
+        } finally {
+            schedulerLease.release(LEASE_NAME, token);
         }
     }
 }
@@ -0,0 +1,59 @@
+package orderservice.common.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 스케줄러용 Redis 분산 리스
+ * - 토큰을 가진 인스턴스만 연장/해제할 수 있다
+ * - 인스턴스가 죽어도 TTL 이 지나면 다른 인스턴스가 이어받는다
+ */
+@Component
+@RequiredArgsConstructor
+public class SchedulerLease {
+
+    private static final String LEASE_KEY_PREFIX = "scheduler::lease::";
+
+    private static final DefaultRedisScript<Long> EXTEND_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public Optional<String> tryAcquire(String name, Duration ttl) {
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = stringRedisTemplate.opsForValue().setIfAbsent(getKey(name), token, ttl);
+        return Boolean.TRUE.equals(acquired) ? Optional.of(token) : Optional.empty();
+    }
+
+    public boolean extend(String name, String token, Duration ttl) {
+        Long result = stringRedisTemplate.execute(
+                EXTEND_SCRIPT, List.of(getKey(name)), token, String.valueOf(ttl.toMillis()));
+        return result != null && result == 1L;
+    }
+
+    public void release(String name, String token) {
+        stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(getKey(name)), token);
+    }
+
+    private String getKey(String name) {
+        return LEASE_KEY_PREFIX + name;
+    }
+}
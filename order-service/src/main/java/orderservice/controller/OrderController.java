@@ -3,10 +3,16 @@ package orderservice.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import orderservice.entity.OrderStatus;
 import orderservice.service.dto.request.OrderRequest;
 import orderservice.service.dto.response.OrderResponse;
 import orderservice.service.v1.OrderService;
+import orderservice.service.v1.OrderStatusNotifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Slf4j
 @RestController("orderControllerV3")
@@ -15,6 +21,7 @@ import org.springframework.web.bind.annotation.*;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderStatusNotifier orderStatusNotifier;
 
     @PostMapping
     public OrderResponse.Create createCartOrder(
@@ -24,6 +31,31 @@ public class OrderController {
         return orderService.createOrderFromCart(userId, request);
     }
 
+    @PostMapping("/async")
+    public ResponseEntity<OrderResponse.Accepted> acceptCartOrder(
+            @RequestHeader("X-USER-ID") Long userId,
+            @Valid @RequestBody OrderRequest.Create request
+    ) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(orderService.acceptOrderFromCart(userId, request));
+    }
+
+    @GetMapping("/{orderId}/status")
+    public OrderResponse.Status getOrderStatus(
+            @PathVariable Long orderId,
+            @RequestHeader("X-USER-ID") Long userId
+    ) {
+        return orderService.getOrderStatus(orderId, userId);
+    }
+
+    @GetMapping(value = "/{orderId}/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderStatus(
+            @PathVariable Long orderId,
+            @RequestHeader("X-USER-ID") Long userId
+    ) {
+        return orderStatusNotifier.connect(orderService.getOrderStatus(orderId, userId));
+    }
+
     @PostMapping("/{orderId}/process")
     public void confirmOrder(@PathVariable Long orderId) {
         orderService.confirmOrder(orderId);
@@ -37,6 +69,16 @@ public class OrderController {
         return orderService.cancelOrder(orderId, userId);
     }
 
+    @GetMapping
+    public OrderResponse.History getOrderHistory(
+            @RequestHeader("X-USER-ID") Long userId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) Long lastOrderId,
+            @RequestParam(defaultValue = "20") int pageSize
+    ) {
+        return orderService.getOrderHistory(userId, status, lastOrderId, pageSize);
+    }
+
     @GetMapping("/{orderId}")
     public OrderResponse.Detail getOrder(
             @PathVariable Long orderId,
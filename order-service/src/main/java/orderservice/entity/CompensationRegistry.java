@@ -5,8 +5,12 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Entity
-@Table(name = "compensation_registries")
+@Table(name = "compensation_registries", indexes = {
+        @Index(name = "idx_compensation_status_next_attempt_at_id", columnList = "status, next_attempt_at, id")
+})
 @Getter
 @NoArgsConstructor
 public class CompensationRegistry {
@@ -25,20 +29,46 @@ public class CompensationRegistry {
     @Column(nullable = false)
     private CompensationType type;
 
+    // 기존 행이 있는 테이블에 NOT NULL 로 추가되므로 기본값을 둔다 (MySQL strict 모드)
+    @Column(nullable = false, columnDefinition = "INT DEFAULT 0")
+    private Integer attempts;
+
+    @Column(nullable = false, columnDefinition = "DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6)")
+    private LocalDateTime nextAttemptAt;
+
     @Builder
     public CompensationRegistry(Long orderId, CompensationType type) {
         this.orderId = orderId;
         this.status = CompensationStatus.PENDING;
         this.type = type;
+        this.attempts = 0;
+        this.nextAttemptAt = LocalDateTime.now();
     }
 
     public void markCompleted() {
+        this.attempts++;
         this.status = CompensationStatus.COMPLETED;
     }
 
+    public void scheduleRetry(LocalDateTime nextAttemptAt) {
+        this.attempts++;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public void markDeadLetter() {
+        this.attempts++;
+        this.status = CompensationStatus.DEAD_LETTER;
+    }
+
+    // 시도 횟수는 늘리지 않고 미룬다 (벌크헤드 포화 등 하위 서비스 호출 전 거절)
+    public void defer(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
     public enum CompensationStatus {
         PENDING,
-        COMPLETED
+        COMPLETED,
+        DEAD_LETTER
     }
 
     public enum CompensationType {
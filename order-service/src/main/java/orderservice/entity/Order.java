@@ -12,7 +12,11 @@ import java.util.List;
 @Slf4j
 @Getter
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_user_id_id", columnList = "user_id, id"),
+        @Index(name = "idx_orders_user_id_status_id", columnList = "user_id, status, id"),
+        @Index(name = "idx_orders_status_id", columnList = "status, id")
+})
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -60,6 +64,9 @@ public class Order extends BaseEntity {
     @Column(nullable = false)
     private LocalDateTime expiresAt;
 
+    // 재고/쿠폰/포인트 예약이 모두 끝난 시각 (비동기 주문은 워커가 채운다)
+    private LocalDateTime reservedAt;
+
     public static Order create(
             Long userId,
             Integer totalAmount,
@@ -89,6 +96,18 @@ public class Order extends BaseEntity {
         this.finalAmount = finalAmount;
     }
 
+    public void markReserved() {
+        this.reservedAt = LocalDateTime.now();
+    }
+
+    public boolean isReserved() {
+        return this.reservedAt != null;
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return this.expiresAt.isBefore(now);
+    }
+
     public void completed(){
         this.status = OrderStatus.COMPLETED;
     }
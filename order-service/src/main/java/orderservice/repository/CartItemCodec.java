@@ -0,0 +1,80 @@
+package orderservice.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import orderservice.entity.CartItemRedis;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 장바구니 항목 압축 인코딩
+ * - field: {productId}::{productOptionId}
+ * - value: {quantity}|{appliedCouponId 또는 빈 값}|{couponDiscount}|{addedAt epoch seconds}
+ * - 이전 포맷(GenericJackson2JsonRedisSerializer JSON)도 읽을 수 있다. 다음 쓰기 때 압축 포맷으로 바뀐다
+ */
+final class CartItemCodec {
+
+    static final String FIELD_SEPARATOR = "::";
+    private static final char VALUE_SEPARATOR = '|';
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final ObjectMapper LEGACY_MAPPER = new ObjectMapper();
+
+    private CartItemCodec() {
+    }
+
+    static String field(Long productId, Long productOptionId) {
+        return productId + FIELD_SEPARATOR + productOptionId;
+    }
+
+    static String encode(CartItemRedis item) {
+        LocalDateTime addedAt = item.getAddedAt() != null ? item.getAddedAt() : LocalDateTime.now();
+        return String.valueOf(item.getQuantity())
+                + VALUE_SEPARATOR + (item.getAppliedCouponId() != null ? item.getAppliedCouponId() : "")
+                + VALUE_SEPARATOR + (item.getCouponDiscount() != null ? item.getCouponDiscount() : 0)
+                + VALUE_SEPARATOR + epochSeconds(addedAt);
+    }
+
+    static CartItemRedis decode(String field, String value) {
+        int separator = field.indexOf(FIELD_SEPARATOR);
+        Long productId = Long.valueOf(field.substring(0, separator));
+        Long productOptionId = Long.valueOf(field.substring(separator + FIELD_SEPARATOR.length()));
+
+        if (value.startsWith("{")) {
+            return decodeLegacy(productId, productOptionId, value);
+        }
+
+        String[] parts = value.split("\\|", -1);
+        return CartItemRedis.builder()
+                .productId(productId)
+                .productOptionId(productOptionId)
+                .quantity(Integer.valueOf(parts[0]))
+                .appliedCouponId(parts[1].isEmpty() ? null : Long.valueOf(parts[1]))
+                .couponDiscount(Integer.valueOf(parts[2]))
+                .addedAt(LocalDateTime.ofInstant(Instant.ofEpochSecond(Long.parseLong(parts[3])), ZONE))
+                .build();
+    }
+
+    static long epochSeconds(LocalDateTime dateTime) {
+        return dateTime.atZone(ZONE).toEpochSecond();
+    }
+
+    private static CartItemRedis decodeLegacy(Long productId, Long productOptionId, String value) {
+        try {
+            JsonNode node = LEGACY_MAPPER.readTree(value);
+            JsonNode couponId = node.path("appliedCouponId");
+            return CartItemRedis.builder()
+                    .productId(productId)
+                    .productOptionId(productOptionId)
+                    .quantity(node.path("quantity").asInt())
+                    .appliedCouponId(couponId.isNumber() ? couponId.asLong() : null)
+                    .couponDiscount(node.path("couponDiscount").asInt(0))
+                    .addedAt(LocalDateTime.now())
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException("장바구니 항목 역직렬화 실패 - value: " + value, e);
+        }
+    }
+}
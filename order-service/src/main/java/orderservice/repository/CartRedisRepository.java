@@ -0,0 +1,210 @@
+package orderservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import orderservice.entity.CartItemRedis;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 장바구니 저장소 (Redis Hash, CartItemCodec 압축 포맷)
+ * - 추가/수량 증가/쿠폰 적용/삭제는 Lua 스크립트 한 번으로 처리하고 같은 호출에서 TTL 을 갱신한다
+ * - 여러 항목 추가는 파이프라인으로 한 번에 보낸다
+ */
+@Repository
+@RequiredArgsConstructor
+public class CartRedisRepository {
+
+    private static final String CART_KEY_PREFIX = "cart::";
+    private static final Duration CART_TTL = Duration.ofDays(7);
+
+    // 압축 포맷을 읽고, 이전 JSON 포맷이면 수량/쿠폰만 살려서 읽는다
+    private static final String DECODE_ITEM = """
+            local function decode(v, now)
+                if not v then
+                    return nil
+                end
+                local q, c, d, t = string.match(v, '^(%d+)|(%d*)|(%d+)|(%d+)$')
+                if q then
+                    return { qty = tonumber(q), coupon = c, discount = d, addedAt = t }
+                end
+                local ok, item = pcall(cjson.decode, v)
+                if not ok or type(item) ~= 'table' then
+                    return nil
+                end
+                local coupon = ''
+                if type(item['appliedCouponId']) == 'number' then
+                    coupon = string.format('%d', item['appliedCouponId'])
+                end
+                local discount = 0
+                if type(item['couponDiscount']) == 'number' then
+                    discount = item['couponDiscount']
+                end
+                return { qty = tonumber(item['quantity']) or 0, coupon = coupon,
+                         discount = string.format('%d', discount), addedAt = now }
+            end
+            local function encode(item)
+                return item.qty .. '|' .. item.coupon .. '|' .. item.discount .. '|' .. item.addedAt
+            end
+            """;
+
+    // KEYS[1]=cart, ARGV[1]=field, ARGV[2]=delta, ARGV[3]=now(epoch s), ARGV[4]=ttl(ms) → 변경 후 수량
+    private static final DefaultRedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(DECODE_ITEM + """
+            local item = decode(redis.call('HGET', KEYS[1], ARGV[1]), ARGV[3])
+            if not item then
+                item = { qty = 0, coupon = '', discount = '0', addedAt = ARGV[3] }
+            end
+            item.qty = item.qty + tonumber(ARGV[2])
+            if item.qty <= 0 then
+                redis.call('HDEL', KEYS[1], ARGV[1])
+                item.qty = 0
+            else
+                redis.call('HSET', KEYS[1], ARGV[1], encode(item))
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            return item.qty
+            """, Long.class);
+
+    // KEYS[1]=cart, ARGV[1]=field, ARGV[2]=couponId(빈 값이면 제거), ARGV[3]=discount, ARGV[4]=now, ARGV[5]=ttl(ms),
+    // ARGV[6]=할인을 계산한 수량(빈 값이면 확인 안 함) → 적용 1, 항목 없음 0, 그사이 수량이 바뀜 -1
+    private static final DefaultRedisScript<Long> APPLY_COUPON_SCRIPT = new DefaultRedisScript<>(DECODE_ITEM + """
+            local item = decode(redis.call('HGET', KEYS[1], ARGV[1]), ARGV[4])
+            if not item then
+                return 0
+            end
+            if ARGV[6] ~= '' and item.qty ~= tonumber(ARGV[6]) then
+                return -1
+            end
+            item.coupon = ARGV[2]
+            item.discount = ARGV[3]
+            redis.call('HSET', KEYS[1], ARGV[1], encode(item))
+            redis.call('PEXPIRE', KEYS[1], ARGV[5])
+            return 1
+            """, Long.class);
+
+    // KEYS[1]=cart, ARGV[1]=field, ARGV[2]=ttl(ms) → 삭제된 항목 수
+    private static final DefaultRedisScript<Long> REMOVE_SCRIPT = new DefaultRedisScript<>("""
+            local removed = redis.call('HDEL', KEYS[1], ARGV[1])
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return removed
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 수량 증가 (항목이 없으면 생성, 0 이하가 되면 삭제)
+     *
+     * @return 변경 후 수량
+     */
+    public long increment(Long userId, Long productId, Long productOptionId, int delta) {
+        Long quantity = redisTemplate.execute(INCREMENT_SCRIPT, List.of(getCartKey(userId)),
+                CartItemCodec.field(productId, productOptionId),
+                String.valueOf(delta),
+                String.valueOf(CartItemCodec.epochSeconds(LocalDateTime.now())),
+                String.valueOf(CART_TTL.toMillis()));
+        return quantity != null ? quantity : 0L;
+    }
+
+    /**
+     * 여러 항목을 파이프라인 한 번으로 추가 (기존 항목은 수량 증가)
+     */
+    public void addAll(Long userId, List<CartItemRedis> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        byte[] cartKey = getCartKey(userId).getBytes(StandardCharsets.UTF_8);
+        byte[] script = INCREMENT_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        byte[] now = String.valueOf(CartItemCodec.epochSeconds(LocalDateTime.now())).getBytes(StandardCharsets.UTF_8);
+        byte[] ttl = String.valueOf(CART_TTL.toMillis()).getBytes(StandardCharsets.UTF_8);
+        RedisSerializer<String> serializer = redisTemplate.getStringSerializer();
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (CartItemRedis item : items) {
+                connection.scriptingCommands().eval(script, ReturnType.INTEGER, 1,
+                        cartKey,
+                        serializer.serialize(CartItemCodec.field(item.getProductId(), item.getProductOptionId())),
+                        serializer.serialize(String.valueOf(item.getQuantity())),
+                        now,
+                        ttl);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 쿠폰 적용 - 할인을 계산한 뒤 수량이 바뀌었으면 적용하지 않는다 (바뀐 수량에 맞지 않는 할인 방지)
+     *
+     * @param quantity 할인 금액을 계산할 때 쓴 수량
+     */
+    public CouponUpdate applyCoupon(Long userId, Long productId, Long productOptionId, Long couponId, int discount, int quantity) {
+        Long result = updateCoupon(userId, productId, productOptionId, String.valueOf(couponId), discount, String.valueOf(quantity));
+        if (result == null || result == 0L) {
+            return CouponUpdate.NOT_FOUND;
+        }
+        return result < 0 ? CouponUpdate.QUANTITY_CHANGED : CouponUpdate.APPLIED;
+    }
+
+    /**
+     * @return 항목이 있으면 true
+     */
+    public boolean removeCoupon(Long userId, Long productId, Long productOptionId) {
+        Long result = updateCoupon(userId, productId, productOptionId, "", 0, "");
+        return result != null && result == 1L;
+    }
+
+    public void remove(Long userId, Long productId, Long productOptionId) {
+        redisTemplate.execute(REMOVE_SCRIPT, List.of(getCartKey(userId)),
+                CartItemCodec.field(productId, productOptionId),
+                String.valueOf(CART_TTL.toMillis()));
+    }
+
+    public Optional<CartItemRedis> find(Long userId, Long productId, Long productOptionId) {
+        String field = CartItemCodec.field(productId, productOptionId);
+        Object value = redisTemplate.opsForHash().get(getCartKey(userId), field);
+        return Optional.ofNullable(value).map(v -> CartItemCodec.decode(field, (String) v));
+    }
+
+    public List<CartItemRedis> findAll(Long userId) {
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(getCartKey(userId));
+
+        List<CartItemRedis> items = new ArrayList<>(entries.size());
+        entries.forEach((field, value) -> items.add(CartItemCodec.decode((String) field, (String) value)));
+        return items;
+    }
+
+    public void delete(Long userId) {
+        redisTemplate.delete(getCartKey(userId));
+    }
+
+    private Long updateCoupon(Long userId, Long productId, Long productOptionId, String couponId, int discount, String expectedQuantity) {
+        return redisTemplate.execute(APPLY_COUPON_SCRIPT, List.of(getCartKey(userId)),
+                CartItemCodec.field(productId, productOptionId),
+                couponId,
+                String.valueOf(discount),
+                String.valueOf(CartItemCodec.epochSeconds(LocalDateTime.now())),
+                String.valueOf(CART_TTL.toMillis()),
+                expectedQuantity);
+    }
+
+    private String getCartKey(Long userId) {
+        return CART_KEY_PREFIX + userId;
+    }
+
+    public enum CouponUpdate {
+        APPLIED,
+        NOT_FOUND,
+        QUANTITY_CHANGED
+    }
+}
@@ -1,13 +1,33 @@
 package orderservice.repository;
 
 import orderservice.entity.CompensationRegistry;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface CompensationRegistryJpaRepository extends JpaRepository<CompensationRegistry, Long> {
-    List<CompensationRegistry> findByStatusOrderByCreatedAtAsc(CompensationRegistry.CompensationStatus status);
+
+    // 재시도 시각이 된 보상만 (next_attempt_at, id) 키셋으로 페이지 조회 - (status, next_attempt_at, id) 인덱스 순서 그대로 읽어 filesort 가 없다
+    @Query("""
+            SELECT c FROM CompensationRegistry c
+            WHERE c.status = :status
+            AND c.nextAttemptAt <= :now
+            AND (c.nextAttemptAt > :lastNextAttemptAt
+                 OR (c.nextAttemptAt = :lastNextAttemptAt AND c.id > :lastId))
+            ORDER BY c.nextAttemptAt ASC, c.id ASC
+            """)
+    List<CompensationRegistry> findDue(
+            @Param("status") CompensationRegistry.CompensationStatus status,
+            @Param("now") LocalDateTime now,
+            @Param("lastNextAttemptAt") LocalDateTime lastNextAttemptAt,
+            @Param("lastId") Long lastId,
+            Pageable pageable
+    );
 
     Optional<CompensationRegistry> findByOrderId(Long orderId);
 }
@@ -1,8 +1,12 @@
 package orderservice.repository;
 
+import jakarta.persistence.LockModeType;
 import orderservice.entity.Order;
 import orderservice.entity.OrderStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -10,11 +14,69 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 public interface OrderJpaRepository extends JpaRepository<Order, Long> {
-    List<Order> findByUserId(Long userId);
-    List<Order> findByUserIdAndStatus(Long userId, OrderStatus status);
+
+    // 주문 내역 키셋 페이징 1단계: (user_id[, status], id) 인덱스만으로 id 목록 조회
+    @Query("""
+            SELECT o.id FROM Order o
+            WHERE o.userId = :userId
+            AND (:lastOrderId IS NULL OR o.id < :lastOrderId)
+            ORDER BY o.id DESC
+            """)
+    List<Long> findOrderIdsByUserId(
+            @Param("userId") Long userId,
+            @Param("lastOrderId") Long lastOrderId,
+            Pageable pageable
+    );
+
+    @Query("""
+            SELECT o.id FROM Order o
+            WHERE o.userId = :userId
+            AND o.status = :status
+            AND (:lastOrderId IS NULL OR o.id < :lastOrderId)
+            ORDER BY o.id DESC
+            """)
+    List<Long> findOrderIdsByUserIdAndStatus(
+            @Param("userId") Long userId,
+            @Param("status") OrderStatus status,
+            @Param("lastOrderId") Long lastOrderId,
+            Pageable pageable
+    );
+
+    // 주문 내역 키셋 페이징 2단계: 한 페이지의 주문과 아이템을 한 번에 조회
+    @Query("""
+            SELECT DISTINCT o FROM Order o
+            LEFT JOIN FETCH o.orderItems
+            WHERE o.id IN :orderIds
+            ORDER BY o.id DESC
+            """)
+    List<Order> findAllWithItemsByIdIn(@Param("orderIds") List<Long> orderIds);
+
+    // 비동기 주문 예약 워커: 만료 청크 취소와 같은 행 잠금으로 예약 중 만료 취소가 끼어들지 못하게 한다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT o FROM Order o JOIN FETCH o.orderItems WHERE o.id = :orderId")
-    Order findOrderWithItems(Long orderId);
+    Order findOrderWithItemsForUpdate(@Param("orderId") Long orderId);
+
+    // 만료 주문 청크 조회: (status, id) 인덱스를 id 순으로 훑으며 행 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT o FROM Order o
+            WHERE o.status = 'PENDING'
+            AND o.expiresAt < :now
+            AND o.id > :lastOrderId
+            ORDER BY o.id ASC
+            """)
+    List<Order> findExpiredOrdersForUpdate(
+            @Param("now") LocalDateTime now,
+            @Param("lastOrderId") Long lastOrderId,
+            Pageable pageable
+    );
 
-    @Query("SELECT o FROM Order o WHERE o.status = 'PENDING' AND o.expiresAt < :now")
-    List<Order> findExpiredOrders(@Param("now") LocalDateTime now);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Order o
+            SET o.status = orderservice.entity.OrderStatus.CANCELLED, o.modifiedAt = :now
+            WHERE o.id IN :orderIds
+            AND o.status = orderservice.entity.OrderStatus.PENDING
+            """)
+    int bulkCancel(@Param("orderIds") List<Long> orderIds, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,120 @@
+package orderservice.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import orderservice.entity.Order;
+import orderservice.service.dto.response.OrderResponse;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 주문 상태 조회 모델 (Redis)
+ * - 상태 전이(생성/확정/완료/취소/실패) 때마다 요약 레코드를 쓴다
+ * - 트랜잭션 안에서 호출되면 커밋 이후에 기록해서 롤백된 상태가 노출되지 않게 한다
+ * - 커밋 후 기록은 순서가 뒤바뀌어 도착할 수 있어, 저장된 상태보다 앞선 단계의 상태로는 덮어쓰지 않는다
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class OrderStatusRedisRepository {
+
+    private static final String ORDER_STATUS_KEY_PREFIX = "order::status::";
+    private static final Duration ORDER_STATUS_TTL = Duration.ofHours(24);
+
+    // 상태 단계: PENDING(0) < 예약 완료 PENDING(1) < CONFIRMED(2) < COMPLETED/CANCELLED/FAILED(3)
+    // KEYS[1]=status, ARGV[1]=상태 JSON, ARGV[2]=ttl(s) → 썼으면 1, 더 뒤 단계가 이미 있으면 0
+    private static final DefaultRedisScript<Long> WRITE_SCRIPT = new DefaultRedisScript<>("""
+            local function stage(status)
+                if status['status'] == 'PENDING' then
+                    if status['reserved'] == true then
+                        return 1
+                    end
+                    return 0
+                end
+                if status['status'] == 'CONFIRMED' then
+                    return 2
+                end
+                return 3
+            end
+            local current = redis.call('GET', KEYS[1])
+            if current then
+                local ok, stored = pcall(cjson.decode, current)
+                if ok and type(stored) == 'table' and stage(stored) > stage(cjson.decode(ARGV[1])) then
+                    return 0
+                end
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void save(Order order) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    write(order);
+                }
+            });
+            return;
+        }
+        write(order);
+    }
+
+    /**
+     * 조회 미스 시 DB 에서 읽은 상태로 채우기
+     * - 트랜잭션 밖에서 읽은 값이라 그사이 커밋된 상태 기록이 있으면 덮어쓰지 않는다
+     */
+    public void saveIfAbsent(Order order) {
+        try {
+            redisTemplate.opsForValue().setIfAbsent(getKey(order.getId()), serialize(order), ORDER_STATUS_TTL);
+        } catch (Exception e) {
+            log.warn("주문 상태 캐시 채우기 실패 - orderId: {}", order.getId(), e);
+        }
+    }
+
+    public Optional<OrderResponse.Status> find(Long orderId) {
+        try {
+            String value = redisTemplate.opsForValue().get(getKey(orderId));
+            if (value == null) {
+                return Optional.empty();
+            }
+            return Optional.of(objectMapper.readValue(value, OrderResponse.Status.class));
+        } catch (Exception e) {
+            log.warn("주문 상태 캐시 조회 실패 - orderId: {}", orderId, e);
+            return Optional.empty();
+        }
+    }
+
+    private void write(Order order) {
+        try {
+            Long written = redisTemplate.execute(WRITE_SCRIPT, List.of(getKey(order.getId())),
+                    serialize(order), String.valueOf(ORDER_STATUS_TTL.toSeconds()));
+            if (written != null && written == 0) {
+                log.debug("앞선 단계의 주문 상태 기록 무시 - orderId: {}, status: {}", order.getId(), order.getStatus());
+            }
+        } catch (Exception e) {
+            // 조회 모델 갱신 실패는 주문 처리에 영향을 주지 않는다 (조회 시 DB 로 폴백)
+            log.warn("주문 상태 캐시 갱신 실패 - orderId: {}", order.getId(), e);
+        }
+    }
+
+    private String serialize(Order order) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(OrderResponse.Status.from(order));
+    }
+
+    private String getKey(Long orderId) {
+        return ORDER_STATUS_KEY_PREFIX + orderId;
+    }
+}
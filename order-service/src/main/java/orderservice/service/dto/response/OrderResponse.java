@@ -54,6 +54,55 @@ public class OrderResponse {
         }
     }
 
+    @Getter
+    @Builder
+    @AllArgsConstructor
+    public static class Accepted {
+        private Long orderId;
+        private String status;
+        private Integer totalAmount;
+        private LocalDateTime expiresAt;
+
+        public static Accepted from(Order order) {
+            return Accepted.builder()
+                    .orderId(order.getId())
+                    .status(order.getStatus().name())
+                    .totalAmount(order.getTotalAmount())
+                    .expiresAt(order.getExpiresAt())
+                    .build();
+        }
+    }
+
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Status {
+        private Long orderId;
+        private Long userId;
+        private String status;
+        private boolean reserved;
+        private Integer totalAmount;
+        private Integer couponDiscount;
+        private Integer pointDiscount;
+        private Integer finalAmount;
+        private LocalDateTime expiresAt;
+
+        public static Status from(Order order) {
+            return Status.builder()
+                    .orderId(order.getId())
+                    .userId(order.getUserId())
+                    .status(order.getStatus().name())
+                    .reserved(order.isReserved())
+                    .totalAmount(order.getTotalAmount())
+                    .couponDiscount(order.getCouponDiscount())
+                    .pointDiscount(order.getPointDiscount())
+                    .finalAmount(order.getFinalAmount())
+                    .expiresAt(order.getExpiresAt())
+                    .build();
+        }
+    }
+
     @Getter
     @Builder
     @AllArgsConstructor
@@ -135,6 +184,27 @@ public class OrderResponse {
         }
     }
 
+    @Getter
+    @Builder
+    @AllArgsConstructor
+    public static class History {
+        private List<Detail> orders;
+        private Long nextCursor;
+        private boolean hasNext;
+
+        public static History of(List<Order> orders, boolean hasNext) {
+            List<Detail> details = orders.stream()
+                    .map(Detail::from)
+                    .toList();
+
+            return History.builder()
+                    .orders(details)
+                    .nextCursor(hasNext ? orders.get(orders.size() - 1).getId() : null)
+                    .hasNext(hasNext)
+                    .build();
+        }
+    }
+
     @Getter
     @Builder
     @AllArgsConstructor
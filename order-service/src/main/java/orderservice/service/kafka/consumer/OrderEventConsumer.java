@@ -11,6 +11,7 @@ import orderservice.common.exception.CustomGlobalException;
 import orderservice.common.exception.ErrorType;
 import orderservice.entity.Order;
 import orderservice.repository.OrderJpaRepository;
+import orderservice.repository.OrderStatusRedisRepository;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
@@ -25,6 +26,7 @@ public class OrderEventConsumer {
     private final OrderJpaRepository orderJpaRepository;
     private final ObjectMapper objectMapper;
     private final OutboxEventPublisher outboxEventPublisher;
+    private final OrderStatusRedisRepository orderStatusRedisRepository;
 
     /**
      * 주문 완료 이벤트 수신
@@ -49,6 +51,7 @@ public class OrderEventConsumer {
                     .orElseThrow(() -> new CustomGlobalException(ErrorType.NOT_FOUND_ORDER));
 
             order.completed();
+            orderStatusRedisRepository.save(order);
 
             log.info("[OrderCompletedConsumer.handleOrderCompleted] 주문 완료 처리 완료 orderId={}", payload.getOrderId());
 
@@ -0,0 +1,51 @@
+package orderservice.service.kafka.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import event.Event;
+import event.EventPayload;
+import event.EventType;
+import event.payload.OrderReservePayload;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import orderservice.service.dto.response.OrderResponse;
+import orderservice.service.v1.OrderService;
+import orderservice.service.v1.OrderStatusNotifier;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderReservationConsumer {
+
+    private final OrderService orderService;
+    private final OrderStatusNotifier orderStatusNotifier;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 비동기 주문 예약 이벤트 수신
+     * - 예약 실패는 서비스에서 보상 후 FAILED 로 커밋되므로 여기까지 올라오지 않음
+     * - 그 외 예외(DB 장애 등)는 ack 하지 않고 재전송에 맡긴다
+     */
+    @KafkaListener(
+            topics = EventType.Topic.ORDER_RESERVE,
+            groupId = "order-service-group"
+    )
+    public void handleOrderReserve(ConsumerRecord<String, String> record, Acknowledgment ack) {
+        log.info("[OrderReservationConsumer.handleOrderReserve] 주문 예약 이벤트 수신 - partition: {}, offset: {}",
+                record.partition(), record.offset());
+
+        Event<EventPayload> event = Event.fromJson(record.value());
+        OrderReservePayload payload = objectMapper.convertValue(event.getPayload(), OrderReservePayload.class);
+
+        OrderResponse.Status status = orderService.processOrderReservation(payload);
+        ack.acknowledge();
+
+        // 커밋 이후에 푸시
+        orderStatusNotifier.notify(status);
+        log.info("[OrderReservationConsumer.handleOrderReserve] 주문 예약 처리 완료 - orderId: {}, status: {}",
+                status.getOrderId(), status.getStatus());
+    }
+}
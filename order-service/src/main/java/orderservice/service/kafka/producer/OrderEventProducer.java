@@ -2,6 +2,7 @@ package orderservice.service.kafka.producer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import orderservice.entity.Order;
 import orderservice.service.kafka.event.CouponCancelEvent;
 import orderservice.service.kafka.event.OrderConfirmEvent;
 import orderservice.service.kafka.event.PointCancelEvent;
@@ -10,7 +11,10 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
@@ -24,6 +28,7 @@ public class OrderEventProducer {
     private static final String STOCK_CANCEL_TOPIC = "stock-cancel-topic";
     private static final String COUPON_CANCEL_TOPIC = "coupon-cancel-topic";
     private static final String POINT_CANCEL_TOPIC = "point-cancel-topic";
+    private static final long CANCEL_BATCH_TIMEOUT_SECONDS = 10;
 
     public void sendOrderConfirmEvent(OrderConfirmEvent event) {
         sendEvent(ORDER_CONFIRM_TOPIC, event.getOrderId().toString(), event, "주문 확정");
@@ -51,7 +56,37 @@ public class OrderEventProducer {
         sendEvent(POINT_CANCEL_TOPIC, orderId.toString(), event, "포인트 취소");
     }
 
-    private void sendEvent(String topic, String key, Object event, String eventType) {
+    /**
+     * 만료 주문 취소 이벤트 배치 발행
+     * - 청크의 모든 재고/쿠폰/포인트 취소 이벤트를 먼저 보내고 한 번에 완료를 기다린다
+     * - 발행 실패 건은 각 서비스의 예약 만료 스케줄러가 정리
+     */
+    public void sendCancelEvents(List<Order> orders) {
+        List<CompletableFuture<SendResult<String, String>>> futures = new ArrayList<>(orders.size() * 3);
+
+        for (Order order : orders) {
+            Long orderId = order.getId();
+            String key = orderId.toString();
+            futures.add(sendEvent(STOCK_CANCEL_TOPIC, key,
+                    StockCancelEvent.builder().orderId(orderId).build(), "재고 취소"));
+            futures.add(sendEvent(COUPON_CANCEL_TOPIC, key,
+                    CouponCancelEvent.builder().orderId(orderId).build(), "쿠폰 취소"));
+            futures.add(sendEvent(POINT_CANCEL_TOPIC, key,
+                    PointCancelEvent.builder().orderId(orderId).userId(order.getUserId()).build(), "포인트 취소"));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                    .get(CANCEL_BATCH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("취소 이벤트 배치 발행 대기 중 인터럽트 - count: {}", orders.size(), e);
+        } catch (Exception e) {
+            log.error("취소 이벤트 배치 발행 일부 실패 - count: {}", orders.size(), e);
+        }
+    }
+
+    private CompletableFuture<SendResult<String, String>> sendEvent(String topic, String key, Object event, String eventType) {
         try {
             // ✅ Object → JSON String 변환
             String jsonPayload = objectMapper.writeValueAsString(event);
@@ -70,9 +105,11 @@ public class OrderEventProducer {
                             eventType, topic, key, ex);
                 }
             });
+            return future;
         } catch (Exception e) {
             log.error("{} 이벤트 발행 중 예외 발생 - topic: {}, key: {}, error: {}",
                     eventType, topic, key, e.getMessage(), e);
+            return CompletableFuture.failedFuture(e);
         }
     }
 }
@@ -1,9 +1,7 @@
 package orderservice.service.v1;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import orderservice.client.dto.DiscountType;
 import orderservice.client.dto.ProductOptionDto;
 import orderservice.client.dto.ProductResponse;
 import orderservice.client.serviceclient.CouponServiceClient;
@@ -11,31 +9,28 @@ import orderservice.client.serviceclient.ProductServiceClient;
 import orderservice.common.exception.CustomGlobalException;
 import orderservice.common.exception.ErrorType;
 import orderservice.entity.CartItemRedis;
+import orderservice.repository.CartRedisRepository;
 import orderservice.client.dto.CouponValidationResponse;
 import orderservice.service.dto.response.CartCouponApplyResponse;
 import orderservice.service.dto.response.CartItemResponse;
 import orderservice.service.dto.response.CartResponse;
-import org.springframework.data.redis.core.HashOperations;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CartService {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final CartRedisRepository cartRedisRepository;
     private final ProductServiceClient productClient;
     private final CouponServiceClient couponClient;
-    private final ObjectMapper objectMapper;
-
-    private static final String CART_KEY_PREFIX = "cart::";
-    private static final long CART_EXPIRATION_DAYS = 7;
 
     /**
      * 장바구니에 상품 추가
@@ -50,24 +45,10 @@ public class CartService {
             throw new CustomGlobalException(ErrorType.NOT_ENOUGH_STOCK);
         }
 
-        String cartKey = getCartKey(userId);
-        String fieldKey = getFieldKey(productId, productOptionId);
-        HashOperations<String, String, Object> hashOps = redisTemplate.opsForHash();
-
-        Object existingItem = hashOps.get(cartKey, fieldKey);
-
-        CartItemRedis cartItem;
-        if (existingItem != null) {
-            cartItem = objectMapper.convertValue(existingItem, CartItemRedis.class);
-            cartItem.setQuantity(cartItem.getQuantity() + quantity);
-        } else {
-            cartItem = CartItemRedis.create(productId, productOptionId, quantity);
-        }
-
-        hashOps.put(cartKey, fieldKey, cartItem);
-        redisTemplate.expire(cartKey, CART_EXPIRATION_DAYS, TimeUnit.DAYS);
+        long cartQuantity = cartRedisRepository.increment(userId, productId, productOptionId, quantity);
 
-        log.info("장바구니 추가 완료 - userId: {}, fieldKey: {}", userId, fieldKey);
+        log.info("장바구니 추가 완료 - userId: {}, productId: {}, optionId: {}, cartQuantity: {}",
+                userId, productId, productOptionId, cartQuantity);
     }
 
     public CartCouponApplyResponse applyCouponToCartItem(
@@ -79,16 +60,8 @@ public class CartService {
         log.info("장바구니 쿠폰 적용 - userId: {}, productId: {}, couponId: {}",
                 userId, productId, couponId);
 
-        String cartKey = getCartKey(userId);
-        String fieldKey = getFieldKey(productId, productOptionId);
-        HashOperations<String, String, Object> hashOps = redisTemplate.opsForHash();
-
-        Object existingItem = hashOps.get(cartKey, fieldKey);
-        if (existingItem == null) {
-            throw new CustomGlobalException(ErrorType.CART_ITEM_NOT_FOUND);
-        }
-
-        CartItemRedis cartItem = objectMapper.convertValue(existingItem, CartItemRedis.class);
+        CartItemRedis cartItem = cartRedisRepository.find(userId, productId, productOptionId)
+                .orElseThrow(() -> new CustomGlobalException(ErrorType.CART_ITEM_NOT_FOUND));
 
         CouponValidationResponse validation = couponClient.validateCoupon(couponId, userId);
 
@@ -106,9 +79,14 @@ public class CartService {
         int discountAmount = calculateDiscount(validation.getCouponPolicy(), totalPrice);
         log.info("*******************discountAmount : {}", discountAmount);
 
-        cartItem.applyCoupon(couponId, discountAmount);
-        hashOps.put(cartKey, fieldKey, cartItem);
-        redisTemplate.expire(cartKey, CART_EXPIRATION_DAYS, TimeUnit.DAYS);
+        CartRedisRepository.CouponUpdate update = cartRedisRepository.applyCoupon(
+                userId, productId, productOptionId, couponId, discountAmount, cartItem.getQuantity());
+        if (update == CartRedisRepository.CouponUpdate.NOT_FOUND) {
+            throw new CustomGlobalException(ErrorType.CART_ITEM_NOT_FOUND);
+        }
+        if (update == CartRedisRepository.CouponUpdate.QUANTITY_CHANGED) {
+            throw new CustomGlobalException(ErrorType.CART_ITEM_CHANGED);
+        }
 
         log.info("장바구니 쿠폰 적용 완료 - userId: {}, couponId: {}, discount: {}",
                 userId, couponId, discountAmount);
@@ -125,37 +103,24 @@ public class CartService {
         log.info("장바구니 쿠폰 제거 - userId: {}, productId: {}, optionId: {}",
                 userId, productId, productOptionId);
 
-        String cartKey = getCartKey(userId);
-        String fieldKey = getFieldKey(productId, productOptionId);
-        HashOperations<String, String, Object> hashOps = redisTemplate.opsForHash();
-
-        Object existingItem = hashOps.get(cartKey, fieldKey);
-        if (existingItem == null) {
+        if (!cartRedisRepository.removeCoupon(userId, productId, productOptionId)) {
             throw new CustomGlobalException(ErrorType.CART_ITEM_NOT_FOUND);
         }
 
-        CartItemRedis cartItem = objectMapper.convertValue(existingItem, CartItemRedis.class);
-        cartItem.removeCoupon();
-
-        hashOps.put(cartKey, fieldKey, cartItem);
-
-        log.info("장바구니 쿠폰 제거 완료 - userId: {}, fieldKey: {}", userId, fieldKey);
+        log.info("장바구니 쿠폰 제거 완료 - userId: {}, productId: {}, optionId: {}", userId, productId, productOptionId);
     }
 
     public CartResponse getCartWithDiscounts(Long userId) {
         log.info("장바구니 조회 (할인 포함) - userId: {}", userId);
 
-        String cartKey = getCartKey(userId);
-        HashOperations<String, String, Object> hashOps = redisTemplate.opsForHash();
-        Map<String, Object> cartItemsMap = hashOps.entries(cartKey);
+        List<CartItemRedis> cartItems = cartRedisRepository.findAll(userId);
+        Map<Long, CouponValidationResponse> validations = validateAppliedCoupons(userId, cartItems);
 
         List<CartItemResponse> items = new ArrayList<>();
         int totalAmount = 0;
         int totalDiscount = 0;
 
-        for (Object value : cartItemsMap.values()) {
-            CartItemRedis cartItem = objectMapper.convertValue(value, CartItemRedis.class);
-
+        for (CartItemRedis cartItem : cartItems) {
             ProductResponse product = productClient.read(cartItem.getProductId());
             ProductOptionDto option = productClient.getProductOption(cartItem.getProductOptionId());
 
@@ -165,22 +130,15 @@ public class CartService {
             int itemDiscount = 0;
 
             if (cartItem.getAppliedCouponId() != null) {
-                try {
-                    CouponValidationResponse validation = couponClient.validateCoupon(
-                            cartItem.getAppliedCouponId(), userId);
-
-                    if (validation.isValid()) {
-                        itemDiscount = calculateDiscount(validation.getCouponPolicy(), itemTotalPrice);
-                    } else {
-                        log.warn("유효하지 않은 쿠폰 자동 제거 - userId: {}, couponId: {}",
-                                userId, cartItem.getAppliedCouponId());
-                        cartItem.removeCoupon();
-                        hashOps.put(cartKey, cartItem.getFieldKey(), cartItem);
-                    }
-                } catch (Exception e) {
-                    log.error("쿠폰 검증 실패 - couponId: {}", cartItem.getAppliedCouponId(), e);
+                CouponValidationResponse validation = validations.get(cartItem.getAppliedCouponId());
+
+                if (validation != null && validation.isValid()) {
+                    itemDiscount = calculateDiscount(validation.getCouponPolicy(), itemTotalPrice);
+                } else {
+                    log.warn("유효하지 않은 쿠폰 자동 제거 - userId: {}, couponId: {}",
+                            userId, cartItem.getAppliedCouponId());
                     cartItem.removeCoupon();
-                    hashOps.put(cartKey, cartItem.getFieldKey(), cartItem);
+                    cartRedisRepository.removeCoupon(userId, cartItem.getProductId(), cartItem.getProductOptionId());
                 }
             }
 
@@ -215,15 +173,7 @@ public class CartService {
     public List<CartItemRedis> getCartItems(Long userId) {
         log.info("장바구니 조회 - userId: {}", userId);
 
-        String cartKey = getCartKey(userId);
-        HashOperations<String, String, Object> hashOps = redisTemplate.opsForHash();
-        Map<String, Object> cartItemsMap = hashOps.entries(cartKey);
-
-        List<CartItemRedis> cartItems = new ArrayList<>();
-        for (Object value : cartItemsMap.values()) {
-            CartItemRedis item = objectMapper.convertValue(value, CartItemRedis.class);
-            cartItems.add(item);
-        }
+        List<CartItemRedis> cartItems = cartRedisRepository.findAll(userId);
 
         log.info("장바구니 조회 완료 - userId: {}, itemCount: {}", userId, cartItems.size());
         return cartItems;
@@ -233,54 +183,47 @@ public class CartService {
         log.info("장바구니 삭제 - userId: {}, productId: {}, optionId: {}",
                 userId, productId, productOptionId);
 
-        String cartKey = getCartKey(userId);
-        String fieldKey = getFieldKey(productId, productOptionId);
-        HashOperations<String, String, Object> hashOps = redisTemplate.opsForHash();
-
-        hashOps.delete(cartKey, fieldKey);
+        cartRedisRepository.remove(userId, productId, productOptionId);
 
-        log.info("장바구니 삭제 완료 - userId: {}, fieldKey: {}", userId, fieldKey);
+        log.info("장바구니 삭제 완료 - userId: {}, productId: {}, optionId: {}", userId, productId, productOptionId);
     }
 
     public void clearCart(Long userId) {
         log.info("장바구니 전체 삭제 - userId: {}", userId);
 
-        String cartKey = getCartKey(userId);
-        redisTemplate.delete(cartKey);
+        cartRedisRepository.delete(userId);
 
         log.info("장바구니 전체 삭제 완료 - userId: {}", userId);
     }
 
-    private String getCartKey(Long userId) {
-        return CART_KEY_PREFIX + userId;
-    }
+    /**
+     * 장바구니에 적용된 쿠폰을 coupon-service 한 번 호출로 검증
+     * - 검증 호출이 실패하면 빈 결과를 돌려주고, 해당 쿠폰들은 유효하지 않은 것으로 처리된다
+     */
+    private Map<Long, CouponValidationResponse> validateAppliedCoupons(Long userId, List<CartItemRedis> cartItems) {
+        List<Long> couponIds = cartItems.stream()
+                .map(CartItemRedis::getAppliedCouponId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        if (couponIds.isEmpty()) {
+            return Map.of();
+        }
 
-    private String getFieldKey(Long productId, Long productOptionId) {
-        return productId + "::" + productOptionId;
+        try {
+            return couponClient.validateCoupons(userId, couponIds).stream()
+                    .collect(Collectors.toMap(CouponValidationResponse::getCouponId, Function.identity(), (a, b) -> a));
+        } catch (Exception e) {
+            log.error("쿠폰 검증 실패 - userId: {}, couponIds: {}", userId, couponIds, e);
+            return Map.of();
+        }
     }
 
     private int calculateDiscount(CouponValidationResponse.CouponPolicyDto policy, int totalPrice) {
         if (policy == null) {
             return 0;
         }
-
-        int discount = 0;
-
-        if (totalPrice < policy.getMinimumOrderAmount()) {
-            return 0;
-        }
-        DiscountType discountType = DiscountType.valueOf(policy.getDiscountType());
-
-        if (discountType == DiscountType.FIXED_DISCOUNT) {
-            discount = policy.getDiscountValue();
-        } else if (discountType == DiscountType.RATE_DISCOUNT) {
-            discount = (int) (totalPrice * policy.getDiscountValue() / 100.0);
-        }
-
-        if (discount > policy.getMaximumDiscountAmount()) {
-            discount = policy.getMaximumDiscountAmount();
-        }
-
-        return discount;
+        return policy.toDiscountPolicy().discountFor(totalPrice);
     }
 }
@@ -2,6 +2,7 @@ package orderservice.service.v1;
 
 import event.EventType;
 import event.payload.OrderConfirmPayload;
+import event.payload.OrderReservePayload;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import orderservice.client.dto.*;
@@ -13,10 +14,12 @@ import orderservice.common.exception.ErrorType;
 import orderservice.entity.*;
 import orderservice.repository.CompensationRegistryJpaRepository;
 import orderservice.repository.OrderJpaRepository;
+import orderservice.repository.OrderStatusRedisRepository;
 import orderservice.service.dto.request.OrderItemInfo;
 import orderservice.service.dto.request.OrderRequest;
 import orderservice.service.dto.response.OrderResponse;
 import orderservice.service.kafka.producer.OrderEventProducer;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import outboxmessagerelay.OutboxEventPublisher;
@@ -38,6 +41,9 @@ public class OrderService {
     private final OrderEventProducer orderEventProducer;
     private final OutboxEventPublisher outboxEventPublisher;
     private final CompensationRegistryJpaRepository compensationRegistryJpaRepository;
+    private final OrderStatusRedisRepository orderStatusRedisRepository;
+
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
 
     @Transactional
     public OrderResponse.Create createOrderFromCart(Long userId, OrderRequest.Create request) {
@@ -77,7 +83,9 @@ public class OrderService {
             // 7. 최종 금액 계산 및 할인 적용
             int finalAmount = totalAmount - couponDiscount - pointDiscount;
             order.applyDiscounts(couponDiscount, pointDiscount, finalAmount);
+            order.markReserved();
             orderRepository.save(order);
+            orderStatusRedisRepository.save(order);
             log.info("할인 적용 완료 - couponDiscount: {}, pointDiscount: {}, finalAmount: {}",
                     couponDiscount, pointDiscount, finalAmount);
 
@@ -95,6 +103,98 @@ public class OrderService {
         }
     }
 
+    /**
+     * 비동기 주문 접수
+     * - PENDING 주문과 ORDER_RESERVE 아웃박스 이벤트만 저장하고 바로 반환
+     * - 재고/쿠폰/포인트 예약은 OrderReservationConsumer 가 처리
+     */
+    @Transactional
+    public OrderResponse.Accepted acceptOrderFromCart(Long userId, OrderRequest.Create request) {
+        log.info("===== 비동기 주문 접수 시작 ===== userId: {}", userId);
+
+        List<CartItemRedis> cartItems = cartService.getCartItems(userId);
+        if (cartItems.isEmpty()) {
+            throw new CustomGlobalException(ErrorType.EMPTY_CART);
+        }
+
+        List<OrderItemInfo> orderItemInfos = calculateOrderItemsFromCart(cartItems);
+        int totalAmount = orderItemInfos.stream()
+                .mapToInt(OrderItemInfo::getTotalPrice)
+                .sum();
+
+        Order order = createPendingOrder(userId, totalAmount, orderItemInfos, request);
+
+        OrderReservePayload payload = OrderReservePayload.builder()
+                .orderId(order.getId())
+                .userId(userId)
+                .usePoint(request.getUsePoint())
+                .build();
+        outboxEventPublisher.publish(EventType.ORDER_RESERVE, payload);
+        orderStatusRedisRepository.save(order);
+
+        log.info("===== 비동기 주문 접수 완료 ===== orderId: {}, totalAmount: {}", order.getId(), totalAmount);
+        return OrderResponse.Accepted.from(order);
+    }
+
+    /**
+     * 비동기 주문 예약 처리 (ORDER_RESERVE 워커)
+     * - 동기 주문과 같은 순서로 재고 -> 쿠폰 -> 포인트 예약
+     * - 실패 시 rollbackOrderCreation 과 같은 보상을 수행하고 FAILED 상태를 커밋
+     * - 주문 행을 잠그고 처리해 만료 취소(cancelExpiredOrderChunk)와 겹치지 않는다
+     *   (먼저 취소됐으면 예약하지 않고, 예약 중이면 만료 취소가 커밋까지 기다린다)
+     */
+    @Transactional
+    public OrderResponse.Status processOrderReservation(OrderReservePayload payload) {
+        Long orderId = payload.getOrderId();
+        log.info("===== 비동기 주문 예약 처리 시작 ===== orderId: {}", orderId);
+
+        Order order = orderRepository.findOrderWithItemsForUpdate(orderId);
+        if (order == null) {
+            throw new CustomGlobalException(ErrorType.NOT_FOUND_ORDER);
+        }
+
+        // 멱등성 체크: 재전송된 이벤트거나 이미 만료/취소된 주문
+        if (order.getStatus() != OrderStatus.PENDING || order.isReserved()) {
+            log.warn("이미 처리된 주문 예약 이벤트 - orderId: {}, status: {}", orderId, order.getStatus());
+            return OrderResponse.Status.from(order);
+        }
+
+        // 워커가 밀려 만료 시각이 지났으면 예약하지 않는다 - 만료 스케줄러가 취소한다
+        if (order.isExpired(LocalDateTime.now())) {
+            log.warn("만료된 주문 예약 이벤트 - orderId: {}, expiresAt: {}", orderId, order.getExpiresAt());
+            return OrderResponse.Status.from(order);
+        }
+
+        int couponDiscount = 0;
+        int pointDiscount = 0;
+
+        try {
+            reserveStock(order);
+            couponDiscount = reserveCoupons(order);
+            pointDiscount = reservePoint(order.getUserId(), order, payload.getUsePoint());
+
+            int finalAmount = order.getTotalAmount() - couponDiscount - pointDiscount;
+            order.applyDiscounts(couponDiscount, pointDiscount, finalAmount);
+            order.markReserved();
+            orderRepository.save(order);
+            orderStatusRedisRepository.save(order);
+
+            cartService.clearCart(order.getUserId());
+
+            log.info("===== 비동기 주문 예약 처리 완료 ===== orderId: {}, finalAmount: {}", orderId, finalAmount);
+        } catch (Exception e) {
+            log.error("비동기 주문 예약 실패 - orderId: {}", orderId, e);
+            try {
+                rollbackOrderCreation(order, couponDiscount, pointDiscount);
+            } catch (Exception rollbackException) {
+                // 보상 실패는 CompensationRegistry 에 남았으므로 재시도 스케줄러에 맡긴다
+                log.error("비동기 주문 보상 실패 - orderId: {}", orderId, rollbackException);
+            }
+        }
+
+        return OrderResponse.Status.from(order);
+    }
+
     public void rollbackOrderCreation(Order order, int couponDiscount, int pointDiscount) {
         try {
             log.error("주문 생성 실패 - orderId: {}", order.getId());
@@ -111,6 +211,7 @@ public class OrderService {
 
             order.fail();
             orderRepository.save(order);
+            orderStatusRedisRepository.save(order);
         } catch (Exception e) {
             compensationRegistryJpaRepository.save(new CompensationRegistry(
                     order.getId(), CompensationRegistry.CompensationType.ORDER_CREATE_ROLLBACK));
@@ -130,6 +231,7 @@ public class OrderService {
         }
 
         order.confirm();
+        orderStatusRedisRepository.save(order);
         log.info("주문 상태 변경 완료 - orderId: {}, status: CONFIRMED", orderId);
 
         OrderConfirmPayload event = OrderConfirmPayload.builder()
@@ -167,6 +269,7 @@ public class OrderService {
         }
 
         order.cancel();
+        orderStatusRedisRepository.save(order);
 
         log.info("===== 주문 취소 처리 완료 ===== orderId: {}", orderId);
         return OrderResponse.Cancel.from(order);
@@ -215,6 +318,7 @@ public class OrderService {
 
             order.fail();
             orderRepository.save(order);
+            orderStatusRedisRepository.save(order);
 
             throw new CustomGlobalException(ErrorType.ORDER_CANCEL_FAILED);
         } catch (Exception e) {
@@ -267,6 +371,7 @@ public class OrderService {
 
             order.fail();
             orderRepository.save(order);
+            orderStatusRedisRepository.save(order);
 
             throw new CustomGlobalException(ErrorType.ORDER_CANCEL_FAILED);
 
@@ -287,32 +392,84 @@ public class OrderService {
         return OrderResponse.Detail.from(order);
     }
 
-    @Transactional
-    public void cancelExpiredOrder(Long orderId) {
-        log.info("===== 만료 주문 자동 취소 시작 ===== orderId: {}", orderId);
+    /**
+     * 주문 내역 조회 (키셋 페이징)
+     * - id 목록은 (user_id[, status], id) 인덱스만으로 가져오고
+     * - 해당 페이지의 주문과 아이템은 한 번의 fetch join 으로 조회
+     */
+    @Transactional(readOnly = true)
+    public OrderResponse.History getOrderHistory(Long userId, OrderStatus status, Long lastOrderId, int pageSize) {
+        int size = Math.min(Math.max(pageSize, 1), MAX_HISTORY_PAGE_SIZE);
+        PageRequest limit = PageRequest.of(0, size + 1);
 
-        try {
-            Order order = orderRepository.findById(orderId)
-                    .orElseThrow(() -> new CustomGlobalException(ErrorType.NOT_FOUND_ORDER));
+        List<Long> orderIds = status == null
+                ? orderRepository.findOrderIdsByUserId(userId, lastOrderId, limit)
+                : orderRepository.findOrderIdsByUserIdAndStatus(userId, status, lastOrderId, limit);
+
+        boolean hasNext = orderIds.size() > size;
+        if (hasNext) {
+            orderIds = orderIds.subList(0, size);
+        }
 
-            if (order.getStatus() != OrderStatus.PENDING) {
-                log.warn("이미 처리된 주문 - orderId: {}, status: {}", orderId, order.getStatus());
-                return;
+        if (orderIds.isEmpty()) {
+            return OrderResponse.History.of(List.of(), false);
+        }
+
+        List<Order> orders = orderRepository.findAllWithItemsByIdIn(orderIds);
+        return OrderResponse.History.of(orders, hasNext);
+    }
+
+    /**
+     * 주문 상태 조회 (폴링용)
+     * - Redis 조회 모델에서 바로 응답하고, 없을 때만 DB 조회 후 조회 모델을 채운다
+     *   (그사이 커밋된 상태 기록이 먼저 들어갔으면 DB 에서 읽은 값으로 덮어쓰지 않는다)
+     * - 트랜잭션을 열지 않아 캐시 히트 시 DB 커넥션을 잡지 않는다
+     */
+    public OrderResponse.Status getOrderStatus(Long orderId, Long userId) {
+        OrderResponse.Status cached = orderStatusRedisRepository.find(orderId).orElse(null);
+        if (cached != null) {
+            if (!cached.getUserId().equals(userId)) {
+                throw new CustomGlobalException(ErrorType.UNAUTHORIZED_ORDER_ACCESS);
             }
+            return cached;
+        }
 
-            order.cancel();
-            orderRepository.save(order);
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new CustomGlobalException(ErrorType.NOT_FOUND_ORDER));
 
-            orderEventProducer.sendStockCancelEvent(orderId);
-            orderEventProducer.sendCouponCancelEvent(orderId);
-            orderEventProducer.sendPointCancelEvent(orderId, order.getUserId());
+        validateOrderOwnership(order, userId);
+        orderStatusRedisRepository.saveIfAbsent(order);
 
-            log.info("===== 만료 주문 자동 취소 완료 ===== orderId: {}", orderId);
+        return OrderResponse.Status.from(order);
+    }
 
-        } catch (Exception e) {
-            log.error("만료 주문 취소 실패 - orderId: {}", orderId, e);
-            throw e;
+    /**
+     * 만료 주문 청크 취소
+     * - lastOrderId 이후의 만료 PENDING 주문을 id 순으로 잠그고 한 번의 UPDATE 로 취소
+     * - 반환된 주문(준영속)으로 호출자가 취소 이벤트를 배치 발행
+     */
+    @Transactional
+    public List<Order> cancelExpiredOrderChunk(LocalDateTime now, Long lastOrderId, int chunkSize) {
+        List<Order> expiredOrders = orderRepository.findExpiredOrdersForUpdate(
+                now, lastOrderId, PageRequest.of(0, chunkSize));
+
+        if (expiredOrders.isEmpty()) {
+            return expiredOrders;
+        }
+
+        List<Long> orderIds = expiredOrders.stream()
+                .map(Order::getId)
+                .toList();
+        int cancelledCount = orderRepository.bulkCancel(orderIds, LocalDateTime.now());
+
+        // bulkCancel 이 영속성 컨텍스트를 비웠으므로 아래 변경은 DB 에 다시 반영되지 않는다
+        for (Order order : expiredOrders) {
+            order.cancel();
+            orderStatusRedisRepository.save(order);
         }
+
+        log.info("만료 주문 청크 취소 - fromOrderId: {}, count: {}", lastOrderId, cancelledCount);
+        return expiredOrders;
     }
 
     private List<OrderItemInfo> calculateOrderItemsFromCart(List<CartItemRedis> cartItems) {
@@ -443,6 +600,7 @@ public class OrderService {
             log.warn("주문 만료 - orderId: {}", order.getId());
             order.cancel();
             orderRepository.save(order);
+            orderStatusRedisRepository.save(order);
 
             orderEventProducer.sendStockCancelEvent(order.getId());
             orderEventProducer.sendCouponCancelEvent(order.getId());
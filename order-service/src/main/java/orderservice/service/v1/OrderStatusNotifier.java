@@ -0,0 +1,102 @@
+package orderservice.service.v1;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import orderservice.service.dto.response.OrderResponse;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 주문 상태 푸시 (SSE)
+ * - 예약 워커가 처리한 인스턴스와 클라이언트가 붙은 인스턴스가 다를 수 있어 Redis pub/sub 으로 전파
+ * - 각 인스턴스는 자기에게 연결된 emitter 에만 전송
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderStatusNotifier implements MessageListener {
+
+    private static final String CHANNEL = "order-status";
+    private static final long EMITTER_TIMEOUT_MILLIS = 30_000L;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    public SseEmitter connect(OrderResponse.Status current) {
+        Long orderId = current.getOrderId();
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MILLIS);
+
+        emitters.computeIfAbsent(orderId, id -> new CopyOnWriteArrayList<>()).add(emitter);
+        emitter.onCompletion(() -> remove(orderId, emitter));
+        emitter.onTimeout(() -> remove(orderId, emitter));
+        emitter.onError(e -> remove(orderId, emitter));
+
+        // 연결 직후 현재 상태를 한 번 내려준다 (이미 처리가 끝났으면 바로 종료)
+        send(emitter, current);
+        if (current.isReserved() || !"PENDING".equals(current.getStatus())) {
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    public void notify(OrderResponse.Status status) {
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(status));
+        } catch (Exception e) {
+            log.warn("주문 상태 푸시 발행 실패 - orderId: {}", status.getOrderId(), e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            OrderResponse.Status status = objectMapper.readValue(message.getBody(), OrderResponse.Status.class);
+            List<SseEmitter> targets = emitters.remove(status.getOrderId());
+            if (targets == null) {
+                return;
+            }
+            for (SseEmitter emitter : targets) {
+                send(emitter, status);
+                emitter.complete();
+            }
+        } catch (Exception e) {
+            log.warn("주문 상태 푸시 수신 처리 실패", e);
+        }
+    }
+
+    private void send(SseEmitter emitter, OrderResponse.Status status) {
+        try {
+            emitter.send(SseEmitter.event().name("order-status").data(status));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(Long orderId, SseEmitter emitter) {
+        emitters.computeIfPresent(orderId, (id, list) -> {
+            list.remove(emitter);
+            return list.isEmpty() ? null : list;
+        });
+    }
+}
@@ -0,0 +1,109 @@
+package orderservice.common.concurrent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestHedgingTest {
+
+    @Test
+    @DisplayName("첫 호출이 p95 안에 응답하지 않으면 두 번째 호출을 보내고, 먼저 끝난 응답을 쓰며 진 호출은 취소한다.")
+    void hedgeSlowCall() throws Exception {
+        //given
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RequestHedging requestHedging = new RequestHedging(true, meterRegistry);
+        warmUp(requestHedging);
+
+        AtomicInteger callCount = new AtomicInteger();
+        CountDownLatch primaryResponse = new CountDownLatch(1);  // 느린 인스턴스 - 응답하지 않는다
+        CompletableFuture<Boolean> primaryCancelled = new CompletableFuture<>();
+
+        //when
+        String result = requestHedging.execute("test", () -> {
+            if (callCount.incrementAndGet() == 1) {
+                primaryCancelled.complete(interruptedWhileWaiting(primaryResponse));
+                return "slow";
+            }
+            return "fast";
+        });
+
+        //then
+        assertThat(result).isEqualTo("fast");
+        assertThat(callCount.get()).isEqualTo(2);
+        assertThat(primaryCancelled.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("hedging.requests").tag("outcome", "hedge_won").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("hedge 를 보낸 뒤 첫 호출이 먼저 응답하면 첫 호출 응답을 쓰고 hedge 를 취소한다.")
+    void primaryWinsAfterHedge() throws Exception {
+        //given
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RequestHedging requestHedging = new RequestHedging(true, meterRegistry);
+        warmUp(requestHedging);
+
+        AtomicInteger callCount = new AtomicInteger();
+        CountDownLatch hedgeStarted = new CountDownLatch(1);
+        CountDownLatch hedgeResponse = new CountDownLatch(1);  // hedge 도 응답하지 않는다
+        CompletableFuture<Boolean> hedgeCancelled = new CompletableFuture<>();
+
+        //when - 첫 호출은 hedge 가 나간 것을 확인한 뒤에 응답한다
+        String result = requestHedging.execute("test", () -> {
+            if (callCount.incrementAndGet() == 1) {
+                interruptedWhileWaiting(hedgeStarted);
+                return "primary";
+            }
+            hedgeStarted.countDown();
+            hedgeCancelled.complete(interruptedWhileWaiting(hedgeResponse));
+            return "hedge";
+        });
+
+        //then
+        assertThat(result).isEqualTo("primary");
+        assertThat(callCount.get()).isEqualTo(2);
+        assertThat(hedgeCancelled.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("hedging.requests").tag("outcome", "primary_won").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("비활성화 상태에서는 hedge 없이 호출 스레드에서 한 번만 호출한다.")
+    void disabled() {
+        //given
+        RequestHedging requestHedging = new RequestHedging(false, new SimpleMeterRegistry());
+        AtomicInteger callCount = new AtomicInteger();
+
+        //when
+        Integer result = requestHedging.execute("test", callCount::incrementAndGet);
+
+        //then
+        assertThat(result).isEqualTo(1);
+        assertThat(callCount.get()).isEqualTo(1);
+    }
+
+    // 최소 표본(100건)까지는 호출 스레드에서 지연시간만 기록한다 - p95 가 거의 0 이라 hedge 지연은 최소값(10ms)이 된다
+    private void warmUp(RequestHedging requestHedging) {
+        for (int i = 0; i < 100; i++) {
+            requestHedging.execute("test", () -> "warm-up");
+        }
+    }
+
+    /**
+     * @return 기다리는 중에 취소(interrupt)됐으면 true
+     */
+    private static boolean interruptedWhileWaiting(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+            return false;
+        } catch (InterruptedException e) {
+            return true;
+        }
+    }
+}
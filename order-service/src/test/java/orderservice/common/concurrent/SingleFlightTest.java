@@ -0,0 +1,104 @@
+package orderservice.common.concurrent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("같은 키로 동시에 10번 조회하면 실제 호출은 1번만 일어나고 모두 같은 결과를 받는다.")
+    void coalesceConcurrentCalls() throws Exception {
+        //given
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("test", meterRegistry);
+
+        int numberOfThreads = 10;
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger callCount = new AtomicInteger();
+
+        //when
+        List<Future<String>> futures = new ArrayList<>();
+        futures.add(executorService.submit(() -> singleFlight.execute(1L, () -> {
+            callCount.incrementAndGet();
+            await(release);
+            return "product-1";
+        })));
+
+        // 첫 호출이 진행 중일 때 나머지가 합류하도록 대기
+        while (meterRegistry.get("single_flight.calls").tag("result", "executed").counter().count() < 1) {
+            Thread.onSpinWait();
+        }
+        for (int i = 1; i < numberOfThreads; i++) {
+            futures.add(executorService.submit(() -> singleFlight.execute(1L, () -> {
+                callCount.incrementAndGet();
+                return "product-1";
+            })));
+        }
+        while (meterRegistry.get("single_flight.calls").tag("result", "coalesced").counter().count() < numberOfThreads - 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        //then
+        for (Future<String> future : futures) {
+            assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("product-1");
+        }
+        assertThat(callCount.get()).isEqualTo(1);
+        executorService.shutdown();
+    }
+
+    @Test
+    @DisplayName("진행 중인 호출이 끝나면 같은 키라도 다시 호출한다.")
+    void doNotCacheCompletedCalls() {
+        //given
+        SingleFlight<Long, Integer> singleFlight = new SingleFlight<>("test", new SimpleMeterRegistry());
+        AtomicInteger callCount = new AtomicInteger();
+
+        //when
+        singleFlight.execute(1L, callCount::incrementAndGet);
+        Integer result = singleFlight.execute(1L, callCount::incrementAndGet);
+
+        //then
+        assertThat(result).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("호출이 실패하면 예외를 그대로 던지고 키를 정리한다.")
+    void propagateFailure() {
+        //given
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("test", new SimpleMeterRegistry());
+
+        //when
+        //then
+        assertThatThrownBy(() -> singleFlight.execute(1L, () -> {
+            throw new IllegalStateException("product-service down");
+        }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("product-service down");
+
+        assertThat(singleFlight.execute(1L, () -> "recovered")).isEqualTo("recovered");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package orderservice.common.scheduler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompensationRetryPolicyTest {
+
+    private static final Duration BASE = Duration.ofSeconds(30);
+    private static final Duration MAX = Duration.ofMinutes(30);
+
+    private final CompensationRetryPolicy retryPolicy = new CompensationRetryPolicy(10, BASE, MAX);
+
+    @Test
+    @DisplayName("백오프는 base * 2^(attempts-1) 의 절반 이상, 전체 이하로 흔들린다.")
+    void backoffWithinEqualJitter() {
+        for (int attempts = 1; attempts <= 6; attempts++) {
+            long full = BASE.toMillis() << (attempts - 1);
+            for (int i = 0; i < 1_000; i++) {
+                //when
+                long backoff = retryPolicy.backoff(attempts).toMillis();
+
+                //then
+                assertThat(backoff).isBetween(full / 2, full);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("지수 백오프가 maxBackoff 를 넘으면 maxBackoff 기준으로 흔든다.")
+    void backoffCappedAtMax() {
+        for (int i = 0; i < 1_000; i++) {
+            //when - 30초 * 2^7 = 64분 > 30분
+            long backoff = retryPolicy.backoff(8).toMillis();
+
+            //then
+            assertThat(backoff).isBetween(MAX.toMillis() / 2, MAX.toMillis());
+        }
+    }
+
+    @Test
+    @DisplayName("시도 횟수가 아주 커도 시프트가 넘치지 않고 maxBackoff 안에 머문다.")
+    void backoffShiftClamped() {
+        for (int attempts : new int[]{21, 63, 64, 1_000, Integer.MAX_VALUE}) {
+            //when
+            long backoff = retryPolicy.backoff(attempts).toMillis();
+
+            //then
+            assertThat(backoff).isBetween(MAX.toMillis() / 2, MAX.toMillis());
+        }
+    }
+
+    @Test
+    @DisplayName("시도 횟수가 0 이하로 들어오면 첫 시도의 백오프를 쓴다.")
+    void backoffNonPositiveAttempts() {
+        //when
+        long backoff = retryPolicy.backoff(0).toMillis();
+
+        //then
+        assertThat(backoff).isBetween(BASE.toMillis() / 2, BASE.toMillis());
+    }
+
+    @Test
+    @DisplayName("다음 시도 시각은 지금 + 백오프다.")
+    void nextAttemptAt() {
+        //given
+        LocalDateTime now = LocalDateTime.of(2026, 10, 19, 12, 0);
+
+        //when
+        LocalDateTime nextAttemptAt = retryPolicy.nextAttemptAt(now, 1);
+
+        //then
+        assertThat(nextAttemptAt).isBetween(now.plus(BASE.dividedBy(2)), now.plus(BASE));
+    }
+
+    @Test
+    @DisplayName("maxAttempts 번째 실패부터 소진으로 본다.")
+    void isExhausted() {
+        assertThat(retryPolicy.isExhausted(9)).isFalse();
+        assertThat(retryPolicy.isExhausted(10)).isTrue();
+        assertThat(retryPolicy.isExhausted(11)).isTrue();
+    }
+}
@@ -0,0 +1,187 @@
+package orderservice.common.scheduler;
+
+import orderservice.client.serviceclient.CouponServiceClient;
+import orderservice.client.serviceclient.PointServiceClient;
+import orderservice.client.serviceclient.ProductServiceClient;
+import orderservice.entity.CompensationRegistry;
+import orderservice.entity.CompensationRegistry.CompensationStatus;
+import orderservice.entity.CompensationRegistry.CompensationType;
+import orderservice.repository.CompensationRegistryJpaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CompensationRetrySchedulerTest {
+
+    private static final String LEASE_NAME = "CompensationRetryScheduler_retryPendingCompensations";
+    private static final LocalDateTime KEYSET_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int PAGE_SIZE = 100;
+
+    @InjectMocks
+    private CompensationRetryScheduler compensationRetryScheduler;
+
+    @Mock
+    private CompensationRegistryJpaRepository compensationRegistryRepository;
+
+    @Mock
+    private ProductServiceClient productClient;
+
+    @Mock
+    private CouponServiceClient couponClient;
+
+    @Mock
+    private PointServiceClient pointClient;
+
+    @Mock
+    private SchedulerLease schedulerLease;
+
+    @BeforeEach
+    void setUp() {
+        when(schedulerLease.tryAcquire(eq(LEASE_NAME), any(Duration.class))).thenReturn(Optional.of("token"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        compensationRetryScheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("재시도가 실패하면 시도 횟수를 늘리고 다음 시도 시각을 백오프만큼 미룬다.")
+    void retryFailureSchedulesRetry() {
+        //given
+        CompensationRegistry registry = registry(1L, 0, LocalDateTime.now().minusMinutes(1));
+        givenDue(List.of(registry));
+        doThrow(new IllegalStateException("상품 서비스 장애")).when(productClient).cancelReservation(anyLong());
+        LocalDateTime before = LocalDateTime.now();
+
+        //when
+        compensationRetryScheduler.retryPendingCompensations();
+
+        //then
+        assertThat(registry.getStatus()).isEqualTo(CompensationStatus.PENDING);
+        assertThat(registry.getAttempts()).isEqualTo(1);
+        assertThat(registry.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(15));
+        verify(compensationRegistryRepository).save(registry);
+        verify(schedulerLease).release(LEASE_NAME, "token");
+    }
+
+    @Test
+    @DisplayName("마지막 허용 시도까지 실패하면 DEAD_LETTER 로 보낸다.")
+    void retryExhaustedGoesToDeadLetter() {
+        //given
+        CompensationRegistry registry = registry(1L, 9, LocalDateTime.now().minusMinutes(1));
+        givenDue(List.of(registry));
+        doThrow(new IllegalStateException("상품 서비스 장애")).when(productClient).cancelReservation(anyLong());
+
+        //when
+        compensationRetryScheduler.retryPendingCompensations();
+
+        //then
+        assertThat(registry.getStatus()).isEqualTo(CompensationStatus.DEAD_LETTER);
+        assertThat(registry.getAttempts()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("하위 서비스 벌크헤드를 제때 못 잡으면 시도 횟수를 늘리지 않고 미룬다.")
+    void bulkheadTimeoutDefersWithoutAttempt() {
+        //given - 벌크헤드(3) 보다 많은 4건이 같은 하위 서비스를 동시에 부른다
+        List<CompensationRegistry> registries = new ArrayList<>();
+        for (long id = 1; id <= 4; id++) {
+            registries.add(registry(id, 2, LocalDateTime.now().minusMinutes(1)));
+        }
+        givenDue(registries);
+
+        // 벌크헤드를 잡은 호출은 연기가 저장될 때까지 붙잡아 둔다
+        CountDownLatch deferred = new CountDownLatch(1);
+        doAnswer(invocation -> deferred.await(5, TimeUnit.SECONDS))
+                .when(productClient).cancelReservation(anyLong());
+        when(compensationRegistryRepository.save(any(CompensationRegistry.class))).thenAnswer(invocation -> {
+            CompensationRegistry saved = invocation.getArgument(0);
+            if (saved.getStatus() == CompensationStatus.PENDING) {
+                deferred.countDown();
+            }
+            return saved;
+        });
+        LocalDateTime before = LocalDateTime.now();
+
+        //when
+        compensationRetryScheduler.retryPendingCompensations();
+
+        //then
+        List<CompensationRegistry> deferredRegistries = registries.stream()
+                .filter(registry -> registry.getStatus() == CompensationStatus.PENDING)
+                .toList();
+        assertThat(deferredRegistries).hasSize(1);
+        assertThat(deferredRegistries.get(0).getAttempts()).isEqualTo(2);
+        assertThat(deferredRegistries.get(0).getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(30));
+        assertThat(registries).filteredOn(registry -> registry.getStatus() == CompensationStatus.COMPLETED)
+                .hasSize(3)
+                .allMatch(registry -> registry.getAttempts() == 3);
+    }
+
+    @Test
+    @DisplayName("꽉 찬 페이지 다음에는 처리 전 마지막 행의 (next_attempt_at, id) 뒤부터 읽는다.")
+    void pageByKeyset() {
+        //given - 처리하면 next_attempt_at 이 바뀌는 실패 재시도
+        LocalDateTime base = LocalDateTime.now().minusHours(1);
+        List<CompensationRegistry> firstPage = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            firstPage.add(registry(i + 1L, 0, base.plusSeconds(i / 10)));
+        }
+        LocalDateTime lastNextAttemptAt = firstPage.get(PAGE_SIZE - 1).getNextAttemptAt();
+        Long lastId = firstPage.get(PAGE_SIZE - 1).getId();
+
+        when(compensationRegistryRepository.findDue(eq(CompensationStatus.PENDING), any(LocalDateTime.class),
+                eq(KEYSET_START), eq(0L), any(Pageable.class))).thenReturn(firstPage);
+        when(compensationRegistryRepository.findDue(eq(CompensationStatus.PENDING), any(LocalDateTime.class),
+                eq(lastNextAttemptAt), eq(lastId), any(Pageable.class))).thenReturn(List.of());
+        when(schedulerLease.extend(eq(LEASE_NAME), eq("token"), any(Duration.class))).thenReturn(true);
+        doThrow(new IllegalStateException("상품 서비스 장애")).when(productClient).cancelReservation(anyLong());
+
+        //when
+        compensationRetryScheduler.retryPendingCompensations();
+
+        //then
+        verify(compensationRegistryRepository, times(2)).findDue(any(), any(), any(), any(), any());
+        assertThat(firstPage).allMatch(registry -> registry.getNextAttemptAt().isAfter(lastNextAttemptAt));
+    }
+
+    private void givenDue(List<CompensationRegistry> registries) {
+        when(compensationRegistryRepository.findDue(eq(CompensationStatus.PENDING), any(LocalDateTime.class),
+                eq(KEYSET_START), eq(0L), any(Pageable.class))).thenReturn(registries);
+    }
+
+    private static CompensationRegistry registry(Long id, int attempts, LocalDateTime nextAttemptAt) {
+        CompensationRegistry registry = new CompensationRegistry(100L + id, CompensationType.ORDER_CREATE_ROLLBACK);
+        ReflectionTestUtils.setField(registry, "id", id);
+        ReflectionTestUtils.setField(registry, "attempts", attempts);
+        ReflectionTestUtils.setField(registry, "nextAttemptAt", nextAttemptAt);
+        return registry;
+    }
+}
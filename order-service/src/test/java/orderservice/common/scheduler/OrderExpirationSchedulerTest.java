@@ -0,0 +1,123 @@
+package orderservice.common.scheduler;
+
+import orderservice.entity.Order;
+import orderservice.service.kafka.producer.OrderEventProducer;
+import orderservice.service.v1.OrderService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderExpirationSchedulerTest {
+
+    private static final String LEASE_NAME = "OrderExpirationScheduler_cancelExpiredOrders";
+    private static final int CHUNK_SIZE = 500;
+
+    @InjectMocks
+    private OrderExpirationScheduler orderExpirationScheduler;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private OrderEventProducer orderEventProducer;
+
+    @Mock
+    private SchedulerLease schedulerLease;
+
+    @Test
+    @DisplayName("꽉 찬 청크마다 리스를 연장하고 마지막 주문 ID 부터 이어서 취소하며, 덜 찬 청크에서 멈춘다.")
+    void cancelExpiredOrdersInChunks() {
+        //given
+        when(schedulerLease.tryAcquire(eq(LEASE_NAME), any(Duration.class))).thenReturn(Optional.of("token"));
+        when(schedulerLease.extend(eq(LEASE_NAME), eq("token"), any(Duration.class))).thenReturn(true);
+        List<Order> firstChunk = orders(1, CHUNK_SIZE);
+        List<Order> secondChunk = orders(CHUNK_SIZE + 1, 3);
+        when(orderService.cancelExpiredOrderChunk(any(LocalDateTime.class), eq(0L), eq(CHUNK_SIZE))).thenReturn(firstChunk);
+        when(orderService.cancelExpiredOrderChunk(any(LocalDateTime.class), eq((long) CHUNK_SIZE), eq(CHUNK_SIZE)))
+                .thenReturn(secondChunk);
+
+        //when
+        orderExpirationScheduler.cancelExpiredOrders();
+
+        //then
+        verify(orderEventProducer).sendCancelEvents(firstChunk);
+        verify(orderEventProducer).sendCancelEvents(secondChunk);
+        verify(orderService, times(2)).cancelExpiredOrderChunk(any(LocalDateTime.class), anyLong(), anyInt());
+        verify(schedulerLease, times(1)).extend(eq(LEASE_NAME), eq("token"), any(Duration.class));
+        verify(schedulerLease).release(LEASE_NAME, "token");
+    }
+
+    @Test
+    @DisplayName("청크 사이에 리스를 잃으면 다음 청크를 처리하지 않고 멈춘다.")
+    void stopWhenLeaseLost() {
+        //given
+        when(schedulerLease.tryAcquire(eq(LEASE_NAME), any(Duration.class))).thenReturn(Optional.of("token"));
+        when(schedulerLease.extend(eq(LEASE_NAME), eq("token"), any(Duration.class))).thenReturn(false);
+        List<Order> firstChunk = orders(1, CHUNK_SIZE);
+        when(orderService.cancelExpiredOrderChunk(any(LocalDateTime.class), eq(0L), eq(CHUNK_SIZE))).thenReturn(firstChunk);
+
+        //when
+        orderExpirationScheduler.cancelExpiredOrders();
+
+        //then
+        verify(orderEventProducer).sendCancelEvents(firstChunk);
+        verify(orderService, times(1)).cancelExpiredOrderChunk(any(LocalDateTime.class), anyLong(), anyInt());
+        verify(schedulerLease).release(LEASE_NAME, "token");
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 리스를 잡고 있으면 아무것도 취소하지 않는다.")
+    void skipWithoutLease() {
+        //given
+        when(schedulerLease.tryAcquire(eq(LEASE_NAME), any(Duration.class))).thenReturn(Optional.empty());
+
+        //when
+        orderExpirationScheduler.cancelExpiredOrders();
+
+        //then
+        verify(orderService, never()).cancelExpiredOrderChunk(any(LocalDateTime.class), anyLong(), anyInt());
+        verify(schedulerLease, never()).release(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("청크 취소가 실패해도 리스를 해제한다.")
+    void releaseOnFailure() {
+        //given
+        when(schedulerLease.tryAcquire(eq(LEASE_NAME), any(Duration.class))).thenReturn(Optional.of("token"));
+        when(orderService.cancelExpiredOrderChunk(any(LocalDateTime.class), eq(0L), eq(CHUNK_SIZE)))
+                .thenThrow(new IllegalStateException("DB 장애"));
+
+        //when
+        orderExpirationScheduler.cancelExpiredOrders();
+
+        //then
+        verify(orderEventProducer, never()).sendCancelEvents(any());
+        verify(schedulerLease).release(LEASE_NAME, "token");
+    }
+
+    private static List<Order> orders(long fromId, int count) {
+        return LongStream.range(fromId, fromId + count)
+                .mapToObj(id -> Order.builder().id(id).build())
+                .toList();
+    }
+}
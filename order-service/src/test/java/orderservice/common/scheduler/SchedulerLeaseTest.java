@@ -0,0 +1,85 @@
+package orderservice.common.scheduler;
+
+import orderservice.support.RedisTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchedulerLeaseTest extends RedisTestSupport {
+
+    private static final String NAME = "test";
+    private static final String KEY = "scheduler::lease::" + NAME;
+
+    private SchedulerLease schedulerLease;
+
+    @BeforeEach
+    void setUp() {
+        schedulerLease = new SchedulerLease(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("리스를 잡은 동안에는 다른 인스턴스가 잡지 못한다.")
+    void tryAcquireExclusive() {
+        //when
+        Optional<String> first = schedulerLease.tryAcquire(NAME, Duration.ofSeconds(10));
+        Optional<String> second = schedulerLease.tryAcquire(NAME, Duration.ofSeconds(10));
+
+        //then
+        assertThat(first).isPresent();
+        assertThat(second).isEmpty();
+    }
+
+    @Test
+    @DisplayName("토큰 주인만 리스를 연장할 수 있다.")
+    void extendByOwner() {
+        //given
+        String token = schedulerLease.tryAcquire(NAME, Duration.ofSeconds(1)).orElseThrow();
+
+        //when
+        boolean extendedByOther = schedulerLease.extend(NAME, "other", Duration.ofSeconds(60));
+        boolean extendedByOwner = schedulerLease.extend(NAME, token, Duration.ofSeconds(60));
+
+        //then
+        assertThat(extendedByOther).isFalse();
+        assertThat(extendedByOwner).isTrue();
+        assertThat(redisTemplate.getExpire(KEY)).isGreaterThan(50L);
+    }
+
+    @Test
+    @DisplayName("토큰 주인이 아니면 해제해도 리스가 남고, 주인이 해제하면 바로 다시 잡을 수 있다.")
+    void releaseByOwner() {
+        //given
+        String token = schedulerLease.tryAcquire(NAME, Duration.ofSeconds(10)).orElseThrow();
+
+        //when
+        schedulerLease.release(NAME, "other");
+        boolean heldAfterOtherRelease = redisTemplate.hasKey(KEY);
+        schedulerLease.release(NAME, token);
+
+        //then
+        assertThat(heldAfterOtherRelease).isTrue();
+        assertThat(schedulerLease.tryAcquire(NAME, Duration.ofSeconds(10))).isPresent();
+    }
+
+    @Test
+    @DisplayName("TTL 이 지나 다른 인스턴스가 이어받으면 이전 주인은 연장도 해제도 하지 못한다.")
+    void leaseLostAfterExpiry() throws InterruptedException {
+        //given
+        String expiredToken = schedulerLease.tryAcquire(NAME, Duration.ofMillis(100)).orElseThrow();
+        Thread.sleep(300);
+        String newToken = schedulerLease.tryAcquire(NAME, Duration.ofSeconds(10)).orElseThrow();
+
+        //when
+        boolean extended = schedulerLease.extend(NAME, expiredToken, Duration.ofSeconds(60));
+        schedulerLease.release(NAME, expiredToken);
+
+        //then
+        assertThat(extended).isFalse();
+        assertThat(redisTemplate.opsForValue().get(KEY)).isEqualTo(newToken);
+    }
+}
@@ -0,0 +1,205 @@
+package orderservice.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import orderservice.entity.CartItemRedis;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.Invocation;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+/**
+ * 이전 장바구니 저장 방식(RedisTemplate + GenericJackson2JsonRedisSerializer, HGET/HSET/EXPIRE)과
+ * CartRedisRepository(압축 포맷 + Lua) 의 장바구니 크기와 연산당 Redis 왕복 횟수 비교
+ */
+class CartRedisRepositoryBenchmarkTest {
+
+    private static final int CART_SIZE = 10;
+
+    // Redis 로 나가는 호출 (직렬화기 조회 같은 로컬 호출은 제외)
+    private static final Set<String> ROUND_TRIP_METHODS = Set.of(
+            "get", "put", "expire", "delete", "entries", "execute", "executePipelined");
+
+    @Test
+    @DisplayName("압축 포맷은 이전 JSON 포맷보다 장바구니당 바이트 수가 5배 이상 작다.")
+    void bytesPerCart() {
+        //given
+        List<CartItemRedis> cart = createCart();
+        GenericJackson2JsonRedisSerializer legacySerializer = new GenericJackson2JsonRedisSerializer(legacyObjectMapper());
+
+        //when
+        int legacyBytes = 0;
+        int compactBytes = 0;
+        for (CartItemRedis item : cart) {
+            int fieldBytes = CartItemCodec.field(item.getProductId(), item.getProductOptionId())
+                    .getBytes(StandardCharsets.UTF_8).length;
+            legacyBytes += fieldBytes + legacySerializer.serialize(item).length;
+            compactBytes += fieldBytes + CartItemCodec.encode(item).getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        //then
+        assertThat(compactBytes * 5).isLessThan(legacyBytes);
+    }
+
+    @Test
+    @DisplayName("압축 포맷으로 쓰고 읽으면 같은 항목이 나온다.")
+    void codecRoundTrip() {
+        //given
+        CartItemRedis item = createCart().get(3);
+
+        //when
+        CartItemRedis decoded = CartItemCodec.decode(
+                CartItemCodec.field(item.getProductId(), item.getProductOptionId()), CartItemCodec.encode(item));
+
+        //then
+        assertThat(decoded.getProductId()).isEqualTo(item.getProductId());
+        assertThat(decoded.getProductOptionId()).isEqualTo(item.getProductOptionId());
+        assertThat(decoded.getQuantity()).isEqualTo(item.getQuantity());
+        assertThat(decoded.getAppliedCouponId()).isEqualTo(item.getAppliedCouponId());
+        assertThat(decoded.getCouponDiscount()).isEqualTo(item.getCouponDiscount());
+        assertThat(decoded.getAddedAt()).isEqualTo(item.getAddedAt());
+    }
+
+    @Test
+    @DisplayName("이전 JSON 포맷 항목도 읽을 수 있다.")
+    void decodeLegacy() {
+        //given
+        CartItemRedis item = createCart().get(3);
+        String legacyValue = new String(
+                new GenericJackson2JsonRedisSerializer(legacyObjectMapper()).serialize(item), StandardCharsets.UTF_8);
+
+        //when
+        CartItemRedis decoded = CartItemCodec.decode(
+                CartItemCodec.field(item.getProductId(), item.getProductOptionId()), legacyValue);
+
+        //then
+        assertThat(decoded.getQuantity()).isEqualTo(item.getQuantity());
+        assertThat(decoded.getAppliedCouponId()).isEqualTo(item.getAppliedCouponId());
+        assertThat(decoded.getCouponDiscount()).isEqualTo(item.getCouponDiscount());
+    }
+
+    @Test
+    @DisplayName("추가/쿠폰 적용/삭제/일괄 추가는 각각 Redis 왕복 1번으로 끝난다.")
+    @SuppressWarnings("unchecked")
+    void roundTripsPerOperation() {
+        //given
+        RedisTemplate<String, Object> legacyTemplate = mock(RedisTemplate.class);
+        HashOperations<String, Object, Object> legacyHashOps = mock(HashOperations.class);
+        when(legacyTemplate.opsForHash()).thenReturn(legacyHashOps);
+        when(legacyHashOps.get(anyString(), any())).thenReturn(CartItemRedis.create(1L, 10L, 1));
+
+        StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+        CartRedisRepository repository = new CartRedisRepository(stringRedisTemplate);
+        List<CartItemRedis> cart = createCart();
+
+        //when
+        legacyAddToCart(legacyTemplate, 1L, 1L, 10L, 2);
+        int legacyAdd = roundTrips(legacyTemplate, legacyHashOps);
+        legacyApplyCoupon(legacyTemplate, 1L, 1L, 10L, 100L, 1000);
+        int legacyApplyCoupon = roundTrips(legacyTemplate, legacyHashOps) - legacyAdd;
+        cart.forEach(item -> legacyAddToCart(legacyTemplate, 1L, item.getProductId(), item.getProductOptionId(), item.getQuantity()));
+        int legacyBulkAdd = roundTrips(legacyTemplate, legacyHashOps) - legacyAdd - legacyApplyCoupon;
+
+        repository.increment(1L, 1L, 10L, 2);
+        int compactAdd = roundTrips(stringRedisTemplate);
+        repository.applyCoupon(1L, 1L, 10L, 100L, 1000, 2);
+        int compactApplyCoupon = roundTrips(stringRedisTemplate) - compactAdd;
+        repository.remove(1L, 1L, 10L);
+        int compactRemove = roundTrips(stringRedisTemplate) - compactAdd - compactApplyCoupon;
+        repository.addAll(1L, cart);
+        int compactBulkAdd = roundTrips(stringRedisTemplate) - compactAdd - compactApplyCoupon - compactRemove;
+
+        //then
+        assertThat(legacyAdd).isEqualTo(3);
+        assertThat(compactAdd).isEqualTo(1);
+        assertThat(legacyApplyCoupon).isEqualTo(3);
+        assertThat(compactApplyCoupon).isEqualTo(1);
+        assertThat(compactRemove).isEqualTo(1);
+        assertThat(legacyBulkAdd).isEqualTo(3 * CART_SIZE);
+        assertThat(compactBulkAdd).isEqualTo(1);
+    }
+
+    // 이전 CartService.addToCart 의 Redis 접근 순서
+    private void legacyAddToCart(RedisTemplate<String, Object> redisTemplate, Long userId, Long productId, Long productOptionId, Integer quantity) {
+        String cartKey = "cart::" + userId;
+        String fieldKey = productId + "::" + productOptionId;
+        HashOperations<String, String, Object> hashOps = redisTemplate.opsForHash();
+
+        Object existingItem = hashOps.get(cartKey, fieldKey);
+        CartItemRedis cartItem = existingItem != null
+                ? (CartItemRedis) existingItem
+                : CartItemRedis.create(productId, productOptionId, quantity);
+
+        hashOps.put(cartKey, fieldKey, cartItem);
+        redisTemplate.expire(cartKey, 7, TimeUnit.DAYS);
+    }
+
+    // 이전 CartService.applyCouponToCartItem 의 Redis 접근 순서
+    private void legacyApplyCoupon(RedisTemplate<String, Object> redisTemplate, Long userId, Long productId, Long productOptionId, Long couponId, int discount) {
+        String cartKey = "cart::" + userId;
+        String fieldKey = productId + "::" + productOptionId;
+        HashOperations<String, String, Object> hashOps = redisTemplate.opsForHash();
+
+        CartItemRedis cartItem = (CartItemRedis) hashOps.get(cartKey, fieldKey);
+        cartItem.applyCoupon(couponId, discount);
+        hashOps.put(cartKey, fieldKey, cartItem);
+        redisTemplate.expire(cartKey, 7, TimeUnit.DAYS);
+    }
+
+    private int roundTrips(Object... mocks) {
+        int count = 0;
+        for (Object mock : mocks) {
+            for (Invocation invocation : mockingDetails(mock).getInvocations()) {
+                if (ROUND_TRIP_METHODS.contains(invocation.getMethod().getName())) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private List<CartItemRedis> createCart() {
+        LocalDateTime addedAt = LocalDateTime.of(2026, 10, 19, 12, 0, 0);
+        List<CartItemRedis> cart = new ArrayList<>();
+        for (long i = 1; i <= CART_SIZE; i++) {
+            CartItemRedis item = CartItemRedis.builder()
+                    .productId(1000L + i)
+                    .productOptionId(50000L + i)
+                    .quantity((int) i)
+                    .couponDiscount(0)
+                    .addedAt(addedAt)
+                    .build();
+            if (i % 3 == 0) {
+                item.applyCoupon(900L + i, 1500);
+            }
+            cart.add(item);
+        }
+        return cart;
+    }
+
+    // RedisConfig 의 ObjectMapper 설정과 동일
+    private ObjectMapper legacyObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return objectMapper;
+    }
+}
@@ -0,0 +1,203 @@
+package orderservice.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import orderservice.entity.CartItemRedis;
+import orderservice.repository.CartRedisRepository.CouponUpdate;
+import orderservice.support.RedisTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class CartRedisRepositoryTest extends RedisTestSupport {
+
+    private static final Long USER_ID = 1L;
+    private static final String CART_KEY = "cart::" + USER_ID;
+    private static final long CART_TTL_SECONDS = TimeUnit.DAYS.toSeconds(7);
+
+    private CartRedisRepository cartRedisRepository;
+
+    @BeforeEach
+    void setUp() {
+        cartRedisRepository = new CartRedisRepository(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("같은 옵션을 다시 담으면 수량을 합치고, 0 이하가 되면 항목을 지운다.")
+    void incrementMergesQuantity() {
+        //when
+        long first = cartRedisRepository.increment(USER_ID, 10L, 100L, 2);
+        long merged = cartRedisRepository.increment(USER_ID, 10L, 100L, 3);
+
+        //then
+        assertThat(first).isEqualTo(2);
+        assertThat(merged).isEqualTo(5);
+        assertThat(cartRedisRepository.find(USER_ID, 10L, 100L)).get()
+                .extracting(CartItemRedis::getQuantity).isEqualTo(5);
+
+        //when
+        long removed = cartRedisRepository.increment(USER_ID, 10L, 100L, -5);
+
+        //then
+        assertThat(removed).isZero();
+        assertThat(cartRedisRepository.find(USER_ID, 10L, 100L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("수량 변경/쿠폰 적용/삭제는 장바구니 TTL 을 7일로 갱신한다.")
+    void operationsRefreshTtl() {
+        //given
+        cartRedisRepository.increment(USER_ID, 10L, 100L, 1);
+        cartRedisRepository.increment(USER_ID, 20L, 200L, 1);
+
+        //when & then
+        redisTemplate.expire(CART_KEY, 60, TimeUnit.SECONDS);
+        cartRedisRepository.increment(USER_ID, 10L, 100L, 1);
+        assertThat(redisTemplate.getExpire(CART_KEY)).isGreaterThan(CART_TTL_SECONDS - 60);
+
+        redisTemplate.expire(CART_KEY, 60, TimeUnit.SECONDS);
+        cartRedisRepository.applyCoupon(USER_ID, 10L, 100L, 900L, 1000, 2);
+        assertThat(redisTemplate.getExpire(CART_KEY)).isGreaterThan(CART_TTL_SECONDS - 60);
+
+        redisTemplate.expire(CART_KEY, 60, TimeUnit.SECONDS);
+        cartRedisRepository.remove(USER_ID, 20L, 200L);
+        assertThat(redisTemplate.getExpire(CART_KEY)).isGreaterThan(CART_TTL_SECONDS - 60);
+    }
+
+    @Test
+    @DisplayName("쿠폰 적용은 수량과 담은 시각을 유지하고, 쿠폰 제거는 할인을 0 으로 되돌린다.")
+    void applyAndRemoveCoupon() {
+        //given
+        cartRedisRepository.increment(USER_ID, 10L, 100L, 2);
+        LocalDateTime addedAt = cartRedisRepository.find(USER_ID, 10L, 100L).orElseThrow().getAddedAt();
+
+        //when
+        CouponUpdate applied = cartRedisRepository.applyCoupon(USER_ID, 10L, 100L, 900L, 1500, 2);
+
+        //then
+        CartItemRedis item = cartRedisRepository.find(USER_ID, 10L, 100L).orElseThrow();
+        assertThat(applied).isEqualTo(CouponUpdate.APPLIED);
+        assertThat(item.getQuantity()).isEqualTo(2);
+        assertThat(item.getAppliedCouponId()).isEqualTo(900L);
+        assertThat(item.getCouponDiscount()).isEqualTo(1500);
+        assertThat(item.getAddedAt()).isEqualTo(addedAt);
+
+        //when
+        boolean removed = cartRedisRepository.removeCoupon(USER_ID, 10L, 100L);
+
+        //then
+        CartItemRedis withoutCoupon = cartRedisRepository.find(USER_ID, 10L, 100L).orElseThrow();
+        assertThat(removed).isTrue();
+        assertThat(withoutCoupon.getAppliedCouponId()).isNull();
+        assertThat(withoutCoupon.getCouponDiscount()).isZero();
+        assertThat(withoutCoupon.getQuantity()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("할인을 계산한 뒤 수량이 바뀌었으면 쿠폰을 적용하지 않는다.")
+    void applyCouponQuantityGuard() {
+        //given - 할인은 수량 2 로 계산했는데 그사이 한 개 더 담겼다
+        cartRedisRepository.increment(USER_ID, 10L, 100L, 2);
+        cartRedisRepository.increment(USER_ID, 10L, 100L, 1);
+
+        //when
+        CouponUpdate update = cartRedisRepository.applyCoupon(USER_ID, 10L, 100L, 900L, 1500, 2);
+
+        //then
+        CartItemRedis item = cartRedisRepository.find(USER_ID, 10L, 100L).orElseThrow();
+        assertThat(update).isEqualTo(CouponUpdate.QUANTITY_CHANGED);
+        assertThat(item.getAppliedCouponId()).isNull();
+        assertThat(item.getCouponDiscount()).isZero();
+        assertThat(item.getQuantity()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("없는 항목에는 쿠폰을 적용하지 않고 항목을 만들지도 않는다.")
+    void applyCouponToMissingItem() {
+        //when
+        CouponUpdate update = cartRedisRepository.applyCoupon(USER_ID, 10L, 100L, 900L, 1500, 1);
+
+        //then
+        assertThat(update).isEqualTo(CouponUpdate.NOT_FOUND);
+        assertThat(cartRedisRepository.removeCoupon(USER_ID, 10L, 100L)).isFalse();
+        assertThat(redisTemplate.hasKey(CART_KEY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("여러 항목 추가는 파이프라인으로 보내고, 이미 있는 항목은 수량을 합친다.")
+    void addAllMergesExisting() {
+        //given
+        cartRedisRepository.increment(USER_ID, 10L, 100L, 2);
+        List<CartItemRedis> items = List.of(
+                CartItemRedis.create(10L, 100L, 3),
+                CartItemRedis.create(20L, 200L, 1),
+                CartItemRedis.create(30L, 300L, 4));
+
+        //when
+        cartRedisRepository.addAll(USER_ID, items);
+
+        //then
+        assertThat(cartRedisRepository.findAll(USER_ID))
+                .extracting(CartItemRedis::getProductOptionId, CartItemRedis::getQuantity)
+                .containsExactlyInAnyOrder(
+                        tuple(100L, 5),
+                        tuple(200L, 1),
+                        tuple(300L, 4));
+        assertThat(redisTemplate.getExpire(CART_KEY)).isGreaterThan(CART_TTL_SECONDS - 60);
+    }
+
+    @Test
+    @DisplayName("이전 JSON 포맷 항목을 읽고, 수량을 바꾸면 쿠폰을 유지한 채 압축 포맷으로 다시 쓴다.")
+    void upgradeLegacyValue() {
+        //given - 이전 RedisTemplate(GenericJackson2JsonRedisSerializer) 으로 저장된 항목
+        CartItemRedis legacy = CartItemRedis.create(10L, 100L, 2);
+        legacy.applyCoupon(900L, 1500);
+        redisTemplate.opsForHash().put(CART_KEY, "10::100", legacyJson(legacy));
+
+        //when
+        CartItemRedis read = cartRedisRepository.find(USER_ID, 10L, 100L).orElseThrow();
+        long quantity = cartRedisRepository.increment(USER_ID, 10L, 100L, 1);
+
+        //then
+        assertThat(read.getQuantity()).isEqualTo(2);
+        assertThat(read.getAppliedCouponId()).isEqualTo(900L);
+        assertThat(quantity).isEqualTo(3);
+        String upgraded = (String) redisTemplate.opsForHash().get(CART_KEY, "10::100");
+        assertThat(upgraded).matches("3\\|900\\|1500\\|\\d+");
+    }
+
+    @Test
+    @DisplayName("이전 JSON 포맷 항목에도 수량 확인 후 쿠폰을 적용한다.")
+    void applyCouponToLegacyValue() {
+        //given
+        redisTemplate.opsForHash().put(CART_KEY, "10::100", legacyJson(CartItemRedis.create(10L, 100L, 2)));
+
+        //when
+        CouponUpdate stale = cartRedisRepository.applyCoupon(USER_ID, 10L, 100L, 900L, 1500, 1);
+        CouponUpdate applied = cartRedisRepository.applyCoupon(USER_ID, 10L, 100L, 900L, 1500, 2);
+
+        //then
+        assertThat(stale).isEqualTo(CouponUpdate.QUANTITY_CHANGED);
+        assertThat(applied).isEqualTo(CouponUpdate.APPLIED);
+        assertThat(cartRedisRepository.find(USER_ID, 10L, 100L)).get()
+                .extracting(CartItemRedis::getAppliedCouponId).isEqualTo(900L);
+    }
+
+    // RedisConfig 의 ObjectMapper 설정과 동일
+    private static String legacyJson(CartItemRedis item) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return new String(new GenericJackson2JsonRedisSerializer(objectMapper).serialize(item), StandardCharsets.UTF_8);
+    }
+}
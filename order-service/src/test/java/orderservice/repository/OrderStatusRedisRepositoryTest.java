@@ -0,0 +1,176 @@
+package orderservice.repository;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import orderservice.entity.Order;
+import orderservice.entity.OrderStatus;
+import orderservice.service.dto.response.OrderResponse;
+import orderservice.support.RedisTestSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderStatusRedisRepositoryTest extends RedisTestSupport {
+
+    private static final Long ORDER_ID = 1L;
+    private static final String KEY = "order::status::" + ORDER_ID;
+
+    private ObjectMapper objectMapper;
+    private OrderStatusRedisRepository orderStatusRedisRepository;
+
+    @BeforeEach
+    void setUp() {
+        // 스프링 부트 기본 ObjectMapper 와 같은 설정
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        orderStatusRedisRepository = new OrderStatusRedisRepository(redisTemplate, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("트랜잭션 밖에서 저장하면 바로 기록되고 24시간 TTL 로 조회된다.")
+    void saveAndFind() {
+        //given
+        Order order = order(OrderStatus.PENDING, false);
+
+        //when
+        orderStatusRedisRepository.save(order);
+
+        //then
+        OrderResponse.Status status = orderStatusRedisRepository.find(ORDER_ID).orElseThrow();
+        assertThat(status.getStatus()).isEqualTo("PENDING");
+        assertThat(status.getUserId()).isEqualTo(10L);
+        assertThat(redisTemplate.getExpire(KEY)).isBetween(86_000L, 86_400L);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서 저장하면 커밋 전에는 기록하지 않고 커밋 후에 기록한다.")
+    void saveAfterCommit() {
+        //given
+        TransactionSynchronizationManager.initSynchronization();
+
+        //when
+        orderStatusRedisRepository.save(order(OrderStatus.CONFIRMED, true));
+        boolean writtenBeforeCommit = redisTemplate.hasKey(KEY);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        //then
+        assertThat(writtenBeforeCommit).isFalse();
+        assertThat(orderStatusRedisRepository.find(ORDER_ID)).get()
+                .extracting(OrderResponse.Status::getStatus).isEqualTo("CONFIRMED");
+    }
+
+    @Test
+    @DisplayName("커밋 후 기록이 뒤바뀌어 도착하면 앞선 단계의 상태로 덮어쓰지 않는다.")
+    void saveOutOfOrder() {
+        //given
+        orderStatusRedisRepository.save(order(OrderStatus.CONFIRMED, true));
+
+        //when
+        orderStatusRedisRepository.save(order(OrderStatus.PENDING, true));
+        orderStatusRedisRepository.save(order(OrderStatus.PENDING, false));
+
+        //then
+        assertThat(orderStatusRedisRepository.find(ORDER_ID)).get()
+                .extracting(OrderResponse.Status::getStatus).isEqualTo("CONFIRMED");
+    }
+
+    @Test
+    @DisplayName("다음 단계의 상태는 저장된 상태를 덮어쓴다.")
+    void saveNextStage() {
+        //given
+        orderStatusRedisRepository.save(order(OrderStatus.PENDING, false));
+
+        //when
+        orderStatusRedisRepository.save(order(OrderStatus.PENDING, true));
+        boolean reserved = orderStatusRedisRepository.find(ORDER_ID).orElseThrow().isReserved();
+        orderStatusRedisRepository.save(order(OrderStatus.CANCELLED, true));
+
+        //then
+        assertThat(reserved).isTrue();
+        assertThat(orderStatusRedisRepository.find(ORDER_ID)).get()
+                .extracting(OrderResponse.Status::getStatus).isEqualTo("CANCELLED");
+    }
+
+    @Test
+    @DisplayName("조회 미스 후 채우기는 그사이 기록된 상태를 덮어쓰지 않는다.")
+    void saveIfAbsentKeepsCommittedStatus() {
+        //given - DB 에서 PENDING 을 읽은 뒤 확정이 커밋돼 먼저 기록됐다
+        Order staleRead = order(OrderStatus.PENDING, true);
+        orderStatusRedisRepository.save(order(OrderStatus.CONFIRMED, true));
+
+        //when
+        orderStatusRedisRepository.saveIfAbsent(staleRead);
+
+        //then
+        assertThat(orderStatusRedisRepository.find(ORDER_ID)).get()
+                .extracting(OrderResponse.Status::getStatus).isEqualTo("CONFIRMED");
+    }
+
+    @Test
+    @DisplayName("조회 모델이 비어 있으면 DB 에서 읽은 상태로 채운다.")
+    void saveIfAbsent() {
+        //when
+        orderStatusRedisRepository.saveIfAbsent(order(OrderStatus.PENDING, false));
+
+        //then
+        assertThat(orderStatusRedisRepository.find(ORDER_ID)).isPresent();
+        assertThat(redisTemplate.getExpire(KEY)).isPositive();
+    }
+
+    @Test
+    @DisplayName("이전 RedisTemplate(JSON + 타입 정보) 으로 저장된 상태도 읽고, 단계 비교에도 쓴다.")
+    void readLegacyValue() {
+        //given
+        ObjectMapper legacyObjectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        byte[] legacyValue = new GenericJackson2JsonRedisSerializer(legacyObjectMapper)
+                .serialize(OrderResponse.Status.from(order(OrderStatus.CONFIRMED, true)));
+        redisTemplate.opsForValue().set(KEY, new String(legacyValue, StandardCharsets.UTF_8));
+
+        //when
+        orderStatusRedisRepository.save(order(OrderStatus.PENDING, true));
+
+        //then
+        assertThat(orderStatusRedisRepository.find(ORDER_ID)).get()
+                .extracting(OrderResponse.Status::getStatus).isEqualTo("CONFIRMED");
+    }
+
+    private static Order order(OrderStatus status, boolean reserved) {
+        Order order = Order.builder()
+                .id(ORDER_ID)
+                .userId(10L)
+                .totalAmount(20000)
+                .couponDiscount(0)
+                .pointDiscount(0)
+                .finalAmount(20000)
+                .status(status)
+                .expiresAt(LocalDateTime.now().plusMinutes(10).truncatedTo(ChronoUnit.SECONDS))
+                .build();
+        if (reserved) {
+            order.markReserved();
+        }
+        return order;
+    }
+}
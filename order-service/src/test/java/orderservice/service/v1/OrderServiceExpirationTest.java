@@ -0,0 +1,125 @@
+package orderservice.service.v1;
+
+import orderservice.client.serviceclient.CouponServiceClient;
+import orderservice.client.serviceclient.PointServiceClient;
+import orderservice.client.serviceclient.ProductServiceClient;
+import orderservice.entity.Order;
+import orderservice.entity.OrderStatus;
+import orderservice.repository.CompensationRegistryJpaRepository;
+import orderservice.repository.OrderJpaRepository;
+import orderservice.repository.OrderStatusRedisRepository;
+import orderservice.service.kafka.producer.OrderEventProducer;
+import orderservice.support.JpaTestConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ContextConfiguration;
+import outboxmessagerelay.OutboxEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@ContextConfiguration(classes = JpaTestConfig.class)
+class OrderServiceExpirationTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 19, 12, 0);
+
+    @Autowired
+    private OrderJpaRepository orderJpaRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    private OrderStatusRedisRepository orderStatusRedisRepository;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderStatusRedisRepository = mock(OrderStatusRedisRepository.class);
+        orderService = new OrderService(orderJpaRepository, mock(ProductServiceClient.class),
+                mock(CouponServiceClient.class), mock(PointServiceClient.class), mock(CartService.class),
+                mock(OrderEventProducer.class), mock(OutboxEventPublisher.class),
+                mock(CompensationRegistryJpaRepository.class), orderStatusRedisRepository);
+    }
+
+    @Test
+    @DisplayName("만료된 PENDING 주문만 id 순 청크로 취소하고, 다음 청크는 마지막 주문 ID 뒤부터 이어간다.")
+    void cancelExpiredOrderChunk() {
+        //given
+        Long expired1 = save(OrderStatus.PENDING, NOW.minusMinutes(3));
+        Long notExpired = save(OrderStatus.PENDING, NOW.plusMinutes(5));
+        Long expired2 = save(OrderStatus.PENDING, NOW.minusMinutes(2));
+        Long confirmed = save(OrderStatus.CONFIRMED, NOW.minusMinutes(2));
+        Long expired3 = save(OrderStatus.PENDING, NOW.minusMinutes(1));
+
+        //when
+        List<Long> firstChunk = ids(orderService.cancelExpiredOrderChunk(NOW, 0L, 2));
+        List<Long> secondChunk = ids(orderService.cancelExpiredOrderChunk(NOW, firstChunk.get(1), 2));
+        List<Long> thirdChunk = ids(orderService.cancelExpiredOrderChunk(NOW, expired3, 2));
+
+        //then
+        assertThat(firstChunk).containsExactly(expired1, expired2);
+        assertThat(secondChunk).containsExactly(expired3);
+        assertThat(thirdChunk).isEmpty();
+        assertThat(statusOf(expired1)).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(statusOf(expired2)).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(statusOf(expired3)).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(statusOf(notExpired)).isEqualTo(OrderStatus.PENDING);
+        assertThat(statusOf(confirmed)).isEqualTo(OrderStatus.CONFIRMED);
+        verify(orderStatusRedisRepository, times(3)).save(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("일괄 취소는 아직 PENDING 인 주문만 바꾸고, 그사이 상태가 바뀐 주문은 건드리지 않는다.")
+    void bulkCancelOnlyPending() {
+        //given
+        Long pending = save(OrderStatus.PENDING, NOW.minusMinutes(1));
+        Long confirmed = save(OrderStatus.CONFIRMED, NOW.minusMinutes(1));
+        Long failed = save(OrderStatus.FAILED, NOW.minusMinutes(1));
+
+        //when
+        int cancelled = orderJpaRepository.bulkCancel(List.of(pending, confirmed, failed), NOW);
+
+        //then
+        assertThat(cancelled).isEqualTo(1);
+        assertThat(statusOf(pending)).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(statusOf(confirmed)).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(statusOf(failed)).isEqualTo(OrderStatus.FAILED);
+    }
+
+    private Long save(OrderStatus status, LocalDateTime expiresAt) {
+        Order order = Order.builder()
+                .userId(10L)
+                .totalAmount(10000)
+                .couponDiscount(0)
+                .pointDiscount(0)
+                .finalAmount(10000)
+                .status(status)
+                .expiresAt(expiresAt)
+                .build();
+        Long orderId = testEntityManager.persistAndFlush(order).getId();
+        testEntityManager.clear();
+        return orderId;
+    }
+
+    private OrderStatus statusOf(Long orderId) {
+        testEntityManager.clear();
+        return orderJpaRepository.findById(orderId).orElseThrow().getStatus();
+    }
+
+    private static List<Long> ids(List<Order> orders) {
+        return orders.stream()
+                .map(Order::getId)
+                .toList();
+    }
+}
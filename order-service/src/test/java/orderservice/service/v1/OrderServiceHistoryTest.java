@@ -0,0 +1,174 @@
+package orderservice.service.v1;
+
+import orderservice.client.serviceclient.CouponServiceClient;
+import orderservice.client.serviceclient.PointServiceClient;
+import orderservice.client.serviceclient.ProductServiceClient;
+import orderservice.entity.Order;
+import orderservice.entity.OrderItem;
+import orderservice.entity.OrderStatus;
+import orderservice.repository.CompensationRegistryJpaRepository;
+import orderservice.repository.OrderJpaRepository;
+import orderservice.repository.OrderStatusRedisRepository;
+import orderservice.service.dto.response.OrderResponse;
+import orderservice.service.kafka.producer.OrderEventProducer;
+import orderservice.support.JpaTestConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ContextConfiguration;
+import outboxmessagerelay.OutboxEventPublisher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+@ContextConfiguration(classes = JpaTestConfig.class)
+class OrderServiceHistoryTest {
+
+    private static final Long USER_ID = 10L;
+    private static final Long OTHER_USER_ID = 20L;
+
+    @Autowired
+    private OrderJpaRepository orderJpaRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        orderService = new OrderService(orderJpaRepository, mock(ProductServiceClient.class),
+                mock(CouponServiceClient.class), mock(PointServiceClient.class), mock(CartService.class),
+                mock(OrderEventProducer.class), mock(OutboxEventPublisher.class),
+                mock(CompensationRegistryJpaRepository.class), mock(OrderStatusRedisRepository.class));
+    }
+
+    @Test
+    @DisplayName("pageSize+1 건을 읽어 다음 페이지 여부를 정하고, 마지막 주문 ID 를 다음 커서로 준다.")
+    void getOrderHistoryHasNext() {
+        //given
+        List<Long> orderIds = saveOrders(USER_ID, OrderStatus.PENDING, 3);
+
+        //when
+        OrderResponse.History first = orderService.getOrderHistory(USER_ID, null, null, 2);
+        OrderResponse.History last = orderService.getOrderHistory(USER_ID, null, first.getNextCursor(), 2);
+
+        //then
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(orderIdsOf(first)).containsExactly(orderIds.get(2), orderIds.get(1));
+        assertThat(first.getNextCursor()).isEqualTo(orderIds.get(1));
+        assertThat(last.isHasNext()).isFalse();
+        assertThat(last.getNextCursor()).isNull();
+        assertThat(orderIdsOf(last)).containsExactly(orderIds.get(0));
+    }
+
+    @Test
+    @DisplayName("남은 주문이 정확히 pageSize 건이면 다음 페이지가 없다.")
+    void getOrderHistoryExactPage() {
+        //given
+        saveOrders(USER_ID, OrderStatus.PENDING, 2);
+
+        //when
+        OrderResponse.History history = orderService.getOrderHistory(USER_ID, null, null, 2);
+
+        //then
+        assertThat(history.getOrders()).hasSize(2);
+        assertThat(history.isHasNext()).isFalse();
+        assertThat(history.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("커서를 따라 끝까지 넘기면 내 주문만 최신순으로 빠짐없이, 중복 없이 나온다.")
+    void getOrderHistoryCursorContinuation() {
+        //given - 다른 사용자 주문이 사이사이 섞여 있다
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            expected.addAll(saveOrders(USER_ID, OrderStatus.PENDING, 1));
+            saveOrders(OTHER_USER_ID, OrderStatus.PENDING, 1);
+        }
+
+        //when
+        List<Long> visited = new ArrayList<>();
+        Long cursor = null;
+        int pages = 0;
+        OrderResponse.History page;
+        do {
+            page = orderService.getOrderHistory(USER_ID, null, cursor, 3);
+            visited.addAll(orderIdsOf(page));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (page.isHasNext());
+
+        //then
+        Collections.reverse(expected);
+        assertThat(pages).isEqualTo(3);
+        assertThat(visited).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("상태를 주면 (user_id, status, id) 경로로 해당 상태의 주문만 페이징한다.")
+    void getOrderHistoryByStatus() {
+        //given
+        List<Long> cancelled = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            saveOrders(USER_ID, OrderStatus.PENDING, 1);
+            cancelled.addAll(saveOrders(USER_ID, OrderStatus.CANCELLED, 1));
+        }
+
+        //when
+        OrderResponse.History first = orderService.getOrderHistory(USER_ID, OrderStatus.CANCELLED, null, 2);
+        OrderResponse.History last = orderService.getOrderHistory(USER_ID, OrderStatus.CANCELLED, first.getNextCursor(), 2);
+
+        //then
+        assertThat(orderIdsOf(first)).containsExactly(cancelled.get(2), cancelled.get(1));
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(orderIdsOf(last)).containsExactly(cancelled.get(0));
+        assertThat(last.isHasNext()).isFalse();
+        assertThat(first.getOrders()).allMatch(detail -> detail.getStatus().equals("CANCELLED"));
+    }
+
+    @Test
+    @DisplayName("아이템이 여러 개인 주문도 한 번만 나오고 아이템을 모두 담는다.")
+    void getOrderHistoryWithItems() {
+        //given
+        List<Long> orderIds = saveOrders(USER_ID, OrderStatus.PENDING, 2);
+
+        //when
+        OrderResponse.History history = orderService.getOrderHistory(USER_ID, null, null, 10);
+
+        //then
+        assertThat(orderIdsOf(history)).containsExactly(orderIds.get(1), orderIds.get(0));
+        assertThat(history.getOrders()).allMatch(detail -> detail.getItems().size() == 2);
+    }
+
+    // 아이템 2개짜리 주문을 count 건 저장하고 영속성 컨텍스트를 비운다 (id 오름차순)
+    private List<Long> saveOrders(Long userId, OrderStatus status, int count) {
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Order order = Order.create(userId, 20000, 0, 0, 20000);
+            order.addItem(OrderItem.create(order, 100L, 1000L, 1, 10000, null, 0));
+            order.addItem(OrderItem.create(order, 200L, 2000L, 1, 10000, null, 0));
+            if (status == OrderStatus.CANCELLED) {
+                order.cancel();
+            }
+            orderIds.add(testEntityManager.persist(order).getId());
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+        return orderIds;
+    }
+
+    private static List<Long> orderIdsOf(OrderResponse.History history) {
+        return history.getOrders().stream()
+                .map(OrderResponse.Detail::getOrderId)
+                .toList();
+    }
+}
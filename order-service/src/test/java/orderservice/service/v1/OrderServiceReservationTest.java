@@ -0,0 +1,160 @@
+package orderservice.service.v1;
+
+import event.payload.OrderReservePayload;
+import orderservice.client.dto.StockReserveRequest;
+import orderservice.client.serviceclient.CouponServiceClient;
+import orderservice.client.serviceclient.PointServiceClient;
+import orderservice.client.serviceclient.ProductServiceClient;
+import orderservice.entity.Order;
+import orderservice.entity.OrderItem;
+import orderservice.entity.OrderStatus;
+import orderservice.repository.CompensationRegistryJpaRepository;
+import orderservice.repository.OrderJpaRepository;
+import orderservice.repository.OrderStatusRedisRepository;
+import orderservice.service.dto.response.OrderResponse;
+import orderservice.service.kafka.producer.OrderEventProducer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import outboxmessagerelay.OutboxEventPublisher;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderServiceReservationTest {
+
+    private static final Long ORDER_ID = 1L;
+    private static final Long USER_ID = 10L;
+
+    @InjectMocks
+    private OrderService orderService;
+
+    @Mock
+    private OrderJpaRepository orderRepository;
+
+    @Mock
+    private ProductServiceClient productClient;
+
+    @Mock
+    private CouponServiceClient couponClient;
+
+    @Mock
+    private PointServiceClient pointClient;
+
+    @Mock
+    private CartService cartService;
+
+    @Mock
+    private OrderEventProducer orderEventProducer;
+
+    @Mock
+    private OutboxEventPublisher outboxEventPublisher;
+
+    @Mock
+    private CompensationRegistryJpaRepository compensationRegistryJpaRepository;
+
+    @Mock
+    private OrderStatusRedisRepository orderStatusRedisRepository;
+
+    @Test
+    @DisplayName("PENDING 주문은 행을 잠가 읽고 재고를 예약한 뒤 예약 완료로 저장한다.")
+    void processOrderReservation() {
+        //given
+        Order order = order(OrderStatus.PENDING, LocalDateTime.now().plusMinutes(10));
+        when(orderRepository.findOrderWithItemsForUpdate(ORDER_ID)).thenReturn(order);
+
+        //when
+        OrderResponse.Status result = orderService.processOrderReservation(payload());
+
+        //then
+        assertThat(result.isReserved()).isTrue();
+        assertThat(result.getStatus()).isEqualTo(OrderStatus.PENDING.name());
+        verify(productClient).reserveStock(any(StockReserveRequest.class));
+        verify(orderRepository).save(order);
+        verify(cartService).clearCart(USER_ID);
+    }
+
+    @Test
+    @DisplayName("이미 예약된 주문의 이벤트가 다시 오면 다시 예약하지 않는다.")
+    void processOrderReservationRedelivered() {
+        //given
+        Order order = order(OrderStatus.PENDING, LocalDateTime.now().plusMinutes(10));
+        order.markReserved();
+        when(orderRepository.findOrderWithItemsForUpdate(ORDER_ID)).thenReturn(order);
+
+        //when
+        OrderResponse.Status result = orderService.processOrderReservation(payload());
+
+        //then
+        assertThat(result.isReserved()).isTrue();
+        verifyNoInteractions(productClient, couponClient, pointClient);
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("워커보다 먼저 만료 취소된 주문은 예약하지 않고 CANCELLED 를 덮어쓰지 않는다.")
+    void processOrderReservationAlreadyCancelled() {
+        //given
+        Order order = order(OrderStatus.CANCELLED, LocalDateTime.now().minusMinutes(1));
+        when(orderRepository.findOrderWithItemsForUpdate(ORDER_ID)).thenReturn(order);
+
+        //when
+        OrderResponse.Status result = orderService.processOrderReservation(payload());
+
+        //then
+        assertThat(result.getStatus()).isEqualTo(OrderStatus.CANCELLED.name());
+        assertThat(result.isReserved()).isFalse();
+        verifyNoInteractions(productClient, couponClient, pointClient, orderStatusRedisRepository);
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("아직 취소되지 않았어도 만료 시각이 지난 주문은 예약하지 않고 만료 스케줄러에 맡긴다.")
+    void processOrderReservationExpired() {
+        //given
+        Order order = order(OrderStatus.PENDING, LocalDateTime.now().minusSeconds(1));
+        when(orderRepository.findOrderWithItemsForUpdate(ORDER_ID)).thenReturn(order);
+
+        //when
+        OrderResponse.Status result = orderService.processOrderReservation(payload());
+
+        //then
+        assertThat(result.getStatus()).isEqualTo(OrderStatus.PENDING.name());
+        assertThat(result.isReserved()).isFalse();
+        verifyNoInteractions(productClient, couponClient, pointClient, cartService);
+        verify(orderRepository, never()).save(any());
+    }
+
+    private static Order order(OrderStatus status, LocalDateTime expiresAt) {
+        Order order = Order.builder()
+                .id(ORDER_ID)
+                .userId(USER_ID)
+                .totalAmount(20000)
+                .couponDiscount(0)
+                .pointDiscount(0)
+                .finalAmount(20000)
+                .status(status)
+                .expiresAt(expiresAt)
+                .build();
+        order.addItem(OrderItem.create(order, 100L, 1000L, 2, 10000, null, 0));
+        return order;
+    }
+
+    private static OrderReservePayload payload() {
+        return OrderReservePayload.builder()
+                .orderId(ORDER_ID)
+                .userId(USER_ID)
+                .usePoint(0)
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package orderservice.support;
+
+import orderservice.entity.Order;
+import orderservice.repository.OrderJpaRepository;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * 리포지토리 쿼리 테스트 설정 (@DataJpaTest + @ContextConfiguration)
+ * - OrderServiceApplication 의 @ComponentScan 이 슬라이스 필터를 무시하고 Feign/Kafka 빈까지 올리므로 대신 쓴다
+ * - 주문 엔티티/JPA 리포지토리만 올리고 DB 는 내장 H2 를 쓴다
+ */
+@Configuration
+@EnableJpaAuditing
+@EntityScan(basePackageClasses = Order.class)
+@EnableJpaRepositories(basePackageClasses = OrderJpaRepository.class)
+public class JpaTestConfig {
+}
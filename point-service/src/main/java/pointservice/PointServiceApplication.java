@@ -10,7 +10,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 @EnableJpaAuditing
 @EnableDiscoveryClient
-@ComponentScan(basePackages = {"pointservice", "outboxmessagerelay"})
+@ComponentScan(basePackages = {"pointservice", "outboxmessagerelay", "idempotency"})
 @EntityScan(basePackages = {"pointservice.entity", "outboxmessagerelay.entity"})
 @EnableJpaRepositories(basePackages = {"pointservice.repository", "outboxmessagerelay.repository"})
 @SpringBootApplication
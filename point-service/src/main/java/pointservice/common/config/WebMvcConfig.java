@@ -1,5 +1,6 @@
 package pointservice.common.config;
 
+import idempotency.IdempotencyInterceptor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -11,10 +12,14 @@ import pointservice.common.interceptor.UserIdInterceptor;
 public class WebMvcConfig implements WebMvcConfigurer {
 
     private final UserIdInterceptor userIdInterceptor;
+    private final IdempotencyInterceptor idempotencyInterceptor;
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(userIdInterceptor)
                 .addPathPatterns("/api/**/points/**");
+
+        registry.addInterceptor(idempotencyInterceptor)
+                .addPathPatterns("/api/v2/points/earn");
     }
 }
@@ -0,0 +1,133 @@
+package productservice.service;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.jpa.repository.Query;
+import productservice.entity.Category;
+import productservice.entity.Product;
+import productservice.entity.ProductOption;
+import productservice.entity.ProductStock;
+import productservice.repository.ProductJpaRepository;
+import productservice.repository.ProductReadRow;
+import productservice.service.dto.ProductResponse;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * 상품 조회 엔티티 경로 vs projection 경로 비교 (H2 인메모리, Hibernate 단독 부트스트랩)
+ * - entity: fetch join 으로 Product/Category/ProductOption/ProductStock 을 영속성 컨텍스트에 올리고 커밋(변경 감지)까지
+ * - projection: 생성자 표현식 행 → ProductReadRow.groupByProduct → ProductResponse (읽기 전용 세션)
+ * - 두 쿼리 모두 ProductJpaRepository 의 @Query 문자열을 그대로 읽어 쓴다
+ * - 요청당 할당량은 gc 프로파일러로 본다: java -jar build/libs/*-jmh.jar ProductReadQueryBenchmark -prof gc
+ *   (gc.alloc.rate.norm = 호출당 바이트)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductReadQueryBenchmark {
+
+    private static final int PRODUCTS = 1_000;
+    private static final int OPTIONS_PER_PRODUCT = 5;
+
+    // 단건 조회(read) / 장바구니 조회(getProductByIds) 크기
+    @Param({"1", "20", "100"})
+    private int batchSize;
+
+    private SessionFactory sessionFactory;
+    private String entityQuery;
+    private String projectionQuery;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Category.class)
+                .addAnnotatedClass(Product.class)
+                .addAnnotatedClass(ProductOption.class)
+                .addAnnotatedClass(ProductStock.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:product_read;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.PHYSICAL_NAMING_STRATEGY,
+                        CamelCaseToUnderscoresNamingStrategy.class.getName())
+                .buildSessionFactory();
+
+        entityQuery = ProductJpaRepository.class
+                .getMethod("findAllWithCategoryOptionsAndStockByIdIn", List.class)
+                .getAnnotation(Query.class).value();
+        projectionQuery = ProductJpaRepository.class
+                .getMethod("findReadRowsByIdIn", Collection.class)
+                .getAnnotation(Query.class).value();
+
+        prepareDataset();
+        ids = LongStream.rangeClosed(1, batchSize).boxed().toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public void entity(Blackhole blackhole) {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            for (Product product : session.createQuery(entityQuery, Product.class)
+                    .setParameter("ids", ids)
+                    .getResultList()) {
+                blackhole.consume(ProductResponse.from(product));
+            }
+            transaction.commit();
+        }
+    }
+
+    @Benchmark
+    public void projection(Blackhole blackhole) {
+        try (Session session = sessionFactory.openSession()) {
+            session.setDefaultReadOnly(true);
+            Transaction transaction = session.beginTransaction();
+            List<ProductReadRow> rows = session.createQuery(projectionQuery, ProductReadRow.class)
+                    .setParameter("ids", ids)
+                    .getResultList();
+            for (List<ProductReadRow> product : ProductReadRow.groupByProduct(rows).values()) {
+                blackhole.consume(ProductResponse.from(product));
+            }
+            transaction.commit();
+        }
+    }
+
+    private void prepareDataset() {
+        sessionFactory.inTransaction(session -> {
+            Category category = Category.create("상의");
+            session.persist(category);
+
+            for (int i = 0; i < PRODUCTS; i++) {
+                Product product = Product.create(category, "상품 " + i, BigDecimal.valueOf(10_000 + i), "image.png");
+                for (int j = 0; j < OPTIONS_PER_PRODUCT; j++) {
+                    ProductOption option = ProductOption.create(product, "SIZE-" + j, "COLOR-" + j, BigDecimal.ZERO);
+                    option.setStock(ProductStock.create(option, 100));
+                    product.addOption(option);
+                }
+                session.persist(product);
+            }
+        });
+    }
+}
@@ -0,0 +1,125 @@
+package productservice.service.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import productservice.service.search.AutocompleteIndex.Source;
+import productservice.service.search.AutocompleteIndex.Type;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 자동완성 색인 조회 지연시간 / 메모리 측정
+ * - lookup: 접두어 1~4 글자 조회 (SampleTime 으로 p99 확인)
+ * - replace: 상품 100개 변경 병합 (증분 재구성 비용)
+ * - Setup 에서 이름 100만 개당 색인 크기(배열 합계)와 GC 후 힙 증가량을 로그로 남긴다
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AutocompleteIndexBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(AutocompleteIndexBenchmark.class);
+
+    private static final String[] WORDS = {
+            "나이키", "아디다스", "뉴발란스", "반팔", "긴팔", "티셔츠", "후드", "집업", "운동화", "슬리퍼",
+            "청바지", "슬랙스", "오버핏", "스탠다드", "블랙", "화이트", "네이비", "그레이", "베이지", "카키",
+            "air", "max", "classic", "basic", "logo", "cotton", "linen", "wool", "denim", "jogger"
+    };
+
+    @Param({"1000000"})
+    private int names;
+
+    private AutocompleteIndex index;
+    private String[] prefixes;
+    private List<Long> changedIds;
+    private List<Source> changedSources;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<Source> sources = new ArrayList<>(names);
+        for (int i = 0; i < names; i++) {
+            sources.add(new Source(Type.PRODUCT, i, name(random), zipf(random)));
+        }
+
+        long before = usedHeap();
+        index = AutocompleteIndex.build(sources);
+        long after = usedHeap();
+
+        log.info("자동완성 색인 메모리 - names: {}, estimated: {}MB, heap delta: {}MB, per million: {}MB",
+                names,
+                megabytes(index.estimatedBytes()),
+                megabytes(after - before),
+                megabytes(index.estimatedBytes() * 1_000_000 / names));
+
+        prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            String name = sources.get(random.nextInt(names)).text();
+            prefixes[i] = name.substring(0, Math.min(name.length(), 1 + random.nextInt(4)));
+        }
+
+        changedIds = new ArrayList<>();
+        changedSources = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            long id = random.nextInt(names);
+            changedIds.add(id);
+            changedSources.add(new Source(Type.PRODUCT, id, name(random), zipf(random)));
+        }
+        sources.clear();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public void lookup(Blackhole blackhole) {
+        blackhole.consume(index.search(prefixes[cursor++ & (prefixes.length - 1)], 10));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public AutocompleteIndex replace() {
+        return index.replaceProducts(changedIds, changedSources, Integer.MAX_VALUE);
+    }
+
+    private static String name(Random random) {
+        int words = 2 + random.nextInt(3);
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                name.append(' ');
+            }
+            name.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return name.append(' ').append(random.nextInt(100_000)).toString();
+    }
+
+    // 소수 상품이 대부분 팔리는 분포
+    private static int zipf(Random random) {
+        return (int) (10_000 / (1 + random.nextInt(10_000)));
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format("%.1f", bytes / 1024.0 / 1024.0);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
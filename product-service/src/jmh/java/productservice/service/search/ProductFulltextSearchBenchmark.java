@@ -0,0 +1,170 @@
+package productservice.service.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DB 상품 검색 LIKE vs FULLTEXT(ngram) 비교 (로컬 MySQL 8, 상품 100만 행)
+ * - 접속 정보: -Dbench.mysql.url=jdbc:mysql://localhost:3306/product_bench?user=root&password=root
+ * - 처음 실행할 때 product 테이블에 합성 상품명 100만 행을 넣고 FULLTEXT 색인을 만든다 (수 분 걸림, 이후 재사용)
+ * - 두 쿼리 모두 ProductJpaRepository 와 같은 조건 (ACTIVE, id 내림차순 첫 페이지 20건)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProductFulltextSearchBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final int PAGE_SIZE = 20;
+    private static final String[] WORDS = {
+            "나이키", "아디다스", "뉴발란스", "반팔", "긴팔", "티셔츠", "후드", "집업", "운동화", "슬리퍼",
+            "청바지", "슬랙스", "오버핏", "스탠다드", "블랙", "화이트", "네이비", "그레이", "베이지", "카키",
+            "air", "max", "classic", "basic", "logo", "cotton", "linen", "wool", "denim", "jogger"
+    };
+
+    private static final String LIKE_SQL = """
+            SELECT p.id FROM product p
+            WHERE p.status = 'ACTIVE' AND p.name LIKE CONCAT('%', ?, '%')
+            ORDER BY p.id DESC LIMIT ?
+            """;
+    private static final String FULLTEXT_SQL = """
+            SELECT p.id FROM product p
+            WHERE MATCH(p.name) AGAINST (? IN BOOLEAN MODE) AND p.status = 'ACTIVE'
+            ORDER BY p.id DESC LIMIT ?
+            """;
+
+    // 흔한 단어 / 드문 조합 / 짧은 접두어
+    @Param({"나이키", "네이비 jogger", "오버핏 울"})
+    private String keyword;
+
+    private Connection connection;
+    private PreparedStatement like;
+    private PreparedStatement fulltext;
+    private String booleanQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url = System.getProperty("bench.mysql.url",
+                "jdbc:mysql://localhost:3306/product_bench?user=root&password=root&rewriteBatchedStatements=true");
+        connection = DriverManager.getConnection(url);
+        prepareDataset();
+
+        like = connection.prepareStatement(LIKE_SQL);
+        fulltext = connection.prepareStatement(FULLTEXT_SQL);
+        booleanQuery = ProductDatabaseSearch.toBooleanQuery(keyword);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void like(Blackhole blackhole) throws SQLException {
+        like.setString(1, keyword);
+        like.setInt(2, PAGE_SIZE);
+        consume(like, blackhole);
+    }
+
+    @Benchmark
+    public void fulltext(Blackhole blackhole) throws SQLException {
+        fulltext.setString(1, booleanQuery);
+        fulltext.setInt(2, PAGE_SIZE);
+        consume(fulltext, blackhole);
+    }
+
+    private static void consume(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getLong(1));
+            }
+        }
+    }
+
+    private void prepareDataset() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE IF NOT EXISTS product (
+                        id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                        category_id BIGINT,
+                        name VARCHAR(255),
+                        price DECIMAL(19, 2),
+                        image VARCHAR(255),
+                        status VARCHAR(20))
+                    """);
+
+            long existing;
+            try (ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM product")) {
+                resultSet.next();
+                existing = resultSet.getLong(1);
+            }
+            if (existing < ROWS) {
+                insertProducts(ROWS - existing);
+            }
+
+            try (ResultSet resultSet = statement.executeQuery("""
+                    SELECT COUNT(*) FROM information_schema.statistics
+                    WHERE table_schema = DATABASE() AND table_name = 'product' AND index_name = 'ft_product_name'
+                    """)) {
+                resultSet.next();
+                if (resultSet.getLong(1) == 0) {
+                    statement.execute("ALTER TABLE product ADD FULLTEXT INDEX ft_product_name (name) WITH PARSER ngram");
+                }
+            }
+        }
+    }
+
+    private void insertProducts(long count) throws SQLException {
+        Random random = new Random(42);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO product (category_id, name, price, image, status) VALUES (?, ?, ?, ?, ?)")) {
+            for (long i = 0; i < count; i++) {
+                insert.setLong(1, 1 + random.nextInt(50));
+                insert.setString(2, name(random));
+                insert.setInt(3, 10_000 + random.nextInt(90_000));
+                insert.setString(4, "image.png");
+                insert.setString(5, random.nextInt(10) == 0 ? "STOP" : "ACTIVE");
+                insert.addBatch();
+                if ((i + 1) % 5_000 == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private static String name(Random random) {
+        int words = 2 + random.nextInt(4);
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                name.append(' ');
+            }
+            name.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return name.append(' ').append(random.nextInt(10_000)).toString();
+    }
+}
@@ -0,0 +1,159 @@
+package productservice.service.stock;
+
+import jakarta.persistence.OptimisticLockException;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StaleStateException;
+import org.hibernate.Transaction;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.data.jpa.repository.Query;
+import productservice.entity.Category;
+import productservice.entity.Product;
+import productservice.entity.ProductOption;
+import productservice.entity.ProductStock;
+import productservice.entity.ProductStockBucket;
+import productservice.repository.ProductStockBucketJpaRepository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 인기 옵션 하나에 동시 예약이 몰릴 때 처리량 비교 (H2 인메모리, Hibernate 단독 부트스트랩, 16 스레드)
+ * - bucketCount 0: 단일 행 @Version - 읽고 → 작업 → 커밋, 충돌하면 처음부터 재시도 (버킷 도입 전 ProductStock 방식)
+ * - bucketCount K: StockBucketAllocator 로 고른 버킷에 조건부 UPDATE → 작업 → 커밋
+ *   (ProductStockBucketJpaRepository 의 @Query 문자열을 그대로 읽어 쓴다)
+ * - 트랜잭션 안에서 다른 작업(주문 행 저장 등)에 WORK_MILLIS 가 걸린다고 가정한다
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class StockBucketContentionBenchmark {
+
+    private static final long WORK_MILLIS = 2;
+    private static final int INITIAL_STOCK = 100_000_000;
+
+    @Param({"0", "1", "4", "16"})
+    private int bucketCount;
+
+    private SessionFactory sessionFactory;
+    private String reserveQuery;
+    private String availableQuery;
+    private Long stockId;
+    private Long optionId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Category.class)
+                .addAnnotatedClass(Product.class)
+                .addAnnotatedClass(ProductOption.class)
+                .addAnnotatedClass(ProductStock.class)
+                .addAnnotatedClass(ProductStockBucket.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL,
+                        "jdbc:h2:mem:stock_bucket;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.PHYSICAL_NAMING_STRATEGY,
+                        CamelCaseToUnderscoresNamingStrategy.class.getName())
+                .buildSessionFactory();
+
+        reserveQuery = ProductStockBucketJpaRepository.class
+                .getMethod("reserve", Long.class, int.class, int.class)
+                .getAnnotation(Query.class).value();
+        availableQuery = ProductStockBucketJpaRepository.class
+                .getMethod("findAvailableQuantities", Long.class)
+                .getAnnotation(Query.class).value();
+
+        prepareDataset();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public boolean reserve() throws InterruptedException {
+        return bucketCount == 0 ? reserveSingleRow() : reserveBucket();
+    }
+
+    private boolean reserveSingleRow() throws InterruptedException {
+        while (true) {
+            try (Session session = sessionFactory.openSession()) {
+                Transaction transaction = session.beginTransaction();
+                try {
+                    session.find(ProductStock.class, stockId).reserve(1);
+                    Thread.sleep(WORK_MILLIS);
+                    transaction.commit();
+                    return true;
+                } catch (OptimisticLockException | StaleStateException e) {
+                    if (transaction.isActive()) {
+                        transaction.rollback();
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean reserveBucket() throws InterruptedException {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            List<StockBucketAllocator.Allocation> allocations = StockBucketAllocator.allocate(
+                    bucketCount,
+                    ThreadLocalRandom.current().nextInt(bucketCount),
+                    1,
+                    (bucketNo, amount) -> session.createMutationQuery(reserveQuery)
+                            .setParameter("productOptionId", optionId)
+                            .setParameter("bucketNo", bucketNo)
+                            .setParameter("amount", amount)
+                            .executeUpdate() == 1,
+                    () -> session.createQuery(availableQuery, Integer.class)
+                            .setParameter("productOptionId", optionId)
+                            .getResultList());
+
+            if (allocations.isEmpty()) {
+                transaction.rollback();
+                return false;
+            }
+            Thread.sleep(WORK_MILLIS);
+            transaction.commit();
+            return true;
+        }
+    }
+
+    private void prepareDataset() {
+        sessionFactory.inTransaction(session -> {
+            Category category = Category.create("상의");
+            session.persist(category);
+
+            Product product = Product.create(category, "인기 상품", BigDecimal.valueOf(10_000), "image.png");
+            ProductOption option = ProductOption.create(product, "FREE", "BLACK", BigDecimal.ZERO);
+            ProductStock stock = ProductStock.create(option, INITIAL_STOCK);
+            option.setStock(stock);
+            product.addOption(option);
+            session.persist(product);
+            session.flush();
+
+            stockId = stock.getId();
+            optionId = option.getId();
+            for (int bucketNo = 0; bucketNo < bucketCount; bucketNo++) {
+                session.persist(ProductStockBucket.create(optionId, bucketNo, INITIAL_STOCK / bucketCount, 0));
+            }
+        });
+    }
+}
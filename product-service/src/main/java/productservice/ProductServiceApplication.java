@@ -10,7 +10,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 @EnableJpaAuditing
 @EnableDiscoveryClient
-@ComponentScan(basePackages = {"productservice", "outboxmessagerelay"})
+@ComponentScan(basePackages = {"productservice", "outboxmessagerelay", "idempotency"})
 @EntityScan(basePackages = {"productservice.entity", "outboxmessagerelay.entity"})
 @EnableJpaRepositories(basePackages = {"productservice.repository", "outboxmessagerelay.repository"})
 @SpringBootApplication
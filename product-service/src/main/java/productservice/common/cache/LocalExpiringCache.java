@@ -0,0 +1,74 @@
+package productservice.common.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 인스턴스 로컬 만료 캐시 (ConcurrentHashMap, 항목별 만료 시각)
+ * - 요청마다 많은 키를 읽는 용도(옵션별 재고)라 전역 잠금 없이 읽고 쓴다
+ * - LRU 순서는 두지 않는다: maxSize 에 닿으면 만료된 항목을 쓸어 내고, 그래도 가득 차 있으면 새 항목을 캐시하지 않는다
+ *   (짧은 TTL 전제 - 살아 있는 항목은 곧 만료되어 자리가 난다)
+ */
+public class LocalExpiringCache<K, V> {
+
+    private static final long SWEEP_INTERVAL_MILLIS = 100;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final AtomicLong nextSweepAtMillis = new AtomicLong();
+
+    public LocalExpiringCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    public void put(K key, V value, long ttlMillis) {
+        if (ttlMillis <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            sweep(now);
+            if (entries.size() >= maxSize) {
+                return;
+            }
+        }
+        entries.put(key, new Entry<>(value, now + ttlMillis));
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // 가득 찬 동안 put 마다 전체를 훑지 않도록 SWEEP_INTERVAL 에 한 스레드만 쓸어 낸다
+    private void sweep(long now) {
+        long next = nextSweepAtMillis.get();
+        if (now < next || !nextSweepAtMillis.compareAndSet(next, now + SWEEP_INTERVAL_MILLIS)) {
+            return;
+        }
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+    }
+
+    private record Entry<V>(V value, long expiresAtMillis) {
+    }
+}
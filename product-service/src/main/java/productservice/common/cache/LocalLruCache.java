@@ -0,0 +1,57 @@
+package productservice.common.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 인스턴스 로컬 LRU 캐시 (항목별 만료 시각)
+ * - maxSize 를 넘으면 가장 오래 조회되지 않은 항목부터 버린다
+ * - 항목 수가 작고 잠금 구간이 짧은 용도(핫 키 캐시)를 전제로 단순 synchronized 로 보호한다
+ */
+public class LocalLruCache<K, V> {
+
+    private final Map<K, Entry<V>> entries;
+
+    public LocalLruCache(int maxSize) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    public synchronized void put(K key, V value, long ttlMillis) {
+        if (ttlMillis <= 0) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+    }
+
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry<V>(V value, long expiresAtMillis) {
+    }
+}
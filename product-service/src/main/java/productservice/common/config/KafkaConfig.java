@@ -2,6 +2,7 @@ package productservice.common.config;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,6 +12,9 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
 import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
@@ -21,6 +25,9 @@ import java.util.Map;
 @Configuration
 public class KafkaConfig {
 
+    private static final String DLT_SUFFIX = "-dlt";
+    private static final int BATCH_MAX_RETRIES = 5;
+
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
@@ -62,6 +69,34 @@ public class KafkaConfig {
         return factory;
     }
 
+    // 여러 레코드를 한 번에 받아 모아서 처리하는 리스너용 (검색 색인)
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> batchKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setCommonErrorHandler(batchErrorHandler());
+        return factory;
+    }
+
+    /**
+     * 묶음 처리 실패 시 묶음 전체를 지수 백오프(1s, 2s, 4s ...)로 다시 처리하고,
+     * 끝내 실패하면 묶음의 레코드를 {topic}-dlt 로 보내고 offset 을 넘긴다 (한 묶음이 파티션을 계속 막지 않도록)
+     * - 재시도 대기는 consumer 스레드에서 하므로 전체 대기(약 31초)가 max.poll.interval.ms 보다 짧아야 한다
+     * - dlt 토픽의 파티션 수가 달라도 되도록 파티션은 producer 에 맡긴다
+     */
+    private DefaultErrorHandler batchErrorHandler() {
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate(),
+                (record, e) -> new TopicPartition(record.topic() + DLT_SUFFIX, -1));
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(BATCH_MAX_RETRIES);
+        backOff.setInitialInterval(1_000);
+        backOff.setMultiplier(2);
+        backOff.setMaxInterval(16_000);
+        return new DefaultErrorHandler(recoverer, backOff);
+    }
+
     @Bean
     public KafkaTemplate<String, String> defaultRetryTopicKafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
@@ -0,0 +1,43 @@
+package productservice.common.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import productservice.common.exception.CustomGlobalException;
+
+import java.time.Duration;
+
+@Configuration
+public class Resilience4JConfig {
+
+    public static final String ELASTICSEARCH = "elasticsearch";
+
+    /**
+     * ES 검색 서킷 - 열려 있는 동안 검색은 DB(FULLTEXT) 로 넘어간다
+     * - 만료된 커서(INVALID_SEARCH_CURSOR) 같은 요청 오류는 ES 장애가 아니므로 실패로 세지 않는다
+     */
+    @Bean
+    public Customizer<Resilience4JCircuitBreakerFactory> elasticsearchCircuitBreakerConfiguration() {
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .failureRateThreshold(50)
+                .slowCallDurationThreshold(Duration.ofSeconds(1))
+                .slowCallRateThreshold(80)
+                .waitDurationInOpenState(Duration.ofSeconds(10))
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(20)
+                .minimumNumberOfCalls(10)
+                .ignoreExceptions(CustomGlobalException.class)
+                .build();
+
+        TimeLimiterConfig timeLimiterConfig = TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofSeconds(3))
+                .build();
+
+        return factory -> factory.configure(builder -> builder
+                .timeLimiterConfig(timeLimiterConfig)
+                .circuitBreakerConfig(circuitBreakerConfig), ELASTICSEARCH);
+    }
+}
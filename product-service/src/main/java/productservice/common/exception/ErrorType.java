@@ -15,7 +15,12 @@ public enum ErrorType {
     ALREADY_PROCESSED_ORDER(400, "이미 처리된 주문입니다."),
     NOT_FOUND_RESERVE_STOCK(400, "예약 이력이 존재하지 않습니다."),
     INVALID_STOCK_RESERVATION(400, "유효하지 않은 재고 예약입니다."),
-    STOCK_CONFIRMATION_NOT_FOUND(400, "재고 확정 이력이 없습니다.");
+    STOCK_CONFIRMATION_NOT_FOUND(400, "재고 확정 이력이 없습니다."),
+    INVALID_STOCK_BUCKET_COUNT(400, "재고 버킷 수가 올바르지 않습니다."),
+    STOCK_BUCKET_UNSUPPORTED(400, "현재 재고 처리 방식에서는 재고 버킷을 사용할 수 없습니다."),
+    INVALID_SEARCH_CURSOR(400, "검색 커서가 올바르지 않거나 만료되었습니다. 처음 페이지부터 다시 검색해 주세요."),
+    SEARCH_UNAVAILABLE(503, "검색을 일시적으로 사용할 수 없습니다. 처음 페이지부터 다시 검색해 주세요."),
+    REINDEX_ALREADY_RUNNING(400, "이미 재색인이 진행 중입니다.");
 
     private final int status;
     private final String message;
@@ -8,6 +8,7 @@ import org.springframework.validation.BindException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import productservice.common.exception.CustomGlobalException;
 import productservice.common.exception.ErrorType;
 
@@ -38,6 +39,18 @@ public class CustomExceptionHandler {
                 .body(new ExceptionResponse(badRequest.value(), badRequest, errorMessage));
     }
 
+    // @Valid @RequestBody List<...> 처럼 컬렉션 요소 검증은 BindException 이 아니라 메서드 검증 예외로 온다
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<?> methodValidationException(HandlerMethodValidationException e) {
+        HttpStatus badRequest = HttpStatus.BAD_REQUEST;
+
+        String errorMessage = e.getAllErrors().get(0).getDefaultMessage();
+
+        return ResponseEntity
+                .status(badRequest)
+                .body(new ExceptionResponse(badRequest.value(), badRequest, errorMessage));
+    }
+
     @Getter
     @AllArgsConstructor
     private static class ExceptionResponse {
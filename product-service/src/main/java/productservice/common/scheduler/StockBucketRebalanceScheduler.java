@@ -0,0 +1,45 @@
+package productservice.common.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import productservice.service.stock.StockBucketService;
+
+import java.util.List;
+
+/**
+ * 재고 버킷 재분배 + ProductStock 합계 요약 갱신
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "stock.engine", havingValue = "db", matchIfMissing = true)
+public class StockBucketRebalanceScheduler {
+
+    private final StockBucketService stockBucketService;
+
+    @Scheduled(fixedDelay = 10000)
+    public void rebalance() {
+        List<Long> optionIds = stockBucketService.findBucketedOptionIds();
+        if (optionIds.isEmpty()) {
+            return;
+        }
+
+        int rebalanced = 0;
+        for (Long optionId : optionIds) {
+            try {
+                if (stockBucketService.rebalance(optionId)) {
+                    rebalanced++;
+                }
+            } catch (Exception e) {
+                log.error("재고 버킷 재분배 실패 - productOptionId: {}, error: {}", optionId, e.getMessage(), e);
+            }
+        }
+
+        if (rebalanced > 0) {
+            log.info("재고 버킷 재분배 완료 - 대상 옵션: {}, 재분배: {}", optionIds.size(), rebalanced);
+        }
+    }
+}
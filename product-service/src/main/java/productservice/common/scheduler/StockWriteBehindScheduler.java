@@ -0,0 +1,83 @@
+package productservice.common.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import productservice.repository.StockRedisRepository;
+import productservice.repository.StockRedisRepository.JournalEntry;
+import productservice.service.stock.StockJournalApplier;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 재고 저널 → DB write-behind (stock.engine=redis)
+ * - 한 인스턴스만 락을 잡고 오래된 저널부터 배치로 반영한 뒤, 커밋이 끝난 저널만 삭제한다
+ * - 반영 후 삭제 전에 죽어도 journalId 로 중복 반영을 막는다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "stock.engine", havingValue = "redis")
+public class StockWriteBehindScheduler {
+
+    public static final String DRAIN_LOCK_KEY = "STOCK_JOURNAL_DRAIN_LOCK";
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final RedissonClient redissonClient;
+    private final StockRedisRepository stockRedisRepository;
+    private final StockJournalApplier stockJournalApplier;
+
+    @Scheduled(fixedDelay = 200)
+    public void writeBehind() {
+        RLock lock = redissonClient.getLock(DRAIN_LOCK_KEY);
+        try {
+            if (!lock.tryLock(0, 30, TimeUnit.SECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        try {
+            for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+                if (drainBatch() < BATCH_SIZE) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            // 실패한 배치는 저널에 남아 있으므로 다음 주기에 다시 반영된다
+            log.error("재고 저널 DB 반영 실패 - error: {}", e.getMessage(), e);
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 저널 한 배치를 DB 에 반영하고 삭제 (호출자가 DRAIN_LOCK_KEY 를 잡고 있어야 한다)
+     *
+     * @return 읽은 저널 수
+     */
+    public int drainBatch() {
+        List<JournalEntry> entries = stockRedisRepository.readJournal(BATCH_SIZE);
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        int applied = stockJournalApplier.apply(entries);
+        stockRedisRepository.deleteJournal(entries);
+
+        log.info("재고 저널 DB 반영 - 읽음: {}, 반영: {}, 중복 스킵: {}",
+                entries.size(), applied, entries.size() - applied);
+        return entries.size();
+    }
+}
@@ -8,10 +8,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.web.bind.annotation.*;
 //import productservice.facade.RedissonLockDecreaseStockFacade;
+import productservice.controller.dto.AutocompleteResponse;
 import productservice.controller.dto.ProductSearchResponse;
 import productservice.facade.RedissonLockIncreaseFacade;
 import productservice.service.ProductSearchService;
 import productservice.service.ProductService;
+import productservice.service.search.ProductAutocompleteService;
 import productservice.service.dto.*;
 
 import java.util.List;
@@ -25,6 +27,7 @@ public class ProductController {
     //    private final RedissonLockDecreaseStockFacade redissonLockDecreaseStockFacade;
     private final RedissonLockIncreaseFacade redissonLockIncreaseFacade;
     private final ProductSearchService productSearchService;
+    private final ProductAutocompleteService productAutocompleteService;
 
     @PostMapping
     public ProductResponse create(@Valid @RequestBody ProductRequest.Create request) {
@@ -75,31 +78,56 @@ public class ProductController {
     }
 
     @PostMapping("/stock/increase")
-    public void increaseStock(@RequestBody List<ProductOptionRequest.StockUpdate> requests) {
+    public void increaseStock(@Valid @RequestBody List<ProductOptionRequest.StockUpdate> requests) {
         redissonLockIncreaseFacade.increaseStock(requests);
     }
 
+    // 대량 입고 - 옵션 락을 한 번에 잡고 한 트랜잭션으로 처리
+    @PostMapping("/stock/increase/batch")
+    public void increaseStockBatch(@Valid @RequestBody List<ProductOptionRequest.StockUpdate> requests) {
+        redissonLockIncreaseFacade.increaseStockBatch(requests);
+    }
+
+    @PutMapping("/options/{id}/stock/buckets")
+    public void changeStockBucketCount(@PathVariable Long id, @RequestParam int count) {
+        productService.changeStockBucketCount(id, count);
+    }
+
     @PostMapping("/batch")
     List<ProductResponse> getProducts(@RequestBody ProductRequest.ReadProductIds request) {
         return productService.getProductByIds(request.getProductIds());
     }
 
     @GetMapping("/search")
-    public List<ProductSearchResponse> searchProducts(
+    public ProductSearchResponse.CursorPage searchProducts(
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) Long lastId,
-            @RequestParam(defaultValue = "20") int pageSize) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int pageSize,
+            @RequestParam(defaultValue = "false") boolean inStockOnly) {
 
-        return productSearchService.searchProducts(keyword, lastId, pageSize);
+        return productSearchService.searchProducts(keyword, lastId, cursor, pageSize, inStockOnly);
     }
 
     @GetMapping("/es/search")
-    public List<ProductSearchResponse> searchElasticProducts(
+    public ProductSearchResponse.CursorPage searchElasticProducts(
             @RequestParam(required = false) String keyword,
-            @RequestParam(required = false) Long lastId,
-            @RequestParam(defaultValue = "20") int pageSize) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int pageSize,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @RequestParam(defaultValue = "false") boolean inStockOnly) {
+
+        return productSearchService.searchElasticsearchProducts(keyword, cursor, pageSize, withTotal, inStockOnly);
+    }
+
+    @GetMapping("/autocomplete")
+    public List<AutocompleteResponse> autocomplete(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
 
-        return productSearchService.searchElasticsearchProducts(keyword, lastId, pageSize);
+        return productAutocompleteService.suggest(prefix, Math.min(limit, 20)).stream()
+                .map(AutocompleteResponse::from)
+                .toList();
     }
 
     @GetMapping("/options/{id}")
@@ -0,0 +1,37 @@
+package productservice.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.stereotype.Component;
+import productservice.common.exception.CustomGlobalException;
+import productservice.service.index.ProductReindexJob;
+
+/**
+ * 상품 검색 무중단 재색인 관리 엔드포인트 (/actuator/productReindex)
+ * - 운영 작업이라 게이트웨이로 나가는 상품 API 가 아니라 actuator 에 둔다 (management.endpoints.web.exposure.include 에 넣어야 열린다)
+ * - POST 로 시작하고 GET 으로 진행 상황을 본다
+ */
+@Component
+@WebEndpoint(id = "productReindex")
+@RequiredArgsConstructor
+public class ProductReindexEndpoint {
+
+    private final ProductReindexJob productReindexJob;
+
+    @WriteOperation
+    public WebEndpointResponse<Object> start() {
+        try {
+            return new WebEndpointResponse<>(productReindexJob.start());
+        } catch (CustomGlobalException e) {
+            return new WebEndpointResponse<>(e.getMessage(), e.getErrorType().getStatus());
+        }
+    }
+
+    @ReadOperation
+    public ProductReindexJob.Progress progress() {
+        return productReindexJob.progress();
+    }
+}
@@ -0,0 +1,14 @@
+package productservice.controller.dto;
+
+import productservice.service.search.AutocompleteIndex;
+
+public record AutocompleteResponse(
+        String type,
+        Long id,
+        String text
+) {
+
+    public static AutocompleteResponse from(AutocompleteIndex.Suggestion suggestion) {
+        return new AutocompleteResponse(suggestion.type().name(), suggestion.id(), suggestion.text());
+    }
+}
@@ -23,6 +23,24 @@ public record ProductSearchResponse(
             String color,
             BigDecimal additionalPrice,
             Integer stockQuantity
+    ) {
+
+        public OptionInfo withStockQuantity(Integer stockQuantity) {
+            return new OptionInfo(id, size, color, additionalPrice, stockQuantity);
+        }
+    }
+
+    public ProductSearchResponse withOptions(List<OptionInfo> options) {
+        return new ProductSearchResponse(id, name, price, image, categoryName, options);
+    }
+
+    /**
+     * 커서 페이지 (nextCursor 를 그대로 다음 요청에 넘긴다, null 이면 마지막 페이지)
+     */
+    public record CursorPage(
+            List<ProductSearchResponse> products,
+            String nextCursor,
+            Long totalHits
     ) { }
 
     public static ProductSearchResponse from(Product product) {
@@ -18,7 +18,7 @@ public class ProductStock extends BaseEntity {
     private Long id;
 
     @Setter
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_option_id")
     private ProductOption productOption;
 
@@ -27,6 +27,9 @@ public class ProductStock extends BaseEntity {
     @Column(nullable = false)
     private Integer reservedQuantity;
 
+    // null/0 이면 단일 행, K 면 ProductStockBucket K 개로 나눠 관리 (quantity/reservedQuantity 는 버킷 합계 요약)
+    private Integer bucketCount;
+
     @Version
     private Long version = 0L;
 
@@ -72,4 +75,28 @@ public class ProductStock extends BaseEntity {
     public void rollbackReservation(Integer amount) {
         this.reservedQuantity += amount;
     }
+
+    public boolean isBucketed() {
+        return this.bucketCount != null && this.bucketCount > 0;
+    }
+
+    public void changeBucketCount(int bucketCount) {
+        this.bucketCount = bucketCount;
+    }
+
+    /**
+     * 버킷 합계를 요약 값으로 반영
+     */
+    public void syncFromBuckets(int quantity, int reservedQuantity) {
+        this.quantity = quantity;
+        this.reservedQuantity = reservedQuantity;
+    }
+
+    /**
+     * Redis 재고 저널 반영 (검증은 Redis 스크립트에서 끝났으므로 변화량만 더한다)
+     */
+    public void applyJournal(int quantityDelta, int reservedDelta) {
+        this.quantity += quantityDelta;
+        this.reservedQuantity += reservedDelta;
+    }
 }
@@ -0,0 +1,55 @@
+package productservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import productservice.common.BaseEntity;
+
+/**
+ * 인기 옵션의 재고를 K 개 행으로 나눈 버킷
+ * - 예약/확정/취소는 버킷 행에 대한 조건부 UPDATE 로만 변경하므로 버킷마다 락이 분리된다
+ * - 옵션의 전체 재고는 버킷 합계 (ProductStock 에는 재분배 때 합계를 요약해 둔다)
+ */
+@Getter
+@Entity
+@NoArgsConstructor
+@Table(name = "product_stock_buckets",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"product_option_id", "bucket_no"}))
+public class ProductStockBucket extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_option_id", nullable = false)
+    private Long productOptionId;
+
+    @Column(name = "bucket_no", nullable = false)
+    private Integer bucketNo;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(nullable = false)
+    private Integer reservedQuantity;
+
+    public static ProductStockBucket create(Long productOptionId, Integer bucketNo, Integer quantity, Integer reservedQuantity) {
+        ProductStockBucket bucket = new ProductStockBucket();
+        bucket.productOptionId = productOptionId;
+        bucket.bucketNo = bucketNo;
+        bucket.quantity = quantity;
+        bucket.reservedQuantity = reservedQuantity;
+        return bucket;
+    }
+
+    public int getAvailableQuantity() {
+        return this.quantity - this.reservedQuantity;
+    }
+
+    /**
+     * 예약 수량은 그대로 두고 예약 가능 수량만 바꾼다 (재분배)
+     */
+    public void rebalance(int availableQuantity) {
+        this.quantity = this.reservedQuantity + availableQuantity;
+    }
+}
@@ -32,6 +32,12 @@ public class ProductTransactionHistory {
 
     private LocalDateTime reservedAt;
 
+    // 버킷 재고일 때 변경한 버킷 번호 (단일 행 재고면 null)
+    private Integer bucketNo;
+
+    // Redis 재고 저널 ID (write-behind 중복 반영 방지)
+    @Column(unique = true, length = 64)
+    private String journalId;
 
     @Builder
     public ProductTransactionHistory(Long orderId, Long productOptionId, Integer quantity, TransactionType type, LocalDateTime reservedAt) {
@@ -52,6 +58,26 @@ public class ProductTransactionHistory {
                 .build();
     }
 
+    public static ProductTransactionHistory create(Long orderId, Long productOptionId, Integer quantity,
+                                                   TransactionType type, Integer bucketNo) {
+        ProductTransactionHistory history = create(orderId, productOptionId, quantity, type);
+        history.bucketNo = bucketNo;
+        return history;
+    }
+
+    public static ProductTransactionHistory fromJournal(String journalId, Long orderId, Long productOptionId,
+                                                        Integer quantity, TransactionType type, LocalDateTime reservedAt) {
+        ProductTransactionHistory history = ProductTransactionHistory.builder()
+                .orderId(orderId)
+                .productOptionId(productOptionId)
+                .quantity(quantity)
+                .type(type)
+                .reservedAt(reservedAt)
+                .build();
+        history.journalId = journalId;
+        return history;
+    }
+
     public enum TransactionType {
         RESERVE,
         CONFIRM_RESERVE,
@@ -5,6 +5,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
 import org.springframework.stereotype.Component;
+import productservice.common.exception.CustomGlobalException;
+import productservice.common.exception.ErrorType;
 import productservice.service.ProductService;
 import productservice.service.dto.ProductOptionRequest;
 
@@ -19,6 +21,7 @@ public class RedissonLockIncreaseFacade {
     private final ProductService productService;
 
     private static final String LOCK_KEY_PREFIX = "PRODUCT_STOCK_LOCK:";
+    private static final long BATCH_LOCK_WAIT_SECONDS = 30;
 
     public void increaseStock(List<ProductOptionRequest.StockUpdate> requests) {
         if (requests.isEmpty()) return;
@@ -28,6 +31,39 @@ public class RedissonLockIncreaseFacade {
         }
     }
 
+    /**
+     * 입고 일괄 처리 - 필요한 옵션 락을 MultiLock 으로 한 번에 잡고, 재고는 한 트랜잭션에서 한 번에 늘린다
+     * - 락은 옵션ID 오름차순으로 잡는다 (겹치는 배치끼리 서로 일부만 잡고 재시도하는 일을 줄인다)
+     * - 옵션 수에 따라 처리 시간이 달라지므로 lease 를 고정하지 않고 watchdog 으로 연장한다
+     */
+    public void increaseStockBatch(List<ProductOptionRequest.StockUpdate> requests) {
+        if (requests.isEmpty()) return;
+
+        RLock[] locks = requests.stream()
+                .map(ProductOptionRequest.StockUpdate::getOptionId)
+                .distinct()
+                .sorted()
+                .map(optionId -> redissonClient.getLock(LOCK_KEY_PREFIX + optionId))
+                .toArray(RLock[]::new);
+        RLock multiLock = redissonClient.getMultiLock(locks);
+
+        try {
+            if (!multiLock.tryLock(BATCH_LOCK_WAIT_SECONDS, -1, TimeUnit.SECONDS)) {
+                throw new CustomGlobalException(ErrorType.LOCK_ACQUISITION_FAILED);
+            }
+
+            try {
+                productService.increaseStockBatch(requests);
+            } finally {
+                multiLock.unlock();
+            }
+        } catch (InterruptedException e) {
+            log.error("락 획득 중 인터럽트 발생", e);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("락 획득 중 인터럽트 발생", e);
+        }
+    }
+
     private void increaseStockForSingleOption(ProductOptionRequest.StockUpdate request) {
         String lockKey = LOCK_KEY_PREFIX + request.getOptionId();
         RLock lock = redissonClient.getLock(lockKey);
@@ -1,38 +1,63 @@
 package productservice.repository;
 
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.SortOrder;
 import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
-import co.elastic.clients.json.JsonData;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.Query.PointInTime;
 import org.springframework.stereotype.Repository;
+import productservice.common.exception.CustomGlobalException;
+import productservice.common.exception.ErrorType;
 import productservice.entity.ProductDocument;
 
+import java.time.Duration;
 import java.util.List;
 
+/**
+ * 상품 검색 (point-in-time + search_after 커서 페이지네이션)
+ * - 다음 페이지 커서를 내줄 때만 PIT 를 열고, 이후 페이지는 같은 시점의 색인을 계속 보므로 페이지 사이에 색인이 바뀌어도 중복/누락이 없다
+ *   (첫 페이지는 PIT 없이 읽으므로 첫 페이지와 PIT 를 연 사이에 바뀐 문서만 어긋날 수 있다 - 한 페이지로 끝나는 검색은 PIT 를 열지 않는다)
+ * - (_score desc, id asc) 로 정렬하고 마지막 문서의 정렬 값부터 이어서 읽으므로 깊은 페이지도 첫 페이지와 비용이 같다
+ * - 전체 건수(track_total_hits)는 요청할 때만 센다
+ * - 첫 페이지는 검색 캐시로 여러 클라이언트가 같은 커서(같은 PIT)를 받아 가므로, 한 클라이언트가 끝까지 읽었다고 PIT 를 닫지 않는다
+ *   (PIT 는 마지막 요청 후 keep-alive 가 지나면 ES 가 정리한다 - 검색 캐시 hardTtl 은 keep-alive 보다 짧아야 한다)
+ */
 @Slf4j
 @Repository
 @RequiredArgsConstructor
 public class ProductElasticsearchQuery {
 
+    private static final Duration PIT_KEEP_ALIVE = Duration.ofMinutes(1);
+    private static final List<SortOptions> SORT = List.of(
+            SortOptions.of(s -> s.score(score -> score.order(SortOrder.Desc))),
+            SortOptions.of(s -> s.field(f -> f.field("id").order(SortOrder.Asc)))
+    );
+
     private final ElasticsearchOperations elasticsearchOperations;
 
-    public Page<ProductDocument> searchProducts(
+    /**
+     * @param previous       이전 페이지가 돌려준 커서 (null 이면 첫 페이지)
+     * @param trackTotalHits true 일 때만 전체 건수를 센다
+     */
+    public SearchResult searchProducts(
             String keyword,
-            Long lastId,
-            int pageSize) {
+            ProductSearchCursor previous,
+            int pageSize,
+            boolean trackTotalHits) {
 
-        log.info("검색 시작 - keyword: {}, lastId: {}", keyword, lastId);
+        log.info("검색 시작 - keyword: {}, cursor: {}", keyword, previous != null);
 
         BoolQuery.Builder boolQuery = new BoolQuery.Builder()
-                .must(Query.of(q -> q.term(t -> t
+                .filter(Query.of(q -> q.term(t -> t
                         .field("status")
                         .value("ACTIVE")
                 )));
@@ -44,31 +69,79 @@ public class ProductElasticsearchQuery {
             )));
         }
 
-        if (lastId != null) {
-            boolQuery.must(Query.of(q -> q.range(r -> r
-                    .field("id")
-                    .lt(JsonData.of(String.valueOf(lastId)))
-            )));
-        }
-
-        NativeQuery searchQuery = NativeQuery.builder()
+        NativeQueryBuilder queryBuilder = NativeQuery.builder()
                 .withQuery(Query.of(q -> q.bool(boolQuery.build())))
+                .withSort(SORT)
                 .withPageable(PageRequest.of(0, pageSize))
-                .build();
+                .withTrackTotalHits(trackTotalHits);
 
-        SearchHits<ProductDocument> searchHits = elasticsearchOperations.search(
-                searchQuery,
-                ProductDocument.class
-        );
+        if (previous != null) {
+            queryBuilder.withPointInTime(new PointInTime(previous.pitId(), PIT_KEEP_ALIVE))
+                    .withSearchAfter(previous.searchAfter());
+        }
 
-        log.info("검색 결과 - Total: {}, 실제: {}",
-                searchHits.getTotalHits(),
-                searchHits.getSearchHits().size());
+        SearchHits<ProductDocument> searchHits = search(queryBuilder.build(), previous);
 
-        List<ProductDocument> products = searchHits.getSearchHits().stream()
+        List<SearchHit<ProductDocument>> hits = searchHits.getSearchHits();
+        List<ProductDocument> products = hits.stream()
                 .map(SearchHit::getContent)
                 .toList();
 
-        return new PageImpl<>(products, PageRequest.of(0, pageSize), searchHits.getTotalHits());
+        // 페이지가 다 차지 않았으면 마지막 페이지 → 같은 PIT 로 읽는 다른 클라이언트가 있을 수 있어 닫지 않고 keep-alive 후 만료시킨다
+        String nextCursor = null;
+        if (hits.size() >= pageSize) {
+            String nextPitId = previous != null
+                    ? pitId(searchHits, previous)
+                    : elasticsearchOperations.openPointInTime(
+                            elasticsearchOperations.getIndexCoordinatesFor(ProductDocument.class), PIT_KEEP_ALIVE);
+            nextCursor = ProductSearchCursor.of(nextPitId, hits.get(hits.size() - 1).getSortValues(), keyword).encode();
+        }
+
+        log.info("검색 결과 - Total: {}, 실제: {}, 다음 페이지: {}",
+                trackTotalHits ? searchHits.getTotalHits() : "-",
+                products.size(),
+                nextCursor != null);
+
+        return new SearchResult(products, nextCursor, trackTotalHits ? searchHits.getTotalHits() : null);
+    }
+
+    /**
+     * 커서의 PIT 가 만료됐거나(keep-alive 초과, 노드 재시작) 알 수 없는 ID 면 ES 가 404/400 으로 거절한다
+     * - ES 장애가 아니라 클라이언트가 처음부터 다시 검색해야 하는 경우라 INVALID_SEARCH_CURSOR 로 바꾼다
+     */
+    private SearchHits<ProductDocument> search(NativeQuery query, ProductSearchCursor previous) {
+        try {
+            return elasticsearchOperations.search(query, ProductDocument.class);
+        } catch (RuntimeException e) {
+            if (previous != null && isCursorRejected(e)) {
+                log.info("검색 커서 PIT 만료 또는 알 수 없음 - error: {}", e.getMessage());
+                throw new CustomGlobalException(ErrorType.INVALID_SEARCH_CURSOR);
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isCursorRejected(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ElasticsearchException elasticsearchException
+                    && (elasticsearchException.status() == 404 || elasticsearchException.status() == 400)) {
+                return true;
+            }
+            if (cause.getMessage() != null && cause.getMessage().contains("search_context_missing_exception")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String pitId(SearchHits<ProductDocument> searchHits, ProductSearchCursor previous) {
+        return searchHits.getPointInTimeId() != null ? searchHits.getPointInTimeId() : previous.pitId();
+    }
+
+    /**
+     * @param nextCursor 다음 페이지 커서 (null 이면 마지막 페이지)
+     * @param totalHits  trackTotalHits 를 요청했을 때만 값이 있다
+     */
+    public record SearchResult(List<ProductDocument> documents, String nextCursor, Long totalHits) {
     }
-}
\ No newline at end of file
+}
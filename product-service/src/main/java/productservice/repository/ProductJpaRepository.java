@@ -5,8 +5,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import productservice.entity.Product;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,16 +29,81 @@ public interface ProductJpaRepository extends JpaRepository<Product, Long> {
             "WHERE p.id IN :ids")
     List<Product> findAllWithCategoryOptionsAndStockByIdIn(@Param("ids") List<Long> ids);
 
+    // 읽기 전용 조회 - 엔티티 대신 평평한 행으로 (ProductReadRow.groupByProduct 로 상품별 조립)
+    @Transactional(readOnly = true)
+    @Query("""
+            SELECT new productservice.repository.ProductReadRow(
+                p.id, p.name, p.price, p.image, p.status, c.id, c.name,
+                o.id, o.size, o.color, o.additionalPrice, s.quantity)
+            FROM Product p
+            LEFT JOIN p.category c
+            LEFT JOIN p.options o
+            LEFT JOIN o.stock s
+            WHERE p.id IN :ids
+            ORDER BY p.id, o.id
+            """)
+    List<ProductReadRow> findReadRowsByIdIn(@Param("ids") Collection<Long> ids);
+
     @Query("""
             SELECT p FROM Product p
             WHERE p.status = 'ACTIVE'
             AND (:keyword IS NULL OR p.name LIKE CONCAT('%', :keyword, '%'))
             AND (:lastId IS NULL OR p.id < :lastId)
-            ORDER BY p.id ASC
+            ORDER BY p.id DESC
             """)
     List<Product> searchProducts(
             @Param("keyword") String keyword,
             @Param("lastId") Long lastId,
             Pageable pageable
     );
+
+    // FULLTEXT(ngram) 색인으로 ID 만 찾는다 (resources/db/product-fulltext-index.sql)
+    @Query(value = """
+            SELECT p.id FROM product p
+            WHERE MATCH(p.name) AGAINST (:booleanQuery IN BOOLEAN MODE)
+            AND p.status = 'ACTIVE'
+            AND (:lastId IS NULL OR p.id < :lastId)
+            ORDER BY p.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Long> searchIdsByFulltext(
+            @Param("booleanQuery") String booleanQuery,
+            @Param("lastId") Long lastId,
+            @Param("limit") int limit
+    );
+
+    // 재색인 범위 나누기 / 범위 안 keyset 읽기
+    @Query("SELECT COALESCE(MAX(p.id), 0) FROM Product p")
+    Long findMaxId();
+
+    @Query("SELECT p.id FROM Product p WHERE p.id > :lastId AND p.id <= :upperId ORDER BY p.id")
+    List<Long> findIdsInRange(@Param("lastId") Long lastId, @Param("upperId") Long upperId, Pageable pageable);
+
+    // 자동완성 색인용 (엔티티 없이 이름만)
+    @Query("""
+            SELECT p.id AS id, p.name AS name, c.id AS categoryId, c.name AS categoryName
+            FROM Product p LEFT JOIN p.category c
+            WHERE p.status = 'ACTIVE'
+            AND p.id > :lastId
+            ORDER BY p.id
+            """)
+    List<ProductNameView> findActiveNamesAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Query("""
+            SELECT p.id AS id, p.name AS name, c.id AS categoryId, c.name AS categoryName
+            FROM Product p LEFT JOIN p.category c
+            WHERE p.status = 'ACTIVE'
+            AND p.id IN :ids
+            """)
+    List<ProductNameView> findActiveNamesByIdIn(@Param("ids") Collection<Long> ids);
+
+    interface ProductNameView {
+        Long getId();
+
+        String getName();
+
+        Long getCategoryId();
+
+        String getCategoryName();
+    }
 }
@@ -5,10 +5,14 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import productservice.entity.ProductOption;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ProductOptionJpaRepository extends JpaRepository<ProductOption, Long> {
     List<ProductOption> findAllByIdIn(List<Long> optionIds);
     @Query("SELECT o FROM ProductOption o LEFT JOIN FETCH o.stock WHERE o.id IN :ids")
     List<ProductOption> findAllWithStockByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("SELECT DISTINCT o.product.id FROM ProductOption o WHERE o.id IN :ids")
+    List<Long> findProductIdsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,44 @@
+package productservice.repository;
+
+import productservice.entity.ProductStatus;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 상품 조회 projection 한 행 (상품 × 옵션, 옵션이 없는 상품은 옵션 컬럼이 null 인 한 행)
+ * - 엔티티를 영속성 컨텍스트에 올리지 않고 JPQL 생성자 표현식으로 바로 만든다 (ProductJpaRepository.findReadRowsByIdIn)
+ */
+public record ProductReadRow(
+        Long productId,
+        String name,
+        BigDecimal price,
+        String image,
+        ProductStatus status,
+        Long categoryId,
+        String categoryName,
+        Long optionId,
+        String size,
+        String color,
+        BigDecimal additionalPrice,
+        Integer stockQuantity
+) {
+
+    /**
+     * 평평한 행들을 상품별로 묶는다 (행 순서 = 상품ID, 옵션ID 순서를 그대로 유지)
+     */
+    public static Map<Long, List<ProductReadRow>> groupByProduct(List<ProductReadRow> rows) {
+        Map<Long, List<ProductReadRow>> grouped = new LinkedHashMap<>();
+        for (ProductReadRow row : rows) {
+            grouped.computeIfAbsent(row.productId(), id -> new ArrayList<>()).add(row);
+        }
+        return grouped;
+    }
+
+    public boolean hasOption() {
+        return optionId != null;
+    }
+}
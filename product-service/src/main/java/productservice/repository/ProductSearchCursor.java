@@ -0,0 +1,73 @@
+package productservice.repository;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import productservice.common.exception.CustomGlobalException;
+import productservice.common.exception.ErrorType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 검색 다음 페이지 커서 (클라이언트에는 Base64 토큰으로만 노출)
+ *
+ * @param pitId       point-in-time ID (첫 페이지에서 연 검색 시점, DB 폴백 커서는 null)
+ * @param searchAfter 마지막 문서의 정렬 값 (_score, id) - DB 폴백 커서는 마지막 상품ID 하나
+ * @param keywordHash 커서를 만든 검색어 (다른 검색어로 재사용 방지)
+ */
+public record ProductSearchCursor(String pitId, List<Object> searchAfter, int keywordHash) {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public static ProductSearchCursor of(String pitId, List<Object> searchAfter, String keyword) {
+        return new ProductSearchCursor(pitId, searchAfter, hash(keyword));
+    }
+
+    /**
+     * ES 장애로 DB 검색이 돌려준 페이지의 커서 - 다음 페이지도 DB 에서 이어 읽는다
+     */
+    public static ProductSearchCursor ofDatabase(Long lastId, String keyword) {
+        return new ProductSearchCursor(null, List.of(lastId), hash(keyword));
+    }
+
+    @JsonIgnore
+    public boolean isDatabase() {
+        return pitId == null;
+    }
+
+    public Long databaseLastId() {
+        return ((Number) searchAfter.get(0)).longValue();
+    }
+
+    public String encode() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(OBJECT_MAPPER.writeValueAsBytes(this));
+        } catch (Exception e) {
+            throw new IllegalStateException("검색 커서 생성 실패", e);
+        }
+    }
+
+    public static ProductSearchCursor decode(String token, String keyword) {
+        ProductSearchCursor cursor;
+        try {
+            cursor = OBJECT_MAPPER.readValue(
+                    new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8),
+                    ProductSearchCursor.class);
+        } catch (Exception e) {
+            throw new CustomGlobalException(ErrorType.INVALID_SEARCH_CURSOR);
+        }
+
+        if (cursor.searchAfter() == null || cursor.keywordHash() != hash(keyword)
+                || (cursor.isDatabase() && (cursor.searchAfter().size() != 1 || !(cursor.searchAfter().get(0) instanceof Number)))) {
+            throw new CustomGlobalException(ErrorType.INVALID_SEARCH_CURSOR);
+        }
+        return cursor;
+    }
+
+    private static int hash(String keyword) {
+        return Objects.hashCode(keyword == null || keyword.isBlank() ? null : keyword.strip());
+    }
+}
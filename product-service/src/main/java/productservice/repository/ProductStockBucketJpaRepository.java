@@ -0,0 +1,74 @@
+package productservice.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import productservice.entity.ProductStockBucket;
+
+import java.util.List;
+
+public interface ProductStockBucketJpaRepository extends JpaRepository<ProductStockBucket, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM ProductStockBucket b WHERE b.productOptionId = :productOptionId ORDER BY b.bucketNo")
+    List<ProductStockBucket> findAllForUpdate(@Param("productOptionId") Long productOptionId);
+
+    @Query("SELECT DISTINCT b.productOptionId FROM ProductStockBucket b")
+    List<Long> findBucketedOptionIds();
+
+    @Query("""
+            SELECT b.quantity - b.reservedQuantity FROM ProductStockBucket b
+            WHERE b.productOptionId = :productOptionId
+            ORDER BY b.bucketNo
+            """)
+    List<Integer> findAvailableQuantities(@Param("productOptionId") Long productOptionId);
+
+    @Query("""
+            SELECT b.reservedQuantity FROM ProductStockBucket b
+            WHERE b.productOptionId = :productOptionId
+            ORDER BY b.bucketNo
+            """)
+    List<Integer> findReservedQuantities(@Param("productOptionId") Long productOptionId);
+
+    @Modifying
+    @Query("""
+            UPDATE ProductStockBucket b SET b.reservedQuantity = b.reservedQuantity + :amount
+            WHERE b.productOptionId = :productOptionId AND b.bucketNo = :bucketNo
+            AND b.quantity - b.reservedQuantity >= :amount
+            """)
+    int reserve(@Param("productOptionId") Long productOptionId, @Param("bucketNo") int bucketNo, @Param("amount") int amount);
+
+    @Modifying
+    @Query("""
+            UPDATE ProductStockBucket b
+            SET b.quantity = b.quantity - :amount, b.reservedQuantity = b.reservedQuantity - :amount
+            WHERE b.productOptionId = :productOptionId AND b.bucketNo = :bucketNo
+            AND b.reservedQuantity >= :amount
+            """)
+    int confirmReservation(@Param("productOptionId") Long productOptionId, @Param("bucketNo") int bucketNo, @Param("amount") int amount);
+
+    @Modifying
+    @Query("""
+            UPDATE ProductStockBucket b SET b.reservedQuantity = b.reservedQuantity - :amount
+            WHERE b.productOptionId = :productOptionId AND b.bucketNo = :bucketNo
+            AND b.reservedQuantity >= :amount
+            """)
+    int cancelReservation(@Param("productOptionId") Long productOptionId, @Param("bucketNo") int bucketNo, @Param("amount") int amount);
+
+    @Modifying
+    @Query("""
+            UPDATE ProductStockBucket b SET b.quantity = b.quantity + :amount
+            WHERE b.productOptionId = :productOptionId AND b.bucketNo = :bucketNo
+            """)
+    int increaseQuantity(@Param("productOptionId") Long productOptionId, @Param("bucketNo") int bucketNo, @Param("amount") int amount);
+
+    @Modifying
+    @Query("""
+            UPDATE ProductStockBucket b SET b.reservedQuantity = b.reservedQuantity + :amount
+            WHERE b.productOptionId = :productOptionId AND b.bucketNo = :bucketNo
+            """)
+    int increaseReserved(@Param("productOptionId") Long productOptionId, @Param("bucketNo") int bucketNo, @Param("amount") int amount);
+}
@@ -0,0 +1,44 @@
+package productservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 재고 수량 일괄 증가
+ * - 엔티티 변경 감지 대신 JDBC 배치 UPDATE 로 보낸다 (옵션 수백 개 입고를 한 번에)
+ * - 현재 값에 더하는 UPDATE 라 읽은 뒤 바뀐 값을 덮어쓰지 않고, @Version 도 함께 올려 다른 엔티티 수정과 충돌을 알린다
+ * - MySQL 에서 한 문장으로 묶으려면 JDBC URL 에 rewriteBatchedStatements=true 가 필요하다
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductStockJdbcRepository {
+
+    private static final String INCREASE_SQL = """
+            UPDATE product_stock
+            SET quantity = quantity + ?, version = version + 1, modified_at = ?
+            WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void batchIncrease(List<Increment> increments) {
+        if (increments.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INCREASE_SQL, increments, increments.size(), (ps, increment) -> {
+            ps.setInt(1, increment.quantity());
+            ps.setTimestamp(2, now);
+            ps.setLong(3, increment.stockId());
+        });
+    }
+
+    public record Increment(Long stockId, int quantity) {
+    }
+}
@@ -1,10 +1,58 @@
 package productservice.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import productservice.entity.ProductStock;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ProductStockJpaRepository extends JpaRepository<ProductStock, Long> {
     Optional<ProductStock> findByProductOptionId(Long productOptionId);
+
+    List<ProductStock> findAllByProductOptionIdIn(Collection<Long> productOptionIds);
+
+    // 버킷을 쓰지 않는 재고 행을 옵션ID 오름차순으로 한 번에 잠근다 (주문끼리 같은 순서로 잠가 데드락 방지)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT s FROM ProductStock s
+            WHERE s.productOption.id IN :productOptionIds
+            AND (s.bucketCount IS NULL OR s.bucketCount = 0)
+            ORDER BY s.productOption.id
+            """)
+    List<ProductStock> findAllUnbucketedForUpdate(@Param("productOptionIds") Collection<Long> productOptionIds);
+
+    @Query("""
+            SELECT s.id AS id, s.productOption.id AS productOptionId,
+                   s.quantity AS quantity, s.reservedQuantity AS reservedQuantity, s.version AS version
+            FROM ProductStock s
+            WHERE s.id > :lastId
+            ORDER BY s.id
+            """)
+    List<StockQuantityView> findQuantitiesAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    @Query("""
+            SELECT s.id AS id, s.productOption.id AS productOptionId,
+                   s.quantity AS quantity, s.reservedQuantity AS reservedQuantity, s.version AS version
+            FROM ProductStock s
+            WHERE s.productOption.id IN :productOptionIds
+            """)
+    List<StockQuantityView> findQuantitiesByProductOptionIdIn(@Param("productOptionIds") Collection<Long> productOptionIds);
+
+    interface StockQuantityView {
+        Long getId();
+
+        Long getProductOptionId();
+
+        Integer getQuantity();
+
+        Integer getReservedQuantity();
+
+        Long getVersion();
+    }
 }
@@ -0,0 +1,44 @@
+package productservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import productservice.entity.ProductTransactionHistory;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * 재고 이력 일괄 INSERT
+ * - IDENTITY 키라 JPA saveAll 은 행마다 INSERT 가 나가므로 JDBC 배치로 한 번에 보낸다
+ * - MySQL 에서 한 문장으로 묶으려면 JDBC URL 에 rewriteBatchedStatements=true 가 필요하다
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductTransactionHistoryJdbcRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO stock_transaction_histories
+                (order_id, product_option_id, quantity, type, reserved_at, bucket_no, journal_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void batchInsert(List<ProductTransactionHistory> histories) {
+        if (histories.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, histories, histories.size(), (ps, history) -> {
+            ps.setLong(1, history.getOrderId());
+            ps.setLong(2, history.getProductOptionId());
+            ps.setInt(3, history.getQuantity());
+            ps.setString(4, history.getType().name());
+            ps.setTimestamp(5, history.getReservedAt() != null ? Timestamp.valueOf(history.getReservedAt()) : null);
+            ps.setObject(6, history.getBucketNo(), Types.INTEGER);
+            ps.setString(7, history.getJournalId());
+        });
+    }
+}
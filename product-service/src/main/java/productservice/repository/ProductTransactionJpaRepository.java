@@ -6,6 +6,7 @@ import org.springframework.data.repository.query.Param;
 import productservice.entity.ProductTransactionHistory;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import static productservice.entity.ProductTransactionHistory.*;
@@ -13,6 +14,11 @@ import static productservice.entity.ProductTransactionHistory.*;
 public interface ProductTransactionJpaRepository extends JpaRepository<ProductTransactionHistory, Long> {
     List<ProductTransactionHistory> findByOrderIdAndType(Long orderId, TransactionType transactionType);
 
+    List<ProductTransactionHistory> findByOrderId(Long orderId);
+
+    @Query("SELECT h.journalId FROM ProductTransactionHistory h WHERE h.journalId IN :journalIds")
+    List<String> findJournalIdsIn(@Param("journalIds") Collection<String> journalIds);
+
     @Query("""
             SELECT h FROM ProductTransactionHistory h
             WHERE h.type = :type
@@ -29,4 +35,31 @@ public interface ProductTransactionJpaRepository extends JpaRepository<ProductTr
     );
 
     boolean existsByOrderIdAndType(Long orderId, TransactionType type);
+
+    // 상품별 판매 수량 (자동완성 인기 점수)
+    @Query("""
+            SELECT o.product.id AS productId, SUM(h.quantity) AS quantity
+            FROM ProductTransactionHistory h JOIN ProductOption o ON o.id = h.productOptionId
+            WHERE h.type = 'CONFIRM_RESERVE'
+            AND h.reservedAt >= :since
+            GROUP BY o.product.id
+            """)
+    List<ProductSalesView> sumConfirmedQuantityByProductSince(@Param("since") LocalDateTime since);
+
+    @Query("""
+            SELECT o.product.id AS productId, SUM(h.quantity) AS quantity
+            FROM ProductTransactionHistory h JOIN ProductOption o ON o.id = h.productOptionId
+            WHERE h.type = 'CONFIRM_RESERVE'
+            AND h.reservedAt >= :since
+            AND o.product.id IN :productIds
+            GROUP BY o.product.id
+            """)
+    List<ProductSalesView> sumConfirmedQuantityByProductIdInSince(@Param("productIds") Collection<Long> productIds,
+                                                                  @Param("since") LocalDateTime since);
+
+    interface ProductSalesView {
+        Long getProductId();
+
+        Long getQuantity();
+    }
 }
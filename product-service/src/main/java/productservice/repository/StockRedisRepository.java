@@ -0,0 +1,593 @@
+package productservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Repository;
+import productservice.service.dto.StockLevel;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static productservice.entity.ProductTransactionHistory.*;
+
+/**
+ * Redis 재고 저장소 (stock.engine=redis 모드)
+ * - stock::{optionId} Hash 에 quantity/reserved 를 두고, 주문 단위 변경은 Lua 스크립트 한 번으로 전부 적용하거나 전부 거절한다
+ * - 주문별 예약 항목과 적용된 단계는 stock::order::{orderId} Hash 에 기록해 멱등성을 보장한다
+ * - 모든 변경은 같은 스크립트 안에서 stock::journal 스트림에 남기고, write-behind 스케줄러가 DB 에 반영한다
+ * - 인스턴스가 임대해 간 수량은 leased 필드에 두고, 예약 가능 수량은 quantity - reserved - leased 로 계산한다
+ * - 스크립트가 KEYS 밖의 재고 키를 다루므로 단일 노드 Redis(RedisConfig useSingleServer) 를 전제로 한다
+ */
+@Repository
+@RequiredArgsConstructor
+public class StockRedisRepository {
+
+    public static final long APPLIED = 1L;
+    public static final long SKIPPED = 0L;
+    public static final long NOT_ENOUGH_STOCK = -1L;
+    public static final long STOCK_NOT_LOADED = -2L;
+    public static final long ALREADY_INCLUDED = -1L;
+    public static final long NEWER_IN_REDIS = -2L;
+    public static final long PREREQUISITE_NOT_FOUND = -1L;
+    public static final long INVALID_RESERVATION = -2L;
+
+    private static final String STOCK_KEY_PREFIX = "stock::";
+    private static final String ORDER_KEY_PREFIX = "stock::order::";
+    private static final String JOURNAL_KEY = "stock::journal";
+    private static final String LEASE_KEY_PREFIX = "stock::lease::";
+    private static final String LEASE_EXPIRY_KEY = "stock::lease::expiry";
+    private static final Duration ORDER_TTL = Duration.ofDays(7);
+
+    // KEYS[1]=주문, KEYS[2]=저널, KEYS[3..]=옵션별 재고
+    // ARGV[1]=orderId, ARGV[2]=now(ms), ARGV[3]=ttl(ms), ARGV[4..3+n]=optionId, ARGV[4+n..3+2n]=quantity
+    // → 1 예약, 0 이미 예약됨, -1 재고 부족, -2 Redis 에 재고 미적재
+    private static final DefaultRedisScript<Long> RESERVE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HEXISTS', KEYS[1], 'RESERVE') == 1 then
+                return 0
+            end
+            local n = #KEYS - 2
+            for i = 1, n do
+                local stock = redis.call('HMGET', KEYS[i + 2], 'quantity', 'reserved', 'leased')
+                if not stock[1] then
+                    return -2
+                end
+                if tonumber(stock[1]) - tonumber(stock[2] or '0') - tonumber(stock[3] or '0') < tonumber(ARGV[3 + n + i]) then
+                    return -1
+                end
+            end
+            local items = {}
+            for i = 1, n do
+                local optionId = ARGV[3 + i]
+                local quantity = ARGV[3 + n + i]
+                redis.call('HINCRBY', KEYS[i + 2], 'reserved', quantity)
+                redis.call('XADD', KEYS[2], '*', 'orderId', ARGV[1], 'optionId', optionId,
+                        'quantity', quantity, 'type', 'RESERVE', 'at', ARGV[2])
+                items[i] = optionId .. ':' .. quantity
+            end
+            redis.call('HSET', KEYS[1], 'items', table.concat(items, ','), 'RESERVE', ARGV[2])
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            return 1
+            """, Long.class);
+
+    // KEYS[1]=주문, KEYS[2]=저널
+    // ARGV[1]=orderId, ARGV[2]=type, ARGV[3]=선행 type, ARGV[4]=quantity 부호, ARGV[5]=reserved 부호,
+    // ARGV[6]=now(ms), ARGV[7]=ttl(ms), ARGV[8]=재고 키 prefix
+    // → 1 적용, 0 이미 적용됨, -1 선행 단계 없음, -2 예약 수량 부족
+    private static final DefaultRedisScript<Long> TRANSITION_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HEXISTS', KEYS[1], ARGV[2]) == 1 then
+                return 0
+            end
+            if redis.call('HEXISTS', KEYS[1], ARGV[3]) == 0 then
+                return -1
+            end
+            local items = {}
+            for optionId, quantity in string.gmatch(redis.call('HGET', KEYS[1], 'items'), '(%d+):(%d+)') do
+                items[#items + 1] = { optionId, tonumber(quantity) }
+            end
+            local quantitySign = tonumber(ARGV[4])
+            local reservedSign = tonumber(ARGV[5])
+            if reservedSign < 0 then
+                for _, item in ipairs(items) do
+                    local reserved = tonumber(redis.call('HGET', ARGV[8] .. item[1], 'reserved') or '0')
+                    if reserved < item[2] then
+                        return -2
+                    end
+                end
+            end
+            for _, item in ipairs(items) do
+                local key = ARGV[8] .. item[1]
+                if quantitySign ~= 0 then
+                    redis.call('HINCRBY', key, 'quantity', quantitySign * item[2])
+                end
+                if reservedSign ~= 0 then
+                    redis.call('HINCRBY', key, 'reserved', reservedSign * item[2])
+                end
+                redis.call('XADD', KEYS[2], '*', 'orderId', ARGV[1], 'optionId', item[1],
+                        'quantity', item[2], 'type', ARGV[2], 'at', ARGV[6])
+            end
+            redis.call('HSET', KEYS[1], ARGV[2], ARGV[6])
+            redis.call('PEXPIRE', KEYS[1], ARGV[7])
+            return 1
+            """, Long.class);
+
+    // version 필드 = Redis 값에 포함된 마지막 DB 입고의 ProductStock.version
+    // DB 값으로 적재/덮어쓰는 스크립트와 입고 반영 스크립트가 이 값을 비교해, 같은 입고를 두 번 더하거나 지우지 않는다
+
+    // KEYS[1]=재고, ARGV[1]=quantity, ARGV[2]=reserved, ARGV[3]=version → 1 적재, 0 이미 있음
+    private static final DefaultRedisScript<Long> LOAD_IF_ABSENT_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], 'quantity', ARGV[1], 'reserved', ARGV[2], 'version', ARGV[3])
+            return 1
+            """, Long.class);
+
+    // KEYS[1]=재고, KEYS[2]=저널, ARGV[1]=quantity, ARGV[2]=reserved, ARGV[3]=version
+    // → 1 적재/덮어씀, 0 일치, -1 DB 미반영 저널이 있어 Redis 값 유지(불일치),
+    //   -2 DB 값을 읽은 뒤 반영된 입고가 Redis 에 있어 Redis 값 유지
+    private static final DefaultRedisScript<Long> RECONCILE_SCRIPT = new DefaultRedisScript<>("""
+            local stock = redis.call('HMGET', KEYS[1], 'quantity', 'reserved', 'version')
+            if stock[1] and tonumber(stock[3] or '0') > tonumber(ARGV[3]) then
+                return -2
+            end
+            if stock[1] == ARGV[1] and stock[2] == ARGV[2] then
+                return 0
+            end
+            if stock[1] and redis.call('XLEN', KEYS[2]) > 0 then
+                return -1
+            end
+            redis.call('HSET', KEYS[1], 'quantity', ARGV[1], 'reserved', ARGV[2], 'version', ARGV[3])
+            return 1
+            """, Long.class);
+
+    // KEYS[1]=재고, ARGV[1]=증가량, ARGV[2]=입고 커밋 후 version
+    // → 1 반영, 0 미적재(다음 예약 때 DB 에서 적재), -1 이미 이 입고를 포함한 DB 값으로 적재됨
+    private static final DefaultRedisScript<Long> INCREASE_IF_LOADED_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return 0
+            end
+            if tonumber(redis.call('HGET', KEYS[1], 'version') or '0') >= tonumber(ARGV[2]) then
+                return -1
+            end
+            redis.call('HINCRBY', KEYS[1], 'quantity', ARGV[1])
+            redis.call('HSET', KEYS[1], 'version', ARGV[2])
+            return 1
+            """, Long.class);
+
+    // KEYS[1]=주문, ARGV[1]=ttl(ms), ARGV[2]=items, ARGV[3..]=적용된 type → 1 복원, 0 이미 있음
+    private static final DefaultRedisScript<Long> RESTORE_ORDER_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], 'items', ARGV[2])
+            for i = 3, #ARGV do
+                redis.call('HSET', KEYS[1], ARGV[i], '0')
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    // KEYS[1]=재고, KEYS[2]=옵션 임대, KEYS[3]=임대 만료
+    // ARGV[1]=instanceId, ARGV[2]=요청 수량, ARGV[3]=임대 최소 예약 가능 수량, ARGV[4]=만료(ms), ARGV[5]=만료 member
+    // → 임대한 수량 (0 이면 임대 불가), -2 Redis 에 재고 미적재
+    private static final DefaultRedisScript<Long> LEASE_SCRIPT = new DefaultRedisScript<>("""
+            local stock = redis.call('HMGET', KEYS[1], 'quantity', 'reserved', 'leased')
+            if not stock[1] then
+                return -2
+            end
+            local available = tonumber(stock[1]) - tonumber(stock[2] or '0') - tonumber(stock[3] or '0')
+            if available < tonumber(ARGV[3]) then
+                return 0
+            end
+            local granted = math.min(tonumber(ARGV[2]), available)
+            redis.call('HINCRBY', KEYS[1], 'leased', granted)
+            redis.call('HINCRBY', KEYS[2], ARGV[1], granted)
+            redis.call('ZADD', KEYS[3], ARGV[4], ARGV[5])
+            return granted
+            """, Long.class);
+
+    // KEYS[1]=재고, KEYS[2]=옵션 임대, KEYS[3]=임대 만료, ARGV[1]=instanceId, ARGV[2]=반납 수량, ARGV[3]=만료 member
+    // → 반납한 수량 (아직 커밋되지 않은 임대분이 남아 있으면 만료 기록은 남겨 둔다)
+    private static final DefaultRedisScript<Long> RETURN_LEASE_SCRIPT = new DefaultRedisScript<>("""
+            local leased = tonumber(redis.call('HGET', KEYS[2], ARGV[1]) or '0')
+            local amount = math.min(tonumber(ARGV[2]), leased)
+            if amount > 0 then
+                redis.call('HINCRBY', KEYS[1], 'leased', -amount)
+                redis.call('HINCRBY', KEYS[2], ARGV[1], -amount)
+            end
+            if leased - amount <= 0 then
+                redis.call('HDEL', KEYS[2], ARGV[1])
+                redis.call('ZREM', KEYS[3], ARGV[3])
+            end
+            return amount
+            """, Long.class);
+
+    // KEYS[1]=임대 만료, ARGV[1]=now(ms), ARGV[2]=재고 키 prefix, ARGV[3]=임대 키 prefix, ARGV[4]=최대 건수
+    // → 회수한 임대 건수 (죽은 인스턴스가 들고 있던 임대분을 재고로 돌려놓는다)
+    private static final DefaultRedisScript<Long> RECLAIM_EXPIRED_LEASES_SCRIPT = new DefaultRedisScript<>("""
+            local members = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[4]))
+            for _, member in ipairs(members) do
+                local optionId, instanceId = string.match(member, '^(%d+):(.+)$')
+                local leaseKey = ARGV[3] .. optionId
+                local amount = tonumber(redis.call('HGET', leaseKey, instanceId) or '0')
+                if amount > 0 then
+                    redis.call('HINCRBY', ARGV[2] .. optionId, 'leased', -amount)
+                end
+                redis.call('HDEL', leaseKey, instanceId)
+                redis.call('ZREM', KEYS[1], member)
+            end
+            return #members
+            """, Long.class);
+
+    // KEYS[1]=저널
+    // ARGV[1]=instanceId, ARGV[2]=now(ms), ARGV[3]=ttl(ms), ARGV[4]=재고 prefix, ARGV[5]=주문 prefix, ARGV[6]=임대 prefix,
+    // ARGV[7..]=주문마다 orderId, 항목 수 n, (optionId, quantity) x n
+    // → 주문별 1 예약, 0 이미 예약됨, -1 재고 부족 (임대분이 회수되었으면 일반 재고로 확인)
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> COMMIT_LEASED_SCRIPT = new DefaultRedisScript<>("""
+            local results = {}
+            local i = 7
+            while i <= #ARGV do
+                local orderId = ARGV[i]
+                local n = tonumber(ARGV[i + 1])
+                local first = i + 2
+                local orderKey = ARGV[5] .. orderId
+                local result = 1
+                if redis.call('HEXISTS', orderKey, 'RESERVE') == 1 then
+                    result = 0
+                else
+                    for j = 0, n - 1 do
+                        local optionId = ARGV[first + 2 * j]
+                        local quantity = tonumber(ARGV[first + 2 * j + 1])
+                        local leased = tonumber(redis.call('HGET', ARGV[6] .. optionId, ARGV[1]) or '0')
+                        if leased < quantity then
+                            local stock = redis.call('HMGET', ARGV[4] .. optionId, 'quantity', 'reserved', 'leased')
+                            if not stock[1] or tonumber(stock[1]) - tonumber(stock[2] or '0') - tonumber(stock[3] or '0') < quantity then
+                                result = -1
+                                break
+                            end
+                        end
+                    end
+                end
+                if result == 1 then
+                    local items = {}
+                    for j = 0, n - 1 do
+                        local optionId = ARGV[first + 2 * j]
+                        local quantity = tonumber(ARGV[first + 2 * j + 1])
+                        local stockKey = ARGV[4] .. optionId
+                        local leaseKey = ARGV[6] .. optionId
+                        if tonumber(redis.call('HGET', leaseKey, ARGV[1]) or '0') >= quantity then
+                            redis.call('HINCRBY', leaseKey, ARGV[1], -quantity)
+                            redis.call('HINCRBY', stockKey, 'leased', -quantity)
+                        end
+                        redis.call('HINCRBY', stockKey, 'reserved', quantity)
+                        redis.call('XADD', KEYS[1], '*', 'orderId', orderId, 'optionId', optionId,
+                                'quantity', quantity, 'type', 'RESERVE', 'at', ARGV[2])
+                        items[#items + 1] = optionId .. ':' .. quantity
+                    end
+                    redis.call('HSET', orderKey, 'items', table.concat(items, ','), 'RESERVE', ARGV[2])
+                    redis.call('PEXPIRE', orderKey, ARGV[3])
+                end
+                results[#results + 1] = result
+                i = first + 2 * n
+            end
+            return results
+            """, List.class);
+
+    // KEYS=옵션별 재고 → 옵션마다 quantity, reserved 두 값 (미적재면 quantity = -1)
+    private static final DefaultRedisScript<List> READ_LEVELS_SCRIPT = new DefaultRedisScript<>("""
+            local results = {}
+            for i = 1, #KEYS do
+                local stock = redis.call('HMGET', KEYS[i], 'quantity', 'reserved')
+                results[#results + 1] = tonumber(stock[1] or '-1')
+                results[#results + 1] = tonumber(stock[2] or '0')
+            end
+            return results
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * 주문의 모든 항목을 한 번에 예약 (하나라도 부족하면 아무것도 예약하지 않음)
+     *
+     * @param quantities 옵션ID → 수량 (옵션ID 중복 없이 합산된 값)
+     */
+    public long reserve(Long orderId, Map<Long, Integer> quantities) {
+        List<String> keys = new ArrayList<>(quantities.size() + 2);
+        keys.add(getOrderKey(orderId));
+        keys.add(JOURNAL_KEY);
+        quantities.keySet().forEach(optionId -> keys.add(getStockKey(optionId)));
+
+        List<String> args = new ArrayList<>(quantities.size() * 2 + 3);
+        args.add(String.valueOf(orderId));
+        args.add(String.valueOf(System.currentTimeMillis()));
+        args.add(String.valueOf(ORDER_TTL.toMillis()));
+        quantities.keySet().forEach(optionId -> args.add(String.valueOf(optionId)));
+        quantities.values().forEach(quantity -> args.add(String.valueOf(quantity)));
+
+        return execute(RESERVE_SCRIPT, keys, args.toArray());
+    }
+
+    /**
+     * 예약 항목 전체에 대해 단계 전이 (확정/취소/롤백)
+     *
+     * @param quantitySign quantity 증감 부호 (-1, 0, 1)
+     * @param reservedSign reserved 증감 부호 (-1, 0, 1), 음수면 예약 수량이 충분한지 먼저 확인
+     */
+    public long transition(Long orderId, TransactionType type, TransactionType prerequisite,
+                           int quantitySign, int reservedSign) {
+        return execute(TRANSITION_SCRIPT, List.of(getOrderKey(orderId), JOURNAL_KEY),
+                String.valueOf(orderId),
+                type.name(),
+                prerequisite.name(),
+                String.valueOf(quantitySign),
+                String.valueOf(reservedSign),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(ORDER_TTL.toMillis()),
+                STOCK_KEY_PREFIX);
+    }
+
+    public boolean loadIfAbsent(Long productOptionId, int quantity, int reservedQuantity, long version) {
+        return execute(LOAD_IF_ABSENT_SCRIPT, List.of(getStockKey(productOptionId)),
+                String.valueOf(quantity), String.valueOf(reservedQuantity), String.valueOf(version)) == APPLIED;
+    }
+
+    /**
+     * DB 값으로 재고 키를 맞춤
+     * - DB 에 반영되지 않은 저널이 남아 있으면 Redis 값을 유지한다
+     * - DB 값을 읽은 뒤 커밋된 입고가 이미 Redis 에 더해졌으면(Redis version 이 더 크면) Redis 값을 유지한다
+     *
+     * @param version 읽은 DB 행의 ProductStock.version
+     * @return 1 적재/덮어씀, 0 일치, -1 미반영 저널로 유지, -2 더 최신 입고로 유지
+     */
+    public long reconcile(Long productOptionId, int quantity, int reservedQuantity, long version) {
+        return execute(RECONCILE_SCRIPT, List.of(getStockKey(productOptionId), JOURNAL_KEY),
+                String.valueOf(quantity), String.valueOf(reservedQuantity), String.valueOf(version));
+    }
+
+    /**
+     * 커밋된 입고를 적재된 Redis 재고에 더함
+     *
+     * @param version 입고 커밋 후 ProductStock.version (이 값 이상으로 적재된 Redis 값에는 이미 포함되어 있다)
+     * @return 1 반영, 0 미적재, -1 이미 포함됨
+     */
+    public long increaseIfLoaded(Long productOptionId, int amount, long version) {
+        return execute(INCREASE_IF_LOADED_SCRIPT, List.of(getStockKey(productOptionId)),
+                String.valueOf(amount), String.valueOf(version));
+    }
+
+    /**
+     * 적재된 옵션의 현재 재고 (한 번의 호출로 여러 옵션)
+     *
+     * @return 옵션ID → 재고, Redis 에 적재되지 않은 옵션은 빠진다
+     */
+    public Map<Long, StockLevel> readLevels(List<Long> productOptionIds) {
+        if (productOptionIds.isEmpty()) {
+            return Map.of();
+        }
+        List<String> keys = productOptionIds.stream()
+                .map(StockRedisRepository::getStockKey)
+                .toList();
+
+        List<?> results = redisTemplate.execute(READ_LEVELS_SCRIPT, keys);
+        if (results == null || results.size() != productOptionIds.size() * 2) {
+            throw new IllegalStateException("재고 조회 결과가 올바르지 않습니다.");
+        }
+
+        Map<Long, StockLevel> levels = new HashMap<>();
+        for (int i = 0; i < productOptionIds.size(); i++) {
+            long quantity = ((Number) results.get(i * 2)).longValue();
+            if (quantity >= 0) {
+                levels.put(productOptionIds.get(i),
+                        new StockLevel((int) quantity, ((Number) results.get(i * 2 + 1)).intValue()));
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * Redis 에 주문 기록이 없을 때 DB 이력으로 복원 (만료되었거나 db 모드에서 예약된 주문)
+     */
+    public boolean restoreOrder(Long orderId, Map<Long, Integer> quantities, Collection<TransactionType> appliedTypes) {
+        List<String> args = new ArrayList<>(appliedTypes.size() + 2);
+        args.add(String.valueOf(ORDER_TTL.toMillis()));
+        args.add(encodeItems(quantities));
+        appliedTypes.forEach(type -> args.add(type.name()));
+
+        return execute(RESTORE_ORDER_SCRIPT, List.of(getOrderKey(orderId)), args.toArray()) == APPLIED;
+    }
+
+    /**
+     * 중앙 재고에서 인스턴스로 수량 임대 (reserved + leased 가 quantity 를 넘지 않는 범위에서만)
+     *
+     * @param minAvailable 예약 가능 수량이 이보다 적으면 임대하지 않는다 (재고가 적은 옵션은 중앙에서 바로 예약)
+     * @return 임대한 수량, -2 Redis 에 재고 미적재
+     */
+    public long lease(Long productOptionId, String instanceId, int amount, int minAvailable, long expiresAtMillis) {
+        return execute(LEASE_SCRIPT,
+                List.of(getStockKey(productOptionId), getLeaseKey(productOptionId), LEASE_EXPIRY_KEY),
+                instanceId,
+                String.valueOf(amount),
+                String.valueOf(minAvailable),
+                String.valueOf(expiresAtMillis),
+                getLeaseMember(productOptionId, instanceId));
+    }
+
+    /**
+     * 쓰지 않은 임대 수량 반납
+     *
+     * @return 실제로 반납된 수량
+     */
+    public long returnLease(Long productOptionId, String instanceId, int amount) {
+        return execute(RETURN_LEASE_SCRIPT,
+                List.of(getStockKey(productOptionId), getLeaseKey(productOptionId), LEASE_EXPIRY_KEY),
+                instanceId,
+                String.valueOf(amount),
+                getLeaseMember(productOptionId, instanceId));
+    }
+
+    /**
+     * 만료된 임대 회수 (어느 인스턴스가 실행해도 같은 결과)
+     */
+    public long reclaimExpiredLeases(int limit) {
+        return execute(RECLAIM_EXPIRED_LEASES_SCRIPT, List.of(LEASE_EXPIRY_KEY),
+                String.valueOf(System.currentTimeMillis()),
+                STOCK_KEY_PREFIX,
+                LEASE_KEY_PREFIX,
+                String.valueOf(limit));
+    }
+
+    /**
+     * 임대분으로 받아 둔 예약 여러 건을 한 번에 확정 (주문마다 전부 적용하거나 전부 거절)
+     *
+     * @return 주문 순서대로 1 예약, 0 이미 예약됨, -1 재고 부족
+     */
+    public List<Long> commitLeasedReservations(String instanceId, List<LeasedReservation> reservations) {
+        List<String> args = new ArrayList<>();
+        args.add(instanceId);
+        args.add(String.valueOf(System.currentTimeMillis()));
+        args.add(String.valueOf(ORDER_TTL.toMillis()));
+        args.add(STOCK_KEY_PREFIX);
+        args.add(ORDER_KEY_PREFIX);
+        args.add(LEASE_KEY_PREFIX);
+        for (LeasedReservation reservation : reservations) {
+            args.add(String.valueOf(reservation.orderId()));
+            args.add(String.valueOf(reservation.quantities().size()));
+            reservation.quantities().forEach((optionId, quantity) -> {
+                args.add(String.valueOf(optionId));
+                args.add(String.valueOf(quantity));
+            });
+        }
+
+        List<?> results = redisTemplate.execute(COMMIT_LEASED_SCRIPT, List.of(JOURNAL_KEY), args.toArray());
+        if (results == null || results.size() != reservations.size()) {
+            throw new IllegalStateException("임대 예약 확정 결과가 올바르지 않습니다.");
+        }
+        return results.stream()
+                .map(result -> ((Number) result).longValue())
+                .toList();
+    }
+
+    /**
+     * 아직 DB 에 반영되지 않은 저널을 오래된 순으로 조회
+     */
+    public List<JournalEntry> readJournal(int count) {
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream()
+                .range(JOURNAL_KEY, Range.unbounded(), Limit.limit().count(count));
+        if (records == null) {
+            return List.of();
+        }
+        return records.stream()
+                .map(JournalEntry::from)
+                .toList();
+    }
+
+    /**
+     * DB 반영이 끝난 저널 삭제
+     */
+    public void deleteJournal(List<JournalEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        RecordId[] recordIds = entries.stream()
+                .map(entry -> RecordId.of(entry.id()))
+                .toArray(RecordId[]::new);
+        redisTemplate.opsForStream().delete(JOURNAL_KEY, recordIds);
+    }
+
+    public long journalSize() {
+        Long size = redisTemplate.opsForStream().size(JOURNAL_KEY);
+        return size != null ? size : 0L;
+    }
+
+    private long execute(DefaultRedisScript<Long> script, List<String> keys, Object... args) {
+        Long result = redisTemplate.execute(script, keys, args);
+        return result != null ? result : SKIPPED;
+    }
+
+    private static String encodeItems(Map<Long, Integer> quantities) {
+        StringBuilder items = new StringBuilder();
+        quantities.forEach((optionId, quantity) -> {
+            if (!items.isEmpty()) {
+                items.append(',');
+            }
+            items.append(optionId).append(':').append(quantity);
+        });
+        return items.toString();
+    }
+
+    private static String getStockKey(Long productOptionId) {
+        return STOCK_KEY_PREFIX + productOptionId;
+    }
+
+    private static String getOrderKey(Long orderId) {
+        return ORDER_KEY_PREFIX + orderId;
+    }
+
+    private static String getLeaseKey(Long productOptionId) {
+        return LEASE_KEY_PREFIX + productOptionId;
+    }
+
+    private static String getLeaseMember(Long productOptionId, String instanceId) {
+        return productOptionId + ":" + instanceId;
+    }
+
+    /**
+     * 임대분으로 받아 둔 주문 한 건 (옵션ID → 수량)
+     */
+    public record LeasedReservation(Long orderId, Map<Long, Integer> quantities) {
+    }
+
+    /**
+     * 저널 한 건 = 옵션 하나에 대한 재고 변경 (ProductTransactionHistory 한 행)
+     */
+    public record JournalEntry(String id, Long orderId, Long productOptionId, int quantity,
+                               TransactionType type, LocalDateTime occurredAt) {
+
+        static JournalEntry from(MapRecord<String, Object, Object> record) {
+            Map<Object, Object> value = record.getValue();
+            return new JournalEntry(
+                    record.getId().getValue(),
+                    Long.valueOf((String) value.get("orderId")),
+                    Long.valueOf((String) value.get("optionId")),
+                    Integer.parseInt((String) value.get("quantity")),
+                    TransactionType.valueOf((String) value.get("type")),
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong((String) value.get("at"))),
+                            ZoneId.systemDefault()));
+        }
+
+        /**
+         * quantity 변화량 (ProductStock 메서드와 동일한 규칙)
+         */
+        public int quantityDelta() {
+            return switch (type) {
+                case CONFIRM_RESERVE -> -quantity;
+                case ROLLBACK_CONFIRM -> quantity;
+                default -> 0;
+            };
+        }
+
+        /**
+         * reservedQuantity 변화량 (ProductStock 메서드와 동일한 규칙)
+         */
+        public int reservedDelta() {
+            return switch (type) {
+                case RESERVE, ROLLBACK_RESERVE -> quantity;
+                case CONFIRM_RESERVE, CANCEL_RESERVE -> -quantity;
+                default -> 0;
+            };
+        }
+    }
+}
@@ -4,6 +4,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import productservice.common.exception.CustomGlobalException;
 import productservice.common.exception.ErrorType;
 import productservice.entity.Category;
@@ -18,6 +20,7 @@ import java.util.List;
 public class CategoryService {
 
     private final CategoryJpaRepository categoryJpaRepository;
+    private final ProductReadCache productReadCache;
 
     @Transactional
     public CategoryResponse.Create create(String name) {
@@ -48,6 +51,14 @@ public class CategoryService {
         String oldName = category.getName();
 
         category.update(name);
+
+        // 캐시된 상품 정보에 카테고리 이름이 들어 있으므로 커밋 후 전체 무효화
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                productReadCache.invalidateAll();
+            }
+        });
         log.info("카테고리 수정 완료 - ID: {}, 이전 이름: {}, 새 이름: {}", id, oldName, name);
         return CategoryResponse.from(categoryJpaRepository.save(category));
     }
@@ -0,0 +1,293 @@
+package productservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import productservice.common.cache.LocalLruCache;
+import productservice.entity.ProductStatus;
+import productservice.repository.ProductReadRow;
+import productservice.service.dto.ProductResponse;
+import productservice.service.dto.StockLevel;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 단건 조회 2단 캐시 (로컬 LRU → Redis → DB)
+ * - 재고를 뺀 상품 정보만 캐시하고 재고는 조회할 때 StockLevelReader 로 덧씌운다 (가격/옵션은 길게 캐시)
+ * - Redis 키는 전체 세대 + 상품별 버전을 포함한다: 무효화는 버전만 올리므로,
+ *   무효화 전에 DB 를 읽은 요청이 늦게 저장해도 이전 버전 키에 들어가 다시 읽히지 않는다
+ * - 무효화는 pub/sub 으로 모든 인스턴스의 로컬 캐시에도 알린다
+ * - 스크립트가 KEYS 밖의 데이터 키를 읽으므로 단일 노드 Redis 를 전제로 한다 (StockRedisRepository 와 같음)
+ */
+@Slf4j
+@Component
+public class ProductReadCache implements MessageListener {
+
+    private static final String KEY_PREFIX = "product::read::";
+    private static final String VERSION_KEY_PREFIX = "product::read::version::";
+    private static final String GENERATION_KEY = "product::read::generation";
+    private static final String INVALIDATE_CHANNEL = "product-read-invalidate";
+    private static final String INVALIDATE_ALL = "*";
+    // 버전 키는 데이터 키보다 오래 남아야 버전이 0 으로 돌아가도 이전 데이터를 읽지 않는다
+    private static final Duration VERSION_TTL = Duration.ofDays(1);
+
+    // KEYS[1]=세대, KEYS[2]=상품 버전, ARGV[1]=데이터 키 prefix → {세대:버전, 데이터 또는 false}
+    private static final DefaultRedisScript<List> READ_SCRIPT = new DefaultRedisScript<>("""
+            local stamp = (redis.call('GET', KEYS[1]) or '0') .. ':' .. (redis.call('GET', KEYS[2]) or '0')
+            return { stamp, redis.call('GET', ARGV[1] .. stamp) }
+            """, List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final long localTtlMillis;
+    private final Duration redisTtl;
+
+    private final LocalLruCache<Long, CachedProduct> localCache;
+    // 무효화될 때마다 증가 - DB 를 읽는 사이 무효화가 있었으면 읽은 값을 로컬에 넣지 않는다
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter misses;
+
+    public ProductReadCache(StringRedisTemplate stringRedisTemplate,
+                            RedisMessageListenerContainer listenerContainer,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${product.read-cache.local-max-size:10000}") int localMaxSize,
+                            @Value("${product.read-cache.local-ttl-millis:30000}") long localTtlMillis,
+                            @Value("${product.read-cache.redis-ttl-seconds:600}") long redisTtlSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.localTtlMillis = localTtlMillis;
+        this.redisTtl = Duration.ofSeconds(redisTtlSeconds);
+        this.localCache = new LocalLruCache<>(localMaxSize);
+        this.localHits = cacheCounter(meterRegistry, "local");
+        this.redisHits = cacheCounter(meterRegistry, "redis");
+        this.misses = cacheCounter(meterRegistry, "miss");
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATE_CHANNEL));
+    }
+
+    /**
+     * 캐시된 상품 정보를 돌려주고, 없으면 loader 로 읽어 저장
+     */
+    public CachedProduct get(Long productId, Supplier<CachedProduct> loader) {
+        CachedProduct local = localCache.get(productId);
+        if (local != null) {
+            localHits.increment();
+            return local;
+        }
+
+        long seen = invalidations.get();
+        String stamp = null;
+        try {
+            List<?> result = stringRedisTemplate.execute(READ_SCRIPT,
+                    List.of(GENERATION_KEY, VERSION_KEY_PREFIX + productId), dataKeyPrefix(productId));
+            if (result != null && result.size() == 2) {
+                stamp = (String) result.get(0);
+                if (result.get(1) instanceof String value) {
+                    CachedProduct cached = objectMapper.readValue(value, CachedProduct.class);
+                    putLocal(productId, cached, seen);
+                    redisHits.increment();
+                    return cached;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("상품 캐시 조회 실패 - 상품ID: {}, error: {}", productId, e.getMessage());
+        }
+
+        CachedProduct loaded = loader.get();
+        if (stamp != null) {
+            try {
+                stringRedisTemplate.opsForValue().set(dataKeyPrefix(productId) + stamp,
+                        objectMapper.writeValueAsString(loaded), redisTtl);
+            } catch (Exception e) {
+                log.warn("상품 캐시 저장 실패 - 상품ID: {}, error: {}", productId, e.getMessage());
+            }
+        }
+        putLocal(productId, loaded, seen);
+        misses.increment();
+        return loaded;
+    }
+
+    /**
+     * 상품 정보가 바뀐 뒤(커밋 후) 호출 - 모든 인스턴스의 두 단계 캐시에서 뺀다
+     */
+    public void invalidate(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Long productId : productIds) {
+                    byte[] key = (VERSION_KEY_PREFIX + productId).getBytes(StandardCharsets.UTF_8);
+                    connection.stringCommands().incr(key);
+                    connection.keyCommands().expire(key, VERSION_TTL.toSeconds());
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            // Redis 항목은 redisTtl 뒤에 새로 읽힌다
+            log.warn("상품 캐시 버전 증가 실패 - 상품 수: {}, error: {}", productIds.size(), e.getMessage());
+        }
+
+        // 버전을 올린 뒤에 비워야 그 사이 이전 버전 값을 다시 로컬에 담지 않는다
+        evictLocal(productIds);
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATE_CHANNEL, productIds.stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(",")));
+        } catch (Exception e) {
+            // 다른 인스턴스 로컬 캐시는 localTtl 뒤에 새로 읽힌다
+            log.warn("상품 캐시 무효화 알림 실패 - 상품 수: {}, error: {}", productIds.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * 여러 상품에 걸친 변경(카테고리 이름 등) - 세대를 올려 전체를 무효화
+     */
+    public void invalidateAll() {
+        try {
+            stringRedisTemplate.opsForValue().increment(GENERATION_KEY);
+        } catch (Exception e) {
+            log.warn("상품 캐시 세대 증가 실패 - error: {}", e.getMessage());
+        }
+        localCache.clear();
+        invalidations.incrementAndGet();
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATE_CHANNEL, INVALIDATE_ALL);
+        } catch (Exception e) {
+            log.warn("상품 캐시 전체 무효화 알림 실패 - error: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            if (INVALIDATE_ALL.equals(body)) {
+                localCache.clear();
+                invalidations.incrementAndGet();
+                return;
+            }
+            evictLocal(Arrays.stream(body.split(","))
+                    .map(Long::valueOf)
+                    .toList());
+        } catch (Exception e) {
+            log.warn("상품 캐시 무효화 수신 처리 실패", e);
+        }
+    }
+
+    private void evictLocal(Collection<Long> productIds) {
+        productIds.forEach(localCache::remove);
+        invalidations.incrementAndGet();
+    }
+
+    private void putLocal(Long productId, CachedProduct product, long seen) {
+        if (invalidations.get() == seen) {
+            localCache.put(productId, product, localTtlMillis);
+        }
+    }
+
+    private static String dataKeyPrefix(Long productId) {
+        return KEY_PREFIX + productId + "::";
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("product.read.cache")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시에 두는 상품 정보 (재고 제외)
+     */
+    public record CachedProduct(
+            Long id,
+            String name,
+            BigDecimal price,
+            String image,
+            ProductStatus status,
+            Long categoryId,
+            String categoryName,
+            List<CachedOption> options
+    ) {
+
+        /**
+         * 한 상품의 projection 행들로 조립 (재고 컬럼은 쓰지 않는다)
+         */
+        public static CachedProduct from(List<ProductReadRow> rows) {
+            ProductReadRow product = rows.get(0);
+            return new CachedProduct(
+                    product.productId(),
+                    product.name(),
+                    product.price(),
+                    product.image(),
+                    product.status(),
+                    product.categoryId(),
+                    product.categoryName(),
+                    rows.stream()
+                            .filter(ProductReadRow::hasOption)
+                            .map(row -> new CachedOption(row.optionId(), row.size(), row.color(),
+                                    row.additionalPrice()))
+                            .toList());
+        }
+
+        public List<Long> optionIds() {
+            return options.stream().map(CachedOption::id).toList();
+        }
+
+        /**
+         * @param stockLevels 옵션ID → 현재 재고 (없는 옵션은 0)
+         */
+        public ProductResponse toResponse(Map<Long, StockLevel> stockLevels) {
+            return ProductResponse.builder()
+                    .id(id)
+                    .name(name)
+                    .price(price)
+                    .image(image)
+                    .status(status)
+                    .categoryId(categoryId)
+                    .categoryName(categoryName)
+                    .options(options.stream()
+                            .map(option -> ProductResponse.ProductOptionDTO.builder()
+                                    .id(option.id())
+                                    .size(option.size())
+                                    .color(option.color())
+                                    .additionalPrice(option.additionalPrice())
+                                    .stockQuantity(stockLevels.containsKey(option.id())
+                                            ? stockLevels.get(option.id()).quantity() : 0)
+                                    .build())
+                            .collect(Collectors.toList()))
+                    .build();
+        }
+    }
+
+    public record CachedOption(Long id, String size, String color, BigDecimal additionalPrice) {
+    }
+}
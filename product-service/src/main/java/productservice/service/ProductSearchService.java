@@ -1,40 +1,160 @@
 package productservice.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
 import org.springframework.stereotype.Service;
+import productservice.common.config.Resilience4JConfig;
+import productservice.common.exception.CustomGlobalException;
+import productservice.common.exception.ErrorType;
 import productservice.controller.dto.ProductSearchResponse;
 import productservice.entity.Product;
 import productservice.entity.ProductDocument;
 import productservice.repository.ProductElasticsearchQuery;
-import productservice.repository.ProductJpaRepository;
+import productservice.repository.ProductSearchCursor;
+import productservice.service.search.ProductAvailabilityOverlay;
+import productservice.service.search.ProductDatabaseSearch;
+import productservice.service.search.ProductSearchCache;
 
+import java.util.ArrayList;
 import java.util.List;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProductSearchService {
 
-    private final ProductJpaRepository productJpaRepository;
+    // inStockOnly 에서 품절로 빠진 자리를 채우려고 더 읽는 최대 페이지 수 (첫 페이지 포함)
+    private static final int MAX_FILL_ROUNDS = 3;
+
+    private final ProductDatabaseSearch productDatabaseSearch;
     private final ProductElasticsearchQuery elasticsearchRepository;
+    private final ProductSearchCache productSearchCache;
+    private final ProductAvailabilityOverlay productAvailabilityOverlay;
+    private final CircuitBreakerFactory<?, ?> circuitBreakerFactory;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * DB 검색 - lastId 또는 cursor(이전 응답의 nextCursor) 다음부터 읽는다
+     * - inStockOnly 면 품절 상품을 빼고, 빠진 만큼 다음 페이지를 더 읽어 채운다 (최대 MAX_FILL_ROUNDS 번)
+     * - nextCursor 는 마지막으로 "읽은" 상품 기준이라, 읽은 범위가 모두 품절이어서 빈 목록이어도 null 이 아니면 이어 읽는다
+     *   (마지막으로 돌려준 상품ID 로 이어 읽으면 같은 품절 구간을 다시 읽게 된다)
+     */
+    public ProductSearchResponse.CursorPage searchProducts(String keyword, Long lastId, String cursor, int pageSize,
+                                                           boolean inStockOnly) {
+        String normalized = ProductSearchCache.normalize(keyword);
+        Long from = lastId;
+        if (cursor != null) {
+            ProductSearchCursor previous = ProductSearchCursor.decode(cursor, normalized);
+            if (!previous.isDatabase()) {
+                throw new CustomGlobalException(ErrorType.INVALID_SEARCH_CURSOR);
+            }
+            from = previous.databaseLastId();
+        }
 
-    public List<ProductSearchResponse> searchProducts(String keyword, Long lastId, int pageSize) {
+        return withAvailability(normalized, searchDatabase(normalized, from, pageSize), pageSize, inStockOnly);
+    }
 
-        List<Product> products = productJpaRepository.searchProducts(keyword, lastId, PageRequest.of(0, pageSize));
+    /**
+     * ES 검색 - ES 서킷이 열려 있거나 호출이 실패하면 첫 페이지는 DB 검색으로 대신한다
+     * - DB 로 돌려준 페이지의 커서는 DB 커서라 다음 페이지도 DB 에서 이어 읽는다 (ES 가 돌아와도 섞지 않는다)
+     * - ES 커서(PIT)로 이어 읽던 중 ES 가 실패하면 DB 에서 같은 위치를 찾을 수 없으므로 SEARCH_UNAVAILABLE
+     * - 재고는 캐시/색인 값이 아니라 현재 값으로 덧씌운다 (ProductAvailabilityOverlay)
+     * - inStockOnly 면 품절 상품을 빼고 다음 커서로 더 읽어 채운다 (색인을 다시 만들 필요 없음)
+     *   이때 페이지가 pageSize 보다 작을 수 있고, 전체 건수는 품절 상품을 포함하므로 돌려주지 않는다
+     */
+    public ProductSearchResponse.CursorPage searchElasticsearchProducts(String keyword, String cursor, int pageSize,
+                                                                         boolean withTotal, boolean inStockOnly) {
+        String normalized = ProductSearchCache.normalize(keyword);
+        ProductSearchCursor previous = cursor != null ? ProductSearchCursor.decode(cursor, normalized) : null;
 
-        return products.stream()
-                .map(ProductSearchResponse::from)
-                .toList();
+        ProductSearchResponse.CursorPage page = fetchPage(normalized, previous, pageSize, withTotal && !inStockOnly);
+        return withAvailability(normalized, page, pageSize, inStockOnly);
+    }
+
+    /**
+     * 재고를 현재 값으로 덧씌우고, inStockOnly 면 품절로 빠진 자리를 다음 커서로 더 읽어 채운다
+     * - 돌려주는 nextCursor 는 마지막으로 읽은 페이지의 커서 (데이터 끝이면 null)
+     */
+    private ProductSearchResponse.CursorPage withAvailability(String normalized, ProductSearchResponse.CursorPage page,
+                                                              int pageSize, boolean inStockOnly) {
+        List<ProductSearchResponse> collected = new ArrayList<>(
+                productAvailabilityOverlay.apply(page.products(), inStockOnly));
+        if (!inStockOnly) {
+            return new ProductSearchResponse.CursorPage(collected, page.nextCursor(), page.totalHits());
+        }
+
+        String nextCursor = page.nextCursor();
+        for (int round = 1; round < MAX_FILL_ROUNDS && nextCursor != null && collected.size() < pageSize; round++) {
+            ProductSearchResponse.CursorPage more = fetchPage(normalized,
+                    ProductSearchCursor.decode(nextCursor, normalized), pageSize - collected.size(), false);
+            collected.addAll(productAvailabilityOverlay.apply(more.products(), true));
+            nextCursor = more.nextCursor();
+        }
+        return new ProductSearchResponse.CursorPage(collected, nextCursor, null);
+    }
+
+    private ProductSearchResponse.CursorPage fetchPage(String normalized, ProductSearchCursor previous, int pageSize,
+                                                       boolean withTotal) {
+        if (previous != null && previous.isDatabase()) {
+            return searchDatabase(normalized, previous.databaseLastId(), pageSize);
+        }
+
+        // 첫 페이지만 캐시 (다음 페이지는 커서마다 달라 재사용되지 않는다)
+        if (previous == null) {
+            return productSearchCache.get(normalized, pageSize, withTotal,
+                    () -> searchElasticsearch(normalized, null, pageSize, withTotal));
+        }
+        return searchElasticsearch(normalized, previous, pageSize, withTotal);
+    }
+
+    private ProductSearchResponse.CursorPage searchElasticsearch(String keyword, ProductSearchCursor previous,
+                                                                 int pageSize, boolean withTotal) {
+        return circuitBreakerFactory.create(Resilience4JConfig.ELASTICSEARCH).run(
+                () -> searchElasticsearchDirect(keyword, previous, pageSize, withTotal),
+                throwable -> {
+                    // 만료된 커서 등 요청 오류는 폴백하지 않고 그대로 돌려준다
+                    if (throwable instanceof CustomGlobalException customGlobalException) {
+                        throw customGlobalException;
+                    }
+                    meterRegistry.counter("product.search.fallback", "page", previous == null ? "first" : "next")
+                            .increment();
+                    if (previous != null) {
+                        log.warn("ES 검색 실패 - 이어 읽기 불가, keyword: {}, error: {}", keyword, throwable.getMessage());
+                        throw new CustomGlobalException(ErrorType.SEARCH_UNAVAILABLE);
+                    }
+                    log.warn("ES 검색 실패 - DB 검색으로 대체, keyword: {}, error: {}", keyword, throwable.getMessage());
+                    return searchDatabase(keyword, null, pageSize);
+                });
     }
 
-    public List<ProductSearchResponse> searchElasticsearchProducts(String keyword, Long lastId, int pageSize) {
+    /**
+     * DB 검색 결과를 커서 페이지로 (전체 건수는 세지 않는다)
+     */
+    private ProductSearchResponse.CursorPage searchDatabase(String keyword, Long lastId, int pageSize) {
+        List<Product> products = productDatabaseSearch.search(keyword, lastId, pageSize);
 
-        Page<ProductDocument> productDocuments = elasticsearchRepository.searchProducts(keyword, lastId, pageSize);
+        String nextCursor = products.size() < pageSize
+                ? null
+                : ProductSearchCursor.ofDatabase(products.get(products.size() - 1).getId(), keyword).encode();
 
-        return productDocuments.getContent().stream()
+        return new ProductSearchResponse.CursorPage(
+                products.stream().map(ProductSearchResponse::from).toList(),
+                nextCursor,
+                null);
+    }
+
+    private ProductSearchResponse.CursorPage searchElasticsearchDirect(String keyword, ProductSearchCursor previous,
+                                                                       int pageSize, boolean withTotal) {
+        ProductElasticsearchQuery.SearchResult result =
+                elasticsearchRepository.searchProducts(keyword, previous, pageSize, withTotal);
+
+        List<ProductSearchResponse> products = result.documents().stream()
                 .map(this::toResponse)
                 .toList();
+
+        return new ProductSearchResponse.CursorPage(products, result.nextCursor(), result.totalHits());
     }
 
     private ProductSearchResponse toResponse(ProductDocument document) {
@@ -1,33 +1,47 @@
 package productservice.service;
 
+import event.EventType;
+import event.payload.ProductChangedPayload;
+import event.payload.ProductChangedPayload.ChangeType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import outboxmessagerelay.OutboxEventPublisher;
 import productservice.common.exception.CustomGlobalException;
 import productservice.common.exception.ErrorType;
 import productservice.entity.*;
 import productservice.repository.*;
+import productservice.repository.ProductStockJpaRepository.StockQuantityView;
 import productservice.service.dto.*;
+import productservice.service.stock.StockBucketService;
+import productservice.service.stock.StockEngine;
+import productservice.service.stock.StockLevelReader;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import static productservice.entity.ProductTransactionHistory.*;
-
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProductService {
-    private final ProductStockJpaRepository productStockJpaRepository;
-
     private final CategoryJpaRepository categoryJpaRepository;
     private final ProductJpaRepository productJpaRepository;
     private final ProductOptionJpaRepository productOptionJpaRepository;
-    private final ProductTransactionJpaRepository productTransactionJpaRepository;
-    private final ProductDocumentRepository productDocumentRepository;
+    private final OutboxEventPublisher outboxEventPublisher;
+    private final StockEngine stockEngine;
+    private final StockBucketService stockBucketService;
+    private final ProductReadCache productReadCache;
+    private final StockLevelReader stockLevelReader;
+    private final ProductStockJdbcRepository productStockJdbcRepository;
+    private final ProductStockJpaRepository productStockJpaRepository;
 
     @Transactional
     public ProductResponse create(ProductRequest.Create request) {
@@ -59,215 +73,31 @@ public class ProductService {
         log.info("상품 생성 완료 - 상품ID: {}, 상품명: {}",
                 savedProduct.getId(), savedProduct.getName());
 
-        ProductDocument productDocument = productDocumentRepository.save(ProductDocument.from(savedProduct));
-        log.info("ES 상품 저장 완료 - 상품ID: {}, 상품명: {}", productDocument.getId(), productDocument.getName());
+        // 검색 색인은 커밋 후 이벤트로 비동기 반영
+        outboxEventPublisher.publish(EventType.PRODUCT_CHANGED,
+                ProductChangedPayload.ofProduct(ChangeType.CREATED, savedProduct.getId()));
 
         return ProductResponse.from(savedProduct);
     }
 
-    @Transactional
     public void reserveStock(StockReserveRequest request) {
-        Long orderId = request.orderId();
-
-        log.info("===== 재고 예약 시작 ===== orderId: {}", orderId);
-
-        // 중복 체크: 이미 처리된 주문인지 확인
-        List<ProductTransactionHistory> existingHistories =
-                productTransactionJpaRepository.findByOrderIdAndType(orderId, TransactionType.RESERVE);
-
-        if (!existingHistories.isEmpty()) {
-            log.warn("이미 재고가 예약된 주문 - orderId: {}", orderId);
-            return;
-        }
-
-        for (StockReserveRequest.OrderItem item : request.items()) {
-            ProductStock stock = productStockJpaRepository.findByProductOptionId(item.productOptionId())
-                    .orElseThrow(() -> new CustomGlobalException(ErrorType.NOT_FOUND_STOCK));
-
-            stock.reserve(item.quantity());
-
-            ProductTransactionHistory history = ProductTransactionHistory.create(
-                    orderId,
-                    item.productOptionId(),
-                    item.quantity(),
-                    TransactionType.RESERVE
-            );
-            productTransactionJpaRepository.save(history);
-
-            log.info("재고 예약 완료 - orderId: {}, productOptionId: {}, quantity: {}",
-                    orderId, item.productOptionId(), item.quantity());
-        }
+        stockEngine.reserve(request);
     }
 
-    @Transactional
     public void confirmReservation(Long orderId) {
-        log.info("===== 재고 확정 시작 ===== orderId: {}", orderId);
-
-        // 멱등성 체크: 이미 확정된 주문인지 확인
-        List<ProductTransactionHistory> confirmHistories =
-                productTransactionJpaRepository.findByOrderIdAndType(orderId, TransactionType.CONFIRM_RESERVE);
-
-        if (!confirmHistories.isEmpty()) {
-            log.warn("이미 재고가 확정된 주문 - orderId: {}", orderId);
-            return;
-        }
-
-        List<ProductTransactionHistory> reserveHistories =
-                productTransactionJpaRepository.findByOrderIdAndType(orderId, TransactionType.RESERVE);
-
-        if (reserveHistories.isEmpty()) {
-            log.info("재고 확정 스킵 - 예약 내역 없음, orderId: {}", orderId);
-            throw new CustomGlobalException(ErrorType.NOT_FOUND_RESERVE_STOCK);
-//            return;
-        }
-
-        for (ProductTransactionHistory history : reserveHistories) {
-            ProductStock stock = productStockJpaRepository.findByProductOptionId(history.getProductOptionId())
-                    .orElseThrow(() -> new CustomGlobalException(ErrorType.NOT_FOUND_STOCK));
-
-            // 예약 확정 (실제 차감)
-            stock.confirmReservation(history.getQuantity());
-
-            // 확정 이력 저장
-            ProductTransactionHistory confirmHistory = ProductTransactionHistory.create(
-                    orderId,
-                    history.getProductOptionId(),
-                    history.getQuantity(),
-                    TransactionType.CONFIRM_RESERVE
-            );
-            productTransactionJpaRepository.save(confirmHistory);
-
-            log.info("재고 확정 완료 - orderId: {}, productOptionId: {}",
-                    orderId, history.getProductOptionId());
-        }
+        stockEngine.confirm(orderId);
     }
 
-    @Transactional
     public void cancelReservation(Long orderId) {
-        log.info("===== 재고 예약 취소 시작 ===== orderId: {}", orderId);
-
-        // 멱등성 체크: 이미 취소된 주문인지 확인
-        List<ProductTransactionHistory> cancelHistories =
-                productTransactionJpaRepository.findByOrderIdAndType(orderId, TransactionType.CANCEL_RESERVE);
-
-        if (!cancelHistories.isEmpty()) {
-            log.info("재고 취소 스킵 - 이미 처리됨, orderId: {}", orderId);
-            return; // 예약이 없으면 취소할 것도 없음
-        }
-
-        List<ProductTransactionHistory> reserveHistories =
-                productTransactionJpaRepository.findByOrderIdAndType(orderId, TransactionType.RESERVE);
-
-        if (reserveHistories.isEmpty()) {
-            log.info("재고 취소 스킵 - 예약 내역 없음, orderId: {}", orderId);
-            return;
-        }
-
-        for (ProductTransactionHistory reserveHistory : reserveHistories) {
-            ProductStock stock = productStockJpaRepository.findByProductOptionId(reserveHistory.getProductOptionId())
-                    .orElseThrow(() -> new CustomGlobalException(ErrorType.NOT_FOUND_STOCK));
-
-            // 예약 취소
-            stock.cancelReservation(reserveHistory.getQuantity());
-
-            // 취소 이력 저장
-            ProductTransactionHistory cancelHistory = ProductTransactionHistory.create(
-                    orderId,
-                    reserveHistory.getProductOptionId(),
-                    reserveHistory.getQuantity(),
-                    TransactionType.CANCEL_RESERVE
-            );
-            productTransactionJpaRepository.save(cancelHistory);
-
-            log.info("재고 취소 완료 - orderId: {}, productOptionId: {}",
-                    orderId, reserveHistory.getProductOptionId());
-        }
+        stockEngine.cancel(orderId);
     }
 
-    @Transactional
     public void rollbackConfirmation(Long orderId) {
-        log.info("===== 재고 확정 롤백 시작 ===== orderId: {}", orderId);
-
-        // 멱등성 체크: 이미 롤백된 주문인지 확인
-        List<ProductTransactionHistory> rollbackHistories =
-                productTransactionJpaRepository.findByOrderIdAndType(orderId, TransactionType.ROLLBACK_CONFIRM);
-
-        if (!rollbackHistories.isEmpty()) {
-            log.warn("이미 재고 확정이 롤백된 주문 - orderId: {}", orderId);
-            return;
-        }
-
-        List<ProductTransactionHistory> confirmHistories =
-                productTransactionJpaRepository.findByOrderIdAndType(orderId, TransactionType.CONFIRM_RESERVE);
-
-        if (confirmHistories.isEmpty()) {
-            log.warn("재고 확정 히스토리 없음 - orderId: {}", orderId);
-            throw new CustomGlobalException(ErrorType.STOCK_CONFIRMATION_NOT_FOUND);
-        }
-
-        for (ProductTransactionHistory history : confirmHistories) {
-            ProductStock stock = productStockJpaRepository.findByProductOptionId(history.getProductOptionId())
-                    .orElseThrow(() -> new CustomGlobalException(ErrorType.NOT_FOUND_STOCK));
-
-            // Confirm 상태를 Reserve로 되돌림
-            stock.rollbackConfirmation(history.getQuantity());
-
-            ProductTransactionHistory cancelHistory = ProductTransactionHistory.create(
-                    orderId,
-                    history.getProductOptionId(),
-                    history.getQuantity(),
-                    TransactionType.ROLLBACK_CONFIRM
-            );
-            productTransactionJpaRepository.save(cancelHistory);
-
-            log.info("재고 확정 롤백 완료 - orderId: {}, optionId: {}, quantity: {}",
-                    orderId, history.getProductOptionId(), history.getQuantity());
-        }
-
-        log.info("재고 확정 롤백 완료. orderId: {}", orderId);
+        stockEngine.rollbackConfirmation(orderId);
     }
 
-    @Transactional
     public void rollbackReservation(Long orderId) {
-        log.info("===== 재고 예약 롤백 시작 ===== orderId: {}", orderId);
-
-        // 멱등성 체크: 이미 롤백된 주문인지 확인
-        List<ProductTransactionHistory> rollbackHistories =
-                productTransactionJpaRepository.findByOrderIdAndType(orderId, TransactionType.ROLLBACK_RESERVE);
-
-        if (!rollbackHistories.isEmpty()) {
-            log.warn("이미 재고 확정이 롤백된 주문 - orderId: {}", orderId);
-            return;
-        }
-
-        List<ProductTransactionHistory> cancelReserveHistories =
-                productTransactionJpaRepository.findByOrderIdAndType(orderId, TransactionType.CANCEL_RESERVE);
-
-        if (cancelReserveHistories.isEmpty()) {
-            log.warn("재고 예약 취소 히스토리 없음 - orderId: {}", orderId);
-            throw new CustomGlobalException(ErrorType.STOCK_CONFIRMATION_NOT_FOUND);
-        }
-
-        for (ProductTransactionHistory history : cancelReserveHistories) {
-            ProductStock stock = productStockJpaRepository.findByProductOptionId(history.getProductOptionId())
-                    .orElseThrow(() -> new CustomGlobalException(ErrorType.NOT_FOUND_STOCK));
-
-            // Confirm 상태를 Reserve로 되돌림
-            stock.rollbackReservation(history.getQuantity());
-
-            ProductTransactionHistory cancelHistory = ProductTransactionHistory.create(
-                    orderId,
-                    history.getProductOptionId(),
-                    history.getQuantity(),
-                    TransactionType.ROLLBACK_RESERVE
-            );
-            productTransactionJpaRepository.save(cancelHistory);
-
-            log.info("재고 확정 롤백 완료 - orderId: {}, optionId: {}, quantity: {}",
-                    orderId, history.getProductOptionId(), history.getQuantity());
-        }
-
-        log.info("재고 확정 롤백 완료. orderId: {}", orderId);
+        stockEngine.rollbackReservation(orderId);
     }
 
     @Transactional
@@ -289,68 +119,175 @@ public class ProductService {
             product.updateOptions(request.getOptions());
         }
 
+        outboxEventPublisher.publish(EventType.PRODUCT_CHANGED,
+                ProductChangedPayload.ofProduct(ChangeType.UPDATED, productId));
+        invalidateReadCacheAfterCommit(productId);
+
         log.info("상품 수정 완료 - 상품ID: {}", productId);
         return ProductResponse.from(productJpaRepository.save(product));
     }
 
+    /**
+     * 상품 정보는 캐시(ProductReadCache)에서, 재고는 StockLevelReader 에서 읽어 합친다
+     */
     public ProductResponse read(Long productId) {
-        Product product = productJpaRepository.findByIdWithFetchJoin(productId)
-                .orElseThrow(() -> new CustomGlobalException(ErrorType.NOT_FOUND_PRODUCT));
+        ProductReadCache.CachedProduct product = productReadCache.get(productId, () -> {
+            List<ProductReadRow> rows = productJpaRepository.findReadRowsByIdIn(List.of(productId));
+            if (rows.isEmpty()) {
+                throw new CustomGlobalException(ErrorType.NOT_FOUND_PRODUCT);
+            }
+            return ProductReadCache.CachedProduct.from(rows);
+        });
 
-        return ProductResponse.from(product);
+        return product.toResponse(stockLevelReader.read(product.optionIds()));
     }
 
+    @Transactional
     public void delete(Long productId) {
         Product product = productJpaRepository.findByIdWithFetchJoin(productId)
                 .orElseThrow(() -> new CustomGlobalException(ErrorType.NOT_FOUND_PRODUCT));
 
         productJpaRepository.delete(product);
 
-        productDocumentRepository.deleteById(product.getId().toString());
+        outboxEventPublisher.publish(EventType.PRODUCT_CHANGED,
+                ProductChangedPayload.ofProduct(ChangeType.DELETED, productId));
+        invalidateReadCacheAfterCommit(productId);
     }
 
+    @Transactional
     public void increaseStock(List<ProductOptionRequest.StockUpdate> requests) {
         if (requests.isEmpty()) return;
 
         log.info("재고 증가 요청 - 옵션 수: {}", requests.size());
 
-        List<Long> optionIds = requests.stream()
-                .map(ProductOptionRequest.StockUpdate::getOptionId)
-                .toList();
+        List<Long> optionIds = distinctOptionIds(requests);
+        Map<Long, ProductOption> optionMap = findOptionsWithStock(optionIds);
+
+        increaseEach(requests, optionMap, (stock, quantity) -> stock.updateQuantity(stock.getQuantity() + quantity));
 
-        List<ProductOption> options = productOptionJpaRepository.findAllWithStockByIdIn(optionIds);
-        Map<Long, ProductOption> optionMap = options.stream()
+        productOptionJpaRepository.saveAll(optionMap.values());
+        outboxEventPublisher.publish(EventType.PRODUCT_CHANGED, ProductChangedPayload.ofStock(optionIds));
+
+        // 커밋(flush) 뒤 엔티티의 version 이 증가된 값이 된다
+        afterStockIncreasedCommit(sumByOption(requests),
+                optionId -> optionMap.get(optionId).getStock().getVersion());
+
+        log.info("재고 증가 처리 완료 - 처리된 옵션 수: {}", requests.size());
+    }
+
+    /**
+     * 재고 일괄 증가 (RedissonLockIncreaseFacade.increaseStockBatch 가 옵션 락을 모두 잡은 뒤 호출)
+     * - 옵션/재고는 한 번에 읽고, 버킷을 쓰지 않는 재고는 JDBC 배치 UPDATE 한 번으로 늘린다
+     */
+    @Transactional
+    public void increaseStockBatch(List<ProductOptionRequest.StockUpdate> requests) {
+        if (requests.isEmpty()) return;
+
+        log.info("재고 일괄 증가 요청 - 요청 수: {}", requests.size());
+
+        List<Long> optionIds = distinctOptionIds(requests);
+        Map<Long, ProductOption> optionMap = findOptionsWithStock(optionIds);
+
+        List<ProductStockJdbcRepository.Increment> increments = new ArrayList<>();
+        increaseEach(requests, optionMap,
+                (stock, quantity) -> increments.add(new ProductStockJdbcRepository.Increment(stock.getId(), quantity)));
+
+        productStockJdbcRepository.batchIncrease(increments);
+        outboxEventPublisher.publish(EventType.PRODUCT_CHANGED, ProductChangedPayload.ofStock(optionIds));
+
+        // JDBC 로 올린 version 을 다시 읽는다 (옵션 락을 잡고 있어 다른 입고가 끼어들지 않는다)
+        Map<Long, Long> versions = productStockJpaRepository.findQuantitiesByProductOptionIdIn(optionIds).stream()
+                .collect(Collectors.toMap(StockQuantityView::getProductOptionId, StockQuantityView::getVersion));
+        afterStockIncreasedCommit(sumByOption(requests), versions::get);
+
+        log.info("재고 일괄 증가 처리 완료 - 옵션 수: {}, 배치 UPDATE: {}", optionIds.size(), increments.size());
+    }
+
+    private Map<Long, ProductOption> findOptionsWithStock(List<Long> optionIds) {
+        return productOptionJpaRepository.findAllWithStockByIdIn(optionIds).stream()
                 .collect(Collectors.toMap(ProductOption::getId, option -> option));
+    }
 
+    /**
+     * 요청마다 옵션/재고를 확인하고, 버킷 재고는 버킷에 나눠 늘리고 단일 행 재고는 unbucketed 로 넘긴다
+     */
+    private void increaseEach(List<ProductOptionRequest.StockUpdate> requests,
+                              Map<Long, ProductOption> optionMap,
+                              BiConsumer<ProductStock, Integer> unbucketed) {
         for (ProductOptionRequest.StockUpdate request : requests) {
             ProductOption option = optionMap.get(request.getOptionId());
-
             if (option == null) {
                 throw new CustomGlobalException(ErrorType.NOT_FOUND_PRODUCT_OPTION);
             }
 
-            option.getStock().updateQuantity(option.getStock().getQuantity() + request.getQuantity());
+            ProductStock stock = option.getStock();
+            if (stock == null) {
+                throw new CustomGlobalException(ErrorType.NOT_FOUND_STOCK);
+            }
+            if (stock.isBucketed()) {
+                stockBucketService.increase(stock, request.getQuantity());
+            } else {
+                unbucketed.accept(stock, request.getQuantity());
+            }
         }
+    }
+
+    private static List<Long> distinctOptionIds(List<ProductOptionRequest.StockUpdate> requests) {
+        return requests.stream()
+                .map(ProductOptionRequest.StockUpdate::getOptionId)
+                .distinct()
+                .toList();
+    }
 
-        productOptionJpaRepository.saveAll(options);
+    /**
+     * DB 가 커밋된 뒤에만 Redis 재고를 늘린다 (롤백되면 Redis 만 늘어나는 것 방지)
+     * - 옵션마다 합산해 한 번만 알린다 (같은 옵션의 두 번째 증가가 같은 version 으로 무시되지 않도록)
+     */
+    private void afterStockIncreasedCommit(Map<Long, Integer> amounts, Function<Long, Long> versionOf) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                amounts.forEach((optionId, amount) ->
+                        stockEngine.afterStockIncreased(optionId, amount, versionOf.apply(optionId)));
+            }
+        });
+    }
 
-        log.info("재고 증가 처리 완료 - 처리된 옵션 수: {}", requests.size());
+    private static Map<Long, Integer> sumByOption(List<ProductOptionRequest.StockUpdate> requests) {
+        Map<Long, Integer> amounts = new LinkedHashMap<>();
+        requests.forEach(request -> amounts.merge(request.getOptionId(), request.getQuantity(), Integer::sum));
+        return amounts;
     }
 
+    public void changeStockBucketCount(Long productOptionId, int bucketCount) {
+        stockBucketService.changeBucketCount(productOptionId, bucketCount);
+    }
+
+    /**
+     * 엔티티 대신 projection 행으로 읽어 조립한다 (영속성 컨텍스트/변경 감지 없음)
+     */
     public List<ProductResponse> getProductByIds(List<Long> productIds) {
-        List<Product> products = productJpaRepository.findAllWithCategoryOptionsAndStockByIdIn(productIds);
+        Map<Long, List<ProductReadRow>> rows =
+                ProductReadRow.groupByProduct(productJpaRepository.findReadRowsByIdIn(productIds));
 
         // 요청한 ID 순서대로 결과 정렬
-        Map<Long, Product> productMap = products.stream()
-                .collect(Collectors.toMap(Product::getId, Function.identity()));
-
         return productIds.stream()
-                .filter(productMap::containsKey)
-                .map(productMap::get)
+                .filter(rows::containsKey)
+                .map(rows::get)
                 .map(ProductResponse::from)
                 .collect(Collectors.toList());
     }
 
+    // 커밋 전에 지우면 그 사이 다른 요청이 이전 값을 다시 캐시할 수 있으므로 커밋 후에 지운다
+    private void invalidateReadCacheAfterCommit(Long productId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                productReadCache.invalidate(List.of(productId));
+            }
+        });
+    }
+
     public ProductOptionDto getProductOption(Long productOptionId){
         ProductOption productOption = productOptionJpaRepository.findById(productOptionId)
                 .orElseThrow(() -> new CustomGlobalException(ErrorType.NOT_FOUND_PRODUCT_OPTION));
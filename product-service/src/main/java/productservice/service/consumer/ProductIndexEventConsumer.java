@@ -0,0 +1,92 @@
+package productservice.service.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import event.Event;
+import event.EventPayload;
+import event.EventType;
+import event.payload.ProductChangedPayload;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+import productservice.repository.ProductOptionJpaRepository;
+import productservice.service.index.ProductIndexingPipeline;
+import productservice.service.search.ProductAutocompleteService;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductIndexEventConsumer {
+
+    private static final long INDEX_TIMEOUT_SECONDS = 30;
+
+    private final ProductIndexingPipeline productIndexingPipeline;
+    private final ProductOptionJpaRepository productOptionJpaRepository;
+    private final ProductAutocompleteService productAutocompleteService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 상품/재고 변경 이벤트 수신 → 검색 색인 갱신
+     * - poll 한 묶음을 상품ID 로 합쳐 파이프라인에 넘기고, 색인이 끝난 뒤에 ack 한다
+     * - 상품 내용이 바뀐 경우에만 자동완성에 알린다
+     * - 검색 캐시는 무효화하지 않는다 - 내용/재고 변경 모두 캐시 soft TTL(기본 5초) 안에서 반영된다
+     *   (묶음마다 세대를 올리면 변경이 잦을 때 모든 검색어의 캐시가 계속 비워져 캐시가 무의미해진다, 세대는 재색인 별칭 교체에만 올린다)
+     * - 색인 실패는 ack 하지 않고 던진다 - 컨테이너 에러 핸들러가 묶음을 백오프로 다시 처리하고, 끝내 실패하면 -dlt 로 보낸다
+     *   (DB 현재 상태로 다시 색인하므로 중복 처리에 안전)
+     */
+    @KafkaListener(
+            topics = EventType.Topic.PRODUCT_CHANGED,
+            groupId = "product-service-index-group",
+            containerFactory = "batchKafkaListenerContainerFactory"
+    )
+    public void handleProductChanged(List<ConsumerRecord<String, String>> records, Acknowledgment ack)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        Map<Long, Long> changes = new HashMap<>();
+        Map<Long, Long> optionChanges = new HashMap<>();
+        Set<Long> contentChangedIds = new HashSet<>();
+
+        for (ConsumerRecord<String, String> record : records) {
+            Event<EventPayload> event = Event.fromJson(record.value());
+            if (event == null || event.getType() != EventType.PRODUCT_CHANGED) {
+                log.warn("[ProductIndexEventConsumer] 알 수 없는 이벤트 - partition: {}, offset: {}",
+                        record.partition(), record.offset());
+                continue;
+            }
+
+            ProductChangedPayload payload = objectMapper.convertValue(event.getPayload(), ProductChangedPayload.class);
+            if (payload.getChangeType() != ProductChangedPayload.ChangeType.STOCK_CHANGED) {
+                contentChangedIds.addAll(payload.getProductIds());
+            }
+            long occurredAt = payload.getOccurredAt() != null ? payload.getOccurredAt() : System.currentTimeMillis();
+            payload.getProductIds().forEach(productId -> changes.merge(productId, occurredAt, Math::min));
+            payload.getProductOptionIds().forEach(optionId -> optionChanges.merge(optionId, occurredAt, Math::min));
+        }
+
+        // 재고 변경은 옵션 단위로 오므로 상품ID 로 바꾼다 (변경 시각은 묶음에서 가장 오래된 값)
+        if (!optionChanges.isEmpty()) {
+            long oldest = optionChanges.values().stream().min(Long::compare).orElseThrow();
+            productOptionJpaRepository.findProductIdsByIdIn(optionChanges.keySet())
+                    .forEach(productId -> changes.merge(productId, oldest, Math::min));
+        }
+
+        productIndexingPipeline.submit(changes).get(INDEX_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        if (!contentChangedIds.isEmpty()) {
+            productAutocompleteService.publishChanges(contentChangedIds);
+        }
+        ack.acknowledge();
+
+        log.info("[ProductIndexEventConsumer] 색인 이벤트 처리 완료 - records: {}, products: {}",
+                records.size(), changes.size());
+    }
+}
@@ -5,6 +5,7 @@ import lombok.Getter;
 import productservice.entity.Product;
 import productservice.entity.ProductOption;
 import productservice.entity.ProductStatus;
+import productservice.repository.ProductReadRow;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -38,6 +39,26 @@ public class ProductResponse {
                     .build();
     }
 
+    /**
+     * 한 상품의 projection 행들로 조립 (ProductReadRow.groupByProduct 로 묶은 값)
+     */
+    public static ProductResponse from(List<ProductReadRow> rows) {
+        ProductReadRow product = rows.get(0);
+        return ProductResponse.builder()
+                .id(product.productId())
+                .name(product.name())
+                .price(product.price())
+                .image(product.image())
+                .status(product.status())
+                .categoryId(product.categoryId())
+                .categoryName(product.categoryName())
+                .options(rows.stream()
+                        .filter(ProductReadRow::hasOption)
+                        .map(ProductOptionDTO::from)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
     @Getter
     @Builder
     public static class ProductOptionDTO {
@@ -56,5 +77,15 @@ public class ProductResponse {
                     .stockQuantity(option.getStock() != null ? option.getStock().getQuantity() : 0)
                     .build();
         }
+
+        public static ProductOptionDTO from(ProductReadRow row) {
+            return ProductOptionDTO.builder()
+                    .id(row.optionId())
+                    .size(row.size())
+                    .color(row.color())
+                    .additionalPrice(row.additionalPrice())
+                    .stockQuantity(row.stockQuantity() != null ? row.stockQuantity() : 0)
+                    .build();
+        }
     }
 }
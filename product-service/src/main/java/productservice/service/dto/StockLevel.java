@@ -0,0 +1,14 @@
+package productservice.service.dto;
+
+/**
+ * 옵션 하나의 현재 재고 (상품 조회/검색 결과에 덧씌우는 값)
+ *
+ * @param quantity 보유 수량
+ * @param reserved 주문 예약으로 묶인 수량
+ */
+public record StockLevel(int quantity, int reserved) {
+
+    public int available() {
+        return Math.max(0, quantity - reserved);
+    }
+}
@@ -0,0 +1,360 @@
+package productservice.service.index;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import productservice.entity.Product;
+import productservice.entity.ProductDocument;
+import productservice.repository.ProductDocumentRepository;
+import productservice.repository.ProductJpaRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 검색 색인 파이프라인
+ * - 변경된 상품ID 를 짧은 시간(window) 동안 모아 상품당 한 번만 DB 에서 읽어 _bulk 로 색인한다
+ * - maxBatch 만큼 모이거나 첫 변경 후 window 가 지나면 내보낸다 (크기/시간 트리거)
+ * - 색인은 항상 DB 의 현재 상태로 하므로 같은 상품을 여러 번 다시 색인해도 결과가 같다
+ * - submit 은 자신이 포함된 flush 가 끝나면 완료되는 future 를 돌려주므로 호출자는 색인이 끝난 뒤 offset 을 커밋할 수 있다
+ * - 재색인 중에는 (Redis 에 등록된) 새 색인에도 같이 쓰고, 쓴 상품ID 를 남겨 재색인 작업이 마지막에 다시 맞춘다
+ * - flush 는 시작할 때 현재 epoch 의 진행 중 카운터를 올리고 끝나면 내린다. 이중 쓰기 등록/해제는 epoch 를 올리므로
+ *   재색인 작업은 이전 epoch 카운터가 0 이 될 때까지만 기다리면 등록/해제 전에 대상 색인을 읽은 flush 가 모두 끝난 것이다
+ *   (스크립트가 KEYS 밖의 카운터 키를 쓰므로 단일 노드 Redis 를 전제로 한다)
+ */
+@Slf4j
+@Component
+public class ProductIndexingPipeline {
+
+    private static final String REBUILD_TARGET_KEY = "product::reindex::target";
+    private static final String REBUILD_TOUCHED_KEY_PREFIX = "product::reindex::touched::";
+    private static final Duration REBUILD_KEY_TTL = Duration.ofHours(6);
+    private static final String FLUSH_EPOCH_KEY = "product::reindex::epoch";
+    private static final String IN_FLIGHT_KEY_PREFIX = "product::reindex::in-flight::";
+    // 카운터를 내리지 못하고 죽은 인스턴스가 있어도 이 시간이 지나면 기다림이 끝난다 (flush 한 번은 이보다 짧다)
+    private static final Duration IN_FLIGHT_TTL = Duration.ofMinutes(1);
+    private static final long DRAIN_POLL_MILLIS = 50;
+
+    // KEYS[1]=epoch, KEYS[2]=재색인 대상, ARGV[1]=진행 중 카운터 prefix, ARGV[2]=카운터 TTL(초) → {epoch, 대상 색인 또는 false}
+    private static final DefaultRedisScript<List> BEGIN_FLUSH_SCRIPT = new DefaultRedisScript<>("""
+            local epoch = redis.call('GET', KEYS[1]) or '0'
+            local inFlight = ARGV[1] .. epoch
+            redis.call('INCR', inFlight)
+            redis.call('EXPIRE', inFlight, ARGV[2])
+            return { epoch, redis.call('GET', KEYS[2]) }
+            """, List.class);
+
+    private final ProductJpaRepository productJpaRepository;
+    private final ProductDocumentRepository productDocumentRepository;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final long windowMillis;
+    private final int maxBatch;
+
+    private final Object monitor = new Object();
+    // 상품ID → 아직 색인되지 않은 가장 오래된 변경 시각
+    private Map<Long, Long> pending = new HashMap<>();
+    private CompletableFuture<Void> pendingFlush = new CompletableFuture<>();
+    private long windowStartedAt;
+    private volatile boolean running = true;
+
+    private final Thread flusher;
+    private final Timer bulkTimer;
+    private final DistributionSummary bulkSize;
+    private final Timer indexLag;
+    private final Counter indexedDocuments;
+    private final Counter deletedDocuments;
+
+    public ProductIndexingPipeline(ProductJpaRepository productJpaRepository,
+                                   ProductDocumentRepository productDocumentRepository,
+                                   ElasticsearchOperations elasticsearchOperations,
+                                   StringRedisTemplate stringRedisTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${product.index.window-millis:500}") long windowMillis,
+                                   @Value("${product.index.max-batch:500}") int maxBatch) {
+        this.productJpaRepository = productJpaRepository;
+        this.productDocumentRepository = productDocumentRepository;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.windowMillis = windowMillis;
+        this.maxBatch = maxBatch;
+
+        this.bulkTimer = Timer.builder("product.index.bulk").register(meterRegistry);
+        this.bulkSize = DistributionSummary.builder("product.index.bulk.size").register(meterRegistry);
+        this.indexLag = Timer.builder("product.index.lag").register(meterRegistry);
+        this.indexedDocuments = documentCounter(meterRegistry, "indexed");
+        this.deletedDocuments = documentCounter(meterRegistry, "deleted");
+        Gauge.builder("product.index.pending", this, pipeline -> pipeline.pendingCount()).register(meterRegistry);
+
+        this.flusher = new Thread(this::flushLoop, "product-index-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * 변경된 상품을 색인 대기열에 추가
+     *
+     * @param changes 상품ID → 변경 시각(ms)
+     * @return 이번 변경이 포함된 bulk 색인이 끝나면 완료
+     */
+    public CompletableFuture<Void> submit(Map<Long, Long> changes) {
+        if (changes.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        synchronized (monitor) {
+            boolean windowStarted = pending.isEmpty();
+            if (windowStarted) {
+                windowStartedAt = System.currentTimeMillis();
+            }
+            changes.forEach((productId, occurredAt) -> pending.merge(productId, occurredAt, Math::min));
+            if (windowStarted || pending.size() >= maxBatch) {
+                monitor.notifyAll();
+            }
+            return pendingFlush;
+        }
+    }
+
+    /**
+     * 재색인 대상 색인 등록 - 이후 모든 인스턴스의 flush 가 이 색인에도 쓴다
+     *
+     * @return 등록 전에 시작된 flush 의 epoch (awaitFlushes 로 끝나기를 기다린다)
+     */
+    public long startDualWrite(String rebuildIndex) {
+        stringRedisTemplate.opsForValue().set(REBUILD_TARGET_KEY, rebuildIndex, REBUILD_KEY_TTL);
+        return advanceEpoch();
+    }
+
+    /**
+     * @return 해제 전에 시작된 flush 의 epoch (그 flush 는 아직 대상 색인에 쓰고 있을 수 있다)
+     */
+    public long stopDualWrite(String rebuildIndex) {
+        stringRedisTemplate.delete(List.of(REBUILD_TARGET_KEY, REBUILD_TOUCHED_KEY_PREFIX + rebuildIndex));
+        return advanceEpoch();
+    }
+
+    /**
+     * epoch 에 시작된 flush 가 모든 인스턴스에서 끝날 때까지 기다린다 (죽은 인스턴스의 카운터는 TTL 로 사라진다)
+     *
+     * @return 제시간에 모두 끝났으면 true
+     */
+    public boolean awaitFlushes(long epoch) throws InterruptedException {
+        String inFlightKey = IN_FLIGHT_KEY_PREFIX + epoch;
+        long deadline = System.currentTimeMillis() + IN_FLIGHT_TTL.toMillis();
+        while (System.currentTimeMillis() < deadline) {
+            String inFlight = stringRedisTemplate.opsForValue().get(inFlightKey);
+            if (inFlight == null || Long.parseLong(inFlight) <= 0) {
+                return true;
+            }
+            Thread.sleep(DRAIN_POLL_MILLIS);
+        }
+        log.warn("이전 epoch flush 대기 시간 초과 - epoch: {}", epoch);
+        return false;
+    }
+
+    // 대상 색인을 바꾼 뒤에 올려야, 바꾸기 전 대상을 읽은 flush 가 모두 이전 epoch 에 센다
+    private long advanceEpoch() {
+        Long next = stringRedisTemplate.opsForValue().increment(FLUSH_EPOCH_KEY);
+        return next - 1;
+    }
+
+    /**
+     * 재색인 중에 새 색인에 쓴 상품ID (재색인 읽기와 겹쳤을 수 있어 마지막에 다시 색인한다)
+     */
+    public Set<Long> touchedProductIds(String rebuildIndex) {
+        Set<String> members = stringRedisTemplate.opsForSet().members(REBUILD_TOUCHED_KEY_PREFIX + rebuildIndex);
+        if (members == null) {
+            return Set.of();
+        }
+        return members.stream()
+                .map(Long::valueOf)
+                .collect(Collectors.toSet());
+    }
+
+    static List<IndexQuery> toIndexQueries(Collection<Product> products) {
+        List<IndexQuery> queries = new ArrayList<>(products.size());
+        for (Product product : products) {
+            ProductDocument document = ProductDocument.from(product);
+            queries.add(new IndexQueryBuilder()
+                    .withId(document.getId())
+                    .withObject(document)
+                    .build());
+        }
+        return queries;
+    }
+
+    private void flushLoop() {
+        while (running) {
+            Map<Long, Long> batch;
+            CompletableFuture<Void> future;
+            synchronized (monitor) {
+                try {
+                    long waitMillis = waitMillis();
+                    if (waitMillis > 0) {
+                        monitor.wait(waitMillis);
+                        continue;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                batch = pending;
+                future = pendingFlush;
+                pending = new HashMap<>();
+                pendingFlush = new CompletableFuture<>();
+            }
+
+            try {
+                flush(batch);
+                future.complete(null);
+            } catch (Exception e) {
+                log.error("상품 색인 실패 - 상품 수: {}, error: {}", batch.size(), e.getMessage(), e);
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    // 대기열이 비었으면 window 만큼, 아니면 window 가 끝날 때까지 남은 시간 (0 이면 바로 flush)
+    private long waitMillis() {
+        if (pending.isEmpty()) {
+            return windowMillis;
+        }
+        if (pending.size() >= maxBatch) {
+            return 0;
+        }
+        return windowStartedAt + windowMillis - System.currentTimeMillis();
+    }
+
+    private void flush(Map<Long, Long> batch) {
+        long startedAt = System.nanoTime();
+
+        // DB 를 읽기 전에 확인해야 재색인 읽기보다 늦게 읽은 변경이 새 색인에서 빠지지 않는다
+        RebuildTarget rebuild = beginFlush(batch.keySet());
+        try {
+            indexBatch(batch, rebuild.index(), startedAt);
+        } finally {
+            endFlush(rebuild);
+        }
+    }
+
+    private void indexBatch(Map<Long, Long> batch, String rebuildIndex, long startedAt) {
+        List<Product> products = productJpaRepository.findAllWithCategoryOptionsAndStockByIdIn(new ArrayList<>(batch.keySet()));
+
+        List<IndexQuery> queries = toIndexQueries(products);
+        if (!queries.isEmpty()) {
+            elasticsearchOperations.bulkIndex(queries, ProductDocument.class);
+            if (rebuildIndex != null) {
+                elasticsearchOperations.bulkIndex(queries, IndexCoordinates.of(rebuildIndex));
+            }
+        }
+
+        // DB 에 없는 상품은 삭제된 것이므로 색인에서도 지운다
+        Set<Long> found = new HashSet<>();
+        products.forEach(product -> found.add(product.getId()));
+        List<String> deletedIds = batch.keySet().stream()
+                .filter(productId -> !found.contains(productId))
+                .map(String::valueOf)
+                .toList();
+        if (!deletedIds.isEmpty()) {
+            productDocumentRepository.deleteAllById(deletedIds);
+            if (rebuildIndex != null) {
+                deletedIds.forEach(id -> elasticsearchOperations.delete(id, IndexCoordinates.of(rebuildIndex)));
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        batch.values().forEach(occurredAt -> indexLag.record(Duration.ofMillis(Math.max(0, now - occurredAt))));
+        bulkTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        bulkSize.record(batch.size());
+        indexedDocuments.increment(queries.size());
+        deletedDocuments.increment(deletedIds.size());
+
+        log.info("상품 색인 완료 - 색인: {}, 삭제: {}, 소요: {}ms",
+                queries.size(), deletedIds.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    // 진행 중 카운터를 올리고, 재색인 중이면 새 색인 이름과 이번에 쓰는 상품ID 를 남긴다 (Redis 장애 시 실시간 색인은 그대로 진행)
+    private RebuildTarget beginFlush(Set<Long> productIds) {
+        try {
+            List<?> result = stringRedisTemplate.execute(BEGIN_FLUSH_SCRIPT, List.of(FLUSH_EPOCH_KEY, REBUILD_TARGET_KEY),
+                    IN_FLIGHT_KEY_PREFIX, String.valueOf(IN_FLIGHT_TTL.toSeconds()));
+            String epoch = (String) result.get(0);
+            if (!(result.get(1) instanceof String rebuildIndex)) {
+                return new RebuildTarget(epoch, null);
+            }
+            String touchedKey = REBUILD_TOUCHED_KEY_PREFIX + rebuildIndex;
+            stringRedisTemplate.opsForSet().add(touchedKey, productIds.stream().map(String::valueOf).toArray(String[]::new));
+            stringRedisTemplate.expire(touchedKey, REBUILD_KEY_TTL);
+            return new RebuildTarget(epoch, rebuildIndex);
+        } catch (Exception e) {
+            log.warn("재색인 대상 조회 실패 - 새 색인에는 쓰지 않음, error: {}", e.getMessage());
+            return new RebuildTarget(null, null);
+        }
+    }
+
+    private void endFlush(RebuildTarget rebuild) {
+        if (rebuild.epoch() == null) {
+            return;
+        }
+        try {
+            stringRedisTemplate.opsForValue().decrement(IN_FLIGHT_KEY_PREFIX + rebuild.epoch());
+        } catch (Exception e) {
+            // 카운터는 TTL 로 사라지므로 재색인 작업은 그때까지만 기다린다
+            log.warn("flush 진행 중 카운터 감소 실패 - epoch: {}, error: {}", rebuild.epoch(), e.getMessage());
+        }
+    }
+
+    private int pendingCount() {
+        synchronized (monitor) {
+            return pending.size();
+        }
+    }
+
+    private static Counter documentCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("product.index.documents")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param epoch flush 를 시작할 때의 epoch (Redis 장애로 세지 못했으면 null)
+     * @param index 재색인 중인 새 색인 (없으면 null)
+     */
+    private record RebuildTarget(String epoch, String index) {
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        synchronized (monitor) {
+            monitor.notifyAll();
+        }
+        flusher.join(windowMillis * 2);
+
+        // 남은 변경은 커밋되지 않은 offset 으로 다시 들어오므로 기다리던 호출자만 깨운다
+        synchronized (monitor) {
+            pendingFlush.completeExceptionally(new IllegalStateException("상품 색인 파이프라인 종료"));
+        }
+    }
+}
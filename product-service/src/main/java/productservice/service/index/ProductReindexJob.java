@@ -0,0 +1,401 @@
+package productservice.service.index;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.HealthStatus;
+import co.elastic.clients.elasticsearch._types.Time;
+import co.elastic.clients.elasticsearch.indices.IndexSettings;
+import co.elastic.clients.elasticsearch.indices.IndexState;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import productservice.common.exception.CustomGlobalException;
+import productservice.common.exception.ErrorType;
+import productservice.entity.Product;
+import productservice.repository.ProductJpaRepository;
+import productservice.service.search.ProductSearchCache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상품 검색 색인 무중단 재색인 (매핑/설정 변경 반영)
+ * - products 는 별칭이고 실제 색인은 products_v{시각} 이다 (처음 실행 시 기존 products 색인은 별칭 교체와 함께 지운다)
+ * 1. 새 색인을 refresh 끄고 replica 0 으로 만든다
+ * 2. 색인 파이프라인이 새 색인에도 쓰도록 등록한다 (이후 실시간 변경은 양쪽에 반영)
+ * 3. 상품ID 범위를 나눠 여러 스레드가 keyset 으로 읽어 _bulk 로 쓴다
+ * 4. 3 과 겹친 실시간 변경 상품을 파이프라인으로 다시 색인한다 (한 스레드에서 DB 현재 상태로 쓰므로 순서가 꼬이지 않는다)
+ * 5. refresh/replica 를 기존 값으로 돌리고 별칭을 한 번의 요청으로 옮긴다
+ * - 이전 버전 색인은 되돌리기용으로 남겨 둔다
+ * - 클러스터에서 하나만 돌고(Redis 락), 진행 상황은 작업을 시작한 인스턴스에서 조회한다
+ */
+@Slf4j
+@Component
+public class ProductReindexJob {
+
+    private static final String ALIAS = "products";
+    private static final String SETTINGS_PATH = "elasticsearch/product-settings.json";
+    private static final String MAPPINGS_PATH = "elasticsearch/product-mappings.json";
+    private static final DateTimeFormatter VERSION_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    private static final String LOCK_KEY = "product::reindex::lock";
+    private static final Duration LOCK_TTL = Duration.ofHours(6);
+    private static final long PROGRESS_LOG_MILLIS = 5_000;
+    private static final long CATCH_UP_TIMEOUT_SECONDS = 60;
+    private static final String DEFAULT_REFRESH_INTERVAL = "1s";
+
+    private final ProductJpaRepository productJpaRepository;
+    private final ProductIndexingPipeline productIndexingPipeline;
+    private final ProductSearchCache productSearchCache;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final ElasticsearchClient elasticsearchClient;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final int parallelism;
+    private final int chunkSize;
+    private final String defaultReplicas;
+
+    private final AtomicLong indexed = new AtomicLong();
+    private volatile State state = State.IDLE;
+    private volatile String targetIndex;
+    private volatile long totalProducts;
+    private volatile long startedAtMillis;
+    private volatile long finishedAtMillis;
+    private volatile String error;
+    private long lastLoggedAt;
+
+    public ProductReindexJob(ProductJpaRepository productJpaRepository,
+                             ProductIndexingPipeline productIndexingPipeline,
+                             ProductSearchCache productSearchCache,
+                             ElasticsearchOperations elasticsearchOperations,
+                             ElasticsearchClient elasticsearchClient,
+                             StringRedisTemplate stringRedisTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${product.reindex.parallelism:4}") int parallelism,
+                             @Value("${product.reindex.chunk-size:1000}") int chunkSize,
+                             @Value("${product.reindex.replicas:1}") String defaultReplicas) {
+        this.productJpaRepository = productJpaRepository;
+        this.productIndexingPipeline = productIndexingPipeline;
+        this.productSearchCache = productSearchCache;
+        this.elasticsearchOperations = elasticsearchOperations;
+        this.elasticsearchClient = elasticsearchClient;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+        this.defaultReplicas = defaultReplicas;
+
+        Gauge.builder("product.reindex.documents", indexed, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("product.reindex.rate", this, job -> job.documentsPerSecond()).register(meterRegistry);
+    }
+
+    /**
+     * 재색인 시작 (백그라운드) - 클러스터에서 하나만 돈다
+     */
+    public Progress start() {
+        String target = ALIAS + "_v" + LocalDateTime.now().format(VERSION_FORMAT);
+        if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(LOCK_KEY, target, LOCK_TTL))) {
+            throw new CustomGlobalException(ErrorType.REINDEX_ALREADY_RUNNING);
+        }
+
+        indexed.set(0);
+        targetIndex = target;
+        totalProducts = 0;
+        startedAtMillis = System.currentTimeMillis();
+        finishedAtMillis = 0;
+        error = null;
+        state = State.CREATING_INDEX;
+
+        Thread thread = new Thread(() -> run(target), "product-reindex");
+        thread.setDaemon(true);
+        thread.start();
+        return progress();
+    }
+
+    public Progress progress() {
+        return new Progress(
+                state,
+                targetIndex,
+                totalProducts,
+                indexed.get(),
+                documentsPerSecond(),
+                toDateTime(startedAtMillis),
+                toDateTime(finishedAtMillis),
+                error
+        );
+    }
+
+    private void run(String target) {
+        boolean dualWriting = false;
+        boolean swapped = false;
+        try {
+            IndexSettings liveSettings = liveSettings();
+            createIndex(target);
+
+            // 등록 전에 시작된 flush 는 새 색인에 쓰지 않으므로 그 flush 가 끝난 뒤에 적재를 시작한다
+            long epochBeforeDualWrite = productIndexingPipeline.startDualWrite(target);
+            dualWriting = true;
+            productIndexingPipeline.awaitFlushes(epochBeforeDualWrite);
+
+            state = State.LOADING;
+            load(target);
+
+            state = State.CATCHING_UP;
+            catchUp(target);
+
+            state = State.SWAPPING;
+            restoreSettings(target, liveSettings);
+            List<String> previous = swapAlias(target);
+            swapped = true;
+            productIndexingPipeline.stopDualWrite(target);
+            dualWriting = false;
+            productSearchCache.invalidateAll();
+
+            state = State.COMPLETED;
+            log.info("재색인 완료 - 색인: {}, 문서: {}, 소요: {}s, {} docs/s, 이전 색인: {}",
+                    target, indexed.get(), (System.currentTimeMillis() - startedAtMillis) / 1000,
+                    (long) documentsPerSecond(), previous);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            state = State.FAILED;
+            error = e.getMessage();
+            log.error("재색인 실패 - 색인: {}, error: {}", target, e.getMessage(), e);
+            Long epochBeforeStop = dualWriting ? productIndexingPipeline.stopDualWrite(target) : null;
+            // 별칭을 옮긴 뒤라면 새 색인이 이미 서비스 중이므로 지우지 않는다
+            if (!swapped) {
+                deleteQuietly(target, epochBeforeStop);
+            }
+        } finally {
+            finishedAtMillis = System.currentTimeMillis();
+            stringRedisTemplate.delete(LOCK_KEY);
+        }
+    }
+
+    private void createIndex(String target) throws IOException {
+        try (InputStream settings = new ClassPathResource(SETTINGS_PATH).getInputStream();
+             InputStream mappings = new ClassPathResource(MAPPINGS_PATH).getInputStream()) {
+            // 적재 중에는 refresh/replica 를 꺼서 segment 생성과 복제 비용을 없앤다
+            elasticsearchClient.indices().create(c -> c
+                    .index(target)
+                    .settings(s -> s.withJson(settings)
+                            .refreshInterval(t -> t.time("-1"))
+                            .numberOfReplicas("0"))
+                    .mappings(m -> m.withJson(mappings)));
+        }
+        log.info("재색인 색인 생성 - {}", target);
+    }
+
+    private void load(String target) throws Exception {
+        long maxId = productJpaRepository.findMaxId();
+        totalProducts = productJpaRepository.count();
+
+        // 스레드보다 구간을 여러 배 잘게 나눠 ID 분포가 고르지 않아도 일이 한쪽에 몰리지 않게 한다
+        long sliceSize = Math.max(chunkSize, maxId / (parallelism * 4L) + 1);
+        AtomicInteger threadNo = new AtomicInteger();
+        ExecutorService readers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "product-reindex-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<Future<?>> slices = new ArrayList<>();
+            for (long lower = 0; lower < maxId; lower += sliceSize) {
+                long from = lower;
+                long to = Math.min(lower + sliceSize, maxId);
+                slices.add(readers.submit(() -> {
+                    loadSlice(target, from, to);
+                    return null;
+                }));
+            }
+            for (Future<?> slice : slices) {
+                slice.get();
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+        log.info("재색인 적재 완료 - 색인: {}, 문서: {}/{}", target, indexed.get(), totalProducts);
+    }
+
+    // (from, to] 구간을 chunkSize 씩 keyset 으로 읽어 새 색인에 쓴다
+    private void loadSlice(String target, long from, long to) {
+        IndexCoordinates coordinates = IndexCoordinates.of(target);
+        long lastId = from;
+        while (true) {
+            List<Long> ids = productJpaRepository.findIdsInRange(lastId, to, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                return;
+            }
+
+            List<Product> products = productJpaRepository.findAllWithCategoryOptionsAndStockByIdIn(ids);
+            List<IndexQuery> queries = ProductIndexingPipeline.toIndexQueries(products);
+            if (!queries.isEmpty()) {
+                elasticsearchOperations.bulkIndex(queries, coordinates);
+            }
+            indexed.addAndGet(queries.size());
+            logProgress();
+
+            if (ids.size() < chunkSize) {
+                return;
+            }
+            lastId = ids.get(ids.size() - 1);
+        }
+    }
+
+    private void catchUp(String target) throws Exception {
+        List<Long> touched = new ArrayList<>(productIndexingPipeline.touchedProductIds(target));
+        long now = System.currentTimeMillis();
+        for (int from = 0; from < touched.size(); from += chunkSize) {
+            Map<Long, Long> changes = new HashMap<>();
+            touched.subList(from, Math.min(from + chunkSize, touched.size()))
+                    .forEach(productId -> changes.put(productId, now));
+            productIndexingPipeline.submit(changes).get(CATCH_UP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        log.info("재색인 중 변경 상품 재반영 - 색인: {}, 상품: {}", target, touched.size());
+    }
+
+    private void restoreSettings(String target, IndexSettings liveSettings) throws IOException {
+        String replicas = liveSettings != null && liveSettings.numberOfReplicas() != null
+                ? liveSettings.numberOfReplicas()
+                : defaultReplicas;
+        Time refreshInterval = liveSettings != null && liveSettings.refreshInterval() != null
+                ? liveSettings.refreshInterval()
+                : Time.of(t -> t.time(DEFAULT_REFRESH_INTERVAL));
+
+        elasticsearchClient.indices().putSettings(r -> r
+                .index(target)
+                .settings(s -> s.refreshInterval(refreshInterval).numberOfReplicas(replicas)));
+        elasticsearchClient.indices().refresh(r -> r.index(target));
+        // primary 가 모두 올라온 뒤에 별칭을 옮긴다 (replica 복구는 뒤에서 이어진다)
+        elasticsearchClient.cluster().health(h -> h
+                .index(target)
+                .waitForStatus(HealthStatus.Yellow)
+                .timeout(t -> t.time("60s")));
+    }
+
+    /**
+     * 별칭을 새 색인으로 한 번에 옮긴다
+     *
+     * @return 별칭이 가리키던 이전 색인
+     */
+    private List<String> swapAlias(String target) throws IOException {
+        List<String> previous = new ArrayList<>();
+        boolean concreteIndex = false;
+        if (elasticsearchClient.indices().existsAlias(r -> r.name(ALIAS)).value()) {
+            previous.addAll(elasticsearchClient.indices().getAlias(r -> r.name(ALIAS)).result().keySet());
+        } else if (elasticsearchClient.indices().exists(r -> r.index(ALIAS)).value()) {
+            // 별칭 도입 전 색인 - 같은 이름의 별칭을 만들려면 지워야 하므로 같은 요청 안에서 지운다
+            concreteIndex = true;
+        }
+
+        boolean removeConcreteIndex = concreteIndex;
+        elasticsearchClient.indices().updateAliases(r -> {
+            r.actions(a -> a.add(add -> add.index(target).alias(ALIAS)));
+            previous.forEach(index -> r.actions(a -> a.remove(remove -> remove.index(index).alias(ALIAS))));
+            if (removeConcreteIndex) {
+                r.actions(a -> a.removeIndex(remove -> remove.index(ALIAS)));
+            }
+            return r;
+        });
+        log.info("재색인 별칭 교체 - {} → {} (이전: {}{})", ALIAS, target, previous, removeConcreteIndex ? ", 기존 색인 삭제" : "");
+        return previous;
+    }
+
+    private IndexSettings liveSettings() {
+        try {
+            Set<Map.Entry<String, IndexState>> indices =
+                    elasticsearchClient.indices().getSettings(r -> r.index(ALIAS)).result().entrySet();
+            return indices.stream()
+                    .map(entry -> entry.getValue().settings())
+                    .filter(settings -> settings != null && settings.index() != null)
+                    .map(IndexSettings::index)
+                    .findFirst()
+                    .orElse(null);
+        } catch (Exception e) {
+            log.warn("현재 색인 설정 조회 실패 - 기본값으로 복원, error: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @param epochBeforeStop 이중 쓰기를 해제했으면 해제 전 flush 의 epoch - 그 flush 가 지운 색인을 동적 매핑으로 다시 만들지 않게 끝나기를 기다린다
+     */
+    private void deleteQuietly(String target, Long epochBeforeStop) {
+        try {
+            if (epochBeforeStop != null) {
+                productIndexingPipeline.awaitFlushes(epochBeforeStop);
+            }
+            elasticsearchClient.indices().delete(r -> r.index(target).ignoreUnavailable(true));
+        } catch (Exception e) {
+            log.warn("재색인 실패한 색인 삭제 실패 - 색인: {}, error: {}", target, e.getMessage());
+        }
+    }
+
+    private synchronized void logProgress() {
+        long now = System.currentTimeMillis();
+        if (now - lastLoggedAt < PROGRESS_LOG_MILLIS) {
+            return;
+        }
+        lastLoggedAt = now;
+        long done = indexed.get();
+        log.info("재색인 진행 - 색인: {}, {}/{} ({}%), {} docs/s",
+                targetIndex, done, totalProducts,
+                totalProducts > 0 ? done * 100 / totalProducts : 0,
+                (long) documentsPerSecond());
+    }
+
+    private double documentsPerSecond() {
+        if (startedAtMillis == 0) {
+            return 0;
+        }
+        long end = finishedAtMillis > 0 ? finishedAtMillis : System.currentTimeMillis();
+        long elapsed = Math.max(1, end - startedAtMillis);
+        return indexed.get() * 1000.0 / elapsed;
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return millis > 0 ? LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault()) : null;
+    }
+
+    public enum State {
+        IDLE, CREATING_INDEX, LOADING, CATCHING_UP, SWAPPING, COMPLETED, FAILED
+    }
+
+    /**
+     * @param indexedDocuments   적재 단계에서 새 색인에 쓴 문서 수
+     * @param documentsPerSecond 시작부터 지금(끝났으면 종료)까지 평균 처리량
+     */
+    public record Progress(
+            State state,
+            String targetIndex,
+            long totalProducts,
+            long indexedDocuments,
+            double documentsPerSecond,
+            LocalDateTime startedAt,
+            LocalDateTime finishedAt,
+            String error
+    ) {
+    }
+}
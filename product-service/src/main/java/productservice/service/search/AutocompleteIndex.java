@@ -0,0 +1,483 @@
+package productservice.service.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * 자동완성 색인 (불변, 교체는 참조를 통째로 바꾼다)
+ * - 원본(상품명/카테고리명)은 UTF-8 바이트 풀 하나에 이어 붙이고, 검색 항목은 (원본 번호, 키 시작 위치) 두 int 로만 가진다
+ *   → 이름 전체와 각 단어 시작을 키로 쓰지만 문자열은 한 번만 저장 (공유 접두/접미를 가진 압축 트라이와 같은 효과)
+ * - 항목은 키 순서로 정렬되어 있어 접두어에 해당하는 항목은 연속 구간이 되고, 이진 탐색으로 구간을 찾는다
+ * - 구간 안의 인기순 상위 k 개는 구간 최대값 트리(segment tree)로 O(k log n) 에 꺼낸다 → 접두어가 짧아도 구간을 훑지 않는다
+ * - 상품 일부만 바뀌면 기존 정렬 결과를 그대로 두고 바뀐 항목만 정렬해 병합한다 (replaceProducts)
+ *   병합 후에도 상품 수가 maxProducts 를 넘으면 인기 점수가 낮은 상품부터 뺀다 (전체 재구성과 같은 상한)
+ */
+public final class AutocompleteIndex {
+
+    public enum Type {
+        PRODUCT, CATEGORY
+    }
+
+    /**
+     * 색인 원본 한 건
+     *
+     * @param score 인기 점수 (클수록 먼저)
+     */
+    public record Source(Type type, long id, String text, int score) {
+    }
+
+    public record Suggestion(Type type, long id, String text) {
+    }
+
+    // 이름 전체 + 앞쪽 단어 몇 개의 시작 위치까지 키로 쓴다
+    private static final int MAX_WORD_STARTS = 4;
+    private static final Type[] TYPES = Type.values();
+
+    // 원본 단위
+    private final byte[] textPool;
+    private final int[] textOffsets;
+    private final byte[] keyPool;
+    private final int[] keyOffsets;
+    private final long[] ids;
+    private final byte[] types;
+    private final int[] scores;
+    private final int sourceCount;
+
+    // 검색 항목 단위 (키 순 정렬)
+    private final int[] entrySources;
+    private final int[] entryStarts;
+    private final int entryCount;
+
+    // tree[leafBase + i] = 항목 i, 내부 노드 = 자식 중 점수가 높은 항목 (-1 은 빈 칸)
+    private final int[] tree;
+    private final int leafBase;
+
+    private AutocompleteIndex(Pools pools, int[] entrySources, int[] entryStarts, int entryCount) {
+        this.textPool = Arrays.copyOf(pools.textPool, pools.textLength);
+        this.textOffsets = Arrays.copyOf(pools.textOffsets, pools.count + 1);
+        this.keyPool = Arrays.copyOf(pools.keyPool, pools.keyLength);
+        this.keyOffsets = Arrays.copyOf(pools.keyOffsets, pools.count + 1);
+        this.ids = Arrays.copyOf(pools.ids, pools.count);
+        this.types = Arrays.copyOf(pools.types, pools.count);
+        this.scores = Arrays.copyOf(pools.scores, pools.count);
+        this.sourceCount = pools.count;
+        this.entrySources = entrySources.length == entryCount ? entrySources : Arrays.copyOf(entrySources, entryCount);
+        this.entryStarts = entryStarts.length == entryCount ? entryStarts : Arrays.copyOf(entryStarts, entryCount);
+        this.entryCount = entryCount;
+
+        int base = 1;
+        while (base < Math.max(1, entryCount)) {
+            base <<= 1;
+        }
+        this.leafBase = base;
+        this.tree = new int[base * 2];
+        Arrays.fill(tree, -1);
+        for (int i = 0; i < entryCount; i++) {
+            tree[base + i] = i;
+        }
+        for (int node = base - 1; node >= 1; node--) {
+            tree[node] = better(tree[node * 2], tree[node * 2 + 1]);
+        }
+    }
+
+    public static AutocompleteIndex empty() {
+        return build(List.of());
+    }
+
+    public static AutocompleteIndex build(Collection<Source> sources) {
+        Pools pools = new Pools(sources.size());
+        sources.forEach(pools::add);
+
+        Pools.Entries entries = pools.entriesOf(0, pools.count);
+        entries.sort(pools);
+        return new AutocompleteIndex(pools, entries.sources, entries.starts, entries.count);
+    }
+
+    /**
+     * 주어진 상품들의 항목을 replacements 로 교체한 새 색인 (카테고리는 그대로)
+     * - 남는 항목은 이미 정렬되어 있으므로 새 항목만 정렬해 선형 병합한다
+     *
+     * @param productIds   교체 대상 상품ID (replacements 에 없으면 삭제)
+     * @param replacements 새 상품 원본 (판매 중인 상품만)
+     * @param maxProducts  상품 수 상한 (넘으면 인기 점수가 낮은 상품부터 빠지고, 같은 점수면 새 상품이 먼저 빠진다)
+     */
+    public AutocompleteIndex replaceProducts(Collection<Long> productIds, Collection<Source> replacements,
+                                             int maxProducts) {
+        Set<Long> replaced = new HashSet<>(productIds);
+        replacements.forEach(source -> replaced.add(source.id()));
+
+        boolean[] removed = new boolean[sourceCount];
+        int keptProducts = 0;
+        for (int i = 0; i < sourceCount; i++) {
+            if (types[i] == Type.PRODUCT.ordinal()) {
+                removed[i] = replaced.contains(ids[i]);
+                keptProducts += removed[i] ? 0 : 1;
+            }
+        }
+        List<Source> additions = new ArrayList<>(replacements);
+        int excess = keptProducts + additions.size() - maxProducts;
+        if (excess > 0) {
+            additions = evictLowest(excess, removed, additions);
+        }
+
+        Pools pools = new Pools(sourceCount + additions.size());
+        int[] remap = new int[sourceCount];
+        for (int i = 0; i < sourceCount; i++) {
+            remap[i] = removed[i] ? -1 : pools.copyFrom(this, i);
+        }
+        int addedFrom = pools.count;
+        additions.forEach(pools::add);
+
+        Pools.Entries added = pools.entriesOf(addedFrom, pools.count);
+        added.sort(pools);
+
+        int[] mergedSources = new int[entryCount + added.count];
+        int[] mergedStarts = new int[entryCount + added.count];
+        int merged = 0;
+        int a = 0;
+        int i = 0;
+        while (i < entryCount || a < added.count) {
+            if (i < entryCount && remap[entrySources[i]] < 0) {
+                i++;
+                continue;
+            }
+            boolean takeOld = a >= added.count
+                    || (i < entryCount && pools.compareKeys(remap[entrySources[i]], entryStarts[i],
+                    added.sources[a], added.starts[a]) <= 0);
+            if (takeOld) {
+                mergedSources[merged] = remap[entrySources[i]];
+                mergedStarts[merged] = entryStarts[i];
+                i++;
+            } else {
+                mergedSources[merged] = added.sources[a];
+                mergedStarts[merged] = added.starts[a];
+                a++;
+            }
+            merged++;
+        }
+        return new AutocompleteIndex(pools, mergedSources, mergedStarts, merged);
+    }
+
+    /**
+     * 남는 상품(removed 가 아닌 기존 상품 + additions) 중 점수가 낮은 excess 개를 뺀다
+     * - 후보 번호: 기존 상품은 원본 번호, 새 상품은 sourceCount + 순번 → 같은 점수면 번호가 큰(새) 상품이 먼저 빠진다
+     * - 뺄 후보 excess 개만 힙에 두므로 O(n log excess)
+     *
+     * @return 빠지지 않은 새 상품
+     */
+    private List<Source> evictLowest(int excess, boolean[] removed, List<Source> additions) {
+        PriorityQueue<long[]> lowest = new PriorityQueue<>(excess, (x, y) -> compareEviction(y, x));
+        for (int i = 0; i < sourceCount + additions.size(); i++) {
+            boolean existing = i < sourceCount;
+            if (existing && (types[i] != Type.PRODUCT.ordinal() || removed[i])) {
+                continue;
+            }
+            long[] candidate = {existing ? scores[i] : additions.get(i - sourceCount).score(), i};
+            if (lowest.size() < excess) {
+                lowest.add(candidate);
+            } else if (compareEviction(candidate, lowest.peek()) < 0) {
+                lowest.poll();
+                lowest.add(candidate);
+            }
+        }
+
+        Set<Integer> evictedAdditions = new HashSet<>();
+        for (long[] candidate : lowest) {
+            int source = (int) candidate[1];
+            if (source < sourceCount) {
+                removed[source] = true;
+            } else {
+                evictedAdditions.add(source - sourceCount);
+            }
+        }
+        List<Source> kept = new ArrayList<>(additions.size() - evictedAdditions.size());
+        for (int j = 0; j < additions.size(); j++) {
+            if (!evictedAdditions.contains(j)) {
+                kept.add(additions.get(j));
+            }
+        }
+        return kept;
+    }
+
+    // 먼저 뺄 후보가 앞 (점수가 낮을수록, 같으면 번호가 클수록)
+    private static int compareEviction(long[] x, long[] y) {
+        int diff = Long.compare(x[0], y[0]);
+        return diff != 0 ? diff : Long.compare(y[1], x[1]);
+    }
+
+    /**
+     * 접두어로 시작하는 이름을 인기순으로 최대 limit 개
+     */
+    public List<Suggestion> search(String prefix, int limit) {
+        String normalized = ProductSearchCache.normalize(prefix);
+        if (normalized == null || limit <= 0 || entryCount == 0) {
+            return List.of();
+        }
+        byte[] key = normalized.getBytes(StandardCharsets.UTF_8);
+
+        int from = lowerBound(key, false);
+        int to = lowerBound(key, true);
+        if (from >= to) {
+            return List.of();
+        }
+
+        // 구간을 덮는 노드들에서 시작해 점수가 높은 노드부터 펼친다
+        PriorityQueue<Integer> nodes = new PriorityQueue<>((x, y) -> compareRank(tree[x], tree[y]));
+        for (int l = from + leafBase, r = to + leafBase; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                nodes.add(l++);
+            }
+            if ((r & 1) == 1) {
+                nodes.add(--r);
+            }
+        }
+
+        List<Suggestion> suggestions = new ArrayList<>(limit);
+        Set<Integer> seen = new HashSet<>();
+        while (!nodes.isEmpty() && suggestions.size() < limit) {
+            int node = nodes.poll();
+            if (node < leafBase) {
+                if (tree[node * 2] >= 0) {
+                    nodes.add(node * 2);
+                }
+                if (tree[node * 2 + 1] >= 0) {
+                    nodes.add(node * 2 + 1);
+                }
+                continue;
+            }
+            // 이름 전체와 단어 시작이 같은 접두어에 걸리면 한 번만
+            int source = entrySources[tree[node]];
+            if (seen.add(source)) {
+                suggestions.add(new Suggestion(TYPES[types[source]], ids[source], text(source)));
+            }
+        }
+        return suggestions;
+    }
+
+    public int size() {
+        return sourceCount;
+    }
+
+    /**
+     * 배열이 차지하는 대략적인 바이트 수 (객체 헤더 제외)
+     */
+    public long estimatedBytes() {
+        return (long) textPool.length + keyPool.length
+                + 4L * (textOffsets.length + keyOffsets.length + scores.length)
+                + 8L * ids.length + types.length
+                + 4L * (entrySources.length + entryStarts.length + tree.length);
+    }
+
+    // 키가 접두어보다 작은(upper=false) / 접두어로 시작하거나 작은(upper=true) 마지막 항목 다음 위치
+    private int lowerBound(byte[] prefix, boolean upper) {
+        int lo = 0;
+        int hi = entryCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = comparePrefix(mid, prefix);
+            if (cmp < 0 || (upper && cmp == 0)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // 항목 키가 prefix 로 시작하면 0
+    private int comparePrefix(int entry, byte[] prefix) {
+        int source = entrySources[entry];
+        int position = keyOffsets[source] + entryStarts[entry];
+        int end = keyOffsets[source + 1];
+        for (int k = 0; k < prefix.length; k++, position++) {
+            if (position >= end) {
+                return -1;
+            }
+            int diff = (keyPool[position] & 0xff) - (prefix[k] & 0xff);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return 0;
+    }
+
+    private String text(int source) {
+        return new String(textPool, textOffsets[source], textOffsets[source + 1] - textOffsets[source], StandardCharsets.UTF_8);
+    }
+
+    // 점수가 높은 항목이 앞 (같으면 키 순)
+    private int compareRank(int x, int y) {
+        int diff = Integer.compare(scores[entrySources[y]], scores[entrySources[x]]);
+        return diff != 0 ? diff : Integer.compare(x, y);
+    }
+
+    private int better(int x, int y) {
+        if (x < 0) {
+            return y;
+        }
+        if (y < 0) {
+            return x;
+        }
+        return compareRank(x, y) <= 0 ? x : y;
+    }
+
+    /**
+     * 색인을 만드는 동안 쓰는 가변 버퍼
+     */
+    private static final class Pools {
+
+        private byte[] textPool;
+        private int textLength;
+        private int[] textOffsets;
+        private byte[] keyPool;
+        private int keyLength;
+        private int[] keyOffsets;
+        private long[] ids;
+        private byte[] types;
+        private int[] scores;
+        private int count;
+
+        Pools(int capacity) {
+            int initial = Math.max(16, capacity);
+            this.textPool = new byte[initial * 16];
+            this.keyPool = new byte[initial * 16];
+            this.textOffsets = new int[initial + 1];
+            this.keyOffsets = new int[initial + 1];
+            this.ids = new long[initial];
+            this.types = new byte[initial];
+            this.scores = new int[initial];
+        }
+
+        int add(Source source) {
+            String key = ProductSearchCache.normalize(source.text());
+            return append(source.type().ordinal(), source.id(), source.score(),
+                    source.text().getBytes(StandardCharsets.UTF_8), 0, -1,
+                    key != null ? key.getBytes(StandardCharsets.UTF_8) : new byte[0], 0, -1);
+        }
+
+        int copyFrom(AutocompleteIndex index, int source) {
+            return append(index.types[source], index.ids[source], index.scores[source],
+                    index.textPool, index.textOffsets[source], index.textOffsets[source + 1],
+                    index.keyPool, index.keyOffsets[source], index.keyOffsets[source + 1]);
+        }
+
+        // end 가 -1 이면 배열 전체
+        private int append(int type, long id, int score,
+                           byte[] text, int textFrom, int textTo,
+                           byte[] key, int keyFrom, int keyTo) {
+            int textSize = (textTo < 0 ? text.length : textTo) - textFrom;
+            int keySize = (keyTo < 0 ? key.length : keyTo) - keyFrom;
+            ensureCapacity(textSize, keySize);
+
+            System.arraycopy(text, textFrom, textPool, textLength, textSize);
+            textLength += textSize;
+            System.arraycopy(key, keyFrom, keyPool, keyLength, keySize);
+            keyLength += keySize;
+
+            ids[count] = id;
+            types[count] = (byte) type;
+            scores[count] = score;
+            count++;
+            textOffsets[count] = textLength;
+            keyOffsets[count] = keyLength;
+            return count - 1;
+        }
+
+        private void ensureCapacity(int textSize, int keySize) {
+            if (count + 1 >= ids.length) {
+                int grown = ids.length * 2;
+                textOffsets = Arrays.copyOf(textOffsets, grown + 1);
+                keyOffsets = Arrays.copyOf(keyOffsets, grown + 1);
+                ids = Arrays.copyOf(ids, grown);
+                types = Arrays.copyOf(types, grown);
+                scores = Arrays.copyOf(scores, grown);
+            }
+            if (textLength + textSize > textPool.length) {
+                textPool = Arrays.copyOf(textPool, Math.max(textPool.length * 2, textLength + textSize));
+            }
+            if (keyLength + keySize > keyPool.length) {
+                keyPool = Arrays.copyOf(keyPool, Math.max(keyPool.length * 2, keyLength + keySize));
+            }
+        }
+
+        // 원본 [from, to) 의 검색 항목: 키 처음 + 공백 다음 단어 시작
+        Entries entriesOf(int from, int to) {
+            Entries entries = new Entries((to - from) * 2);
+            for (int source = from; source < to; source++) {
+                int start = keyOffsets[source];
+                int end = keyOffsets[source + 1];
+                if (start == end) {
+                    continue;
+                }
+                entries.add(source, 0);
+                int words = 1;
+                for (int position = start; position < end - 1 && words < MAX_WORD_STARTS; position++) {
+                    if (keyPool[position] == ' ') {
+                        entries.add(source, position + 1 - start);
+                        words++;
+                    }
+                }
+            }
+            return entries;
+        }
+
+        int compareKeys(int sourceX, int startX, int sourceY, int startY) {
+            int x = keyOffsets[sourceX] + startX;
+            int xEnd = keyOffsets[sourceX + 1];
+            int y = keyOffsets[sourceY] + startY;
+            int yEnd = keyOffsets[sourceY + 1];
+            while (x < xEnd && y < yEnd) {
+                int diff = (keyPool[x++] & 0xff) - (keyPool[y++] & 0xff);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return Integer.compare(xEnd - x, yEnd - y);
+        }
+
+        private static final class Entries {
+
+            private int[] sources;
+            private int[] starts;
+            private int count;
+
+            Entries(int capacity) {
+                this.sources = new int[Math.max(4, capacity)];
+                this.starts = new int[Math.max(4, capacity)];
+            }
+
+            void add(int source, int start) {
+                if (count == sources.length) {
+                    sources = Arrays.copyOf(sources, count * 2);
+                    starts = Arrays.copyOf(starts, count * 2);
+                }
+                sources[count] = source;
+                starts[count] = start;
+                count++;
+            }
+
+            void sort(Pools pools) {
+                Integer[] order = new Integer[count];
+                for (int i = 0; i < count; i++) {
+                    order[i] = i;
+                }
+                Arrays.sort(order, (x, y) -> pools.compareKeys(sources[x], starts[x], sources[y], starts[y]));
+
+                int[] sortedSources = new int[count];
+                int[] sortedStarts = new int[count];
+                for (int i = 0; i < count; i++) {
+                    sortedSources[i] = sources[order[i]];
+                    sortedStarts[i] = starts[order[i]];
+                }
+                sources = sortedSources;
+                starts = sortedStarts;
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package productservice.service.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import productservice.repository.ProductJpaRepository;
+import productservice.repository.ProductJpaRepository.ProductNameView;
+import productservice.repository.ProductTransactionJpaRepository;
+import productservice.repository.ProductTransactionJpaRepository.ProductSalesView;
+import productservice.service.search.AutocompleteIndex.Source;
+import productservice.service.search.AutocompleteIndex.Suggestion;
+import productservice.service.search.AutocompleteIndex.Type;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 상품명/카테고리 자동완성
+ * - 인스턴스마다 AutocompleteIndex 를 메모리에 두고 조회는 volatile 참조 하나만 읽는다 (ES 호출 없음)
+ * - 주기적으로 판매 중인 상품 전체로 다시 만들고(인기 상위 maxProducts 개까지), 그 사이 바뀐 상품은 병합으로 반영한다
+ * - 바뀐 상품ID 는 색인 consumer 가 pub/sub 으로 모든 인스턴스에 알린다 (유실돼도 다음 전체 재구성에서 맞춰진다)
+ * - 재구성은 전용 스레드에서 하고 완성된 색인으로 참조를 교체하므로 조회가 막히지 않는다
+ */
+@Slf4j
+@Component
+public class ProductAutocompleteService implements MessageListener {
+
+    private static final String CHANGES_CHANNEL = "autocomplete-changes";
+    private static final int LOAD_PAGE_SIZE = 5000;
+
+    private final ProductJpaRepository productJpaRepository;
+    private final ProductTransactionJpaRepository productTransactionJpaRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MeterRegistry meterRegistry;
+    private final int maxProducts;
+    private final int popularityDays;
+    private final long fullRebuildMinutes;
+
+    private final Set<Long> changedProductIds = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService builder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "autocomplete-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Timer lookupTimer;
+    private volatile AutocompleteIndex index = AutocompleteIndex.empty();
+
+    public ProductAutocompleteService(ProductJpaRepository productJpaRepository,
+                                      ProductTransactionJpaRepository productTransactionJpaRepository,
+                                      StringRedisTemplate stringRedisTemplate,
+                                      RedisMessageListenerContainer listenerContainer,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${autocomplete.max-products:1000000}") int maxProducts,
+                                      @Value("${autocomplete.popularity-days:30}") int popularityDays,
+                                      @Value("${autocomplete.full-rebuild-minutes:30}") long fullRebuildMinutes) {
+        this.productJpaRepository = productJpaRepository;
+        this.productTransactionJpaRepository = productTransactionJpaRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.meterRegistry = meterRegistry;
+        this.maxProducts = maxProducts;
+        this.popularityDays = popularityDays;
+        this.fullRebuildMinutes = fullRebuildMinutes;
+        this.lookupTimer = Timer.builder("product.autocomplete.lookup")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANGES_CHANNEL));
+        Gauge.builder("product.autocomplete.entries", this, service -> service.index.size()).register(meterRegistry);
+        Gauge.builder("product.autocomplete.bytes", this, service -> service.index.estimatedBytes()).register(meterRegistry);
+
+        builder.scheduleWithFixedDelay(this::rebuild, 0, fullRebuildMinutes, TimeUnit.MINUTES);
+        builder.scheduleWithFixedDelay(this::applyChanges, 1, 1, TimeUnit.SECONDS);
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        long startedAt = System.nanoTime();
+        try {
+            return index.search(prefix, limit);
+        } finally {
+            lookupTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 이름/상태가 바뀐 상품을 모든 인스턴스에 알린다
+     */
+    public void publishChanges(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        try {
+            stringRedisTemplate.convertAndSend(CHANGES_CHANNEL, productIds.stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(",")));
+        } catch (Exception e) {
+            log.warn("자동완성 변경 알림 실패 - 상품 수: {}, error: {}", productIds.size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            for (String id : new String(message.getBody(), StandardCharsets.UTF_8).split(",")) {
+                changedProductIds.add(Long.valueOf(id));
+            }
+        } catch (Exception e) {
+            log.warn("자동완성 변경 알림 수신 처리 실패", e);
+        }
+    }
+
+    private void rebuild() {
+        try {
+            long startedAt = System.currentTimeMillis();
+            Map<Long, Integer> popularity = loadPopularity();
+
+            List<Source> products = new ArrayList<>();
+            Map<Long, Source> categories = new HashMap<>();
+            Long lastId = 0L;
+            List<ProductNameView> page;
+            do {
+                page = productJpaRepository.findActiveNamesAfter(lastId, PageRequest.of(0, LOAD_PAGE_SIZE));
+                for (ProductNameView view : page) {
+                    if (view.getName() == null || view.getName().isBlank()) {
+                        continue;
+                    }
+                    int score = popularity.getOrDefault(view.getId(), 0);
+                    products.add(new Source(Type.PRODUCT, view.getId(), view.getName(), score));
+                    if (view.getCategoryId() != null && view.getCategoryName() != null) {
+                        // 카테고리 점수 = 속한 상품 판매량 합
+                        categories.merge(view.getCategoryId(),
+                                new Source(Type.CATEGORY, view.getCategoryId(), view.getCategoryName(), score),
+                                (x, y) -> new Source(Type.CATEGORY, x.id(), x.text(), saturatedAdd(x.score(), y.score())));
+                    }
+                }
+                if (!page.isEmpty()) {
+                    lastId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == LOAD_PAGE_SIZE);
+
+            // 메모리 상한: 인기 상위 maxProducts 개만
+            if (products.size() > maxProducts) {
+                products.sort(Comparator.comparingInt(Source::score).reversed());
+                products = new ArrayList<>(products.subList(0, maxProducts));
+            }
+            products.addAll(categories.values());
+
+            index = AutocompleteIndex.build(products);
+            log.info("자동완성 색인 재구성 - 항목: {}, 메모리: {}KB, 소요: {}ms",
+                    index.size(), index.estimatedBytes() / 1024, System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            log.error("자동완성 색인 재구성 실패 - 이전 색인 유지, error: {}", e.getMessage(), e);
+        }
+    }
+
+    private void applyChanges() {
+        if (changedProductIds.isEmpty()) {
+            return;
+        }
+        List<Long> productIds = new ArrayList<>(changedProductIds);
+        productIds.forEach(changedProductIds::remove);
+
+        try {
+            Map<Long, Integer> popularity = productTransactionJpaRepository
+                    .sumConfirmedQuantityByProductIdInSince(productIds, popularitySince()).stream()
+                    .collect(Collectors.toMap(ProductSalesView::getProductId, view -> clamp(view.getQuantity())));
+
+            // 판매 중이 아니거나 삭제된 상품은 조회되지 않으므로 색인에서 빠진다
+            List<Source> replacements = productJpaRepository.findActiveNamesByIdIn(productIds).stream()
+                    .filter(view -> view.getName() != null && !view.getName().isBlank())
+                    .map(view -> new Source(Type.PRODUCT, view.getId(), view.getName(),
+                            popularity.getOrDefault(view.getId(), 0)))
+                    .toList();
+
+            index = index.replaceProducts(productIds, replacements, maxProducts);
+            log.info("자동완성 색인 갱신 - 변경 상품: {}, 반영: {}", productIds.size(), replacements.size());
+        } catch (Exception e) {
+            // 다음 주기에 다시 시도
+            changedProductIds.addAll(productIds);
+            log.warn("자동완성 색인 갱신 실패 - 변경 상품: {}, error: {}", productIds.size(), e.getMessage());
+        }
+    }
+
+    private Map<Long, Integer> loadPopularity() {
+        return productTransactionJpaRepository.sumConfirmedQuantityByProductSince(popularitySince()).stream()
+                .collect(Collectors.toMap(ProductSalesView::getProductId, view -> clamp(view.getQuantity())));
+    }
+
+    private LocalDateTime popularitySince() {
+        return LocalDateTime.now().minusDays(popularityDays);
+    }
+
+    private static int clamp(Long quantity) {
+        return quantity == null ? 0 : (int) Math.min(Integer.MAX_VALUE, quantity);
+    }
+
+    private static int saturatedAdd(int x, int y) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) x + y);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        builder.shutdownNow();
+    }
+}
@@ -0,0 +1,59 @@
+package productservice.service.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import productservice.controller.dto.ProductSearchResponse;
+import productservice.controller.dto.ProductSearchResponse.OptionInfo;
+import productservice.service.dto.StockLevel;
+import productservice.service.stock.StockLevelReader;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 검색 결과 페이지에 옵션별 현재 주문 가능 수량을 덧씌운다
+ * - 색인의 availableQuantity 는 색인 시점 값이라 품절 상품이 그대로 보이므로, 페이지의 옵션을 한 번에 읽어 바꾼다
+ *   (redis 모드는 Redis 한 번 왕복, db 모드는 짧은 TTL 로컬 캐시 + IN 쿼리 한 번 - StockLevelReader)
+ * - 재고를 읽지 못하면 색인 값을 그대로 둔다 (검색 자체는 실패시키지 않는다)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductAvailabilityOverlay {
+
+    private final StockLevelReader stockLevelReader;
+
+    /**
+     * @param inStockOnly true 면 주문 가능한 옵션이 하나도 없는 상품을 뺀다
+     */
+    public List<ProductSearchResponse> apply(List<ProductSearchResponse> products, boolean inStockOnly) {
+        if (products.isEmpty()) {
+            return products;
+        }
+
+        Map<Long, StockLevel> levels;
+        try {
+            levels = stockLevelReader.read(products.stream()
+                    .flatMap(product -> product.options().stream())
+                    .map(OptionInfo::id)
+                    .toList());
+        } catch (Exception e) {
+            log.warn("검색 결과 재고 조회 실패 - 색인 값 사용, 상품 수: {}, error: {}", products.size(), e.getMessage());
+            return inStockOnly ? products.stream().filter(ProductAvailabilityOverlay::inStock).toList() : products;
+        }
+
+        return products.stream()
+                .map(product -> product.withOptions(product.options().stream()
+                        .map(option -> option.withStockQuantity(levels.containsKey(option.id())
+                                ? levels.get(option.id()).available() : 0))
+                        .toList()))
+                .filter(product -> !inStockOnly || inStock(product))
+                .toList();
+    }
+
+    private static boolean inStock(ProductSearchResponse product) {
+        return product.options().stream()
+                .anyMatch(option -> option.stockQuantity() != null && option.stockQuantity() > 0);
+    }
+}
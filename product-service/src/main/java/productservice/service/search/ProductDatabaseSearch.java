@@ -0,0 +1,99 @@
+package productservice.service.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import productservice.entity.Product;
+import productservice.repository.ProductJpaRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * DB 상품 검색 (ES 장애 시 폴백 경로)
+ * - 상품명 FULLTEXT(ngram) 색인이 있으면 BOOLEAN MODE 로 ID 만 찾고, 상품은 fetch join 한 번으로 읽는다
+ * - 색인이 없으면(H2, 색인 생성 전) 기존 LIKE 검색을 쓴다
+ * - 두 방식 모두 id 내림차순 keyset 페이지네이션 (lastId 보다 작은 ID 부터)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductDatabaseSearch {
+
+    private static final String FULLTEXT_INDEX_NAME = "ft_product_name";
+    private static final String FULLTEXT_INDEX_QUERY = """
+            SELECT COUNT(*) FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'product' AND index_name = ?
+            """;
+    private static final String BOOLEAN_OPERATORS = "[+\\-<>()~*\"@]";
+    private static final int NGRAM_TOKEN_SIZE = 2;
+
+    private final ProductJpaRepository productJpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile boolean fulltextEnabled;
+
+    @PostConstruct
+    void detectFulltextIndex() {
+        try {
+            Integer count = jdbcTemplate.queryForObject(FULLTEXT_INDEX_QUERY, Integer.class, FULLTEXT_INDEX_NAME);
+            fulltextEnabled = count != null && count > 0;
+        } catch (Exception e) {
+            fulltextEnabled = false;
+        }
+        if (!fulltextEnabled) {
+            log.warn("상품명 FULLTEXT 색인 없음 - DB 검색은 LIKE 로 동작 (resources/db/product-fulltext-index.sql)");
+        }
+    }
+
+    /**
+     * @param keyword normalize 된 검색어 (null 이면 판매 중인 상품 전체)
+     * @param lastId  이전 페이지의 마지막 상품ID (null 이면 첫 페이지)
+     */
+    public List<Product> search(String keyword, Long lastId, int pageSize) {
+        String booleanQuery = fulltextEnabled ? toBooleanQuery(keyword) : null;
+        if (booleanQuery == null) {
+            return productJpaRepository.searchProducts(keyword, lastId, PageRequest.of(0, pageSize));
+        }
+
+        List<Long> ids = productJpaRepository.searchIdsByFulltext(booleanQuery, lastId, pageSize);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Product> products = productJpaRepository.findAllWithCategoryOptionsAndStockByIdIn(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity(), (x, y) -> x));
+        return ids.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * 검색어 → BOOLEAN MODE 식 (단어마다 필수 조건)
+     * - 사용자 입력의 연산자 문자는 지운다
+     * - ngram 토큰보다 짧은 단어는 접두어 검색(*)으로 바꾼다 (그대로 두면 아무 행도 찾지 못한다)
+     *
+     * @return 남는 단어가 없으면 null
+     */
+    public static String toBooleanQuery(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+        List<String> terms = new ArrayList<>();
+        for (String word : keyword.replaceAll(BOOLEAN_OPERATORS, " ").strip().split("\\s+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            terms.add(word.codePointCount(0, word.length()) < NGRAM_TOKEN_SIZE ? "+" + word + "*" : "+" + word);
+        }
+        return terms.isEmpty() ? null : String.join(" ", terms);
+    }
+}
@@ -0,0 +1,294 @@
+package productservice.service.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import productservice.common.cache.LocalLruCache;
+import productservice.controller.dto.ProductSearchResponse.CursorPage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 검색 첫 페이지 2단 캐시 (로컬 LRU → Redis → ES)
+ * - 키는 정규화한 검색어, 페이지 크기, 전체 건수 여부 + 색인 세대(generation)
+ * - Redis 항목은 softTtl 이 지나면 만료로 보지만 hardTtl 까지는 남겨 두고,
+ *   락을 잡은 요청 하나만 다시 계산하는 동안 나머지는 이전 값을 돌려준다 (stampede 방지)
+ * - 같은 인스턴스 안에서는 같은 키의 동시 요청이 하나의 계산을 기다린다 (single-flight)
+ * - 개별 상품 변경은 soft TTL 안에서 반영되도록 두고, 재색인으로 별칭이 바뀔 때만 세대를 올리고
+ *   pub/sub 으로 알려 로컬 캐시를 비운다 (이전 세대 Redis 키는 TTL 로 만료)
+ */
+@Slf4j
+@Component
+public class ProductSearchCache implements MessageListener {
+
+    private static final String KEY_PREFIX = "search::page::";
+    private static final String LOCK_KEY_PREFIX = "search::lock::";
+    private static final String GENERATION_KEY = "search::generation";
+    private static final String INVALIDATE_CHANNEL = "search-invalidate";
+    private static final Duration LOCK_TTL = Duration.ofSeconds(3);
+    private static final int LOCK_WAIT_ATTEMPTS = 5;
+    private static final long LOCK_WAIT_MILLIS = 30;
+
+    private static final DefaultRedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final long localTtlMillis;
+    private final long softTtlMillis;
+    private final long hardTtlMillis;
+
+    private final LocalLruCache<String, CachedPage> localCache;
+    private final Map<String, CompletableFuture<CursorPage>> inFlight = new ConcurrentHashMap<>();
+    private volatile long generation;
+
+    private final Counter localHits;
+    private final Counter joined;
+    private final Counter redisHits;
+    private final Counter staleHits;
+    private final Counter misses;
+
+    public ProductSearchCache(StringRedisTemplate stringRedisTemplate,
+                              RedisMessageListenerContainer listenerContainer,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${product.search.cache.local-max-size:1000}") int localMaxSize,
+                              @Value("${product.search.cache.local-ttl-millis:1000}") long localTtlMillis,
+                              @Value("${product.search.cache.soft-ttl-millis:5000}") long softTtlMillis,
+                              @Value("${product.search.cache.hard-ttl-millis:20000}") long hardTtlMillis) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.localTtlMillis = localTtlMillis;
+        this.softTtlMillis = softTtlMillis;
+        this.hardTtlMillis = hardTtlMillis;
+        this.localCache = new LocalLruCache<>(localMaxSize);
+
+        this.localHits = cacheCounter(meterRegistry, "local");
+        this.joined = cacheCounter(meterRegistry, "joined");
+        this.redisHits = cacheCounter(meterRegistry, "redis");
+        this.staleHits = cacheCounter(meterRegistry, "stale");
+        this.misses = cacheCounter(meterRegistry, "miss");
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATE_CHANNEL));
+        try {
+            String stored = stringRedisTemplate.opsForValue().get(GENERATION_KEY);
+            generation = stored != null ? Long.parseLong(stored) : 0;
+        } catch (Exception e) {
+            log.warn("검색 캐시 세대 조회 실패 - 0 으로 시작, error: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 검색어 정규화 (앞뒤 공백 제거, 연속 공백 하나로, 소문자) - 빈 검색어는 null
+     */
+    public static String normalize(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return null;
+        }
+        return keyword.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 캐시된 첫 페이지를 돌려주고, 없거나 만료됐으면 loader 로 계산해 저장
+     *
+     * @param keyword normalize 된 검색어
+     */
+    public CursorPage get(String keyword, int pageSize, boolean withTotal, Supplier<CursorPage> loader) {
+        String key = KEY_PREFIX + generation + "::" + pageSize + "::" + withTotal + "::" + (keyword != null ? keyword : "");
+
+        CachedPage local = localCache.get(key);
+        if (local != null) {
+            localHits.increment();
+            return local.page();
+        }
+
+        CompletableFuture<CursorPage> mine = new CompletableFuture<>();
+        CompletableFuture<CursorPage> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            joined.increment();
+            return await(running);
+        }
+
+        try {
+            CursorPage page = loadShared(key, loader);
+            mine.complete(page);
+            return page;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private CursorPage loadShared(String key, Supplier<CursorPage> loader) {
+        CachedPage cached = readRedis(key);
+        if (cached != null && cached.softExpiresAt() > System.currentTimeMillis()) {
+            putLocal(key, cached);
+            redisHits.increment();
+            return cached.page();
+        }
+
+        String lockKey = LOCK_KEY_PREFIX + key;
+        String token = UUID.randomUUID().toString();
+        if (tryLock(lockKey, token)) {
+            try {
+                return compute(key, loader);
+            } finally {
+                unlock(lockKey, token);
+            }
+        }
+
+        // 다른 인스턴스가 계산 중 → 이전 값이 있으면 그대로 쓴다
+        if (cached != null) {
+            staleHits.increment();
+            return cached.page();
+        }
+
+        // 처음 보는 키면 잠깐 기다렸다가 계산된 값을 읽고, 끝내 없으면 직접 계산
+        for (int attempt = 0; attempt < LOCK_WAIT_ATTEMPTS; attempt++) {
+            sleep();
+            cached = readRedis(key);
+            if (cached != null) {
+                putLocal(key, cached);
+                redisHits.increment();
+                return cached.page();
+            }
+        }
+        return compute(key, loader);
+    }
+
+    private CursorPage compute(String key, Supplier<CursorPage> loader) {
+        CursorPage page = loader.get();
+        CachedPage cached = new CachedPage(page, System.currentTimeMillis() + softTtlMillis);
+        try {
+            stringRedisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(cached), Duration.ofMillis(hardTtlMillis));
+        } catch (Exception e) {
+            log.warn("검색 캐시 저장 실패 - key: {}, error: {}", key, e.getMessage());
+        }
+        putLocal(key, cached);
+        misses.increment();
+        return page;
+    }
+
+    /**
+     * 색인 전체가 바뀌었을 때(재색인 별칭 교체) 모든 인스턴스의 검색 캐시 무효화
+     */
+    public void invalidateAll() {
+        try {
+            Long next = stringRedisTemplate.opsForValue().increment(GENERATION_KEY);
+            generation = next;
+            localCache.clear();
+            stringRedisTemplate.convertAndSend(INVALIDATE_CHANNEL, String.valueOf(next));
+            log.info("검색 캐시 무효화 - generation: {}", next);
+        } catch (Exception e) {
+            // 무효화하지 못해도 hardTtl 뒤에는 새로 계산된다
+            log.warn("검색 캐시 무효화 실패 - error: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            long next = Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8));
+            if (next > generation) {
+                generation = next;
+            }
+            localCache.clear();
+        } catch (Exception e) {
+            log.warn("검색 캐시 무효화 수신 처리 실패", e);
+        }
+    }
+
+    private CachedPage readRedis(String key) {
+        try {
+            String value = stringRedisTemplate.opsForValue().get(key);
+            return value != null ? objectMapper.readValue(value, CachedPage.class) : null;
+        } catch (Exception e) {
+            log.warn("검색 캐시 조회 실패 - key: {}, error: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    // 로컬 항목은 Redis soft 만료를 넘기지 않는다
+    private void putLocal(String key, CachedPage cached) {
+        long ttl = Math.min(localTtlMillis, cached.softExpiresAt() - System.currentTimeMillis());
+        localCache.put(key, cached, ttl);
+    }
+
+    private boolean tryLock(String lockKey, String token) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(lockKey, token, LOCK_TTL));
+        } catch (Exception e) {
+            // Redis 장애 시에는 각자 계산 (single-flight 로 인스턴스당 한 번)
+            return true;
+        }
+    }
+
+    private void unlock(String lockKey, String token) {
+        try {
+            stringRedisTemplate.execute(UNLOCK_SCRIPT, List.of(lockKey), token);
+        } catch (Exception e) {
+            log.warn("검색 캐시 락 해제 실패 - key: {}, error: {}", lockKey, e.getMessage());
+        }
+    }
+
+    private static CursorPage await(CompletableFuture<CursorPage> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(LOCK_WAIT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("product.search.cache")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param softExpiresAt 이 시각이 지나면 다시 계산 대상 (Redis 에서는 hardTtl 까지 남는다)
+     */
+    record CachedPage(CursorPage page, long softExpiresAt) {
+    }
+}
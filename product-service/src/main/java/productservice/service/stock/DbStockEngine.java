@@ -0,0 +1,249 @@
+package productservice.service.stock;
+
+import event.EventType;
+import event.payload.ProductChangedPayload;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import outboxmessagerelay.OutboxEventPublisher;
+import productservice.common.exception.CustomGlobalException;
+import productservice.common.exception.ErrorType;
+import productservice.entity.ProductStock;
+import productservice.entity.ProductTransactionHistory;
+import productservice.repository.ProductStockJpaRepository;
+import productservice.repository.ProductTransactionHistoryJdbcRepository;
+import productservice.repository.ProductTransactionJpaRepository;
+import productservice.service.dto.StockReserveRequest;
+import productservice.service.stock.StockBucketAllocator.Allocation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+import static productservice.entity.ProductTransactionHistory.*;
+
+/**
+ * ProductStock 행을 직접 변경하는 재고 처리
+ * - 주문의 재고 행을 한 쿼리로 옵션ID 오름차순으로 잠근 뒤(FOR UPDATE) 메모리에서 모두 적용하고 이력은 한 번에 INSERT 한다
+ * - 모든 주문이 같은 순서로 잠그므로 같은 옵션을 다른 순서로 담은 주문끼리 데드락이 나지 않는다
+ * - 버킷을 켠 옵션은 요약 행을 잠그지 않고 StockBucketService 로 버킷 행을 변경한다 (단일 행 다음, 옵션ID 오름차순)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "stock.engine", havingValue = "db", matchIfMissing = true)
+public class DbStockEngine implements StockEngine {
+
+    private final ProductStockJpaRepository productStockJpaRepository;
+    private final ProductTransactionJpaRepository productTransactionJpaRepository;
+    private final ProductTransactionHistoryJdbcRepository productTransactionHistoryJdbcRepository;
+    private final StockBucketService stockBucketService;
+    private final OutboxEventPublisher outboxEventPublisher;
+
+    @Override
+    @Transactional
+    public void reserve(StockReserveRequest request) {
+        Long orderId = request.orderId();
+
+        log.info("===== 재고 예약 시작 ===== orderId: {}", orderId);
+
+        // 중복 체크: 이미 처리된 주문인지 확인
+        if (productTransactionJpaRepository.existsByOrderIdAndType(orderId, TransactionType.RESERVE)) {
+            log.warn("이미 재고가 예약된 주문 - orderId: {}", orderId);
+            return;
+        }
+
+        List<StockReserveRequest.OrderItem> items = request.items().stream()
+                .sorted(Comparator.comparing(StockReserveRequest.OrderItem::productOptionId))
+                .toList();
+        Map<Long, ProductStock> stocks = lockStocks(items.stream()
+                .map(StockReserveRequest.OrderItem::productOptionId)
+                .toList());
+
+        List<ProductTransactionHistory> histories = new ArrayList<>(items.size());
+        for (StockReserveRequest.OrderItem item : items) {
+            ProductStock stock = stocks.get(item.productOptionId());
+
+            if (stock.isBucketed()) {
+                addHistories(histories, orderId, item.productOptionId(), TransactionType.RESERVE,
+                        stockBucketService.reserve(stock, item.quantity()));
+            } else {
+                stock.reserve(item.quantity());
+                histories.add(ProductTransactionHistory.create(
+                        orderId,
+                        item.productOptionId(),
+                        item.quantity(),
+                        TransactionType.RESERVE
+                ));
+            }
+        }
+        productTransactionHistoryJdbcRepository.batchInsert(histories);
+        publishStockChanged(stocks.keySet());
+
+        log.info("재고 예약 완료 - orderId: {}, 옵션 수: {}", orderId, stocks.size());
+    }
+
+    @Override
+    @Transactional
+    public void confirm(Long orderId) {
+        apply(orderId, Transition.CONFIRM);
+    }
+
+    @Override
+    @Transactional
+    public void cancel(Long orderId) {
+        apply(orderId, Transition.CANCEL);
+    }
+
+    @Override
+    @Transactional
+    public void rollbackConfirmation(Long orderId) {
+        apply(orderId, Transition.ROLLBACK_CONFIRM);
+    }
+
+    @Override
+    @Transactional
+    public void rollbackReservation(Long orderId) {
+        apply(orderId, Transition.ROLLBACK_RESERVE);
+    }
+
+    /**
+     * 선행 단계 이력 전체에 대해 한 번에 전이 (확정/취소/롤백 공통)
+     */
+    private void apply(Long orderId, Transition transition) {
+        log.info("===== {} 시작 ===== orderId: {}", transition.description, orderId);
+
+        // 주문의 이력을 한 번에 읽어 멱등성 체크와 대상 조회를 같이 한다
+        Map<TransactionType, List<ProductTransactionHistory>> historiesByType =
+                productTransactionJpaRepository.findByOrderId(orderId).stream()
+                        .collect(Collectors.groupingBy(ProductTransactionHistory::getType));
+
+        if (historiesByType.containsKey(transition.type)) {
+            log.warn("{} 스킵 - 이미 처리됨, orderId: {}", transition.description, orderId);
+            return;
+        }
+
+        List<ProductTransactionHistory> sources = historiesByType.getOrDefault(transition.source, List.of()).stream()
+                .sorted(Comparator.comparing(ProductTransactionHistory::getProductOptionId))
+                .toList();
+
+        if (sources.isEmpty()) {
+            if (transition.notFoundError == null) {
+                log.info("{} 스킵 - {} 내역 없음, orderId: {}", transition.description, transition.source, orderId);
+                return;
+            }
+            log.warn("{} 실패 - {} 내역 없음, orderId: {}", transition.description, transition.source, orderId);
+            throw new CustomGlobalException(transition.notFoundError);
+        }
+
+        Map<Long, ProductStock> stocks = lockStocks(sources.stream()
+                .map(ProductTransactionHistory::getProductOptionId)
+                .toList());
+
+        List<ProductTransactionHistory> histories = new ArrayList<>(sources.size());
+        for (ProductTransactionHistory source : sources) {
+            ProductStock stock = stocks.get(source.getProductOptionId());
+
+            if (stock.isBucketed()) {
+                addHistories(histories, orderId, source.getProductOptionId(), transition.type,
+                        transition.bucketOperation.apply(stockBucketService, stock, source.getBucketNo(), source.getQuantity()));
+            } else {
+                transition.stockOperation.accept(stock, source.getQuantity());
+                histories.add(ProductTransactionHistory.create(
+                        orderId,
+                        source.getProductOptionId(),
+                        source.getQuantity(),
+                        transition.type
+                ));
+            }
+        }
+        productTransactionHistoryJdbcRepository.batchInsert(histories);
+        publishStockChanged(stocks.keySet());
+
+        log.info("{} 완료 - orderId: {}, 옵션 수: {}", transition.description, orderId, stocks.size());
+    }
+
+    /**
+     * 단일 행 재고는 한 쿼리로 옵션ID 오름차순 FOR UPDATE, 버킷 재고는 요약 행을 잠그지 않고 읽는다
+     */
+    private Map<Long, ProductStock> lockStocks(Collection<Long> productOptionIds) {
+        List<Long> optionIds = productOptionIds.stream()
+                .distinct()
+                .sorted()
+                .toList();
+
+        Map<Long, ProductStock> stocks = new HashMap<>();
+        for (ProductStock stock : productStockJpaRepository.findAllUnbucketedForUpdate(optionIds)) {
+            stocks.put(stock.getProductOption().getId(), stock);
+        }
+
+        if (stocks.size() < optionIds.size()) {
+            List<Long> bucketedIds = optionIds.stream()
+                    .filter(optionId -> !stocks.containsKey(optionId))
+                    .toList();
+            for (ProductStock stock : productStockJpaRepository.findAllByProductOptionIdIn(bucketedIds)) {
+                stocks.put(stock.getProductOption().getId(), stock);
+            }
+        }
+
+        if (stocks.size() < optionIds.size()) {
+            throw new CustomGlobalException(ErrorType.NOT_FOUND_STOCK);
+        }
+        return stocks;
+    }
+
+    // 판매 가능 수량이 바뀌었으므로 검색 색인 갱신 (같은 트랜잭션의 outbox 로 기록)
+    private void publishStockChanged(Collection<Long> productOptionIds) {
+        outboxEventPublisher.publish(EventType.PRODUCT_CHANGED, ProductChangedPayload.ofStock(List.copyOf(productOptionIds)));
+    }
+
+    // 버킷 재고는 버킷별로 나눠 이력을 남긴다 (확정/취소 때 같은 버킷부터 처리)
+    private static void addHistories(List<ProductTransactionHistory> histories, Long orderId, Long productOptionId,
+                                     TransactionType type, List<Allocation> allocations) {
+        for (Allocation allocation : allocations) {
+            histories.add(ProductTransactionHistory.create(
+                    orderId,
+                    productOptionId,
+                    allocation.quantity(),
+                    type,
+                    allocation.bucketNo()
+            ));
+        }
+    }
+
+    @FunctionalInterface
+    private interface BucketOperation {
+        List<Allocation> apply(StockBucketService stockBucketService, ProductStock stock, Integer bucketNo, int amount);
+    }
+
+    @RequiredArgsConstructor
+    private enum Transition {
+        CONFIRM("재고 확정", TransactionType.CONFIRM_RESERVE, TransactionType.RESERVE,
+                ErrorType.NOT_FOUND_RESERVE_STOCK,
+                ProductStock::confirmReservation, StockBucketService::confirmReservation),
+        CANCEL("재고 예약 취소", TransactionType.CANCEL_RESERVE, TransactionType.RESERVE,
+                null,
+                ProductStock::cancelReservation, StockBucketService::cancelReservation),
+        ROLLBACK_CONFIRM("재고 확정 롤백", TransactionType.ROLLBACK_CONFIRM, TransactionType.CONFIRM_RESERVE,
+                ErrorType.STOCK_CONFIRMATION_NOT_FOUND,
+                ProductStock::rollbackConfirmation, StockBucketService::rollbackConfirmation),
+        ROLLBACK_RESERVE("재고 예약 롤백", TransactionType.ROLLBACK_RESERVE, TransactionType.CANCEL_RESERVE,
+                ErrorType.STOCK_CONFIRMATION_NOT_FOUND,
+                ProductStock::rollbackReservation, StockBucketService::rollbackReservation);
+
+        private final String description;
+        private final TransactionType type;
+        private final TransactionType source;
+        // null 이면 선행 단계가 없을 때 예외 없이 건너뛴다
+        private final ErrorType notFoundError;
+        private final BiConsumer<ProductStock, Integer> stockOperation;
+        private final BucketOperation bucketOperation;
+    }
+}
@@ -0,0 +1,192 @@
+package productservice.service.stock;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import productservice.common.exception.CustomGlobalException;
+import productservice.common.exception.ErrorType;
+import productservice.entity.ProductStock;
+import productservice.entity.ProductTransactionHistory;
+import productservice.repository.ProductStockJpaRepository;
+import productservice.repository.ProductTransactionJpaRepository;
+import productservice.repository.StockRedisRepository;
+import productservice.service.dto.StockReserveRequest;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static productservice.entity.ProductTransactionHistory.*;
+
+/**
+ * Redis 가 재고의 기준이 되는 재고 처리 (stock.engine=redis)
+ * - 주문 단위로 Lua 스크립트 한 번에 전부 적용하거나 전부 거절하므로 DB 행 락 경합이 없다
+ * - DB(ProductStock, ProductTransactionHistory) 는 StockWriteBehindScheduler 가 저널을 읽어 반영한다
+ * - Redis 에 없는 재고는 DB 에서 적재하고, Redis 에 없는 주문은 DB 이력으로 복원한 뒤 다시 시도한다
+ * - stock.lease.enabled=true 면 StockQuotaLeaseManager 가 임대해 둔 수량으로 먼저 예약한다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "stock.engine", havingValue = "redis")
+public class RedisStockEngine implements StockEngine {
+
+    private final StockRedisRepository stockRedisRepository;
+    private final ProductStockJpaRepository productStockJpaRepository;
+    private final ProductTransactionJpaRepository productTransactionJpaRepository;
+    private final ObjectProvider<StockQuotaLeaseManager> stockQuotaLeaseManager;
+
+    @Override
+    public void reserve(StockReserveRequest request) {
+        Long orderId = request.orderId();
+
+        log.info("===== 재고 예약 시작(Redis) ===== orderId: {}", orderId);
+
+        // 같은 옵션이 여러 번 들어와도 한 번에 검사하도록 합산
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (StockReserveRequest.OrderItem item : request.items()) {
+            quantities.merge(item.productOptionId(), item.quantity(), Integer::sum);
+        }
+
+        // 임대 모드면 메모리에 임대해 둔 수량으로 먼저 처리하고, 모자라면 중앙 재고로 예약
+        StockQuotaLeaseManager leaseManager = stockQuotaLeaseManager.getIfAvailable();
+        long result = leaseManager == null ? reserveCentral(orderId, quantities)
+                : leaseManager.tryReserve(orderId, quantities).orElseGet(() -> reserveCentral(orderId, quantities));
+
+        if (result == StockRedisRepository.SKIPPED) {
+            log.warn("이미 재고가 예약된 주문 - orderId: {}", orderId);
+            return;
+        }
+        if (result == StockRedisRepository.NOT_ENOUGH_STOCK) {
+            throw new CustomGlobalException(ErrorType.NOT_ENOUGH_STOCK);
+        }
+        if (result == StockRedisRepository.STOCK_NOT_LOADED) {
+            throw new CustomGlobalException(ErrorType.NOT_FOUND_STOCK);
+        }
+
+        log.info("재고 예약 완료(Redis) - orderId: {}, items: {}", orderId, quantities);
+    }
+
+    @Override
+    public void confirm(Long orderId) {
+        log.info("===== 재고 확정 시작(Redis) ===== orderId: {}", orderId);
+        apply(orderId, Transition.CONFIRM);
+    }
+
+    @Override
+    public void cancel(Long orderId) {
+        log.info("===== 재고 예약 취소 시작(Redis) ===== orderId: {}", orderId);
+        apply(orderId, Transition.CANCEL);
+    }
+
+    @Override
+    public void rollbackConfirmation(Long orderId) {
+        log.info("===== 재고 확정 롤백 시작(Redis) ===== orderId: {}", orderId);
+        apply(orderId, Transition.ROLLBACK_CONFIRM);
+    }
+
+    @Override
+    public void rollbackReservation(Long orderId) {
+        log.info("===== 재고 예약 롤백 시작(Redis) ===== orderId: {}", orderId);
+        apply(orderId, Transition.ROLLBACK_RESERVE);
+    }
+
+    @Override
+    public void afterStockIncreased(Long productOptionId, int amount, long stockVersion) {
+        // 아직 적재되지 않은 옵션은 다음 예약 때 증가된 DB 값으로 적재된다
+        // 그 사이 증가된 DB 값으로 적재/정합성 맞추기가 끝났으면 version 으로 알아채고 두 번 더하지 않는다
+        stockRedisRepository.increaseIfLoaded(productOptionId, amount, stockVersion);
+    }
+
+    private long reserveCentral(Long orderId, Map<Long, Integer> quantities) {
+        long result = stockRedisRepository.reserve(orderId, quantities);
+        if (result == StockRedisRepository.STOCK_NOT_LOADED) {
+            loadStocks(quantities.keySet());
+            result = stockRedisRepository.reserve(orderId, quantities);
+        }
+        return result;
+    }
+
+    private void apply(Long orderId, Transition transition) {
+        long result = transition.execute(stockRedisRepository, orderId);
+        if (result == StockRedisRepository.PREREQUISITE_NOT_FOUND && restoreOrder(orderId)) {
+            result = transition.execute(stockRedisRepository, orderId);
+        }
+
+        if (result == StockRedisRepository.PREREQUISITE_NOT_FOUND) {
+            if (transition.notFoundError == null) {
+                log.info("{} 스킵 - {} 내역 없음, orderId: {}", transition.type, transition.prerequisite, orderId);
+                return;
+            }
+            log.warn("{} 실패 - {} 내역 없음, orderId: {}", transition.type, transition.prerequisite, orderId);
+            throw new CustomGlobalException(transition.notFoundError);
+        }
+        if (result == StockRedisRepository.INVALID_RESERVATION) {
+            throw new CustomGlobalException(ErrorType.INVALID_STOCK_RESERVATION);
+        }
+        if (result == StockRedisRepository.SKIPPED) {
+            log.warn("이미 처리된 주문 - orderId: {}, type: {}", orderId, transition.type);
+            return;
+        }
+
+        log.info("{} 완료(Redis) - orderId: {}", transition.type, orderId);
+    }
+
+    private void loadStocks(Set<Long> productOptionIds) {
+        List<ProductStock> stocks = productStockJpaRepository.findAllByProductOptionIdIn(productOptionIds);
+        for (ProductStock stock : stocks) {
+            stockRedisRepository.loadIfAbsent(stock.getProductOption().getId(),
+                    stock.getQuantity(), stock.getReservedQuantity(), stock.getVersion());
+        }
+        log.info("Redis 재고 적재 - 요청 옵션 수: {}, 적재 대상: {}", productOptionIds.size(), stocks.size());
+    }
+
+    /**
+     * Redis 에 주문 기록이 없으면 DB 이력으로 복원 (TTL 만료, db 모드에서 예약된 주문)
+     */
+    private boolean restoreOrder(Long orderId) {
+        List<ProductTransactionHistory> histories = productTransactionJpaRepository.findByOrderId(orderId);
+
+        Map<Long, Integer> reserved = new TreeMap<>();
+        Set<TransactionType> appliedTypes = EnumSet.noneOf(TransactionType.class);
+        for (ProductTransactionHistory history : histories) {
+            appliedTypes.add(history.getType());
+            if (history.getType() == TransactionType.RESERVE) {
+                reserved.merge(history.getProductOptionId(), history.getQuantity(), Integer::sum);
+            }
+        }
+
+        if (reserved.isEmpty()) {
+            return false;
+        }
+
+        boolean restored = stockRedisRepository.restoreOrder(orderId, reserved, appliedTypes);
+        if (restored) {
+            log.info("Redis 주문 기록 복원 - orderId: {}, types: {}", orderId, appliedTypes);
+        }
+        return true;
+    }
+
+    @RequiredArgsConstructor
+    private enum Transition {
+        CONFIRM(TransactionType.CONFIRM_RESERVE, TransactionType.RESERVE, -1, -1, ErrorType.NOT_FOUND_RESERVE_STOCK),
+        CANCEL(TransactionType.CANCEL_RESERVE, TransactionType.RESERVE, 0, -1, null),
+        ROLLBACK_CONFIRM(TransactionType.ROLLBACK_CONFIRM, TransactionType.CONFIRM_RESERVE, 1, 0, ErrorType.STOCK_CONFIRMATION_NOT_FOUND),
+        ROLLBACK_RESERVE(TransactionType.ROLLBACK_RESERVE, TransactionType.CANCEL_RESERVE, 0, 1, ErrorType.STOCK_CONFIRMATION_NOT_FOUND);
+
+        private final TransactionType type;
+        private final TransactionType prerequisite;
+        private final int quantitySign;
+        private final int reservedSign;
+        // null 이면 선행 단계가 없을 때 예외 없이 건너뛴다
+        private final ErrorType notFoundError;
+
+        long execute(StockRedisRepository repository, Long orderId) {
+            return repository.transition(orderId, type, prerequisite, quantitySign, reservedSign);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package productservice.service.stock;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import productservice.common.scheduler.StockWriteBehindScheduler;
+import productservice.repository.ProductStockJpaRepository;
+import productservice.repository.ProductStockJpaRepository.StockQuantityView;
+import productservice.repository.StockRedisRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기동 시 DB 기준으로 Redis 재고를 맞춤 (stock.engine=redis)
+ * 1. 남은 저널을 모두 DB 에 반영 (write-behind 락을 잡아 다른 인스턴스 반영을 멈춤)
+ * 2. ProductStock 전체를 페이지 단위로 읽어 Redis 에 없으면 적재, 값이 다르면 DB 값으로 덮어씀
+ *    - 그 사이 새 저널이 쌓였다면 Redis 값이 더 최신이므로 유지하고 불일치만 기록한다
+ *    - 입고는 저널에 남지 않으므로 ProductStock.version 으로 비교한다 (읽은 뒤 커밋된 입고가 Redis 에 있으면 유지)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "stock.engine", havingValue = "redis")
+public class RedisStockReconciler {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final RedissonClient redissonClient;
+    private final StockRedisRepository stockRedisRepository;
+    private final StockWriteBehindScheduler stockWriteBehindScheduler;
+    private final ProductStockJpaRepository productStockJpaRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        RLock lock = redissonClient.getLock(StockWriteBehindScheduler.DRAIN_LOCK_KEY);
+        try {
+            if (!lock.tryLock(30, 600, TimeUnit.SECONDS)) {
+                log.warn("Redis 재고 정합성 맞추기 스킵 - 락 획득 실패");
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        try {
+            int drained = 0;
+            int batch;
+            while ((batch = stockWriteBehindScheduler.drainBatch()) > 0) {
+                drained += batch;
+            }
+
+            int loaded = 0;
+            int matched = 0;
+            int drifted = 0;
+            long lastId = 0L;
+            List<StockQuantityView> page;
+            do {
+                page = productStockJpaRepository.findQuantitiesAfter(lastId, PageRequest.of(0, PAGE_SIZE));
+                for (StockQuantityView stock : page) {
+                    long result = stockRedisRepository.reconcile(stock.getProductOptionId(),
+                            stock.getQuantity(), stock.getReservedQuantity(), stock.getVersion());
+                    if (result == StockRedisRepository.APPLIED) {
+                        loaded++;
+                    } else if (result == StockRedisRepository.SKIPPED) {
+                        matched++;
+                    } else if (result == StockRedisRepository.NEWER_IN_REDIS) {
+                        // 페이지를 읽은 뒤 커밋된 입고가 이미 Redis 에 더해졌다 - 덮어쓰면 입고가 사라진다
+                        matched++;
+                    } else {
+                        drifted++;
+                        log.warn("Redis 재고 불일치(미반영 저널 존재, Redis 유지) - productOptionId: {}",
+                                stock.getProductOptionId());
+                    }
+                    lastId = stock.getId();
+                }
+            } while (page.size() == PAGE_SIZE);
+
+            log.info("Redis 재고 정합성 맞추기 완료 - 반영한 저널: {}, 적재/덮어씀: {}, 일치: {}, 불일치: {}",
+                    drained, loaded, matched, drifted);
+        } catch (Exception e) {
+            log.error("Redis 재고 정합성 맞추기 실패 - error: {}", e.getMessage(), e);
+        } finally {
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package productservice.service.stock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 버킷 선택 규칙
+ * 1. 시작 버킷부터 차례로 한 버킷에서 전량 처리를 시도
+ * 2. 어느 버킷도 전량이 안 되면 버킷별 여유(capacities) 를 읽어 여러 버킷에 나눠 처리
+ * 전량을 못 채우면 빈 목록을 돌려주고, 이미 처리한 버킷은 호출자 트랜잭션 롤백으로 되돌린다
+ */
+public final class StockBucketAllocator {
+
+    private StockBucketAllocator() {
+    }
+
+    /**
+     * @param operation  버킷 하나에 조건부 변경을 시도하고 성공 여부를 돌려준다
+     * @param capacities 버킷 번호 순서의 여유 수량 (2단계에서만 조회)
+     */
+    public static List<Allocation> allocate(int bucketCount, int firstBucket, int amount,
+                                            BucketOperation operation, Supplier<List<Integer>> capacities) {
+        for (int i = 0; i < bucketCount; i++) {
+            int bucketNo = (firstBucket + i) % bucketCount;
+            if (operation.tryApply(bucketNo, amount)) {
+                return List.of(new Allocation(bucketNo, amount));
+            }
+        }
+
+        List<Integer> capacity = capacities.get();
+        List<Allocation> allocations = new ArrayList<>();
+        int remaining = amount;
+        for (int i = 0; i < bucketCount && remaining > 0; i++) {
+            int bucketNo = (firstBucket + i) % bucketCount;
+            int portion = Math.min(remaining, bucketNo < capacity.size() ? capacity.get(bucketNo) : 0);
+            if (portion > 0 && operation.tryApply(bucketNo, portion)) {
+                allocations.add(new Allocation(bucketNo, portion));
+                remaining -= portion;
+            }
+        }
+        return remaining == 0 ? allocations : List.of();
+    }
+
+    @FunctionalInterface
+    public interface BucketOperation {
+        boolean tryApply(int bucketNo, int amount);
+    }
+
+    public record Allocation(int bucketNo, int quantity) {
+    }
+}
@@ -0,0 +1,203 @@
+package productservice.service.stock;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import productservice.common.exception.CustomGlobalException;
+import productservice.common.exception.ErrorType;
+import productservice.entity.ProductStock;
+import productservice.entity.ProductStockBucket;
+import productservice.repository.ProductStockBucketJpaRepository;
+import productservice.repository.ProductStockJpaRepository;
+import productservice.service.stock.StockBucketAllocator.Allocation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 인기 옵션 버킷 재고 (DB 모드에서 옵션별로 켜는 기능)
+ * - 예약은 임의 버킷부터, 확정/취소는 예약했던 버킷부터 시도하고 모자라면 다른 버킷으로 넘어간다
+ * - 호출자 트랜잭션 안에서 조건부 UPDATE 만 사용하므로 서로 다른 버킷을 고른 주문은 락 경합이 없다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockBucketService {
+
+    public static final int MAX_BUCKET_COUNT = 64;
+
+    private final ProductStockBucketJpaRepository productStockBucketJpaRepository;
+    private final ProductStockJpaRepository productStockJpaRepository;
+
+    @Value("${stock.engine:db}")
+    private String stockEngine;
+
+    public List<Allocation> reserve(ProductStock stock, int amount) {
+        Long optionId = stock.getProductOption().getId();
+        int bucketCount = stock.getBucketCount();
+
+        List<Allocation> allocations = StockBucketAllocator.allocate(
+                bucketCount,
+                ThreadLocalRandom.current().nextInt(bucketCount),
+                amount,
+                (bucketNo, portion) -> productStockBucketJpaRepository.reserve(optionId, bucketNo, portion) == 1,
+                () -> productStockBucketJpaRepository.findAvailableQuantities(optionId));
+
+        if (allocations.isEmpty()) {
+            throw new CustomGlobalException(ErrorType.NOT_ENOUGH_STOCK);
+        }
+        return allocations;
+    }
+
+    public List<Allocation> confirmReservation(ProductStock stock, Integer bucketNo, int amount) {
+        Long optionId = stock.getProductOption().getId();
+        return decreaseReserved(stock, bucketNo, amount,
+                (bucket, portion) -> productStockBucketJpaRepository.confirmReservation(optionId, bucket, portion) == 1);
+    }
+
+    public List<Allocation> cancelReservation(ProductStock stock, Integer bucketNo, int amount) {
+        Long optionId = stock.getProductOption().getId();
+        return decreaseReserved(stock, bucketNo, amount,
+                (bucket, portion) -> productStockBucketJpaRepository.cancelReservation(optionId, bucket, portion) == 1);
+    }
+
+    public List<Allocation> rollbackConfirmation(ProductStock stock, Integer bucketNo, int amount) {
+        int bucket = bucketOrFirst(stock, bucketNo);
+        productStockBucketJpaRepository.increaseQuantity(stock.getProductOption().getId(), bucket, amount);
+        return List.of(new Allocation(bucket, amount));
+    }
+
+    public List<Allocation> rollbackReservation(ProductStock stock, Integer bucketNo, int amount) {
+        int bucket = bucketOrFirst(stock, bucketNo);
+        productStockBucketJpaRepository.increaseReserved(stock.getProductOption().getId(), bucket, amount);
+        return List.of(new Allocation(bucket, amount));
+    }
+
+    /**
+     * 입고 수량을 버킷에 고르게 나눠 더한다
+     */
+    @Transactional
+    public void increase(ProductStock stock, int amount) {
+        Long optionId = stock.getProductOption().getId();
+        int bucketCount = stock.getBucketCount();
+        for (int bucketNo = 0; bucketNo < bucketCount; bucketNo++) {
+            int portion = share(amount, bucketCount, bucketNo);
+            if (portion > 0) {
+                productStockBucketJpaRepository.increaseQuantity(optionId, bucketNo, portion);
+            }
+        }
+    }
+
+    /**
+     * 버킷 수 변경 (0 이면 단일 행으로 되돌림)
+     * - 기존 버킷은 합쳐서 ProductStock 에 반영한 뒤 다시 나눈다
+     * - 예약 수량은 0번 버킷에 모으고, 예약 가능 수량만 고르게 나눈다 (버킷을 모르는 예약 이력은 0번 버킷부터 처리)
+     */
+    @Transactional
+    public void changeBucketCount(Long productOptionId, int bucketCount) {
+        // redis 모드는 write-behind 가 ProductStock 행에 직접 반영하므로 버킷을 쓰지 않는다
+        if (!"db".equals(stockEngine)) {
+            throw new CustomGlobalException(ErrorType.STOCK_BUCKET_UNSUPPORTED);
+        }
+        if (bucketCount < 0 || bucketCount == 1 || bucketCount > MAX_BUCKET_COUNT) {
+            throw new CustomGlobalException(ErrorType.INVALID_STOCK_BUCKET_COUNT);
+        }
+
+        ProductStock stock = productStockJpaRepository.findByProductOptionId(productOptionId)
+                .orElseThrow(() -> new CustomGlobalException(ErrorType.NOT_FOUND_STOCK));
+
+        List<ProductStockBucket> buckets = productStockBucketJpaRepository.findAllForUpdate(productOptionId);
+        if (!buckets.isEmpty()) {
+            stock.syncFromBuckets(
+                    buckets.stream().mapToInt(ProductStockBucket::getQuantity).sum(),
+                    buckets.stream().mapToInt(ProductStockBucket::getReservedQuantity).sum());
+            productStockBucketJpaRepository.deleteAllInBatch(buckets);
+        }
+
+        if (bucketCount > 0) {
+            int available = stock.getQuantity() - stock.getReservedQuantity();
+            List<ProductStockBucket> newBuckets = new ArrayList<>(bucketCount);
+            for (int bucketNo = 0; bucketNo < bucketCount; bucketNo++) {
+                int reserved = bucketNo == 0 ? stock.getReservedQuantity() : 0;
+                newBuckets.add(ProductStockBucket.create(productOptionId, bucketNo,
+                        reserved + share(available, bucketCount, bucketNo), reserved));
+            }
+            productStockBucketJpaRepository.saveAll(newBuckets);
+        }
+
+        stock.changeBucketCount(bucketCount);
+        log.info("재고 버킷 수 변경 - productOptionId: {}, bucketCount: {}, quantity: {}, reserved: {}",
+                productOptionId, bucketCount, stock.getQuantity(), stock.getReservedQuantity());
+    }
+
+    /**
+     * 버킷 간 예약 가능 수량 차이가 벌어지면 고르게 재분배하고, 합계를 ProductStock 에 요약한다
+     *
+     * @return 재분배 여부
+     */
+    @Transactional
+    public boolean rebalance(Long productOptionId) {
+        List<ProductStockBucket> buckets = productStockBucketJpaRepository.findAllForUpdate(productOptionId);
+        if (buckets.isEmpty()) {
+            return false;
+        }
+
+        int bucketCount = buckets.size();
+        int totalAvailable = 0;
+        int minAvailable = Integer.MAX_VALUE;
+        int maxAvailable = Integer.MIN_VALUE;
+        for (ProductStockBucket bucket : buckets) {
+            int available = bucket.getAvailableQuantity();
+            totalAvailable += available;
+            minAvailable = Math.min(minAvailable, available);
+            maxAvailable = Math.max(maxAvailable, available);
+        }
+
+        // 버킷당 평균의 절반 이상 벌어졌을 때만 옮긴다
+        boolean drifted = maxAvailable - minAvailable > Math.max(1, totalAvailable / bucketCount / 2);
+        if (drifted) {
+            for (int i = 0; i < bucketCount; i++) {
+                buckets.get(i).rebalance(share(totalAvailable, bucketCount, i));
+            }
+            log.info("재고 버킷 재분배 - productOptionId: {}, 예약 가능: {}, 편차: {}",
+                    productOptionId, totalAvailable, maxAvailable - minAvailable);
+        }
+
+        productStockJpaRepository.findByProductOptionId(productOptionId).ifPresent(stock -> stock.syncFromBuckets(
+                buckets.stream().mapToInt(ProductStockBucket::getQuantity).sum(),
+                buckets.stream().mapToInt(ProductStockBucket::getReservedQuantity).sum()));
+        return drifted;
+    }
+
+    public List<Long> findBucketedOptionIds() {
+        return productStockBucketJpaRepository.findBucketedOptionIds();
+    }
+
+    private List<Allocation> decreaseReserved(ProductStock stock, Integer bucketNo, int amount,
+                                              StockBucketAllocator.BucketOperation operation) {
+        Long optionId = stock.getProductOption().getId();
+        List<Allocation> allocations = StockBucketAllocator.allocate(
+                stock.getBucketCount(),
+                bucketOrFirst(stock, bucketNo),
+                amount,
+                operation,
+                () -> productStockBucketJpaRepository.findReservedQuantities(optionId));
+
+        if (allocations.isEmpty()) {
+            throw new CustomGlobalException(ErrorType.INVALID_STOCK_RESERVATION);
+        }
+        return allocations;
+    }
+
+    private static int bucketOrFirst(ProductStock stock, Integer bucketNo) {
+        return bucketNo != null && bucketNo < stock.getBucketCount() ? bucketNo : 0;
+    }
+
+    // total 을 bucketCount 개로 나눌 때 bucketNo 번째 몫 (나머지는 앞 버킷부터 1씩)
+    private static int share(int total, int bucketCount, int bucketNo) {
+        return total / bucketCount + (bucketNo < total % bucketCount ? 1 : 0);
+    }
+}
@@ -0,0 +1,29 @@
+package productservice.service.stock;
+
+import productservice.service.dto.StockReserveRequest;
+
+/**
+ * 재고 예약/확정/취소/롤백 처리 방식
+ * - stock.engine=db (기본): ProductStock 행을 직접 변경 (DbStockEngine)
+ * - stock.engine=redis: Redis 에서 원자적으로 변경하고 DB 는 write-behind 로 반영 (RedisStockEngine)
+ */
+public interface StockEngine {
+
+    void reserve(StockReserveRequest request);
+
+    void confirm(Long orderId);
+
+    void cancel(Long orderId);
+
+    void rollbackConfirmation(Long orderId);
+
+    void rollbackReservation(Long orderId);
+
+    /**
+     * DB 재고가 직접 증가된 뒤 호출 (입고 등)
+     *
+     * @param stockVersion 증가를 커밋한 뒤의 ProductStock.version
+     */
+    default void afterStockIncreased(Long productOptionId, int amount, long stockVersion) {
+    }
+}
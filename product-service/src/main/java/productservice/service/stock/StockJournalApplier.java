@@ -0,0 +1,84 @@
+package productservice.service.stock;
+
+import event.EventType;
+import event.payload.ProductChangedPayload;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import outboxmessagerelay.OutboxEventPublisher;
+import productservice.entity.ProductStock;
+import productservice.entity.ProductTransactionHistory;
+import productservice.repository.ProductStockJpaRepository;
+import productservice.repository.ProductTransactionHistoryJdbcRepository;
+import productservice.repository.ProductTransactionJpaRepository;
+import productservice.repository.StockRedisRepository.JournalEntry;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Redis 재고 저널을 DB 에 한 트랜잭션으로 반영
+ * - 옵션별 변화량을 합산해 ProductStock 은 옵션당 한 번만 갱신한다
+ * - 이미 반영된 저널(journalId)은 건너뛰므로 같은 배치를 다시 반영해도 안전하다
+ * - 바뀐 옵션은 배치당 한 번 PRODUCT_CHANGED 이벤트로 검색 색인에 알린다
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "stock.engine", havingValue = "redis")
+public class StockJournalApplier {
+
+    private final ProductStockJpaRepository productStockJpaRepository;
+    private final ProductTransactionJpaRepository productTransactionJpaRepository;
+    private final ProductTransactionHistoryJdbcRepository productTransactionHistoryJdbcRepository;
+    private final OutboxEventPublisher outboxEventPublisher;
+
+    @Transactional
+    public int apply(List<JournalEntry> entries) {
+        Set<String> appliedIds = new HashSet<>(productTransactionJpaRepository.findJournalIdsIn(
+                entries.stream().map(JournalEntry::id).toList()));
+
+        List<JournalEntry> pending = entries.stream()
+                .filter(entry -> !appliedIds.contains(entry.id()))
+                .toList();
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, int[]> deltas = new HashMap<>();
+        for (JournalEntry entry : pending) {
+            int[] delta = deltas.computeIfAbsent(entry.productOptionId(), id -> new int[2]);
+            delta[0] += entry.quantityDelta();
+            delta[1] += entry.reservedDelta();
+        }
+
+        List<ProductStock> stocks = productStockJpaRepository.findAllByProductOptionIdIn(deltas.keySet());
+        for (ProductStock stock : stocks) {
+            int[] delta = deltas.get(stock.getProductOption().getId());
+            stock.applyJournal(delta[0], delta[1]);
+        }
+        if (stocks.size() != deltas.size()) {
+            log.warn("저널 반영 대상 재고 누락 - 요청 옵션 수: {}, 조회된 재고 수: {}", deltas.size(), stocks.size());
+        }
+
+        productTransactionHistoryJdbcRepository.batchInsert(pending.stream()
+                .map(entry -> ProductTransactionHistory.fromJournal(
+                        entry.id(),
+                        entry.orderId(),
+                        entry.productOptionId(),
+                        entry.quantity(),
+                        entry.type(),
+                        entry.occurredAt()))
+                .toList());
+
+        // 배치에서 바뀐 옵션을 한 이벤트로 검색 색인에 알린다
+        outboxEventPublisher.publish(EventType.PRODUCT_CHANGED, ProductChangedPayload.ofStock(List.copyOf(deltas.keySet())));
+
+        return pending.size();
+    }
+}
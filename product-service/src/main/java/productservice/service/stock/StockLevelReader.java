@@ -0,0 +1,88 @@
+package productservice.service.stock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import productservice.common.cache.LocalExpiringCache;
+import productservice.repository.ProductStockJpaRepository;
+import productservice.repository.ProductStockJpaRepository.StockQuantityView;
+import productservice.repository.StockRedisRepository;
+import productservice.service.dto.StockLevel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 조회/검색 응답에 덧씌우는 옵션별 현재 재고
+ * - redis 모드: 적재된 옵션은 Redis 값을 그대로 읽는다 (실시간)
+ * - db 모드 또는 Redis 에 없는 옵션: DB 값을 짧은 TTL 로 로컬 캐시해서 읽는다
+ *   (조회/검색 요청마다 옵션 수만큼 읽으므로 전역 잠금이 없는 LocalExpiringCache 를 쓴다)
+ * - 상품 정보 캐시에는 재고를 넣지 않으므로 재고가 자주 바뀌어도 상품 캐시는 길게 유지된다
+ */
+@Slf4j
+@Component
+public class StockLevelReader {
+
+    private final StockRedisRepository stockRedisRepository;
+    private final ProductStockJpaRepository productStockJpaRepository;
+    private final boolean redisEngine;
+    private final long dbTtlMillis;
+    private final LocalExpiringCache<Long, StockLevel> dbLevels;
+
+    public StockLevelReader(StockRedisRepository stockRedisRepository,
+                            ProductStockJpaRepository productStockJpaRepository,
+                            @Value("${stock.engine:db}") String stockEngine,
+                            @Value("${product.stock-level.db-ttl-millis:1000}") long dbTtlMillis,
+                            @Value("${product.stock-level.local-max-size:50000}") int localMaxSize) {
+        this.stockRedisRepository = stockRedisRepository;
+        this.productStockJpaRepository = productStockJpaRepository;
+        this.redisEngine = "redis".equals(stockEngine);
+        this.dbTtlMillis = dbTtlMillis;
+        this.dbLevels = new LocalExpiringCache<>(localMaxSize);
+    }
+
+    /**
+     * @return 옵션ID → 재고 (재고 행이 없는 옵션은 빠진다)
+     */
+    public Map<Long, StockLevel> read(Collection<Long> productOptionIds) {
+        if (productOptionIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, StockLevel> levels = new HashMap<>();
+        if (redisEngine) {
+            try {
+                levels.putAll(stockRedisRepository.readLevels(List.copyOf(productOptionIds)));
+            } catch (Exception e) {
+                log.warn("Redis 재고 조회 실패 - DB 값 사용, 옵션 수: {}, error: {}", productOptionIds.size(), e.getMessage());
+            }
+        }
+
+        List<Long> missing = new ArrayList<>();
+        for (Long productOptionId : productOptionIds) {
+            if (levels.containsKey(productOptionId)) {
+                continue;
+            }
+            StockLevel cached = dbLevels.get(productOptionId);
+            if (cached != null) {
+                levels.put(productOptionId, cached);
+            } else {
+                missing.add(productOptionId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (StockQuantityView view : productStockJpaRepository.findQuantitiesByProductOptionIdIn(missing)) {
+                StockLevel level = new StockLevel(
+                        view.getQuantity() != null ? view.getQuantity() : 0,
+                        view.getReservedQuantity() != null ? view.getReservedQuantity() : 0);
+                levels.put(view.getProductOptionId(), level);
+                dbLevels.put(view.getProductOptionId(), level, dbTtlMillis);
+            }
+        }
+        return levels;
+    }
+}
@@ -0,0 +1,350 @@
+package productservice.service.stock;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import productservice.repository.StockRedisRepository;
+import productservice.repository.StockRedisRepository.LeasedReservation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 인기 옵션 재고 임대 (stock.engine=redis, stock.lease.enabled=true)
+ * - 인스턴스가 중앙 재고(Redis)에서 일정 수량(chunk)을 임대해 메모리 카운터로 예약 가능 여부를 판단한다
+ *   → 예약마다 같은 재고 키를 두드리지 않는다
+ * - 남은 수량이 lowWatermark 아래로 내려가면 다음 chunk 를 미리 임대하고, ttl 동안 새로 임대하지 않은 옵션은 남은 수량을 반납한다
+ *   (반납한 옵션은 로컬 임대 목록에서 빠지고, 다음 예약 때 새로 임대한다)
+ * - 임대는 reserved + leased 가 quantity 를 넘지 않는 범위에서만 허용되므로 임대 합계가 재고를 넘지 않는다
+ * - 주문 기록/저널은 여러 예약을 모아 한 번의 스크립트로 확정한다 (그룹 커밋, 확정이 끝나야 응답)
+ * - 죽은 인스턴스의 임대분은 만료 후 다른 인스턴스가 회수한다
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("'${stock.engine:db}' == 'redis' and ${stock.lease.enabled:false}")
+public class StockQuotaLeaseManager {
+
+    private static final int MAX_COMMIT_BATCH = 200;
+    private static final long COMMIT_TIMEOUT_MILLIS = 3000;
+    // 살아 있는 인스턴스가 먼저 반납하도록 중앙 만료는 로컬 만료보다 여유를 둔다
+    private static final long CENTRAL_EXPIRY_GRACE_MILLIS = 20000;
+    // 임대를 거절당한 옵션(재고가 적거나 미적재)은 잠시 중앙 재고로 바로 예약한다
+    private static final long LEASE_DENIED_BACKOFF_MILLIS = 1000;
+
+    private final StockRedisRepository stockRedisRepository;
+    private final int chunkSize;
+    private final int lowWatermark;
+    private final int minAvailableToLease;
+    private final long ttlMillis;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<Long, LocalLease> leases = new ConcurrentHashMap<>();
+    private final BlockingQueue<PendingReservation> pendingReservations = new LinkedBlockingQueue<>();
+    private final ExecutorService refillExecutor = Executors.newSingleThreadExecutor();
+    private final Thread committer;
+    private final Counter localReservations;
+    private final Counter rejectedReservations;
+    private final Counter fallbackReservations;
+    private volatile boolean running = true;
+
+    public StockQuotaLeaseManager(StockRedisRepository stockRedisRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${stock.lease.chunk:50}") int chunkSize,
+                                  @Value("${stock.lease.low-watermark:10}") int lowWatermark,
+                                  @Value("${stock.lease.min-available:200}") int minAvailableToLease,
+                                  @Value("${stock.lease.ttl-millis:10000}") long ttlMillis) {
+        this.stockRedisRepository = stockRedisRepository;
+        this.chunkSize = chunkSize;
+        this.lowWatermark = lowWatermark;
+        this.minAvailableToLease = minAvailableToLease;
+        this.ttlMillis = ttlMillis;
+        this.localReservations = reservationCounter(meterRegistry, "local");
+        this.rejectedReservations = reservationCounter(meterRegistry, "rejected");
+        this.fallbackReservations = reservationCounter(meterRegistry, "fallback");
+        this.committer = new Thread(this::commitLoop, "stock-lease-committer");
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    /**
+     * 임대 수량으로 주문 전체 예약을 시도
+     *
+     * @param quantities 옵션ID → 수량 (합산된 값)
+     * @return 예약 결과 (StockRedisRepository 코드), 임대 수량이 모자라면 empty → 중앙 재고로 예약
+     */
+    public Optional<Long> tryReserve(Long orderId, Map<Long, Integer> quantities) {
+        Map<Long, LocalLease> acquired = new LinkedHashMap<>();
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            LocalLease lease = acquire(entry.getKey(), entry.getValue());
+            if (lease == null) {
+                release(acquired, quantities);
+                fallbackReservations.increment();
+                return Optional.empty();
+            }
+            acquired.put(entry.getKey(), lease);
+        }
+
+        PendingReservation pending = new PendingReservation(new LeasedReservation(orderId, quantities), new CompletableFuture<>());
+        pendingReservations.add(pending);
+
+        long result;
+        try {
+            result = pending.result().get(COMMIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 확정됐는지 알 수 없으므로 로컬 수량을 되돌리지 않는다 (중앙 임대분은 만료 때 회수)
+            throw new IllegalStateException("임대 재고 예약 확정 시간 초과 - orderId: " + orderId, e);
+        } catch (ExecutionException e) {
+            release(acquired, quantities);
+            throw new IllegalStateException("임대 재고 예약 확정 실패 - orderId: " + orderId, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("임대 재고 예약 확정 중 인터럽트 - orderId: " + orderId, e);
+        }
+
+        if (result != StockRedisRepository.APPLIED) {
+            release(acquired, quantities);
+        }
+        (result == StockRedisRepository.APPLIED ? localReservations : rejectedReservations).increment();
+        return Optional.of(result);
+    }
+
+    /**
+     * @return 수량을 가져온 임대, 모자라면 null
+     */
+    private LocalLease acquire(Long productOptionId, int amount) {
+        while (true) {
+            LocalLease lease = leases.computeIfAbsent(productOptionId, id -> new LocalLease());
+            if (lease.tryTake(amount)) {
+                if (lease.remaining.get() < lowWatermark) {
+                    refillAsync(productOptionId, lease);
+                }
+                return lease;
+            }
+            // 반납 중인 임대를 집었으면 새 임대로 다시 시도
+            if (lease.isRetired()) {
+                continue;
+            }
+
+            if (lease.leaseDeniedUntilMillis > System.currentTimeMillis()) {
+                return null;
+            }
+
+            // 로컬 수량이 모자라면 한 번만 바로 임대해 본다
+            leaseFromCentral(productOptionId, lease, Math.max(chunkSize, amount));
+            if (lease.tryTake(amount)) {
+                return lease;
+            }
+            if (!lease.isRetired()) {
+                return null;
+            }
+        }
+    }
+
+    // 가져온 임대로 돌려놓고, 그 사이 반납된 임대면 중앙 재고로 바로 반납
+    private void release(Map<Long, LocalLease> acquired, Map<Long, Integer> quantities) {
+        acquired.forEach((productOptionId, lease) -> {
+            int amount = quantities.get(productOptionId);
+            if (!lease.give(amount)) {
+                returnToCentral(productOptionId, amount);
+            }
+        });
+    }
+
+    private void refillAsync(Long productOptionId, LocalLease lease) {
+        if (!lease.refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refillExecutor.execute(() -> {
+                try {
+                    leaseFromCentral(productOptionId, lease, chunkSize);
+                } catch (Exception e) {
+                    log.warn("재고 임대 실패 - productOptionId: {}, error: {}", productOptionId, e.getMessage());
+                } finally {
+                    lease.refilling.set(false);
+                }
+            });
+        } catch (Exception e) {
+            lease.refilling.set(false);
+        }
+    }
+
+    private void leaseFromCentral(Long productOptionId, LocalLease lease, int amount) {
+        long now = System.currentTimeMillis();
+        long granted = stockRedisRepository.lease(productOptionId, instanceId, amount, minAvailableToLease,
+                now + ttlMillis + CENTRAL_EXPIRY_GRACE_MILLIS);
+        if (granted > 0) {
+            lease.expiresAtMillis = now + ttlMillis;
+            if (!lease.give((int) granted)) {
+                returnToCentral(productOptionId, (int) granted);
+            }
+        } else {
+            lease.leaseDeniedUntilMillis = now + LEASE_DENIED_BACKOFF_MILLIS;
+        }
+    }
+
+    /**
+     * ttl 동안 새로 임대하지 않은 옵션은 남은 수량을 중앙 재고로 반납하고 로컬 임대 목록에서 뺀다
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void returnExpiredLeases() {
+        long now = System.currentTimeMillis();
+        leases.forEach((productOptionId, lease) -> {
+            if (lease.expiresAtMillis <= now && lease.leaseDeniedUntilMillis <= now) {
+                retire(productOptionId, lease);
+            }
+        });
+    }
+
+    // 목록에서 먼저 빼서 이후 예약은 새 임대를 만들게 하고, 남은 수량을 반납한다
+    private void retire(Long productOptionId, LocalLease lease) {
+        if (!leases.remove(productOptionId, lease)) {
+            return;
+        }
+        int unused = lease.retire();
+        if (unused > 0) {
+            returnToCentral(productOptionId, unused);
+        }
+    }
+
+    /**
+     * 죽은 인스턴스가 들고 있던 만료 임대 회수
+     */
+    @Scheduled(fixedDelay = 5000)
+    public void reclaimExpiredLeases() {
+        long reclaimed = stockRedisRepository.reclaimExpiredLeases(100);
+        if (reclaimed > 0) {
+            log.info("만료 재고 임대 회수 - count: {}", reclaimed);
+        }
+    }
+
+    private void returnToCentral(Long productOptionId, int amount) {
+        try {
+            long returned = stockRedisRepository.returnLease(productOptionId, instanceId, amount);
+            log.info("재고 임대 반납 - productOptionId: {}, 반납: {}", productOptionId, returned);
+        } catch (Exception e) {
+            // 반납하지 못한 수량은 중앙 만료 후 회수된다
+            log.warn("재고 임대 반납 실패 - productOptionId: {}, amount: {}, error: {}",
+                    productOptionId, amount, e.getMessage());
+        }
+    }
+
+    private void commitLoop() {
+        List<PendingReservation> batch = new ArrayList<>(MAX_COMMIT_BATCH);
+        while (running || !pendingReservations.isEmpty()) {
+            try {
+                PendingReservation first = pendingReservations.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                pendingReservations.drainTo(batch, MAX_COMMIT_BATCH - 1);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingReservation> batch) {
+        try {
+            List<Long> results = stockRedisRepository.commitLeasedReservations(instanceId,
+                    batch.stream().map(PendingReservation::reservation).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(results.get(i));
+            }
+        } catch (Exception e) {
+            log.error("임대 재고 예약 확정 실패 - batch: {}, error: {}", batch.size(), e.getMessage(), e);
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+        }
+    }
+
+    private static Counter reservationCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("stock.lease.reservations")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        committer.join(COMMIT_TIMEOUT_MILLIS);
+        // 진행 중인 임대가 끝나야 받은 수량까지 반납된다
+        refillExecutor.shutdown();
+        refillExecutor.awaitTermination(COMMIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        leases.forEach(this::retire);
+    }
+
+    private record PendingReservation(LeasedReservation reservation, CompletableFuture<Long> result) {
+    }
+
+    private static class LocalLease {
+
+        // 반납된 임대 표시 - 더 가져갈 수도 돌려놓을 수도 없다
+        private static final int RETIRED = Integer.MIN_VALUE;
+
+        private final AtomicInteger remaining = new AtomicInteger();
+        private final AtomicBoolean refilling = new AtomicBoolean();
+        private volatile long expiresAtMillis;
+        private volatile long leaseDeniedUntilMillis;
+
+        boolean tryTake(int amount) {
+            int current;
+            do {
+                current = remaining.get();
+                if (current < amount) {
+                    return false;
+                }
+            } while (!remaining.compareAndSet(current, current - amount));
+            return true;
+        }
+
+        /**
+         * @return 반납된 임대면 false (호출자가 중앙 재고로 반납한다)
+         */
+        boolean give(int amount) {
+            int current;
+            do {
+                current = remaining.get();
+                if (current == RETIRED) {
+                    return false;
+                }
+            } while (!remaining.compareAndSet(current, current + amount));
+            return true;
+        }
+
+        /**
+         * @return 반납할 남은 수량
+         */
+        int retire() {
+            return Math.max(0, remaining.getAndSet(RETIRED));
+        }
+
+        boolean isRetired() {
+            return remaining.get() == RETIRED;
+        }
+    }
+}
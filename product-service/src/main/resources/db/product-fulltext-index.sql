@@ -0,0 +1,4 @@
+-- 상품명 FULLTEXT 색인 (ngram 파서, 기본 ngram_token_size = 2)
+-- 테이블에 첫 FULLTEXT 색인을 만들 때는 테이블을 다시 쓰므로 트래픽이 적을 때 실행한다
+-- 색인이 없으면 ProductDatabaseSearch 는 LIKE 검색을 그대로 쓴다
+ALTER TABLE product ADD FULLTEXT INDEX ft_product_name (name) WITH PARSER ngram;
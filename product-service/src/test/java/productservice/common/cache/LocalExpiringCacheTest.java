@@ -0,0 +1,94 @@
+package productservice.common.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalExpiringCacheTest {
+
+    @Test
+    @DisplayName("TTL 이 지난 항목은 읽히지 않고 지워진다.")
+    void getExpires() throws InterruptedException {
+        //given
+        LocalExpiringCache<Long, String> cache = new LocalExpiringCache<>(10);
+        cache.put(1L, "one", 1);
+        cache.put(2L, "two", 10_000);
+
+        //when
+        Thread.sleep(5);
+
+        //then
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(2L)).isEqualTo("two");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("가득 차면 만료된 항목을 쓸어 내 자리를 만들고, 그래도 가득 차 있으면 새 항목을 캐시하지 않는다.")
+    void putWhenFull() throws InterruptedException {
+        //given
+        LocalExpiringCache<Long, String> cache = new LocalExpiringCache<>(2);
+        cache.put(1L, "one", 1);
+        cache.put(2L, "two", 10_000);
+        Thread.sleep(5);
+
+        //when
+        cache.put(3L, "three", 10_000);
+        cache.put(4L, "four", 10_000);
+
+        //then
+        assertThat(cache.get(3L)).isEqualTo("three");
+        assertThat(cache.get(4L)).isNull();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("가득 차 있어도 이미 있는 키는 새 값으로 바꾼다.")
+    void putReplacesExistingWhenFull() {
+        //given
+        LocalExpiringCache<Long, String> cache = new LocalExpiringCache<>(1);
+        cache.put(1L, "before", 10_000);
+
+        //when
+        cache.put(1L, "after", 10_000);
+
+        //then
+        assertThat(cache.get(1L)).isEqualTo("after");
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 읽고 써도 maxSize 근처를 넘지 않고 값이 섞이지 않는다.")
+    void concurrentAccess() throws Exception {
+        //given
+        LocalExpiringCache<Long, Long> cache = new LocalExpiringCache<>(1_000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        //when
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            results.add(executor.submit(() -> {
+                boolean consistent = true;
+                for (long key = 0; key < 2_000; key++) {
+                    cache.put(key, key * 10, 10_000);
+                    Long value = cache.get(key);
+                    consistent &= value == null || value == key * 10;
+                }
+                return consistent;
+            }));
+        }
+        executor.shutdown();
+
+        //then
+        for (Future<Boolean> result : results) {
+            assertThat(result.get()).isTrue();
+        }
+        assertThat(cache.size()).isLessThanOrEqualTo(1_000 + 8);
+    }
+}
@@ -0,0 +1,83 @@
+package productservice.common.scheduler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RedissonClient;
+import productservice.repository.StockRedisRepository;
+import productservice.service.stock.StockJournalApplier;
+import productservice.support.RedisTestSupport;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StockWriteBehindSchedulerTest extends RedisTestSupport {
+
+    private StockRedisRepository stockRedisRepository;
+    private StockJournalApplier stockJournalApplier;
+    private StockWriteBehindScheduler stockWriteBehindScheduler;
+
+    @BeforeEach
+    void setUp() {
+        stockRedisRepository = new StockRedisRepository(redisTemplate);
+        stockJournalApplier = mock(StockJournalApplier.class);
+        stockWriteBehindScheduler = new StockWriteBehindScheduler(
+                mock(RedissonClient.class), stockRedisRepository, stockJournalApplier);
+
+        stockRedisRepository.loadIfAbsent(1L, 10, 0, 0);
+        stockRedisRepository.reserve(100L, Map.of(1L, 1));
+        stockRedisRepository.reserve(200L, Map.of(1L, 1));
+    }
+
+    @Test
+    @DisplayName("DB 반영이 끝난 배치만 저널에서 삭제한다.")
+    void drainDeletesAppliedBatch() {
+        //given
+        when(stockJournalApplier.apply(anyList())).thenReturn(2);
+
+        //when
+        int drained = stockWriteBehindScheduler.drainBatch();
+
+        //then
+        assertThat(drained).isEqualTo(2);
+        assertThat(stockRedisRepository.journalSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("DB 반영이 실패하면 저널을 남겨 두고, 다음 반영에서 같은 저널을 다시 읽는다.")
+    void drainKeepsJournalOnFailure() {
+        //given
+        when(stockJournalApplier.apply(anyList()))
+                .thenThrow(new IllegalStateException("DB 장애"))
+                .thenReturn(2);
+
+        //when
+        assertThatThrownBy(() -> stockWriteBehindScheduler.drainBatch()).isInstanceOf(IllegalStateException.class);
+        long remaining = stockRedisRepository.journalSize();
+        int retried = stockWriteBehindScheduler.drainBatch();
+
+        //then
+        assertThat(remaining).isEqualTo(2);
+        assertThat(retried).isEqualTo(2);
+        assertThat(stockRedisRepository.journalSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("이미 반영된 저널을 다시 읽어도(반영 0 건) 저널은 삭제된다.")
+    void drainAlreadyAppliedBatch() {
+        //given - 반영 후 삭제 전에 죽은 경우, StockJournalApplier 가 journalId 로 모두 건너뛴다
+        when(stockJournalApplier.apply(anyList())).thenReturn(0);
+
+        //when
+        int drained = stockWriteBehindScheduler.drainBatch();
+
+        //then
+        assertThat(drained).isEqualTo(2);
+        assertThat(stockRedisRepository.journalSize()).isZero();
+    }
+}
@@ -0,0 +1,107 @@
+package productservice.facade;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import productservice.common.exception.CustomGlobalException;
+import productservice.common.exception.ErrorType;
+import productservice.service.ProductService;
+import productservice.service.dto.ProductOptionRequest.StockUpdate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedissonLockIncreaseFacadeTest {
+
+    @InjectMocks
+    private RedissonLockIncreaseFacade redissonLockIncreaseFacade;
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private RLock multiLock;
+
+    @Test
+    @DisplayName("옵션 락은 중복 없이 옵션ID 오름차순으로 잡고, 처리 후 MultiLock 을 푼다.")
+    void increaseStockBatchLocksSortedOptions() throws InterruptedException {
+        //given
+        RLock lock1 = mock(RLock.class);
+        RLock lock2 = mock(RLock.class);
+        when(redissonClient.getLock("PRODUCT_STOCK_LOCK:1")).thenReturn(lock1);
+        when(redissonClient.getLock("PRODUCT_STOCK_LOCK:2")).thenReturn(lock2);
+        when(redissonClient.getMultiLock(lock1, lock2)).thenReturn(multiLock);
+        when(multiLock.tryLock(anyLong(), eq(-1L), eq(TimeUnit.SECONDS))).thenReturn(true);
+        List<StockUpdate> requests = List.of(update(2L), update(1L), update(2L));
+
+        //when
+        redissonLockIncreaseFacade.increaseStockBatch(requests);
+
+        //then
+        InOrder inOrder = inOrder(productService, multiLock);
+        inOrder.verify(productService).increaseStockBatch(requests);
+        inOrder.verify(multiLock).unlock();
+    }
+
+    @Test
+    @DisplayName("재고 반영이 실패해도 MultiLock 을 풀고 예외를 그대로 던진다.")
+    void increaseStockBatchReleasesLockOnFailure() throws InterruptedException {
+        //given
+        givenMultiLock();
+        when(multiLock.tryLock(anyLong(), eq(-1L), eq(TimeUnit.SECONDS))).thenReturn(true);
+        doThrow(new CustomGlobalException(ErrorType.NOT_FOUND_PRODUCT_OPTION))
+                .when(productService).increaseStockBatch(anyList());
+
+        //when & then
+        assertThatThrownBy(() -> redissonLockIncreaseFacade.increaseStockBatch(List.of(update(1L))))
+                .isInstanceOf(CustomGlobalException.class);
+        verify(multiLock).unlock();
+    }
+
+    @Test
+    @DisplayName("락을 제시간에 잡지 못하면 재고를 늘리지 않고 락 획득 실패로 거절한다.")
+    void increaseStockBatchLockTimeout() throws InterruptedException {
+        //given
+        givenMultiLock();
+        when(multiLock.tryLock(anyLong(), eq(-1L), eq(TimeUnit.SECONDS))).thenReturn(false);
+
+        //when & then
+        assertThatThrownBy(() -> redissonLockIncreaseFacade.increaseStockBatch(List.of(update(1L))))
+                .isInstanceOf(CustomGlobalException.class)
+                .extracting("errorType")
+                .isEqualTo(ErrorType.LOCK_ACQUISITION_FAILED);
+        verify(productService, never()).increaseStockBatch(anyList());
+        verify(multiLock, never()).unlock();
+    }
+
+    private void givenMultiLock() {
+        when(redissonClient.getLock(any(String.class))).thenReturn(mock(RLock.class));
+        when(redissonClient.getMultiLock(any(RLock[].class))).thenReturn(multiLock);
+    }
+
+    private static StockUpdate update(Long optionId) {
+        return StockUpdate.builder().productId(100L).optionId(optionId).quantity(1).build();
+    }
+}
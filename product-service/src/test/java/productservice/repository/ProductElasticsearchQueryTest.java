@@ -0,0 +1,119 @@
+package productservice.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import productservice.entity.ProductDocument;
+import productservice.repository.ProductElasticsearchQuery.SearchResult;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductElasticsearchQueryTest {
+
+    private static final String KEYWORD = "셔츠";
+    private static final String PIT_ID = "pit-1";
+    private static final long TOTAL = 5;
+    private static final int PAGE_SIZE = 2;
+
+    private ElasticsearchOperations elasticsearchOperations;
+    private ProductElasticsearchQuery productElasticsearchQuery;
+    private final Set<String> closedPits = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        elasticsearchOperations = mock(ElasticsearchOperations.class);
+        productElasticsearchQuery = new ProductElasticsearchQuery(elasticsearchOperations);
+
+        when(elasticsearchOperations.getIndexCoordinatesFor(ProductDocument.class)).thenReturn(IndexCoordinates.of("products"));
+        when(elasticsearchOperations.openPointInTime(any(IndexCoordinates.class), any(Duration.class))).thenReturn(PIT_ID);
+        when(elasticsearchOperations.closePointInTime(anyString())).thenAnswer(invocation -> closedPits.add(invocation.getArgument(0)));
+        // 닫힌 PIT 로 검색하면 ES 처럼 search_context_missing_exception 으로 거절한다
+        when(elasticsearchOperations.search(any(NativeQuery.class), eq(ProductDocument.class))).thenAnswer(invocation -> {
+            NativeQuery query = invocation.getArgument(0);
+            if (query.getPointInTime() != null && closedPits.contains(query.getPointInTime().id())) {
+                throw new IllegalStateException("search_context_missing_exception");
+            }
+            long lastId = query.getSearchAfter() == null ? 0 : ((Number) query.getSearchAfter().get(1)).longValue();
+            return searchHits(LongStream.rangeClosed(lastId + 1, Math.min(lastId + PAGE_SIZE, TOTAL)).boxed().toList());
+        });
+    }
+
+    @Test
+    @DisplayName("캐시된 첫 페이지의 커서를 두 클라이언트가 나눠 써도, 먼저 끝까지 읽은 쪽이 PIT 를 닫지 않아 둘 다 끝까지 읽는다.")
+    void twoClientsPageFromSharedFirstPage() {
+        //given - 검색 캐시가 첫 페이지(와 그 커서)를 한 번만 계산해 모든 클라이언트에 돌려준다
+        SearchResult cachedFirstPage = productElasticsearchQuery.searchProducts(KEYWORD, null, PAGE_SIZE, false);
+
+        //when
+        List<Long> clientA = readToEnd(cachedFirstPage);
+        List<Long> clientB = readToEnd(cachedFirstPage);
+
+        //then
+        assertThat(clientA).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(clientB).containsExactly(1L, 2L, 3L, 4L, 5L);
+        verify(elasticsearchOperations, times(1)).openPointInTime(any(IndexCoordinates.class), any(Duration.class));
+        verify(elasticsearchOperations, never()).closePointInTime(anyString());
+    }
+
+    @Test
+    @DisplayName("한 페이지로 끝나는 검색은 PIT 를 열지 않는다.")
+    void singlePageOpensNoPit() {
+        //when
+        SearchResult result = productElasticsearchQuery.searchProducts(KEYWORD, null, 10, false);
+
+        //then
+        assertThat(result.documents()).hasSize((int) TOTAL);
+        assertThat(result.nextCursor()).isNull();
+        verify(elasticsearchOperations, never()).openPointInTime(any(IndexCoordinates.class), any(Duration.class));
+    }
+
+    private List<Long> readToEnd(SearchResult firstPage) {
+        List<Long> ids = new ArrayList<>(ids(firstPage));
+        String cursor = firstPage.nextCursor();
+        while (cursor != null) {
+            SearchResult page = productElasticsearchQuery.searchProducts(
+                    KEYWORD, ProductSearchCursor.decode(cursor, KEYWORD), PAGE_SIZE, false);
+            ids.addAll(ids(page));
+            cursor = page.nextCursor();
+        }
+        return ids;
+    }
+
+    private static List<Long> ids(SearchResult result) {
+        return result.documents().stream().map(document -> Long.valueOf(document.getId())).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SearchHits<ProductDocument> searchHits(List<Long> ids) {
+        List<SearchHit<ProductDocument>> hits = ids.stream().map(id -> {
+            SearchHit<ProductDocument> hit = mock(SearchHit.class);
+            when(hit.getContent()).thenReturn(ProductDocument.builder().id(String.valueOf(id)).name(KEYWORD).build());
+            when(hit.getSortValues()).thenReturn(List.<Object>of(1.0, id));
+            return hit;
+        }).toList();
+        SearchHits<ProductDocument> searchHits = mock(SearchHits.class);
+        when(searchHits.getSearchHits()).thenReturn(hits);
+        when(searchHits.getPointInTimeId()).thenReturn(PIT_ID);
+        return searchHits;
+    }
+}
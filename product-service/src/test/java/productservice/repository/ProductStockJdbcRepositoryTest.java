@@ -0,0 +1,84 @@
+package productservice.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import productservice.repository.ProductStockJdbcRepository.Increment;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductStockJdbcRepositoryTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private ProductStockJdbcRepository productStockJdbcRepository;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("""
+                CREATE TABLE product_stock (
+                    id BIGINT PRIMARY KEY,
+                    quantity INT,
+                    version BIGINT,
+                    modified_at TIMESTAMP
+                )
+                """);
+        jdbcTemplate.update("INSERT INTO product_stock (id, quantity, version) VALUES (1, 10, 3), (2, 0, 0), (3, 7, 1)");
+        productStockJdbcRepository = new ProductStockJdbcRepository(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("현재 수량에 더하고 version 을 하나 올리며, 요청하지 않은 행은 건드리지 않는다.")
+    void batchIncrease() {
+        //when
+        productStockJdbcRepository.batchIncrease(List.of(new Increment(1L, 5), new Increment(2L, 20)));
+
+        //then
+        assertThat(row(1L)).containsEntry("QUANTITY", 15).containsEntry("VERSION", 4L);
+        assertThat(row(1L).get("MODIFIED_AT")).isNotNull();
+        assertThat(row(2L)).containsEntry("QUANTITY", 20).containsEntry("VERSION", 1L);
+        assertThat(row(3L)).containsEntry("QUANTITY", 7).containsEntry("VERSION", 1L);
+    }
+
+    @Test
+    @DisplayName("같은 재고 행이 두 번 오면 두 번 모두 더하고 version 도 두 번 오른다.")
+    void batchIncreaseSameRowTwice() {
+        //when
+        productStockJdbcRepository.batchIncrease(List.of(new Increment(1L, 5), new Increment(1L, 2)));
+
+        //then
+        assertThat(row(1L)).containsEntry("QUANTITY", 17).containsEntry("VERSION", 5L);
+    }
+
+    @Test
+    @DisplayName("증가할 행이 없으면 아무것도 보내지 않는다.")
+    void batchIncreaseEmpty() {
+        //when
+        productStockJdbcRepository.batchIncrease(List.of());
+
+        //then
+        assertThat(row(1L)).containsEntry("QUANTITY", 10).containsEntry("VERSION", 3L);
+    }
+
+    private Map<String, Object> row(Long id) {
+        return jdbcTemplate.queryForMap("SELECT quantity, version, modified_at FROM product_stock WHERE id = ?", id);
+    }
+}
@@ -0,0 +1,217 @@
+package productservice.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import productservice.entity.ProductTransactionHistory.TransactionType;
+import productservice.repository.StockRedisRepository.JournalEntry;
+import productservice.support.RedisTestSupport;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockRedisRepositoryTest extends RedisTestSupport {
+
+    private static final Long OPTION_A = 1L;
+    private static final Long OPTION_B = 2L;
+
+    private StockRedisRepository stockRedisRepository;
+
+    @BeforeEach
+    void setUp() {
+        stockRedisRepository = new StockRedisRepository(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("주문의 모든 항목을 한 번에 예약하고, 같은 주문을 다시 예약하면 건너뛴다.")
+    void reserve() {
+        //given
+        stockRedisRepository.loadIfAbsent(OPTION_A, 10, 0, 0);
+        stockRedisRepository.loadIfAbsent(OPTION_B, 5, 0, 0);
+
+        //when
+        long first = stockRedisRepository.reserve(100L, quantities(OPTION_A, 3, OPTION_B, 2));
+        long second = stockRedisRepository.reserve(100L, quantities(OPTION_A, 3, OPTION_B, 2));
+
+        //then
+        assertThat(first).isEqualTo(StockRedisRepository.APPLIED);
+        assertThat(second).isEqualTo(StockRedisRepository.SKIPPED);
+        assertThat(field(OPTION_A, "reserved")).isEqualTo("3");
+        assertThat(field(OPTION_B, "reserved")).isEqualTo("2");
+        assertThat(stockRedisRepository.readJournal(10))
+                .extracting(JournalEntry::type)
+                .containsExactly(TransactionType.RESERVE, TransactionType.RESERVE);
+    }
+
+    @Test
+    @DisplayName("한 항목이라도 재고가 부족하면 아무 항목도 예약하지 않는다.")
+    void reserveAllOrNothing() {
+        //given
+        stockRedisRepository.loadIfAbsent(OPTION_A, 10, 0, 0);
+        stockRedisRepository.loadIfAbsent(OPTION_B, 1, 0, 0);
+
+        //when
+        long result = stockRedisRepository.reserve(100L, quantities(OPTION_A, 3, OPTION_B, 2));
+
+        //then
+        assertThat(result).isEqualTo(StockRedisRepository.NOT_ENOUGH_STOCK);
+        assertThat(field(OPTION_A, "reserved")).isEqualTo("0");
+        assertThat(field(OPTION_B, "reserved")).isEqualTo("0");
+        assertThat(stockRedisRepository.journalSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Redis 에 적재되지 않은 옵션이 있으면 미적재로 거절한다.")
+    void reserveNotLoaded() {
+        //given
+        stockRedisRepository.loadIfAbsent(OPTION_A, 10, 0, 0);
+
+        //when
+        long result = stockRedisRepository.reserve(100L, quantities(OPTION_A, 1, OPTION_B, 1));
+
+        //then
+        assertThat(result).isEqualTo(StockRedisRepository.STOCK_NOT_LOADED);
+        assertThat(field(OPTION_A, "reserved")).isEqualTo("0");
+    }
+
+    @Test
+    @DisplayName("예약을 확정하면 수량과 예약 수량이 함께 줄고, 다시 확정하면 건너뛴다.")
+    void confirm() {
+        //given
+        stockRedisRepository.loadIfAbsent(OPTION_A, 10, 0, 0);
+        stockRedisRepository.reserve(100L, quantities(OPTION_A, 3));
+
+        //when
+        long first = confirm(100L);
+        long second = confirm(100L);
+
+        //then
+        assertThat(first).isEqualTo(StockRedisRepository.APPLIED);
+        assertThat(second).isEqualTo(StockRedisRepository.SKIPPED);
+        assertThat(field(OPTION_A, "quantity")).isEqualTo("7");
+        assertThat(field(OPTION_A, "reserved")).isEqualTo("0");
+        assertThat(stockRedisRepository.readJournal(10))
+                .extracting(JournalEntry::type)
+                .containsExactly(TransactionType.RESERVE, TransactionType.CONFIRM_RESERVE);
+    }
+
+    @Test
+    @DisplayName("예약을 취소하면 예약 수량만 돌려놓고, 예약 없는 주문의 취소는 선행 단계 없음으로 거절한다.")
+    void cancel() {
+        //given
+        stockRedisRepository.loadIfAbsent(OPTION_A, 10, 0, 0);
+        stockRedisRepository.reserve(100L, quantities(OPTION_A, 3));
+
+        //when
+        long cancelled = cancel(100L);
+        long notReserved = cancel(200L);
+
+        //then
+        assertThat(cancelled).isEqualTo(StockRedisRepository.APPLIED);
+        assertThat(notReserved).isEqualTo(StockRedisRepository.PREREQUISITE_NOT_FOUND);
+        assertThat(field(OPTION_A, "quantity")).isEqualTo("10");
+        assertThat(field(OPTION_A, "reserved")).isEqualTo("0");
+    }
+
+    @Test
+    @DisplayName("미반영 저널이 없고 Redis 에 더 최신 입고가 없으면 DB 값으로 덮어쓴다.")
+    void reconcileOverwrites() {
+        //given
+        stockRedisRepository.loadIfAbsent(OPTION_A, 10, 4, 3);
+
+        //when
+        long result = stockRedisRepository.reconcile(OPTION_A, 8, 1, 5);
+
+        //then
+        assertThat(result).isEqualTo(StockRedisRepository.APPLIED);
+        assertThat(field(OPTION_A, "quantity")).isEqualTo("8");
+        assertThat(field(OPTION_A, "reserved")).isEqualTo("1");
+        assertThat(field(OPTION_A, "version")).isEqualTo("5");
+    }
+
+    @Test
+    @DisplayName("DB 페이지를 읽은 뒤 커밋된 입고가 Redis 에 더해졌으면 정합성 맞추기가 덮어쓰지 않는다.")
+    void reconcileKeepsRestockCommittedAfterRead() {
+        //given - 정합성 맞추기가 version 3 의 DB 값(10)을 읽은 뒤, 입고 5 가 version 4 로 커밋되어 Redis 에 더해짐
+        stockRedisRepository.loadIfAbsent(OPTION_A, 10, 0, 3);
+        stockRedisRepository.increaseIfLoaded(OPTION_A, 5, 4);
+
+        //when
+        long result = stockRedisRepository.reconcile(OPTION_A, 10, 0, 3);
+
+        //then
+        assertThat(result).isEqualTo(StockRedisRepository.NEWER_IN_REDIS);
+        assertThat(field(OPTION_A, "quantity")).isEqualTo("15");
+    }
+
+    @Test
+    @DisplayName("입고를 포함한 DB 값으로 먼저 맞춰졌으면 커밋 후 입고 반영은 두 번 더하지 않는다.")
+    void increaseSkipsWhenAlreadyIncluded() {
+        //given - 입고 5 가 version 4 로 커밋된 뒤, 커밋 후 반영보다 정합성 맞추기가 먼저 DB 값(15)을 씀
+        stockRedisRepository.loadIfAbsent(OPTION_A, 10, 0, 3);
+        stockRedisRepository.reconcile(OPTION_A, 15, 0, 4);
+
+        //when
+        long result = stockRedisRepository.increaseIfLoaded(OPTION_A, 5, 4);
+
+        //then
+        assertThat(result).isEqualTo(StockRedisRepository.ALREADY_INCLUDED);
+        assertThat(field(OPTION_A, "quantity")).isEqualTo("15");
+    }
+
+    @Test
+    @DisplayName("DB 에 반영되지 않은 저널이 남아 있으면 Redis 값을 유지한다.")
+    void reconcileKeepsRedisWithPendingJournal() {
+        //given
+        stockRedisRepository.loadIfAbsent(OPTION_A, 10, 0, 0);
+        stockRedisRepository.reserve(100L, quantities(OPTION_A, 3));
+
+        //when
+        long result = stockRedisRepository.reconcile(OPTION_A, 10, 0, 0);
+
+        //then
+        assertThat(result).isEqualTo(-1L);
+        assertThat(field(OPTION_A, "reserved")).isEqualTo("3");
+    }
+
+    @Test
+    @DisplayName("반영이 끝난 저널만 삭제한다.")
+    void deleteJournal() {
+        //given
+        stockRedisRepository.loadIfAbsent(OPTION_A, 10, 0, 0);
+        stockRedisRepository.reserve(100L, quantities(OPTION_A, 1));
+        List<JournalEntry> drained = stockRedisRepository.readJournal(10);
+        stockRedisRepository.reserve(200L, quantities(OPTION_A, 1));
+
+        //when
+        stockRedisRepository.deleteJournal(drained);
+
+        //then
+        assertThat(stockRedisRepository.readJournal(10))
+                .extracting(JournalEntry::orderId)
+                .containsExactly(200L);
+    }
+
+    private long confirm(Long orderId) {
+        return stockRedisRepository.transition(orderId, TransactionType.CONFIRM_RESERVE, TransactionType.RESERVE, -1, -1);
+    }
+
+    private long cancel(Long orderId) {
+        return stockRedisRepository.transition(orderId, TransactionType.CANCEL_RESERVE, TransactionType.RESERVE, 0, -1);
+    }
+
+    private String field(Long optionId, String field) {
+        return (String) redisTemplate.opsForHash().get("stock::" + optionId, field);
+    }
+
+    private static Map<Long, Integer> quantities(Object... optionAndQuantity) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (int i = 0; i < optionAndQuantity.length; i += 2) {
+            quantities.put((Long) optionAndQuantity[i], (Integer) optionAndQuantity[i + 1]);
+        }
+        return quantities;
+    }
+}
@@ -0,0 +1,175 @@
+package productservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import productservice.entity.ProductStatus;
+import productservice.service.ProductReadCache.CachedProduct;
+import productservice.support.RedisTestSupport;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductReadCacheTest extends RedisTestSupport {
+
+    private static final Long PRODUCT_ID = 1L;
+
+    private ProductReadCache instanceA;
+    private ProductReadCache instanceB;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        instanceA = createCache(redisTemplate);
+        instanceB = createCache(redisTemplate);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("한 번 읽은 상품은 로컬에서, 다른 인스턴스는 Redis 에서 읽는다.")
+    void getCachesProduct() {
+        //given
+        instanceA.get(PRODUCT_ID, loader("셔츠"));
+
+        //when
+        CachedProduct local = instanceA.get(PRODUCT_ID, loader("바지"));
+        CachedProduct shared = instanceB.get(PRODUCT_ID, loader("바지"));
+
+        //then
+        assertThat(loads).hasValue(1);
+        assertThat(local.name()).isEqualTo("셔츠");
+        assertThat(shared.name()).isEqualTo("셔츠");
+    }
+
+    @Test
+    @DisplayName("DB 를 읽는 사이 무효화되면 늦게 저장한 이전 값은 이전 버전 키에 들어가 다시 읽히지 않는다.")
+    void staleLoaderWriteIsUnreachable() {
+        //given - A 가 DB 에서 이전 값을 읽는 동안 B 에서 상품이 수정되어 무효화됨
+        instanceA.get(PRODUCT_ID, () -> {
+            instanceB.invalidate(List.of(PRODUCT_ID));
+            loads.incrementAndGet();
+            return product("수정 전");
+        });
+
+        //when
+        CachedProduct product = instanceB.get(PRODUCT_ID, loader("수정 후"));
+
+        //then
+        assertThat(loads).hasValue(2);
+        assertThat(product.name()).isEqualTo("수정 후");
+    }
+
+    @Test
+    @DisplayName("DB 를 읽는 사이 같은 인스턴스에서 무효화되면 읽은 값을 로컬 캐시에 넣지 않는다.")
+    void putLocalSkipsAfterInvalidation() {
+        //given
+        instanceA.get(PRODUCT_ID, () -> {
+            instanceA.invalidate(List.of(PRODUCT_ID));
+            loads.incrementAndGet();
+            return product("수정 전");
+        });
+
+        //when
+        CachedProduct product = instanceA.get(PRODUCT_ID, loader("수정 후"));
+
+        //then
+        assertThat(loads).hasValue(2);
+        assertThat(product.name()).isEqualTo("수정 후");
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스의 무효화 메시지를 받으면 해당 상품을 로컬 캐시에서 뺀다.")
+    void onMessageEvictsLocal() {
+        //given
+        instanceA.get(PRODUCT_ID, loader("수정 전"));
+        instanceB.invalidate(List.of(PRODUCT_ID));
+        CachedProduct beforeMessage = instanceA.get(PRODUCT_ID, loader("수정 후"));
+
+        //when
+        instanceA.onMessage(message(String.valueOf(PRODUCT_ID)), null);
+        CachedProduct afterMessage = instanceA.get(PRODUCT_ID, loader("수정 후"));
+
+        //then
+        assertThat(beforeMessage.name()).isEqualTo("수정 전");
+        assertThat(afterMessage.name()).isEqualTo("수정 후");
+    }
+
+    @Test
+    @DisplayName("전체 무효화는 세대를 올려 모든 상품을 다시 읽게 한다.")
+    void invalidateAllBumpsGeneration() {
+        //given
+        instanceA.get(PRODUCT_ID, loader("수정 전"));
+        instanceB.invalidateAll();
+
+        //when
+        instanceA.onMessage(message("*"), null);
+        CachedProduct product = instanceA.get(PRODUCT_ID, loader("수정 후"));
+
+        //then
+        assertThat(loads).hasValue(2);
+        assertThat(product.name()).isEqualTo("수정 후");
+    }
+
+    @Test
+    @DisplayName("Redis 장애 시 DB 에서 읽고, 무효화는 로컬 캐시만이라도 비운다.")
+    void redisDownFallsBackToLoader() {
+        //given
+        StringRedisTemplate downTemplate = mock(StringRedisTemplate.class);
+        when(downTemplate.execute(any(RedisScript.class), anyList(), any()))
+                .thenThrow(new RedisConnectionFailureException("Redis 장애"));
+        when(downTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("Redis 장애"));
+        ProductReadCache cache = createCache(downTemplate);
+        CachedProduct loaded = cache.get(PRODUCT_ID, loader("수정 전"));
+
+        //when
+        CachedProduct local = cache.get(PRODUCT_ID, loader("수정 후"));
+        cache.invalidate(List.of(PRODUCT_ID));
+        CachedProduct reloaded = cache.get(PRODUCT_ID, loader("수정 후"));
+
+        //then
+        assertThat(loaded.name()).isEqualTo("수정 전");
+        assertThat(local.name()).isEqualTo("수정 전");
+        assertThat(reloaded.name()).isEqualTo("수정 후");
+        assertThat(loads).hasValue(2);
+    }
+
+    private static ProductReadCache createCache(StringRedisTemplate template) {
+        return new ProductReadCache(template, mock(RedisMessageListenerContainer.class),
+                new ObjectMapper(), new SimpleMeterRegistry(), 100, 30000, 600);
+    }
+
+    private Supplier<CachedProduct> loader(String name) {
+        return () -> {
+            loads.incrementAndGet();
+            return product(name);
+        };
+    }
+
+    private static CachedProduct product(String name) {
+        return new CachedProduct(PRODUCT_ID, name, BigDecimal.valueOf(10000), null, ProductStatus.ACTIVE,
+                1L, "상의", List.of());
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage("product-read-invalidate".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
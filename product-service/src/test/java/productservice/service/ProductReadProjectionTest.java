@@ -0,0 +1,182 @@
+package productservice.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ContextConfiguration;
+import outboxmessagerelay.OutboxEventPublisher;
+import productservice.entity.Category;
+import productservice.entity.Product;
+import productservice.entity.ProductOption;
+import productservice.entity.ProductStock;
+import productservice.repository.CategoryJpaRepository;
+import productservice.repository.ProductJpaRepository;
+import productservice.repository.ProductOptionJpaRepository;
+import productservice.repository.ProductReadRow;
+import productservice.repository.ProductStockJdbcRepository;
+import productservice.repository.ProductStockJpaRepository;
+import productservice.service.dto.ProductResponse;
+import productservice.service.dto.ProductResponse.ProductOptionDTO;
+import productservice.service.dto.StockLevel;
+import productservice.service.stock.StockBucketService;
+import productservice.service.stock.StockEngine;
+import productservice.service.stock.StockLevelReader;
+import productservice.support.JpaTestConfig;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 상품 조회 projection 경로(ProductReadRow)가 엔티티 경로(fetch join)와 같은 응답을 만드는지 확인
+ */
+@DataJpaTest
+@ContextConfiguration(classes = JpaTestConfig.class)
+class ProductReadProjectionTest {
+
+    @Autowired
+    private ProductJpaRepository productJpaRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    private ProductService productService;
+    private Long withOptionsId;
+    private Long noOptionsId;
+    private Long otherId;
+
+    @BeforeEach
+    void setUp() {
+        productService = new ProductService(mock(CategoryJpaRepository.class), productJpaRepository,
+                mock(ProductOptionJpaRepository.class), mock(OutboxEventPublisher.class), mock(StockEngine.class),
+                mock(StockBucketService.class), mock(ProductReadCache.class), mock(StockLevelReader.class),
+                mock(ProductStockJdbcRepository.class), mock(ProductStockJpaRepository.class));
+
+        Category category = testEntityManager.persist(Category.create("상의"));
+
+        // 옵션 2개 (재고 있음 / 재고 행 없음)
+        Product withOptions = Product.create(category, "셔츠", BigDecimal.valueOf(10_000), "shirt.png");
+        withOptions.addOption(option(withOptions, "M", 10));
+        withOptions.addOption(option(withOptions, "L", null));
+        testEntityManager.persist(withOptions);
+
+        // 옵션 없는 상품
+        Product noOptions = testEntityManager.persist(Product.create(category, "양말", BigDecimal.valueOf(3_000), "socks.png"));
+
+        Product other = Product.create(category, "바지", BigDecimal.valueOf(20_000), "pants.png");
+        other.addOption(option(other, "S", 3));
+        testEntityManager.persist(other);
+
+        // 다른 상품 옵션보다 나중에 추가된 옵션 → 옵션 ID 가 상품 사이에 섞인다
+        withOptions.addOption(option(withOptions, "XL", 7));
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        withOptionsId = withOptions.getId();
+        noOptionsId = noOptions.getId();
+        otherId = other.getId();
+    }
+
+    @Test
+    @DisplayName("projection 행으로 만든 응답과 캐시 항목은 엔티티 경로의 응답과 같다.")
+    void projectionMatchesEntityPath() {
+        //given
+        List<Long> ids = List.of(withOptionsId, noOptionsId, otherId);
+        Map<Long, ProductResponse> expected = new HashMap<>();
+        Map<Long, StockLevel> stockLevels = new HashMap<>();
+        for (Product product : productJpaRepository.findAllWithCategoryOptionsAndStockByIdIn(ids)) {
+            ProductResponse response = ProductResponse.from(product);
+            response.getOptions().sort(Comparator.comparing(ProductOptionDTO::getId));
+            expected.put(product.getId(), response);
+            product.getOptions().stream()
+                    .filter(option -> option.getStock() != null)
+                    .forEach(option -> stockLevels.put(option.getId(),
+                            new StockLevel(option.getStock().getQuantity(), option.getStock().getReservedQuantity())));
+        }
+        testEntityManager.clear();
+
+        //when
+        Map<Long, List<ProductReadRow>> rows = ProductReadRow.groupByProduct(productJpaRepository.findReadRowsByIdIn(ids));
+
+        //then
+        assertThat(rows).containsOnlyKeys(ids);
+        rows.forEach((productId, productRows) -> {
+            assertThat(ProductResponse.from(productRows))
+                    .usingRecursiveComparison()
+                    .isEqualTo(expected.get(productId));
+            assertThat(ProductReadCache.CachedProduct.from(productRows).toResponse(stockLevels))
+                    .usingRecursiveComparison()
+                    .isEqualTo(expected.get(productId));
+        });
+    }
+
+    @Test
+    @DisplayName("옵션 없는 상품은 옵션 컬럼이 null 인 한 행이고, 옵션 목록은 비어 있다.")
+    void productWithoutOptions() {
+        //when
+        List<ProductReadRow> rows = productJpaRepository.findReadRowsByIdIn(List.of(noOptionsId));
+
+        //then
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).hasOption()).isFalse();
+        assertThat(rows.get(0).name()).isEqualTo("양말");
+        assertThat(ProductResponse.from(rows).getOptions()).isEmpty();
+        assertThat(ProductReadCache.CachedProduct.from(rows).optionIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("재고 행이 없는 옵션은 재고 0 으로 응답한다.")
+    void optionWithoutStock() {
+        //when
+        ProductResponse response = ProductResponse.from(productJpaRepository.findReadRowsByIdIn(List.of(withOptionsId)));
+
+        //then
+        assertThat(response.getOptions())
+                .extracting(ProductOptionDTO::getSize, ProductOptionDTO::getStockQuantity)
+                .containsExactly(
+                        tuple("M", 10),
+                        tuple("L", 0),
+                        tuple("XL", 7));
+    }
+
+    @Test
+    @DisplayName("옵션은 옵션 ID 순서이고, 나중에 추가된 옵션도 자기 상품 아래에 묶인다.")
+    void optionOrder() {
+        //when
+        Map<Long, List<ProductReadRow>> rows = ProductReadRow.groupByProduct(
+                productJpaRepository.findReadRowsByIdIn(List.of(otherId, withOptionsId)));
+
+        //then
+        assertThat(rows.keySet()).containsExactly(withOptionsId, otherId);
+        List<Long> optionIds = ProductReadCache.CachedProduct.from(rows.get(withOptionsId)).optionIds();
+        assertThat(optionIds).hasSize(3).isSorted();
+        assertThat(optionIds.get(2)).isGreaterThan(rows.get(otherId).get(0).optionId());
+    }
+
+    @Test
+    @DisplayName("여러 상품 조회는 요청한 ID 순서대로 돌려주고, 없는 ID 는 건너뛴다.")
+    void getProductByIdsKeepsRequestOrder() {
+        //when
+        List<ProductResponse> responses = productService.getProductByIds(List.of(otherId, 999L, withOptionsId, noOptionsId));
+
+        //then
+        assertThat(responses).extracting(ProductResponse::getId).containsExactly(otherId, withOptionsId, noOptionsId);
+    }
+
+    private static ProductOption option(Product product, String size, Integer stockQuantity) {
+        ProductOption option = ProductOption.create(product, size, "BLACK", BigDecimal.ZERO);
+        if (stockQuantity != null) {
+            option.setStock(ProductStock.create(option, stockQuantity));
+        }
+        return option;
+    }
+}
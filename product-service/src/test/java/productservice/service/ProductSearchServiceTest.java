@@ -0,0 +1,280 @@
+package productservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreaker;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import productservice.common.config.Resilience4JConfig;
+import productservice.common.exception.CustomGlobalException;
+import productservice.common.exception.ErrorType;
+import productservice.controller.dto.ProductSearchResponse;
+import productservice.entity.Product;
+import productservice.entity.ProductOption;
+import productservice.repository.ProductElasticsearchQuery;
+import productservice.repository.ProductSearchCursor;
+import productservice.service.dto.StockLevel;
+import productservice.service.search.ProductAvailabilityOverlay;
+import productservice.service.search.ProductDatabaseSearch;
+import productservice.service.search.ProductSearchCache;
+import productservice.service.stock.StockLevelReader;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchServiceTest {
+
+    private static final String KEYWORD = "셔츠";
+
+    @Mock
+    private ProductDatabaseSearch productDatabaseSearch;
+
+    @Mock
+    private ProductElasticsearchQuery elasticsearchRepository;
+
+    @Mock
+    private ProductSearchCache productSearchCache;
+
+    @Mock
+    private StockLevelReader stockLevelReader;
+
+    @Mock
+    private CircuitBreakerFactory<?, ?> circuitBreakerFactory;
+
+    private ProductSearchService productSearchService;
+
+    @BeforeEach
+    void setUp() {
+        productSearchService = new ProductSearchService(productDatabaseSearch, elasticsearchRepository,
+                productSearchCache, new ProductAvailabilityOverlay(stockLevelReader), circuitBreakerFactory,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("inStockOnly 면 품절로 빠진 자리를 다음 페이지에서 채우고, 커서는 마지막으로 읽은 상품을 가리킨다.")
+    void searchProductsFillsSoldOut() {
+        //given - 1~3 품절, 4 만 재고 있음
+        when(productDatabaseSearch.search(eq(KEYWORD), isNull(), eq(2))).thenReturn(products(1L, 2L));
+        when(productDatabaseSearch.search(KEYWORD, 2L, 2)).thenReturn(products(3L, 4L));
+        when(productDatabaseSearch.search(KEYWORD, 4L, 1)).thenReturn(products(5L));
+        inStock(4L);
+
+        //when
+        ProductSearchResponse.CursorPage page = productSearchService.searchProducts(KEYWORD, null, null, 2, true);
+
+        //then
+        assertThat(page.products()).extracting(ProductSearchResponse::id).containsExactly(4L);
+        assertThat(lastId(page.nextCursor())).isEqualTo(5L);
+    }
+
+    @Test
+    @DisplayName("읽은 범위가 모두 품절이어도 빈 페이지와 함께 이어 읽을 커서를 돌려준다.")
+    void searchProductsAllSoldOutKeepsCursor() {
+        //given
+        when(productDatabaseSearch.search(eq(KEYWORD), isNull(), eq(2))).thenReturn(products(1L, 2L));
+        when(productDatabaseSearch.search(KEYWORD, 2L, 2)).thenReturn(products(3L, 4L));
+        when(productDatabaseSearch.search(KEYWORD, 4L, 2)).thenReturn(products(5L, 6L));
+        inStock();
+
+        //when
+        ProductSearchResponse.CursorPage page = productSearchService.searchProducts(KEYWORD, null, null, 2, true);
+
+        //then - 마지막으로 돌려준 상품이 없어도 6 다음부터 이어 읽는다
+        assertThat(page.products()).isEmpty();
+        assertThat(lastId(page.nextCursor())).isEqualTo(6L);
+    }
+
+    @Test
+    @DisplayName("데이터 끝까지 읽으면 다음 커서는 null 이다.")
+    void searchProductsEndOfData() {
+        //given
+        when(productDatabaseSearch.search(eq(KEYWORD), isNull(), eq(2))).thenReturn(products(1L, 2L));
+        when(productDatabaseSearch.search(KEYWORD, 2L, 2)).thenReturn(products(3L));
+        inStock(1L);
+
+        //when
+        ProductSearchResponse.CursorPage page = productSearchService.searchProducts(KEYWORD, null, null, 2, true);
+
+        //then
+        assertThat(page.products()).extracting(ProductSearchResponse::id).containsExactly(1L);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("이전 응답의 커서로 요청하면 커서가 가리키는 상품 다음부터 읽는다.")
+    void searchProductsFromCursor() {
+        //given
+        String cursor = ProductSearchCursor.ofDatabase(6L, KEYWORD).encode();
+        when(productDatabaseSearch.search(KEYWORD, 6L, 2)).thenReturn(products(7L, 8L));
+        inStock(7L, 8L);
+
+        //when
+        ProductSearchResponse.CursorPage page = productSearchService.searchProducts(KEYWORD, null, cursor, 2, false);
+
+        //then
+        assertThat(page.products()).extracting(ProductSearchResponse::id).containsExactly(7L, 8L);
+        assertThat(lastId(page.nextCursor())).isEqualTo(8L);
+    }
+
+    @Test
+    @DisplayName("DB 검색에 ES 커서를 넘기면 INVALID_SEARCH_CURSOR 로 거절한다.")
+    void searchProductsRejectsElasticsearchCursor() {
+        //given
+        String cursor = ProductSearchCursor.of("pit-1", List.of(1.0, 3L), KEYWORD).encode();
+
+        //when //then
+        assertThatThrownBy(() -> productSearchService.searchProducts(KEYWORD, null, cursor, 2, false))
+                .isInstanceOf(CustomGlobalException.class)
+                .extracting("errorType")
+                .isEqualTo(ErrorType.INVALID_SEARCH_CURSOR);
+        verifyNoInteractions(productDatabaseSearch);
+    }
+
+    @Test
+    @DisplayName("ES 첫 페이지 검색이 실패하면 DB 검색으로 대신하고, 다음 페이지 커서는 DB 커서다.")
+    void firstPageFallsBackToDatabase() {
+        //given
+        passThroughCircuitBreaker();
+        loadFirstPageThroughCache();
+        when(elasticsearchRepository.searchProducts(eq(KEYWORD), isNull(), eq(2), eq(false)))
+                .thenThrow(new IllegalStateException("ES 장애"));
+        when(productDatabaseSearch.search(eq(KEYWORD), isNull(), eq(2))).thenReturn(products(1L, 2L));
+        inStock(1L, 2L);
+
+        //when
+        ProductSearchResponse.CursorPage page =
+                productSearchService.searchElasticsearchProducts(KEYWORD, null, 2, false, false);
+
+        //then
+        assertThat(page.products()).extracting(ProductSearchResponse::id).containsExactly(1L, 2L);
+        ProductSearchCursor next = ProductSearchCursor.decode(page.nextCursor(), KEYWORD);
+        assertThat(next.isDatabase()).isTrue();
+        assertThat(next.databaseLastId()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("DB 커서로 이어 읽으면 ES 가 돌아와도 DB 에서 이어 읽는다.")
+    void databaseCursorStaysOnDatabase() {
+        //given
+        String cursor = ProductSearchCursor.ofDatabase(2L, KEYWORD).encode();
+        when(productDatabaseSearch.search(KEYWORD, 2L, 2)).thenReturn(products(3L));
+        inStock(3L);
+
+        //when
+        ProductSearchResponse.CursorPage page =
+                productSearchService.searchElasticsearchProducts(KEYWORD, cursor, 2, false, false);
+
+        //then
+        assertThat(page.products()).extracting(ProductSearchResponse::id).containsExactly(3L);
+        assertThat(page.nextCursor()).isNull();
+        verifyNoInteractions(elasticsearchRepository, circuitBreakerFactory);
+    }
+
+    @Test
+    @DisplayName("ES 커서로 이어 읽다 ES 가 실패하면 DB 로 대신하지 않고 SEARCH_UNAVAILABLE 로 거절한다.")
+    void nextPageDoesNotFallBack() {
+        //given
+        passThroughCircuitBreaker();
+        ProductSearchCursor previous = ProductSearchCursor.of("pit-1", List.of(1.0, 3L), KEYWORD);
+        when(elasticsearchRepository.searchProducts(eq(KEYWORD), any(ProductSearchCursor.class), eq(2), eq(false)))
+                .thenThrow(new IllegalStateException("ES 장애"));
+
+        //when //then
+        assertThatThrownBy(() -> productSearchService.searchElasticsearchProducts(
+                KEYWORD, previous.encode(), 2, false, false))
+                .isInstanceOf(CustomGlobalException.class)
+                .extracting("errorType")
+                .isEqualTo(ErrorType.SEARCH_UNAVAILABLE);
+        verifyNoInteractions(productDatabaseSearch);
+    }
+
+    @Test
+    @DisplayName("만료된 커서 오류는 폴백하지 않고 INVALID_SEARCH_CURSOR 그대로 돌려준다.")
+    void expiredCursorPassesThrough() {
+        //given
+        passThroughCircuitBreaker();
+        ProductSearchCursor previous = ProductSearchCursor.of("pit-1", List.of(1.0, 3L), KEYWORD);
+        when(elasticsearchRepository.searchProducts(eq(KEYWORD), any(ProductSearchCursor.class), eq(2), eq(false)))
+                .thenThrow(new CustomGlobalException(ErrorType.INVALID_SEARCH_CURSOR));
+
+        //when //then
+        assertThatThrownBy(() -> productSearchService.searchElasticsearchProducts(
+                KEYWORD, previous.encode(), 2, false, false))
+                .isInstanceOf(CustomGlobalException.class)
+                .extracting("errorType")
+                .isEqualTo(ErrorType.INVALID_SEARCH_CURSOR);
+        verifyNoInteractions(productDatabaseSearch);
+    }
+
+    private void passThroughCircuitBreaker() {
+        when(circuitBreakerFactory.create(Resilience4JConfig.ELASTICSEARCH)).thenReturn(new CircuitBreaker() {
+            @Override
+            public <T> T run(Supplier<T> toRun, Function<Throwable, T> fallback) {
+                try {
+                    return toRun.get();
+                } catch (Exception e) {
+                    return fallback.apply(e);
+                }
+            }
+        });
+    }
+
+    private void loadFirstPageThroughCache() {
+        when(productSearchCache.get(eq(KEYWORD), anyInt(), anyBoolean(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<ProductSearchResponse.CursorPage>>getArgument(3).get());
+    }
+
+    private void inStock(Long... productIds) {
+        Set<Long> optionIds = Arrays.stream(productIds)
+                .map(ProductSearchServiceTest::optionId)
+                .collect(Collectors.toSet());
+        when(stockLevelReader.read(anyCollection())).thenAnswer(invocation -> {
+            Map<Long, StockLevel> levels = new HashMap<>();
+            for (Long optionId : invocation.<Collection<Long>>getArgument(0)) {
+                levels.put(optionId, new StockLevel(optionIds.contains(optionId) ? 5 : 0, 0));
+            }
+            return levels;
+        });
+    }
+
+    private static Long lastId(String cursor) {
+        return ProductSearchCursor.decode(cursor, KEYWORD).databaseLastId();
+    }
+
+    private static List<Product> products(Long... ids) {
+        return Arrays.stream(ids)
+                .map(id -> Product.builder()
+                        .id(id)
+                        .name("상품" + id)
+                        .options(List.of(ProductOption.builder().id(optionId(id)).build()))
+                        .build())
+                .toList();
+    }
+
+    private static Long optionId(Long productId) {
+        return productId * 10;
+    }
+}
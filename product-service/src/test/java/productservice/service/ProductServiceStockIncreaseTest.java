@@ -0,0 +1,170 @@
+package productservice.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import outboxmessagerelay.OutboxEventPublisher;
+import productservice.common.exception.CustomGlobalException;
+import productservice.common.exception.ErrorType;
+import productservice.entity.ProductOption;
+import productservice.entity.ProductStock;
+import productservice.repository.ProductOptionJpaRepository;
+import productservice.repository.ProductStockJdbcRepository;
+import productservice.repository.ProductStockJdbcRepository.Increment;
+import productservice.repository.ProductStockJpaRepository;
+import productservice.repository.ProductStockJpaRepository.StockQuantityView;
+import productservice.service.dto.ProductOptionRequest.StockUpdate;
+import productservice.service.stock.StockBucketService;
+import productservice.service.stock.StockEngine;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductServiceStockIncreaseTest {
+
+    @InjectMocks
+    private ProductService productService;
+
+    @Mock
+    private ProductOptionJpaRepository productOptionJpaRepository;
+
+    @Mock
+    private ProductStockJdbcRepository productStockJdbcRepository;
+
+    @Mock
+    private ProductStockJpaRepository productStockJpaRepository;
+
+    @Mock
+    private StockBucketService stockBucketService;
+
+    @Mock
+    private StockEngine stockEngine;
+
+    @Mock
+    private OutboxEventPublisher outboxEventPublisher;
+
+    private ProductStock singleRowStock;
+    private ProductStock bucketedStock;
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+        singleRowStock = ProductStock.builder().id(11L).quantity(10).reservedQuantity(0).version(3L).build();
+        bucketedStock = ProductStock.builder().id(12L).quantity(40).reservedQuantity(0).bucketCount(4).version(5L).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("일괄 입고는 단일 행 재고를 JDBC 배치로, 버킷 재고는 버킷에 나눠 늘린다.")
+    void increaseStockBatch() {
+        //given
+        givenOptions();
+        List<StockQuantityView> versions = List.of(view(1L, 4L), view(2L, 6L));
+        when(productStockJpaRepository.findQuantitiesByProductOptionIdIn(List.of(1L, 2L))).thenReturn(versions);
+
+        //when
+        productService.increaseStockBatch(List.of(update(1L, 5), update(2L, 3)));
+        commit();
+
+        //then
+        verify(productStockJdbcRepository).batchIncrease(List.of(new Increment(11L, 5)));
+        verify(stockBucketService).increase(bucketedStock, 3);
+        verify(stockEngine).afterStockIncreased(1L, 5, 4L);
+        verify(stockEngine).afterStockIncreased(2L, 3, 6L);
+    }
+
+    @Test
+    @DisplayName("같은 옵션이 여러 번 오면 배치 UPDATE 는 요청마다 보내고, Redis 반영은 합산해 한 번만 한다.")
+    void increaseStockBatchDuplicateOption() {
+        //given
+        givenOptions();
+        List<StockQuantityView> versions = List.of(view(1L, 5L), view(2L, 5L));
+        when(productStockJpaRepository.findQuantitiesByProductOptionIdIn(List.of(1L, 2L))).thenReturn(versions);
+
+        //when
+        productService.increaseStockBatch(List.of(update(1L, 5), update(2L, 1), update(1L, 2)));
+        commit();
+
+        //then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Increment>> increments = ArgumentCaptor.forClass(List.class);
+        verify(productStockJdbcRepository).batchIncrease(increments.capture());
+        assertThat(increments.getValue()).containsExactly(new Increment(11L, 5), new Increment(11L, 2));
+        verify(stockEngine).afterStockIncreased(1L, 7, 5L);
+    }
+
+    @Test
+    @DisplayName("없는 옵션이 섞여 있으면 아무 재고도 늘리지 않는다.")
+    void increaseStockBatchUnknownOption() {
+        //given
+        when(productOptionJpaRepository.findAllWithStockByIdIn(List.of(1L, 3L)))
+                .thenReturn(List.of(ProductOption.builder().id(1L).stock(singleRowStock).build()));
+
+        //when & then
+        assertThatThrownBy(() -> productService.increaseStockBatch(List.of(update(1L, 5), update(3L, 1))))
+                .isInstanceOf(CustomGlobalException.class)
+                .extracting("errorType")
+                .isEqualTo(ErrorType.NOT_FOUND_PRODUCT_OPTION);
+        verify(productStockJdbcRepository, never()).batchIncrease(anyList());
+        verify(outboxEventPublisher, never()).publish(any(), any());
+    }
+
+    @Test
+    @DisplayName("단건 입고도 같은 검증/버킷 분기를 거치고, 단일 행 재고는 엔티티 수량을 늘린다.")
+    void increaseStock() {
+        //given
+        givenOptions();
+
+        //when
+        productService.increaseStock(List.of(update(1L, 5), update(2L, 3), update(1L, 2)));
+        commit();
+
+        //then
+        assertThat(singleRowStock.getQuantity()).isEqualTo(17);
+        verify(stockBucketService).increase(bucketedStock, 3);
+        verify(productStockJdbcRepository, never()).batchIncrease(anyList());
+        verify(stockEngine).afterStockIncreased(1L, 7, 3L);
+    }
+
+    private void givenOptions() {
+        when(productOptionJpaRepository.findAllWithStockByIdIn(List.of(1L, 2L))).thenReturn(List.of(
+                ProductOption.builder().id(1L).stock(singleRowStock).build(),
+                ProductOption.builder().id(2L).stock(bucketedStock).build()));
+    }
+
+    private static void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private static StockUpdate update(Long optionId, int quantity) {
+        return StockUpdate.builder().productId(100L).optionId(optionId).quantity(quantity).build();
+    }
+
+    private static StockQuantityView view(Long optionId, Long version) {
+        StockQuantityView view = mock(StockQuantityView.class);
+        when(view.getProductOptionId()).thenReturn(optionId);
+        when(view.getVersion()).thenReturn(version);
+        return view;
+    }
+}
@@ -0,0 +1,167 @@
+package productservice.service.index;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import productservice.repository.ProductDocumentRepository;
+import productservice.repository.ProductJpaRepository;
+import productservice.support.RedisTestSupport;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductIndexingPipelineTest extends RedisTestSupport {
+
+    private static final String REBUILD_INDEX = "products_v1";
+
+    private ProductJpaRepository productJpaRepository;
+    private ElasticsearchOperations elasticsearchOperations;
+    private ProductIndexingPipeline productIndexingPipeline;
+
+    @BeforeEach
+    void setUp() {
+        productJpaRepository = mock(ProductJpaRepository.class);
+        elasticsearchOperations = mock(ElasticsearchOperations.class);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (productIndexingPipeline != null) {
+            productIndexingPipeline.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("window 안에 들어온 변경은 상품별로 합쳐 DB 를 한 번만 읽고, 같은 flush 를 기다린다.")
+    void coalesceWithinWindow() throws Exception {
+        //given
+        start(1_000, 100);
+        when(productJpaRepository.findAllWithCategoryOptionsAndStockByIdIn(anyList())).thenReturn(List.of());
+
+        //when
+        CompletableFuture<Void> first = productIndexingPipeline.submit(Map.of(1L, 100L, 2L, 100L));
+        CompletableFuture<Void> second = productIndexingPipeline.submit(Map.of(1L, 50L));
+        first.get(5, TimeUnit.SECONDS);
+
+        //then
+        assertThat(second).isSameAs(first);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Long>> productIds = ArgumentCaptor.forClass(List.class);
+        verify(productJpaRepository).findAllWithCategoryOptionsAndStockByIdIn(productIds.capture());
+        assertThat(productIds.getValue()).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("maxBatch 만큼 모이면 window 를 기다리지 않고 바로 내보낸다.")
+    void flushOnMaxBatch() throws Exception {
+        //given - window 는 테스트 시간보다 훨씬 길다
+        start(600_000, 3);
+        when(productJpaRepository.findAllWithCategoryOptionsAndStockByIdIn(anyList())).thenReturn(List.of());
+
+        //when
+        CompletableFuture<Void> flushed = productIndexingPipeline.submit(Map.of(1L, 0L, 2L, 0L, 3L, 0L));
+
+        //then
+        flushed.get(5, TimeUnit.SECONDS);
+        verify(productJpaRepository).findAllWithCategoryOptionsAndStockByIdIn(anyList());
+    }
+
+    @Test
+    @DisplayName("색인이 실패하면 그 flush 를 기다리던 submit 이 실패로 끝나 호출자가 ack 하지 않는다.")
+    void flushFailureFailsSubmit() {
+        //given
+        start(50, 100);
+        when(productJpaRepository.findAllWithCategoryOptionsAndStockByIdIn(anyList()))
+                .thenThrow(new IllegalStateException("DB 장애"));
+
+        //when
+        CompletableFuture<Void> flushed = productIndexingPipeline.submit(Map.of(1L, 0L));
+
+        //then
+        assertThatThrownBy(() -> flushed.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("이중 쓰기 등록 전에 시작된 flush 는 이전 epoch 에 세고, 끝나야 이전 epoch 기다림이 끝난다.")
+    void awaitFlushesStartedBeforeDualWrite() throws Exception {
+        //given - DB 를 읽는 중에 멈춰 있는 flush
+        start(50, 3);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(productJpaRepository.findAllWithCategoryOptionsAndStockByIdIn(anyList())).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        CompletableFuture<Void> running = productIndexingPipeline.submit(Map.of(1L, 0L));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        //when
+        long epochBeforeDualWrite = productIndexingPipeline.startDualWrite(REBUILD_INDEX);
+        String inFlightWhileRunning = redisTemplate.opsForValue().get("product::reindex::in-flight::" + epochBeforeDualWrite);
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+
+        //then
+        assertThat(epochBeforeDualWrite).isZero();
+        assertThat(inFlightWhileRunning).isEqualTo("1");
+        assertThat(productIndexingPipeline.awaitFlushes(epochBeforeDualWrite)).isTrue();
+        verify(elasticsearchOperations, never()).delete("1", IndexCoordinates.of(REBUILD_INDEX));
+    }
+
+    @Test
+    @DisplayName("이중 쓰기 등록 후 시작된 flush 는 새 epoch 에 세고 새 색인에도 쓴다.")
+    void flushAfterDualWriteUsesNewEpoch() throws Exception {
+        //given
+        start(50, 3);
+        when(productJpaRepository.findAllWithCategoryOptionsAndStockByIdIn(anyList())).thenReturn(List.of());
+        long epochBeforeDualWrite = productIndexingPipeline.startDualWrite(REBUILD_INDEX);
+
+        //when
+        productIndexingPipeline.submit(Map.of(1L, 0L)).get(5, TimeUnit.SECONDS);
+
+        //then - DB 에 없는 상품이라 두 색인에서 모두 지운다
+        verify(elasticsearchOperations).delete("1", IndexCoordinates.of(REBUILD_INDEX));
+        assertThat(redisTemplate.opsForValue().get("product::reindex::in-flight::" + (epochBeforeDualWrite + 1)))
+                .isEqualTo("0");
+        assertThat(productIndexingPipeline.touchedProductIds(REBUILD_INDEX)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("진행 중인 flush 가 없는 epoch 는 바로 기다림이 끝난다.")
+    void awaitFlushesWithoutFlush() throws InterruptedException {
+        //given
+        start(50, 3);
+        long epochBeforeStop = productIndexingPipeline.stopDualWrite(REBUILD_INDEX);
+
+        //when
+        boolean drained = productIndexingPipeline.awaitFlushes(epochBeforeStop);
+
+        //then
+        assertThat(drained).isTrue();
+    }
+
+    private void start(long windowMillis, int maxBatch) {
+        productIndexingPipeline = new ProductIndexingPipeline(productJpaRepository, mock(ProductDocumentRepository.class),
+                elasticsearchOperations, redisTemplate, new SimpleMeterRegistry(), windowMillis, maxBatch);
+    }
+}
@@ -0,0 +1,181 @@
+package productservice.service.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import productservice.service.search.AutocompleteIndex.Source;
+import productservice.service.search.AutocompleteIndex.Suggestion;
+import productservice.service.search.AutocompleteIndex.Type;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class AutocompleteIndexTest {
+
+    @Test
+    @DisplayName("접두어로 시작하는 키만 찾고, 구간 바로 앞뒤의 키는 포함하지 않는다.")
+    void searchPrefixBounds() {
+        //given
+        AutocompleteIndex index = AutocompleteIndex.build(List.of(
+                product(1, "aa", 1),
+                product(2, "ab", 1),
+                product(3, "abc", 1),
+                product(4, "abd", 1),
+                product(5, "ac", 1)));
+
+        //when //then
+        assertThat(texts(index.search("ab", 10))).containsExactly("ab", "abc", "abd");
+        assertThat(texts(index.search("abd", 10))).containsExactly("abd");
+        assertThat(texts(index.search("abcd", 10))).isEmpty();
+        assertThat(texts(index.search("abe", 10))).isEmpty();
+        assertThat(texts(index.search("0", 10))).isEmpty();
+        assertThat(texts(index.search("zz", 10))).isEmpty();
+        assertThat(texts(index.search("a", 10))).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("검색어는 대소문자와 앞뒤 공백을 무시하고, 원래 이름을 그대로 돌려준다.")
+    void searchNormalizesPrefix() {
+        //given
+        AutocompleteIndex index = AutocompleteIndex.build(List.of(product(1, "Nike Air", 1)));
+
+        //when //then
+        assertThat(texts(index.search("  NIKE a", 10))).containsExactly("Nike Air");
+        assertThat(index.search(" ", 10)).isEmpty();
+        assertThat(index.search("nike", 0)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("인기 점수가 높은 순으로 limit 개만 꺼내고, 점수가 같으면 키 순서로 꺼낸다.")
+    void searchTopKWithTies() {
+        //given
+        AutocompleteIndex index = AutocompleteIndex.build(List.of(
+                product(1, "avocado", 5),
+                product(2, "apricot", 5),
+                product(3, "apple", 5),
+                product(4, "almond", 9),
+                product(5, "acai", 1)));
+
+        //when
+        List<Suggestion> suggestions = index.search("a", 3);
+
+        //then
+        assertThat(texts(suggestions)).containsExactly("almond", "apple", "apricot");
+    }
+
+    @Test
+    @DisplayName("이름 전체와 단어 시작이 같은 접두어에 걸려도 한 번만 돌려준다.")
+    void searchDeduplicatesWordStarts() {
+        //given
+        AutocompleteIndex index = AutocompleteIndex.build(List.of(product(1, "shirt short shirt", 1)));
+
+        //when //then
+        assertThat(index.search("sh", 10)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("한글 상품명도 음절 접두어와 단어 시작으로 찾는다.")
+    void searchKoreanPrefix() {
+        //given
+        AutocompleteIndex index = AutocompleteIndex.build(List.of(
+                product(1, "나이키 운동화", 3),
+                product(2, "나이스 반팔 티셔츠", 2),
+                product(3, "운동복 세트", 1),
+                category(10, "운동화")));
+
+        //when //then
+        assertThat(texts(index.search("나이", 10))).containsExactly("나이키 운동화", "나이스 반팔 티셔츠");
+        assertThat(texts(index.search("나이키", 10))).containsExactly("나이키 운동화");
+        assertThat(texts(index.search("티셔", 10))).containsExactly("나이스 반팔 티셔츠");
+        assertThat(index.search("운동", 10))
+                .extracting(Suggestion::type, Suggestion::id)
+                .containsExactlyInAnyOrder(
+                        tuple(Type.PRODUCT, 1L),
+                        tuple(Type.PRODUCT, 3L),
+                        tuple(Type.CATEGORY, 10L));
+    }
+
+    @Test
+    @DisplayName("상품명을 바꾸면 예전 이름으로는 찾지 못하고 새 이름으로 찾는다.")
+    void replaceProductsRenames() {
+        //given
+        AutocompleteIndex index = AutocompleteIndex.build(List.of(
+                product(1, "red shirt", 1),
+                product(2, "red cap", 1)));
+
+        //when
+        AutocompleteIndex replaced = index.replaceProducts(List.of(1L), List.of(product(1, "blue shirt", 1)),
+                Integer.MAX_VALUE);
+
+        //then
+        assertThat(texts(replaced.search("red", 10))).containsExactly("red cap");
+        assertThat(texts(replaced.search("blue", 10))).containsExactly("blue shirt");
+        assertThat(texts(replaced.search("shirt", 10))).containsExactly("blue shirt");
+        assertThat(replaced.size()).isEqualTo(2);
+        assertThat(texts(index.search("red", 10))).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("교체 목록에 없는 상품은 삭제되고, 같은 ID 의 카테고리는 남는다.")
+    void replaceProductsDeletes() {
+        //given
+        AutocompleteIndex index = AutocompleteIndex.build(List.of(
+                product(1, "셔츠", 1),
+                product(2, "셔츠 원피스", 1),
+                category(1, "셔츠류")));
+
+        //when
+        AutocompleteIndex replaced = index.replaceProducts(List.of(1L), List.of(), Integer.MAX_VALUE);
+
+        //then
+        assertThat(texts(replaced.search("셔츠", 10))).containsExactlyInAnyOrder("셔츠 원피스", "셔츠류");
+        assertThat(replaced.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("병합 후 상품 수가 maxProducts 를 넘으면 인기 점수가 낮은 상품부터 빠진다 (카테고리는 세지 않는다).")
+    void replaceProductsEnforcesMaxProducts() {
+        //given
+        AutocompleteIndex index = AutocompleteIndex.build(List.of(
+                product(1, "item one", 10),
+                product(2, "item two", 5),
+                product(3, "item three", 1),
+                category(1, "items")));
+
+        //when
+        AutocompleteIndex replaced = index.replaceProducts(List.of(4L), List.of(product(4, "item four", 3)), 3);
+
+        //then
+        assertThat(texts(replaced.search("item", 10)))
+                .containsExactly("item one", "item two", "item four", "items");
+        assertThat(replaced.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("상한에서 점수가 같으면 이미 색인된 상품을 남기고 새 상품을 뺀다.")
+    void replaceProductsKeepsExistingOnTie() {
+        //given
+        AutocompleteIndex index = AutocompleteIndex.build(List.of(
+                product(1, "item one", 2),
+                product(2, "item two", 1)));
+
+        //when
+        AutocompleteIndex replaced = index.replaceProducts(List.of(3L), List.of(product(3, "item three", 1)), 2);
+
+        //then
+        assertThat(texts(replaced.search("item", 10))).containsExactly("item one", "item two");
+    }
+
+    private static Source product(long id, String name, int score) {
+        return new Source(Type.PRODUCT, id, name, score);
+    }
+
+    private static Source category(long id, String name) {
+        return new Source(Type.CATEGORY, id, name, 0);
+    }
+
+    private static List<String> texts(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::text).toList();
+    }
+}
@@ -0,0 +1,121 @@
+package productservice.service.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import productservice.controller.dto.ProductSearchResponse;
+import productservice.controller.dto.ProductSearchResponse.OptionInfo;
+import productservice.service.dto.StockLevel;
+import productservice.service.stock.StockLevelReader;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductAvailabilityOverlayTest {
+
+    @InjectMocks
+    private ProductAvailabilityOverlay productAvailabilityOverlay;
+
+    @Mock
+    private StockLevelReader stockLevelReader;
+
+    @Test
+    @DisplayName("색인 재고 값을 현재 주문 가능 수량(보유 - 예약)으로 바꾼다.")
+    void applyReplacesIndexedQuantity() {
+        //given - 색인에는 10 개로 남아 있지만 현재는 3 개 보유, 1 개 예약
+        List<ProductSearchResponse> products = List.of(product(1L, option(11L, 10), option(12L, 5)));
+        when(stockLevelReader.read(anyCollection())).thenReturn(Map.of(11L, new StockLevel(3, 1)));
+
+        //when
+        List<ProductSearchResponse> result = productAvailabilityOverlay.apply(products, false);
+
+        //then - 재고 행이 없는 옵션은 0
+        assertThat(result.get(0).options())
+                .extracting(OptionInfo::stockQuantity)
+                .containsExactly(2, 0);
+    }
+
+    @Test
+    @DisplayName("재고를 읽지 못하면 색인 값을 그대로 돌려준다.")
+    void applyFallsBackToIndexedQuantity() {
+        //given
+        List<ProductSearchResponse> products = List.of(product(1L, option(11L, 10)));
+        when(stockLevelReader.read(anyCollection())).thenThrow(new IllegalStateException("Redis 장애"));
+
+        //when
+        List<ProductSearchResponse> result = productAvailabilityOverlay.apply(products, false);
+
+        //then
+        assertThat(result).isEqualTo(products);
+    }
+
+    @Test
+    @DisplayName("inStockOnly 면 주문 가능한 옵션이 하나도 없는 상품을 뺀다.")
+    void applyInStockOnly() {
+        //given - 1 번 상품은 색인에는 재고가 있지만 현재 모두 예약됨
+        List<ProductSearchResponse> products = List.of(
+                product(1L, option(11L, 10)),
+                product(2L, option(21L, 0), option(22L, 0)));
+        when(stockLevelReader.read(anyCollection())).thenReturn(Map.of(
+                11L, new StockLevel(4, 4),
+                21L, new StockLevel(0, 0),
+                22L, new StockLevel(2, 1)));
+
+        //when
+        List<ProductSearchResponse> result = productAvailabilityOverlay.apply(products, true);
+
+        //then
+        assertThat(result).extracting(ProductSearchResponse::id).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("재고를 읽지 못해도 inStockOnly 는 색인 값 기준으로 적용한다.")
+    void applyInStockOnlyWithIndexedQuantity() {
+        //given
+        List<ProductSearchResponse> products = List.of(
+                product(1L, option(11L, 0)),
+                product(2L, option(21L, 3)));
+        when(stockLevelReader.read(anyCollection())).thenThrow(new IllegalStateException("Redis 장애"));
+
+        //when
+        List<ProductSearchResponse> result = productAvailabilityOverlay.apply(products, true);
+
+        //then
+        assertThat(result).extracting(ProductSearchResponse::id).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("빈 페이지는 재고를 읽지 않는다.")
+    void applyEmpty() {
+        //when
+        List<ProductSearchResponse> result = productAvailabilityOverlay.apply(List.of(), true);
+
+        //then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(stockLevelReader);
+    }
+
+    private static ProductSearchResponse product(Long id, OptionInfo... options) {
+        return ProductSearchResponse.builder()
+                .id(id)
+                .name("상품" + id)
+                .options(List.of(options))
+                .build();
+    }
+
+    private static OptionInfo option(Long id, int stockQuantity) {
+        return OptionInfo.builder()
+                .id(id)
+                .stockQuantity(stockQuantity)
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package productservice.service.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductDatabaseSearchTest {
+
+    @Test
+    @DisplayName("단어마다 필수 조건(+)을 붙인다.")
+    void toBooleanQueryRequiresEveryWord() {
+        //when
+        String query = ProductDatabaseSearch.toBooleanQuery("반팔 셔츠 blue");
+
+        //then
+        assertThat(query).isEqualTo("+반팔 +셔츠 +blue");
+    }
+
+    @Test
+    @DisplayName("사용자 입력의 BOOLEAN MODE 연산자 문자는 지우고 공백으로 단어를 나눈다.")
+    void toBooleanQueryEscapesOperators() {
+        //when
+        String query = ProductDatabaseSearch.toBooleanQuery("-셔츠 \"반팔\"(남성)~ a@b +*");
+
+        //then
+        assertThat(query).isEqualTo("+셔츠 +반팔 +남성 +a* +b*");
+    }
+
+    @Test
+    @DisplayName("ngram 토큰보다 짧은 단어는 접두어 검색으로 바꾼다.")
+    void toBooleanQueryPrefixesShortWords() {
+        //when
+        String query = ProductDatabaseSearch.toBooleanQuery("옷 s 티셔츠");
+
+        //then
+        assertThat(query).isEqualTo("+옷* +s* +티셔츠");
+    }
+
+    @Test
+    @DisplayName("검색어가 없거나 연산자만 있으면 null 이다.")
+    void toBooleanQueryWithoutTerms() {
+        //when //then
+        assertThat(ProductDatabaseSearch.toBooleanQuery(null)).isNull();
+        assertThat(ProductDatabaseSearch.toBooleanQuery("  ")).isNull();
+        assertThat(ProductDatabaseSearch.toBooleanQuery("+-()~*")).isNull();
+    }
+}
@@ -0,0 +1,132 @@
+package productservice.service.search;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import productservice.controller.dto.ProductSearchResponse.CursorPage;
+import productservice.support.RedisTestSupport;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ProductSearchCacheTest extends RedisTestSupport {
+
+    private ProductSearchCache instanceA;
+    private ProductSearchCache instanceB;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        instanceA = createCache();
+        instanceB = createCache();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("같은 검색어는 한 번만 계산하고, 다른 인스턴스도 Redis 에 저장된 값을 쓴다.")
+    void getCachesPage() {
+        //given
+        instanceA.get("셔츠", 20, false, loader("first"));
+
+        //when
+        CursorPage local = instanceA.get("셔츠", 20, false, loader("second"));
+        CursorPage shared = instanceB.get("셔츠", 20, false, loader("second"));
+
+        //then
+        assertThat(loads).hasValue(1);
+        assertThat(local.nextCursor()).isEqualTo("first");
+        assertThat(shared.nextCursor()).isEqualTo("first");
+    }
+
+    @Test
+    @DisplayName("무효화하면 세대가 올라가 같은 검색어도 다시 계산한다.")
+    void invalidateAllBumpsGeneration() {
+        //given
+        instanceA.get("셔츠", 20, false, loader("before"));
+
+        //when
+        instanceA.invalidateAll();
+        CursorPage page = instanceA.get("셔츠", 20, false, loader("after"));
+
+        //then
+        assertThat(loads).hasValue(2);
+        assertThat(page.nextCursor()).isEqualTo("after");
+        assertThat(redisTemplate.opsForValue().get("search::generation")).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스의 무효화 메시지를 받으면 로컬 캐시를 비우고 새 세대 키를 쓴다.")
+    void onMessageAdoptsGeneration() {
+        //given
+        instanceB.get("셔츠", 20, false, loader("before"));
+        instanceA.invalidateAll();
+
+        //when
+        instanceB.onMessage(message("1"), null);
+        CursorPage page = instanceB.get("셔츠", 20, false, loader("after"));
+
+        //then
+        assertThat(loads).hasValue(2);
+        assertThat(page.nextCursor()).isEqualTo("after");
+    }
+
+    @Test
+    @DisplayName("이미 더 높은 세대를 보고 있으면 늦게 도착한 이전 세대 메시지로 되돌아가지 않는다.")
+    void onMessageIgnoresOlderGeneration() {
+        //given
+        instanceA.invalidateAll();
+        instanceA.invalidateAll();
+        instanceA.get("셔츠", 20, false, loader("generation-2"));
+
+        //when
+        instanceA.onMessage(message("1"), null);
+        CursorPage page = instanceA.get("셔츠", 20, false, loader("generation-1"));
+
+        //then
+        assertThat(loads).hasValue(1);
+        assertThat(page.nextCursor()).isEqualTo("generation-2");
+    }
+
+    @Test
+    @DisplayName("새로 뜬 인스턴스는 Redis 에 저장된 세대부터 시작한다.")
+    void subscribeReadsStoredGeneration() {
+        //given
+        instanceA.invalidateAll();
+        instanceA.get("셔츠", 20, false, loader("current"));
+
+        //when
+        CursorPage page = createCache().get("셔츠", 20, false, loader("stale-generation"));
+
+        //then
+        assertThat(loads).hasValue(1);
+        assertThat(page.nextCursor()).isEqualTo("current");
+    }
+
+    private ProductSearchCache createCache() {
+        ProductSearchCache cache = new ProductSearchCache(redisTemplate, mock(RedisMessageListenerContainer.class),
+                new ObjectMapper(), new SimpleMeterRegistry(), 100, 1000, 5000, 20000);
+        cache.subscribe();
+        return cache;
+    }
+
+    private Supplier<CursorPage> loader(String marker) {
+        return () -> {
+            loads.incrementAndGet();
+            return new CursorPage(List.of(), marker, null);
+        };
+    }
+
+    private static DefaultMessage message(String generation) {
+        return new DefaultMessage("search-invalidate".getBytes(StandardCharsets.UTF_8),
+                generation.getBytes(StandardCharsets.UTF_8));
+    }
+}
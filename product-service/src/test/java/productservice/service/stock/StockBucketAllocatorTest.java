@@ -0,0 +1,108 @@
+package productservice.service.stock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import productservice.service.stock.StockBucketAllocator.Allocation;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockBucketAllocatorTest {
+
+    @Test
+    @DisplayName("시작 버킷에 여유가 있으면 그 버킷 하나에서 전량 처리한다.")
+    void allocateFromFirstBucket() {
+        //given
+        int[] available = {5, 5, 5};
+
+        //when
+        List<Allocation> allocations = allocate(available, 1, 3);
+
+        //then
+        assertThat(allocations).containsExactly(new Allocation(1, 3));
+        assertThat(available).containsExactly(5, 2, 5);
+    }
+
+    @Test
+    @DisplayName("시작 버킷이 모자라면 다음 버킷부터 차례로 한 버킷 전량 처리를 시도한다.")
+    void allocateFromNextBucket() {
+        //given
+        int[] available = {4, 1, 0};
+
+        //when
+        List<Allocation> allocations = allocate(available, 1, 3);
+
+        //then - 1, 2 번 버킷을 지나 0 번으로 돌아온다
+        assertThat(allocations).containsExactly(new Allocation(0, 3));
+        assertThat(available).containsExactly(1, 1, 0);
+    }
+
+    @Test
+    @DisplayName("어느 버킷도 전량이 안 되면 시작 버킷부터 여유만큼 나눠 처리한다.")
+    void allocateSpillsToOtherBuckets() {
+        //given
+        int[] available = {2, 2, 2};
+
+        //when
+        List<Allocation> allocations = allocate(available, 1, 5);
+
+        //then
+        assertThat(allocations).containsExactly(
+                new Allocation(1, 2),
+                new Allocation(2, 2),
+                new Allocation(0, 1));
+        assertThat(Arrays.stream(available).sum()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("버킷 합계가 모자라면 빈 목록을 돌려준다 (이미 처리한 버킷은 호출자 롤백으로 되돌린다).")
+    void allocateExhausted() {
+        //given
+        int[] available = {2, 2, 1};
+
+        //when
+        List<Allocation> allocations = allocate(available, 0, 6);
+
+        //then
+        assertThat(allocations).isEmpty();
+    }
+
+    @Test
+    @DisplayName("나눠 처리하는 중에 다른 주문이 여유를 가져가면 그 버킷은 건너뛴다.")
+    void allocateSkipsBucketTakenConcurrently() {
+        //given - 여유 조회 시점에는 [3, 3] 이지만 0 번 버킷 조건부 변경은 실패
+        int[] available = {3, 3};
+        StockBucketAllocator.BucketOperation operation = (bucketNo, amount) -> {
+            if (bucketNo == 0 || available[bucketNo] < amount) {
+                return false;
+            }
+            available[bucketNo] -= amount;
+            return true;
+        };
+
+        //when
+        List<Allocation> allocations = StockBucketAllocator.allocate(2, 0, 4, operation,
+                () -> Arrays.stream(available).boxed().toList());
+
+        //then
+        assertThat(allocations).isEmpty();
+    }
+
+    // available 을 버킷별 여유로 보고 조건부 변경(여유 >= amount 일 때만 차감)을 흉내 낸다
+    private static List<Allocation> allocate(int[] available, int firstBucket, int amount) {
+        return StockBucketAllocator.allocate(
+                available.length,
+                firstBucket,
+                amount,
+                (bucketNo, portion) -> {
+                    if (available[bucketNo] < portion) {
+                        return false;
+                    }
+                    available[bucketNo] -= portion;
+                    return true;
+                },
+                () -> Arrays.stream(available).boxed().toList());
+    }
+}
@@ -0,0 +1,160 @@
+package productservice.service.stock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import productservice.entity.ProductOption;
+import productservice.entity.ProductStock;
+import productservice.entity.ProductStockBucket;
+import productservice.repository.ProductStockBucketJpaRepository;
+import productservice.repository.ProductStockJpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StockBucketServiceTest {
+
+    private static final Long OPTION_ID = 1L;
+
+    @InjectMocks
+    private StockBucketService stockBucketService;
+
+    @Mock
+    private ProductStockBucketJpaRepository productStockBucketJpaRepository;
+
+    @Mock
+    private ProductStockJpaRepository productStockJpaRepository;
+
+    @Captor
+    private ArgumentCaptor<List<ProductStockBucket>> bucketsCaptor;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(stockBucketService, "stockEngine", "db");
+    }
+
+    @Test
+    @DisplayName("단일 행을 버킷으로 나누면 합계는 그대로고, 예약 수량은 0번 버킷에 모인다.")
+    void changeBucketCountSplitsStock() {
+        //given - 보유 10, 예약 3
+        ProductStock stock = stock(10, 3);
+        when(productStockJpaRepository.findByProductOptionId(OPTION_ID)).thenReturn(Optional.of(stock));
+        when(productStockBucketJpaRepository.findAllForUpdate(OPTION_ID)).thenReturn(List.of());
+
+        //when
+        stockBucketService.changeBucketCount(OPTION_ID, 4);
+
+        //then - 예약 가능 7 을 [2, 2, 2, 1] 로 나누고 0 번에 예약 3 을 더한다
+        verify(productStockBucketJpaRepository).saveAll(bucketsCaptor.capture());
+        List<ProductStockBucket> buckets = bucketsCaptor.getValue();
+        assertThat(buckets).extracting(ProductStockBucket::getQuantity).containsExactly(5, 2, 2, 1);
+        assertThat(buckets).extracting(ProductStockBucket::getReservedQuantity).containsExactly(3, 0, 0, 0);
+        assertThat(stock.getBucketCount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("버킷 수를 바꾸면 기존 버킷 합계를 먼저 모아 다시 나눈다.")
+    void changeBucketCountMergesExistingBuckets() {
+        //given - 요약 값(0, 0)은 오래됐고, 실제 합계는 보유 9 / 예약 4
+        ProductStock stock = stock(0, 0);
+        List<ProductStockBucket> existing = List.of(
+                ProductStockBucket.create(OPTION_ID, 0, 5, 2),
+                ProductStockBucket.create(OPTION_ID, 1, 4, 2));
+        when(productStockJpaRepository.findByProductOptionId(OPTION_ID)).thenReturn(Optional.of(stock));
+        when(productStockBucketJpaRepository.findAllForUpdate(OPTION_ID)).thenReturn(existing);
+
+        //when
+        stockBucketService.changeBucketCount(OPTION_ID, 2);
+
+        //then
+        verify(productStockBucketJpaRepository).deleteAllInBatch(existing);
+        verify(productStockBucketJpaRepository).saveAll(bucketsCaptor.capture());
+        List<ProductStockBucket> buckets = bucketsCaptor.getValue();
+        assertThat(buckets.stream().mapToInt(ProductStockBucket::getQuantity).sum()).isEqualTo(9);
+        assertThat(buckets).extracting(ProductStockBucket::getReservedQuantity).containsExactly(4, 0);
+        assertThat(buckets).extracting(ProductStockBucket::getAvailableQuantity).containsExactly(3, 2);
+        assertThat(stock.getQuantity()).isEqualTo(9);
+        assertThat(stock.getReservedQuantity()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("버킷 수를 0 으로 바꾸면 버킷 합계를 단일 행으로 되돌린다.")
+    void changeBucketCountToSingleRow() {
+        //given
+        ProductStock stock = stock(0, 0);
+        List<ProductStockBucket> existing = List.of(
+                ProductStockBucket.create(OPTION_ID, 0, 5, 1),
+                ProductStockBucket.create(OPTION_ID, 1, 3, 0));
+        when(productStockJpaRepository.findByProductOptionId(OPTION_ID)).thenReturn(Optional.of(stock));
+        when(productStockBucketJpaRepository.findAllForUpdate(OPTION_ID)).thenReturn(existing);
+
+        //when
+        stockBucketService.changeBucketCount(OPTION_ID, 0);
+
+        //then
+        assertThat(stock.getQuantity()).isEqualTo(8);
+        assertThat(stock.getReservedQuantity()).isEqualTo(1);
+        assertThat(stock.isBucketed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("버킷 간 예약 가능 수량이 벌어지면 합계와 버킷별 예약 수량은 그대로 두고 고르게 나눈다.")
+    void rebalancePreservesSum() {
+        //given - 예약 가능 [8, 0, 1], 0 번 버킷에 예약 2
+        ProductStock stock = stock(0, 0);
+        List<ProductStockBucket> buckets = List.of(
+                ProductStockBucket.create(OPTION_ID, 0, 10, 2),
+                ProductStockBucket.create(OPTION_ID, 1, 0, 0),
+                ProductStockBucket.create(OPTION_ID, 2, 1, 0));
+        when(productStockBucketJpaRepository.findAllForUpdate(OPTION_ID)).thenReturn(buckets);
+        when(productStockJpaRepository.findByProductOptionId(OPTION_ID)).thenReturn(Optional.of(stock));
+
+        //when
+        boolean rebalanced = stockBucketService.rebalance(OPTION_ID);
+
+        //then
+        assertThat(rebalanced).isTrue();
+        assertThat(buckets).extracting(ProductStockBucket::getAvailableQuantity).containsExactly(3, 3, 3);
+        assertThat(buckets).extracting(ProductStockBucket::getReservedQuantity).containsExactly(2, 0, 0);
+        assertThat(stock.getQuantity()).isEqualTo(11);
+        assertThat(stock.getReservedQuantity()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("버킷 간 차이가 작으면 옮기지 않고 합계만 요약한다.")
+    void rebalanceSkipsBalancedBuckets() {
+        //given
+        ProductStock stock = stock(0, 0);
+        List<ProductStockBucket> buckets = List.of(
+                ProductStockBucket.create(OPTION_ID, 0, 10, 0),
+                ProductStockBucket.create(OPTION_ID, 1, 9, 0));
+        when(productStockBucketJpaRepository.findAllForUpdate(OPTION_ID)).thenReturn(buckets);
+        when(productStockJpaRepository.findByProductOptionId(OPTION_ID)).thenReturn(Optional.of(stock));
+
+        //when
+        boolean rebalanced = stockBucketService.rebalance(OPTION_ID);
+
+        //then
+        assertThat(rebalanced).isFalse();
+        assertThat(buckets).extracting(ProductStockBucket::getQuantity).containsExactly(10, 9);
+        assertThat(stock.getQuantity()).isEqualTo(19);
+    }
+
+    private static ProductStock stock(int quantity, int reserved) {
+        ProductStock stock = ProductStock.create(ProductOption.builder().id(OPTION_ID).build(), quantity);
+        stock.syncFromBuckets(quantity, reserved);
+        return stock;
+    }
+}
@@ -0,0 +1,109 @@
+package productservice.service.stock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import outboxmessagerelay.OutboxEventPublisher;
+import productservice.entity.ProductOption;
+import productservice.entity.ProductStock;
+import productservice.entity.ProductTransactionHistory.TransactionType;
+import productservice.repository.ProductStockJpaRepository;
+import productservice.repository.ProductTransactionHistoryJdbcRepository;
+import productservice.repository.ProductTransactionJpaRepository;
+import productservice.repository.StockRedisRepository.JournalEntry;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StockJournalApplierTest {
+
+    @InjectMocks
+    private StockJournalApplier stockJournalApplier;
+
+    @Mock
+    private ProductStockJpaRepository productStockJpaRepository;
+
+    @Mock
+    private ProductTransactionJpaRepository productTransactionJpaRepository;
+
+    @Mock
+    private ProductTransactionHistoryJdbcRepository productTransactionHistoryJdbcRepository;
+
+    @Mock
+    private OutboxEventPublisher outboxEventPublisher;
+
+    @Test
+    @DisplayName("옵션별 변화량을 합산해 재고 행에 한 번 반영하고 이력을 남긴다.")
+    void apply() {
+        //given
+        ProductStock stock = ProductStock.create(ProductOption.builder().id(1L).build(), 10);
+        List<JournalEntry> entries = List.of(
+                entry("1-0", 100L, TransactionType.RESERVE, 3),
+                entry("2-0", 100L, TransactionType.CONFIRM_RESERVE, 3),
+                entry("3-0", 200L, TransactionType.RESERVE, 2));
+        when(productTransactionJpaRepository.findJournalIdsIn(anyList())).thenReturn(List.of());
+        when(productStockJpaRepository.findAllByProductOptionIdIn(any())).thenReturn(List.of(stock));
+
+        //when
+        int applied = stockJournalApplier.apply(entries);
+
+        //then
+        assertThat(applied).isEqualTo(3);
+        assertThat(stock.getQuantity()).isEqualTo(7);
+        assertThat(stock.getReservedQuantity()).isEqualTo(2);
+        verify(productTransactionHistoryJdbcRepository).batchInsert(anyList());
+    }
+
+    @Test
+    @DisplayName("이미 반영된 저널(journalId)은 다시 반영하지 않는다.")
+    void applyIsIdempotent() {
+        //given - 반영 후 저널 삭제 전에 죽어서 같은 배치를 다시 읽은 경우
+        List<JournalEntry> entries = List.of(
+                entry("1-0", 100L, TransactionType.RESERVE, 3),
+                entry("2-0", 200L, TransactionType.RESERVE, 2));
+        when(productTransactionJpaRepository.findJournalIdsIn(anyList())).thenReturn(List.of("1-0", "2-0"));
+
+        //when
+        int applied = stockJournalApplier.apply(entries);
+
+        //then
+        assertThat(applied).isZero();
+        verifyNoInteractions(productStockJpaRepository, productTransactionHistoryJdbcRepository, outboxEventPublisher);
+    }
+
+    @Test
+    @DisplayName("일부만 반영된 배치는 반영되지 않은 저널만 적용한다.")
+    void applyOnlyPending() {
+        //given
+        ProductStock stock = ProductStock.create(ProductOption.builder().id(1L).build(), 10);
+        List<JournalEntry> entries = List.of(
+                entry("1-0", 100L, TransactionType.RESERVE, 3),
+                entry("2-0", 200L, TransactionType.RESERVE, 2));
+        when(productTransactionJpaRepository.findJournalIdsIn(anyList())).thenReturn(List.of("1-0"));
+        when(productStockJpaRepository.findAllByProductOptionIdIn(any())).thenReturn(List.of(stock));
+
+        //when
+        int applied = stockJournalApplier.apply(entries);
+
+        //then
+        assertThat(applied).isEqualTo(1);
+        assertThat(stock.getReservedQuantity()).isEqualTo(2);
+        verify(productTransactionHistoryJdbcRepository).batchInsert(argThat(histories -> histories.size() == 1));
+    }
+
+    private static JournalEntry entry(String id, Long orderId, TransactionType type, int quantity) {
+        return new JournalEntry(id, orderId, 1L, quantity, type, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,148 @@
+package productservice.service.stock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import productservice.repository.StockRedisRepository;
+import productservice.support.RedisTestSupport;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockQuotaLeaseManagerTest extends RedisTestSupport {
+
+    private static final Long OPTION_ID = 1L;
+    private static final int INITIAL_STOCK = 500;
+    private static final int WORKERS = 8;
+    private static final int ORDERS_PER_WORKER = 100;
+
+    private StockRedisRepository stockRedisRepository;
+
+    @BeforeEach
+    void setUp() {
+        stockRedisRepository = new StockRedisRepository(redisTemplate);
+        stockRedisRepository.loadIfAbsent(OPTION_ID, INITIAL_STOCK, 0, 0);
+    }
+
+    @Test
+    @DisplayName("임대/예약/반납/만료 회수가 동시에 일어나도 quantity - reserved - leased 는 0 이상이고, 예약 수량은 성공한 예약 합계와 같다.")
+    void leaseInvariantUnderConcurrency() throws Exception {
+        //given - 인스턴스 둘 (ttl 20ms 라 반납이 자주 일어난다), 재고보다 많은 주문
+        StockQuotaLeaseManager first = manager();
+        StockQuotaLeaseManager second = manager();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong nextOrderId = new AtomicLong();
+        AtomicInteger reserved = new AtomicInteger();
+        ConcurrentLinkedQueue<String> violations = new ConcurrentLinkedQueue<>();
+        ExecutorService background = Executors.newFixedThreadPool(3);
+        ExecutorService workers = Executors.newFixedThreadPool(WORKERS);
+
+        // 반납(RETURN_LEASE) + 죽은 인스턴스 임대(LEASE, 이미 만료) + 만료 회수(RECLAIM_EXPIRED_LEASES)
+        background.submit(() -> {
+            while (running.get()) {
+                first.returnExpiredLeases();
+                second.returnExpiredLeases();
+                stockRedisRepository.lease(OPTION_ID, "dead-instance", 5, 0, System.currentTimeMillis() - 1);
+                first.reclaimExpiredLeases();
+            }
+            return null;
+        });
+        background.submit(() -> {
+            while (running.get()) {
+                List<Object> stock = redisTemplate.opsForHash().multiGet("stock::" + OPTION_ID,
+                        List.of("quantity", "reserved", "leased"));
+                int available = toInt(stock.get(0)) - toInt(stock.get(1)) - toInt(stock.get(2));
+                if (available < 0) {
+                    violations.add(stock.toString());
+                }
+            }
+            return null;
+        });
+
+        //when - 임대분이 모자라면 중앙 재고로 바로 예약 (RESERVE)
+        CountDownLatch done = new CountDownLatch(WORKERS);
+        for (int i = 0; i < WORKERS; i++) {
+            StockQuotaLeaseManager manager = i % 2 == 0 ? first : second;
+            workers.submit(() -> {
+                try {
+                    for (int j = 0; j < ORDERS_PER_WORKER; j++) {
+                        long orderId = nextOrderId.incrementAndGet();
+                        Optional<Long> local = manager.tryReserve(orderId, Map.of(OPTION_ID, 1));
+                        long result = local.orElseGet(() -> stockRedisRepository.reserve(orderId, Map.of(OPTION_ID, 1)));
+                        if (result == StockRedisRepository.APPLIED) {
+                            reserved.incrementAndGet();
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+                return null;
+            });
+        }
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        running.set(false);
+        background.shutdown();
+        assertThat(background.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        workers.shutdown();
+
+        first.shutdown();
+        second.shutdown();
+        stockRedisRepository.reclaimExpiredLeases(100);
+
+        //then - 재고(500)보다 주문(800)이 많으므로 재고를 모두 예약하고, 남은 임대분은 모두 돌아온다
+        assertThat(violations).isEmpty();
+        assertThat(field("leased")).isEqualTo(0);
+        assertThat(field("reserved")).isEqualTo(reserved.get());
+        assertThat(reserved.get()).isLessThanOrEqualTo(INITIAL_STOCK);
+    }
+
+    @Test
+    @DisplayName("ttl 이 지난 임대는 남은 수량을 반납하고 로컬 임대 목록에서 빠진다.")
+    void returnExpiredLeasesPrunesLeases() throws Exception {
+        //given
+        StockQuotaLeaseManager manager = manager();
+        manager.tryReserve(100L, Map.of(OPTION_ID, 1));
+        Thread.sleep(50);
+
+        //when
+        manager.returnExpiredLeases();
+
+        //then
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(manager, "leases")).isEmpty();
+        assertThat(field("leased")).isEqualTo(0);
+        assertThat(field("reserved")).isEqualTo(1);
+
+        //when - 반납 후 다음 예약은 새로 임대한다
+        Optional<Long> next = manager.tryReserve(200L, Map.of(OPTION_ID, 1));
+
+        //then
+        assertThat(next).contains(StockRedisRepository.APPLIED);
+        assertThat(field("reserved")).isEqualTo(2);
+        manager.shutdown();
+    }
+
+    private StockQuotaLeaseManager manager() {
+        return new StockQuotaLeaseManager(stockRedisRepository, new SimpleMeterRegistry(), 20, 5, 0, 20);
+    }
+
+    private int field(String field) {
+        return toInt(redisTemplate.opsForHash().get("stock::" + OPTION_ID, field));
+    }
+
+    private static int toInt(Object value) {
+        return value != null ? Integer.parseInt(value.toString()) : 0;
+    }
+}